@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.xml.XMLCell;
+import org.knime.core.data.xml.XMLCellFactory;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests {@link BlobCache} as used when reading the blobs of a table. The cache is shared, hence all assertions are on
+ * the change of its counters.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BlobCacheTest {
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("xml", XMLCell.TYPE).createSpec());
+
+    private static final BlobCache CACHE = BlobCache.getInstance();
+
+    /** Creates a table written to disk with one (compressed) XML blob per row of the given content length. */
+    private static BufferedContainerTable createTable(final int rowCount, final int contentLength) throws Exception {
+        final BufferedDataContainer container =
+            executionContextExtension.getExecutionContext().createDataContainer(SPEC, true, 0);
+        for (var i = 0; i < rowCount; i++) {
+            final DataCell cell = XMLCellFactory.create("<foo id=\"" + i + "\">" + "a".repeat(contentLength) + "</foo>");
+            assertThat(cell).isInstanceOf(BlobDataCell.class);
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cell));
+        }
+        container.close();
+        return (BufferedContainerTable)container.getBufferedTable();
+    }
+
+    private static List<DataCell> readBlobs(final DataTable table) {
+        final List<DataCell> cells = new ArrayList<>();
+        for (DataRow row : table) {
+            cells.add(row.getCell(0));
+        }
+        return cells;
+    }
+
+    /**
+     * Reading the blobs of a table sequentially counts one miss per blob (read-ahead lookups are not counted), and
+     * reading them again is answered from the cache.
+     */
+    @Test
+    void testHitsAndMisses() throws Exception {
+        final int rowCount = 4 * BlobCache.READ_AHEAD_COUNT;
+        final BufferedContainerTable table = createTable(rowCount, XMLCellFactory.DEF_MIN_BLOB_SIZE_IN_BYTES);
+        final long hits = CACHE.getHitCount();
+        final long misses = CACHE.getMissCount();
+        final long readAhead = CACHE.getReadAheadCount();
+
+        final List<DataCell> firstRead = readBlobs(table);
+        assertThat(CACHE.getMissCount() - misses).as("misses on first read").isEqualTo(rowCount);
+        assertThat(CACHE.getHitCount() - hits).as("hits on first read").isZero();
+
+        final List<DataCell> secondRead = readBlobs(table);
+        assertThat(CACHE.getMissCount() - misses).as("misses after second read").isEqualTo(rowCount);
+        assertThat(CACHE.getHitCount() - hits).as("hits on second read").isEqualTo(rowCount);
+        assertThat(secondRead).isEqualTo(firstRead);
+        assertThat(CACHE.getReadAheadCount()).as("blobs read ahead").isGreaterThanOrEqualTo(readAhead);
+    }
+
+    /** Cached blobs are weighed by their uncompressed length, not by the (much smaller) compressed length. */
+    @Test
+    void testWeighedByInflatedLength() throws Exception {
+        final int contentLength = 1 << 20;
+        final BufferedContainerTable table = createTable(1, contentLength);
+        final Buffer buffer = table.getBuffer();
+        final var address = ((BlobDataCell)readBlobs(table).get(0)).getBlobAddress();
+        final long compressedLength = buffer.getBlobContentLength(address.getIndexOfBlobInColumn(),
+            address.getColumn(), address.isUseCompression());
+        assertThat(compressedLength).as("compressed length").isLessThan(contentLength / 10);
+
+        final long bytesHeld = CACHE.getBytesHeld();
+        CACHE.invalidate(buffer);
+        assertThat(bytesHeld - CACHE.getBytesHeld()).as("weight of evicted blob").isGreaterThan(contentLength);
+    }
+
+    /** Blobs too large for the cache are read from disk each time and don't evict other entries. */
+    @Test
+    void testLargeBlobsNotCached() throws Exception {
+        final int contentLength = 8 << 20;
+        assertThat(CACHE.isCacheable(contentLength)).as("blob cacheable").isFalse();
+        final BufferedContainerTable table = createTable(1, contentLength);
+        final long hits = CACHE.getHitCount();
+        final long misses = CACHE.getMissCount();
+
+        final List<DataCell> firstRead = readBlobs(table);
+        final List<DataCell> secondRead = readBlobs(table);
+        assertThat(CACHE.getHitCount() - hits).as("hits").isZero();
+        assertThat(CACHE.getMissCount() - misses).as("misses").isEqualTo(2);
+        assertThat(secondRead).isEqualTo(firstRead);
+        assertThat(secondRead.get(0)).isNotSameAs(firstRead.get(0));
+    }
+
+}
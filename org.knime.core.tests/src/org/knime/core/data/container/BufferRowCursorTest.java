@@ -0,0 +1,200 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowCursor;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.data.xml.XMLCell;
+import org.knime.core.data.xml.XMLCellFactory;
+import org.knime.core.data.xml.XMLValue;
+
+/**
+ * Tests the {@link RowCursor} of a {@link Buffer} that is written to disk, see {@link BufferRowCursor}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BufferRowCursorTest {
+
+    private static final int ROW_COUNT = 100;
+
+    private static final DataTableSpec SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("list", ListCell.getCollectionType(IntCell.TYPE)).createSpec());
+
+    private static DataRow createRow(final int i) {
+        final DataCell[] cells = {new IntCell(i), new LongCell(i * 10_000_000_000L), new DoubleCell(i / 3d),
+            BooleanCell.get(i % 2 == 0), new StringCell("row " + i),
+            CollectionCellFactory.createListCell(List.of(new IntCell(i), new IntCell(-i)))};
+        if (i % 7 == 0) {
+            cells[i % cells.length] = DataType.getMissingCell();
+        }
+        return new DefaultRow(RowKey.createRowKey((long)i), cells);
+    }
+
+    /** Values read via the cursor are the values written to the buffer file, including missing values. */
+    @Test
+    void testCursorReadsWrittenValues() {
+        final DataContainer cont = new DataContainer(SPEC,
+            DataContainerSettings.internalBuilder().withInitializedDomain(false).withMaxCellsInMemory(0).build());
+        for (int i = 0; i < ROW_COUNT; i++) {
+            cont.addRowToTable(createRow(i));
+        }
+        @SuppressWarnings("resource")
+        final Buffer buffer = ((BufferedDataContainerDelegate)cont.getDataContainerDelegate()).getBuffer();
+        cont.close();
+
+        try (final RowCursor cursor = buffer.cursor()) {
+            assertThat(cursor).isInstanceOf(BufferRowCursor.class);
+            assertThat(cursor.getNumColumns()).isEqualTo(SPEC.getNumColumns());
+            for (int i = 0; i < ROW_COUNT; i++) {
+                assertThat(cursor.canForward()).isTrue();
+                final RowRead row = cursor.forward();
+                final DataRow expected = createRow(i);
+                assertThat(row.getRowKey().getString()).isEqualTo(expected.getKey().getString());
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    final DataCell expectedCell = expected.getCell(c);
+                    assertThat(row.isMissing(c)).isEqualTo(expectedCell.isMissing());
+                    if (!expectedCell.isMissing()) {
+                        assertThat(row.getAsDataCell(c)).isEqualTo(expectedCell);
+                    }
+                }
+                if (!row.isMissing(0)) {
+                    assertThat(row.<IntValue> getValue(0).getIntValue()).isEqualTo(i);
+                }
+                if (!row.isMissing(1)) {
+                    assertThat(row.<LongValue> getValue(1).getLongValue()).isEqualTo(i * 10_000_000_000L);
+                }
+                if (!row.isMissing(2)) {
+                    assertThat(row.<DoubleValue> getValue(2).getDoubleValue()).isEqualTo(i / 3d);
+                }
+                if (!row.isMissing(3)) {
+                    assertThat(row.<BooleanValue> getValue(3).getBooleanValue()).isEqualTo(i % 2 == 0);
+                }
+                if (!row.isMissing(4)) {
+                    assertThat(row.<StringValue> getValue(4).getStringValue()).isEqualTo("row " + i);
+                }
+            }
+            assertThat(cursor.canForward()).isFalse();
+            assertThat(cursor.forward()).isNull();
+        }
+    }
+
+    /**
+     * Blob cells are read as wrappers but accessed as the actual cell; the wrapper is only kept in the materialized
+     * row (for copying the blob by reference).
+     */
+    @Test
+    void testCursorUnwrapsBlobs() {
+        final var spec = new DataTableSpec(new DataColumnSpecCreator("xml", XMLCell.TYPE).createSpec());
+        final DataContainer cont = new DataContainer(spec,
+            DataContainerSettings.internalBuilder().withInitializedDomain(false).withMaxCellsInMemory(0).build());
+        final var expected = new ArrayList<DataCell>();
+        for (int i = 0; i < 3; i++) {
+            final DataCell cell = createXmlBlob(i);
+            assertThat(cell).isInstanceOf(BlobDataCell.class);
+            expected.add(cell);
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cell));
+        }
+        @SuppressWarnings("resource")
+        final Buffer buffer = ((BufferedDataContainerDelegate)cont.getDataContainerDelegate()).getBuffer();
+        cont.close();
+
+        try (final RowCursor cursor = buffer.cursor()) {
+            for (int i = 0; i < expected.size(); i++) {
+                final var row = (BufferRowRead)cursor.forward();
+                assertThat(row.getRawCell(0)).isInstanceOf(BlobWrapperDataCell.class);
+                final DataValue value = row.getValue(0);
+                assertThat(value).isInstanceOf(XMLValue.class).isEqualTo(expected.get(i));
+                assertThat(row.getAsDataCell(0)).isInstanceOf(BlobDataCell.class).isEqualTo(expected.get(i));
+
+                final DataRow materialized = row.materializeDataRow();
+                assertThat(materialized).isInstanceOf(BlobSupportDataRow.class);
+                assertThat(((BlobSupportDataRow)materialized).getRawCell(0)).isInstanceOf(BlobWrapperDataCell.class);
+                assertThat(materialized.getCell(0)).isEqualTo(expected.get(i));
+            }
+        }
+    }
+
+    private static DataCell createXmlBlob(final int i) {
+        try {
+            return XMLCellFactory.create(
+                "<foo id=\"" + i + "\">" + "a".repeat(XMLCellFactory.DEF_MIN_BLOB_SIZE_IN_BYTES) + "</foo>");
+        } catch (Exception e) { // NOSONAR
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -54,6 +54,7 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -64,9 +65,11 @@
 import org.knime.core.data.DataType;
 import org.knime.core.data.IntValue;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.filestore.FileStore;
 import org.knime.core.data.v2.RowBuffer;
@@ -75,8 +78,10 @@
 import org.knime.core.data.v2.RowRead;
 import org.knime.core.data.v2.RowWrite;
 import org.knime.core.data.v2.RowWriteCursor;
+import org.knime.core.data.v2.value.ValueInterfaces.BooleanWriteValue;
 import org.knime.core.data.v2.value.ValueInterfaces.DoubleWriteValue;
 import org.knime.core.data.v2.value.ValueInterfaces.IntWriteValue;
+import org.knime.core.data.v2.value.ValueInterfaces.LongWriteValue;
 import org.knime.core.data.v2.value.ValueInterfaces.StringWriteValue;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -490,4 +495,68 @@ final void testAP24943_CloneBlobCells(final ExecutionContext context) throws Exc
             }
         }
     }
+
+    /**
+     * Writes rows of primitive values via the (asynchronous) row container, which writes them right to the buffer
+     * file, and asserts values and domain.
+     */
+    @Test
+    void testWritePrimitiveValuesWithoutCells(final ExecutionContext context) throws Exception {
+        final DataTableSpec spec = new DataTableSpecCreator().addColumns( //
+            new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("Long", LongCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("Double", DoubleCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("Boolean", BooleanCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("String", StringCell.TYPE).createSpec()) //
+            .createSpec();
+        final DataContainerSettings settings = DataContainerSettings.internalBuilder() //
+            .withMaxCellsInMemory(0) //
+            .withDomainUpdate(true) //
+            .build();
+        BufferedDataTable table;
+        try (RowContainer container = context.createRowContainer(spec, settings);
+                RowWriteCursor writeCursor = container.createCursor()) {
+            RowBuffer row = container.createRowBuffer();
+            for (int i = 0; i < MAX_ROWS; i++) {
+                row.setRowKey(RowKey.createRowKey((long)i));
+                ((IntWriteValue)row.getWriteValue(0)).setIntValue(i - 10);
+                ((LongWriteValue)row.getWriteValue(1)).setLongValue(i * 10_000_000_000L);
+                if (i % 5 == 0) {
+                    row.setMissing(2);
+                } else {
+                    ((DoubleWriteValue)row.getWriteValue(2)).setDoubleValue(i / 4.0);
+                }
+                ((BooleanWriteValue)row.getWriteValue(3)).setBooleanValue(i % 2 == 0);
+                ((StringWriteValue)row.getWriteValue(4)).setStringValue("Value " + (i % 3));
+                writeCursor.commit(row);
+            }
+            table = container.finish();
+        }
+
+        assertEquals(MAX_ROWS, table.size());
+        try (CloseableRowIterator it = table.iterator()) {
+            for (int i = 0; i < MAX_ROWS; i++) {
+                final DataRow row = it.next();
+                assertEquals(RowKey.createRowKey((long)i), row.getKey());
+                assertEquals(new IntCell(i - 10), row.getCell(0));
+                assertEquals(new LongCell(i * 10_000_000_000L), row.getCell(1));
+                if (i % 5 == 0) {
+                    assertTrue(row.getCell(2).isMissing());
+                } else {
+                    assertEquals(new DoubleCell(i / 4.0), row.getCell(2));
+                }
+                assertEquals(BooleanCell.get(i % 2 == 0), row.getCell(3));
+                assertEquals(new StringCell("Value " + (i % 3)), row.getCell(4));
+            }
+        }
+
+        final DataTableSpec tableSpec = table.getDataTableSpec();
+        assertEquals(new IntCell(-10), tableSpec.getColumnSpec(0).getDomain().getLowerBound());
+        assertEquals(new IntCell(MAX_ROWS - 11), tableSpec.getColumnSpec(0).getDomain().getUpperBound());
+        assertEquals(new LongCell(0), tableSpec.getColumnSpec(1).getDomain().getLowerBound());
+        assertEquals(new DoubleCell(0.25), tableSpec.getColumnSpec(2).getDomain().getLowerBound());
+        assertEquals(new DoubleCell((MAX_ROWS - 1) / 4.0), tableSpec.getColumnSpec(2).getDomain().getUpperBound());
+        assertEquals(Set.of(new StringCell("Value 0"), new StringCell("Value 1"), new StringCell("Value 2")),
+            tableSpec.getColumnSpec(4).getDomain().getValues());
+    }
 }
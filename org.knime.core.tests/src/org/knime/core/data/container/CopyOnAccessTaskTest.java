@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link CopyOnAccessTask#findStoredDataRegion(File)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CopyOnAccessTaskTest {
+
+    @TempDir
+    File m_tempDir;
+
+    private static final byte[] DATA = "some binary table content".getBytes(StandardCharsets.UTF_8);
+
+    private File writeZip(final String firstEntryName, final int method) throws IOException {
+        final var zipFile = new File(m_tempDir, "data.zip");
+        try (var zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            final var entry = new ZipEntry(firstEntryName);
+            entry.setMethod(method);
+            if (method == ZipEntry.STORED) {
+                final var crc = new CRC32();
+                crc.update(DATA);
+                entry.setSize(DATA.length);
+                entry.setCompressedSize(DATA.length);
+                entry.setCrc(crc.getValue());
+            }
+            zipOut.putNextEntry(entry);
+            zipOut.write(DATA);
+            zipOut.closeEntry();
+            zipOut.putNextEntry(new ZipEntry(Buffer.ZIP_ENTRY_META));
+            zipOut.write("<meta/>".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeEntry();
+        }
+        return zipFile;
+    }
+
+    /** The region of a stored data entry is found and contains the raw data. */
+    @Test
+    void testStoredDataEntry() throws IOException {
+        final File zipFile = writeZip(Buffer.ZIP_ENTRY_DATA, ZipEntry.STORED);
+        final long[] region = CopyOnAccessTask.findStoredDataRegion(zipFile);
+        assertThat(region).as("region of stored entry").isNotNull();
+        assertThat(region[1]).as("length of stored entry").isEqualTo(DATA.length);
+        final var content = new byte[DATA.length];
+        try (var raf = new RandomAccessFile(zipFile, "r")) {
+            raf.seek(region[0]);
+            raf.readFully(content);
+        }
+        assertThat(content).as("content at region").isEqualTo(DATA);
+    }
+
+    /** Deflated entries and other first entries are not considered. */
+    @Test
+    void testNotApplicable() throws IOException {
+        assertThat(CopyOnAccessTask.findStoredDataRegion(writeZip(Buffer.ZIP_ENTRY_DATA, ZipEntry.DEFLATED)))
+            .as("region of deflated entry").isNull();
+        assertThat(CopyOnAccessTask.findStoredDataRegion(writeZip("other.bin", ZipEntry.STORED)))
+            .as("region of other entry").isNull();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowCursor;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests dictionary encoding of string columns in the row-based table store, see
+ * {@link DefaultTableStoreSettings#withDictionaryEncodedStrings(boolean)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DictionaryEncodedStringsTest {
+
+    /** More rows than distinct values fit into a dictionary so that the fallback is exercised. */
+    private static final int ROW_COUNT = DefaultTableStoreWriter.MAX_DICTIONARY_SIZE + 1000;
+
+    private static final DataTableSpec SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("low cardinality", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("high cardinality", StringCell.TYPE).createSpec());
+
+    @TempDir
+    File m_tempDir;
+
+    private static DataRow createRow(final int i) {
+        final DataCell low = i % 11 == 0 ? DataType.getMissingCell() : new StringCell("category " + (i % 5));
+        return new DefaultRow(RowKey.createRowKey((long)i), low, new IntCell(i), new StringCell("unique " + i));
+    }
+
+    private static DataContainer writeContainer(final DataTableSpec spec, final int rowCount,
+        final boolean isDictionaryEncodeStrings) {
+        final DefaultTableStoreSettings settings = DefaultTableStoreSettings.getDefault()
+            .withCompression(CompressionFormat.NONE).withDictionaryEncodedStrings(isDictionaryEncodeStrings);
+        final DataContainer cont = new DataContainer(spec,
+            DataContainerSettings.internalBuilder().withInitializedDomain(false).withMaxCellsInMemory(0)
+                .withBufferSettings(l -> l.withOutputFormat(new DefaultTableStoreFormat(settings))).build());
+        for (int i = 0; i < rowCount; i++) {
+            final DataRow row = createRow(i);
+            cont.addRowToTable(spec == SPEC ? row : new DefaultRow(row.getKey(), row.getCell(1)));
+        }
+        cont.close();
+        return cont;
+    }
+
+    private static Buffer writeBuffer(final boolean isDictionaryEncodeStrings) {
+        return getBuffer(writeContainer(SPEC, ROW_COUNT, isDictionaryEncodeStrings));
+    }
+
+    private static Buffer getBuffer(final DataContainer cont) {
+        return ((BufferedContainerTable)cont.getTable()).getBuffer();
+    }
+
+    /** Rows read back from a dictionary encoded file equal the written rows and repeated strings share one cell. */
+    @Test
+    void testIteratorReadsWrittenValues() {
+        final Buffer buffer = writeBuffer(true);
+        final Map<String, DataCell> firstOccurrences = new HashMap<>();
+        try (final CloseableRowIterator it = buffer.iterator()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                assertThat(it.hasNext()).isTrue();
+                final DataRow row = it.next();
+                final DataRow expected = createRow(i);
+                assertThat(row.getKey()).isEqualTo(expected.getKey());
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertThat(row.getCell(c)).isEqualTo(expected.getCell(c));
+                }
+                final DataCell low = row.getCell(0);
+                if (!low.isMissing()) {
+                    final DataCell first = firstOccurrences.computeIfAbsent(((StringValue)low).getStringValue(),
+                        s -> low);
+                    assertThat(low).isSameAs(first);
+                }
+            }
+            assertThat(it.hasNext()).isFalse();
+        }
+        assertThat(firstOccurrences).hasSize(5);
+    }
+
+    /** Values read via the cursor of a dictionary encoded file are the written values. */
+    @Test
+    void testCursorReadsWrittenValues() {
+        final Buffer buffer = writeBuffer(true);
+        try (final RowCursor cursor = buffer.cursor()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                assertThat(cursor.canForward()).isTrue();
+                final RowRead row = cursor.forward();
+                final DataRow expected = createRow(i);
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertThat(row.isMissing(c)).isEqualTo(expected.getCell(c).isMissing());
+                    if (!row.isMissing(c)) {
+                        assertThat(row.getAsDataCell(c)).isEqualTo(expected.getCell(c));
+                    }
+                }
+            }
+            assertThat(cursor.canForward()).isFalse();
+        }
+    }
+
+    /**
+     * Tables with dictionary encoded strings are written with their own container version, tables without (including
+     * tables that have no string column although encoding is enabled) with the regular one.
+     */
+    @Test
+    void testVersion() {
+        assertThat(writeBuffer(true).getVersion()).isEqualTo(Buffer.VERSION_DICTIONARY_STRINGS);
+        assertThat(writeBuffer(false).getVersion()).isEqualTo(Buffer.VERSION);
+        final DataTableSpec intSpec = new DataTableSpec(SPEC.getColumnSpec(1));
+        assertThat(getBuffer(writeContainer(intSpec, 10, true)).getVersion()).isEqualTo(Buffer.VERSION);
+    }
+
+    /** A table with dictionary encoded strings is read back from a zip file with the written values. */
+    @Test
+    void testSaveAndLoad() throws Exception {
+        final var table = (ContainerTable)writeContainer(SPEC, ROW_COUNT, true).getTable();
+        final var file = new File(m_tempDir, "table.zip");
+        DataContainer.writeToZip(table, file, new ExecutionMonitor(new DefaultNodeProgressMonitor()));
+        final ContainerTable loaded = DataContainer.readFromZip(file);
+        try (final CloseableRowIterator it = loaded.iterator()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                final DataRow row = it.next();
+                final DataRow expected = createRow(i);
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertThat(row.getCell(c)).isEqualTo(expected.getCell(c));
+                }
+            }
+            assertThat(it.hasNext()).isFalse();
+        }
+    }
+
+    /** Repeated strings are stored as references, which makes the (uncompressed) file smaller. */
+    @Test
+    void testDictionaryEncodingReducesFileSize() {
+        final long plainLength = writeBuffer(false).getBinFile().length();
+        final long encodedLength = writeBuffer(true).getBinFile().length();
+        assertThat(encodedLength).isLessThan(plainLength);
+    }
+
+}
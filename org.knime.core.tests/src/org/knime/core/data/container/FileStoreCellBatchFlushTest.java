@@ -0,0 +1,198 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.filestore.FileStore;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests that the container threads flush the file store cells of a batch of rows before the batch is written (see
+ * {@link Buffer#flushFileStoreCells(List)}), and that each cell is flushed exactly once.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class FileStoreCellBatchFlushTest {
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    /**
+     * Rows added after the buffer started writing to disk have their file store cells flushed in the container
+     * threads; all cells are flushed once and their content is available when the table is read.
+     */
+    @Test
+    void testFileStoreCellsFlushedInBatch() throws Exception {
+        final ExecutionContext exec = executionContextExtension.getExecutionContext();
+        final int batchSize = DataContainerSettings.getDefault().getRowBatchSize();
+        final var spec = new DataTableSpec(new DataColumnSpecCreator("fs", CountingFileStoreCell.TYPE).createSpec());
+        final BufferedDataContainer container = exec.createDataContainer(spec, false, 0);
+        final List<CountingFileStoreCell> cells = new ArrayList<>();
+        // the first batch is written (and flushed) by the buffer, which then writes to disk
+        addRows(container, cells, exec, batchSize);
+        final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (cells.get(0).m_flushCount.get() == 0 && System.nanoTime() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(cells.get(0).m_flushCount.get()).as("flushes of first cell").isEqualTo(1);
+        addRows(container, cells, exec, 5 * batchSize);
+        container.close();
+        final BufferedDataTable table = container.getTable();
+
+        assertThat(cells).allSatisfy(c -> assertThat(c.m_flushCount.get()).as("flushes").isEqualTo(1));
+        assertThat(cells.subList(batchSize, cells.size()))
+            .allSatisfy(c -> assertThat(c.m_isFlushedInBatch).as("flushed by container thread").isTrue());
+        var index = 0;
+        for (DataRow row : table) {
+            final var cell = (CountingFileStoreCell)row.getCell(0);
+            assertThat(cell.m_value).isEqualTo(index);
+            assertThat(cell.readContent()).isEqualTo(Integer.toString(index));
+            index++;
+        }
+        assertThat(index).isEqualTo(cells.size());
+    }
+
+    private static void addRows(final BufferedDataContainer container, final List<CountingFileStoreCell> cells,
+        final ExecutionContext exec, final int count) throws IOException {
+        for (var i = 0; i < count; i++) {
+            final int index = cells.size();
+            final FileStore fs = exec.createFileStore("fs_" + index);
+            final var cell = new CountingFileStoreCell(fs, index);
+            cells.add(cell);
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)index), cell));
+        }
+    }
+
+    /** File store cell writing its value into its file store when flushed, counting the flushes. */
+    public static final class CountingFileStoreCell extends FileStoreCell {
+
+        private static final long serialVersionUID = 1L;
+
+        static final DataType TYPE = DataType.getType(CountingFileStoreCell.class);
+
+        private final int m_value;
+
+        private final transient AtomicInteger m_flushCount = new AtomicInteger();
+
+        private transient volatile boolean m_isFlushedInBatch;
+
+        CountingFileStoreCell(final FileStore fs, final int value) {
+            super(fs);
+            m_value = value;
+        }
+
+        /** Deserialization constructor. */
+        CountingFileStoreCell(final int value) {
+            m_value = value;
+        }
+
+        @Override
+        protected void flushToFileStore() throws IOException {
+            m_flushCount.incrementAndGet();
+            m_isFlushedInBatch = StackWalker.getInstance()
+                .walk(frames -> frames.anyMatch(f -> "flushFileStoreCells".equals(f.getMethodName())));
+            Files.writeString(getFileStores()[0].getFile().toPath(), Integer.toString(m_value));
+        }
+
+        String readContent() throws IOException {
+            return Files.readString(getFileStores()[0].getFile().toPath());
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(m_value);
+        }
+
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return ((CountingFileStoreCell)dc).m_value == m_value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(m_value);
+        }
+    }
+
+    /** Serializer of {@link CountingFileStoreCell}. */
+    public static final class CountingFileStoreCellSerializer implements DataCellSerializer<CountingFileStoreCell> {
+
+        @Override
+        public void serialize(final CountingFileStoreCell cell, final DataCellDataOutput output) throws IOException {
+            output.writeInt(cell.m_value);
+        }
+
+        @Override
+        public CountingFileStoreCell deserialize(final DataCellDataInput input) throws IOException {
+            return new CountingFileStoreCell(input.readInt());
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link PackedBlobStore}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PackedBlobStoreTest {
+
+    @TempDir
+    File m_blobDir;
+
+    private static byte[] content(final int column, final int index) {
+        return ("blob " + index + " in column " + column).repeat(index + 1).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Blobs of different columns are written to and read from their segments. */
+    @Test
+    void testWriteAndRead() throws IOException {
+        try (var store = new PackedBlobStore(m_blobDir)) {
+            for (int i = 0; i < 50; i++) {
+                store.write(0, i, content(0, i));
+                store.write(2, i, content(2, i));
+            }
+            for (int i = 0; i < 50; i++) {
+                assertThat(store.read(0, i)).isEqualTo(content(0, i));
+                assertThat(store.read(2, i)).isEqualTo(content(2, i));
+            }
+            assertThat(store.read(0, 0)).isEqualTo(content(0, 0));
+        }
+        assertThat(new File(m_blobDir, "col_0").list()).containsExactlyInAnyOrder("index.bin", "segment_0.bin");
+    }
+
+    /** After the writers are closed, blobs are appended to the existing files and remain readable after reopen. */
+    @Test
+    void testAppendAfterCloseAndReopen() throws IOException {
+        try (var store = new PackedBlobStore(m_blobDir)) {
+            store.write(1, 0, content(1, 0));
+            store.closeWriters();
+            store.write(1, 1, content(1, 1));
+        }
+        try (var store = new PackedBlobStore(m_blobDir)) {
+            assertThat(store.read(1, 0)).isEqualTo(content(1, 0));
+            assertThat(store.read(1, 1)).isEqualTo(content(1, 1));
+            assertThatThrownBy(() -> store.read(1, 2)).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> store.read(3, 0)).isInstanceOf(IOException.class);
+        }
+    }
+
+    /** Blobs can be streamed from their segment and their length is read from the index. */
+    @Test
+    void testOpenInputStream() throws IOException {
+        try (var store = new PackedBlobStore(m_blobDir)) {
+            for (int i = 0; i < 10; i++) {
+                store.write(0, i, content(0, i));
+            }
+            for (int i = 0; i < 10; i++) {
+                final byte[] expected = content(0, i);
+                assertThat(store.getLength(0, i)).isEqualTo(expected.length);
+                try (var in = store.openInputStream(0, i)) {
+                    assertThat(in.read()).isEqualTo(expected[0]);
+                    assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(expected, 1, expected.length));
+                    assertThat(in.read()).isEqualTo(-1);
+                }
+            }
+        }
+    }
+
+    /** Blob indices that were never written (holes in the index) fail to read rather than reading as empty blobs. */
+    @Test
+    void testHoleInIndexFails() throws IOException {
+        try (var store = new PackedBlobStore(m_blobDir)) {
+            store.write(0, 0, content(0, 0));
+            store.write(0, 2, content(0, 2));
+            store.write(0, 3, new byte[0]);
+            assertThat(store.read(0, 0)).isEqualTo(content(0, 0));
+            assertThat(store.read(0, 2)).isEqualTo(content(0, 2));
+            assertThat(store.read(0, 3)).isEmpty();
+            assertThatThrownBy(() -> store.read(0, 1)).isInstanceOf(IOException.class)
+                .hasMessageContaining("No blob at index 1");
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link ProjectionPlan}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ProjectionPlanTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static final int ROW_COUNT = 100;
+
+    private static BufferedDataTable createTable() {
+        final BufferedDataContainer cont = EXEC.createDataContainer(SPEC);
+        for (var i = 0; i < ROW_COUNT; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** Multiplies the value of the given column. */
+    private static final class MultiplyFactory extends SingleCellFactory {
+
+        private final int m_column;
+
+        private final int m_factor;
+
+        MultiplyFactory(final String name, final int column, final int factor) {
+            super(new DataColumnSpecCreator(name, IntCell.TYPE).createSpec());
+            m_column = column;
+            m_factor = factor;
+        }
+
+        @Override
+        public DataCell getCell(final DataRow row, final long rowIndex) {
+            return new IntCell(((IntCell)row.getCell(m_column)).getIntValue() * m_factor);
+        }
+    }
+
+    /**
+     * Creates a chain rearrange -> spec replacer -> rearrange with columns "times3", "times2" (the input column is
+     * removed).
+     */
+    private static RearrangeColumnsTable createChain(final BufferedDataTable in) throws Exception {
+        final var first = new ColumnRearranger(SPEC);
+        first.append(new MultiplyFactory("times2", 0, 2));
+        final BufferedDataTable t1 = EXEC.createColumnRearrangeTable(in, first, EXEC);
+        final BufferedDataTable t2 = EXEC.createSpecReplacerTable(t1,
+            new DataTableSpec(new DataColumnSpecCreator("renamed", IntCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("times2", IntCell.TYPE).createSpec()));
+        final var second = new ColumnRearranger(t2.getDataTableSpec());
+        second.append(new MultiplyFactory("times3", 0, 3));
+        second.remove(0);
+        second.move(1, 0);
+        return RearrangeColumnsTable.create(second, t2, EXEC, EXEC);
+    }
+
+    /** The columns of a chain of tables are read directly from the input table and the two append tables. */
+    @Test
+    void testFlattenedChain() throws Exception {
+        final BufferedDataTable in = createTable();
+        final RearrangeColumnsTable table = createChain(in);
+        assertThat(table.getDataTableSpec().getColumnNames()).containsExactly("times3", "times2");
+        // the input table provides the keys
+        assertThat(ProjectionPlan.of(table, new int[]{0, 1}).getSourceCount()).isEqualTo(3);
+
+        var i = 0;
+        try (var it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                assertThat(row.getKey()).isEqualTo(RowKey.createRowKey((long)i));
+                assertThat(row.getCell(0)).isEqualTo(new IntCell(3 * i));
+                assertThat(row.getCell(1)).isEqualTo(new IntCell(2 * i));
+                i++;
+            }
+        }
+        assertThat(i).isEqualTo(ROW_COUNT);
+    }
+
+    /** The row range and the requested columns of a filter are applied to all sources. */
+    @Test
+    void testFlattenedChainWithFilter() throws Exception {
+        final RearrangeColumnsTable table = createChain(createTable());
+        final TableFilter filter =
+            new TableFilter.Builder().withFromRowIndex(10).withToRowIndex(19).withMaterializeColumnIndices(1).build();
+        var i = 10;
+        try (var it = table.iteratorWithFilter(filter)) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                assertThat(row.getKey()).isEqualTo(RowKey.createRowKey((long)i));
+                assertThat(row.getCell(1)).isEqualTo(new IntCell(2 * i));
+                i++;
+            }
+        }
+        assertThat(i).isEqualTo(20);
+    }
+
+    /** Nothing is flattened for a table directly on top of a container table. */
+    @Test
+    void testNoPlanForSingleLevel() throws Exception {
+        final var rearranger = new ColumnRearranger(SPEC);
+        rearranger.append(new MultiplyFactory("times2", 0, 2));
+        assertThat(ProjectionPlan.of(RearrangeColumnsTable.create(rearranger, createTable(), EXEC, EXEC),
+            new int[]{0, 1})).isNull();
+    }
+
+}
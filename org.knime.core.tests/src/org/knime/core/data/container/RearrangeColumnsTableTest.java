@@ -0,0 +1,229 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests the (chunked) parallel computation of new columns in {@link RearrangeColumnsTable}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RearrangeColumnsTableTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final BufferedDataContainer cont = EXEC.createDataContainer(SPEC);
+        for (var i = 0; i < rowCount; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** Appends the row index, optionally failing for a given row. */
+    private static final class RowIndexFactory extends SingleCellFactory {
+
+        private final boolean m_isThreadSafe;
+
+        private final long m_failingRow;
+
+        RowIndexFactory(final boolean parallel, final boolean isThreadSafe, final long failingRow) {
+            super(parallel, new DataColumnSpecCreator("index", LongCell.TYPE).createSpec());
+            m_isThreadSafe = isThreadSafe;
+            m_failingRow = failingRow;
+        }
+
+        @Override
+        public DataCell getCell(final DataRow row, final long rowIndex) {
+            if (rowIndex == m_failingRow) {
+                throw new IllegalStateException("Failing row " + rowIndex);
+            }
+            return new LongCell(rowIndex);
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return m_isThreadSafe;
+        }
+    }
+
+    private static void assertIndexAppended(final BufferedDataTable table, final int rowCount) {
+        assertThat(table.size()).isEqualTo(rowCount);
+        long expected = 0;
+        for (DataRow row : table) {
+            assertThat(((IntCell)row.getCell(0)).getIntValue()).isEqualTo(expected);
+            assertThat(((LongCell)row.getCell(1)).getLongValue()).isEqualTo(expected);
+            expected++;
+        }
+        assertThat(expected).isEqualTo(rowCount);
+    }
+
+    /** Rows computed in chunks by several workers are written in input order with their global row index. */
+    @Test
+    void testParallelProcessingKeepsOrder() throws Exception {
+        for (boolean[] flags : new boolean[][]{{true, false}, {false, true}, {false, false}}) {
+            final var in = createTable(20_000);
+            final var rearranger = new ColumnRearranger(SPEC);
+            rearranger.append(new RowIndexFactory(flags[0], flags[1], -1));
+            assertIndexAppended(EXEC.createColumnRearrangeTable(in, rearranger, EXEC), 20_000);
+        }
+    }
+
+    /** Small tables are split into chunks of less than the maximum chunk size. */
+    @Test
+    void testParallelProcessingSmallTable() throws Exception {
+        final var rearranger = new ColumnRearranger(SPEC);
+        rearranger.append(new RowIndexFactory(true, true, -1));
+        assertIndexAppended(EXEC.createColumnRearrangeTable(createTable(7), rearranger, EXEC), 7);
+    }
+
+    /** An exception thrown by the factory in a worker is passed on to the caller. */
+    @Test
+    void testParallelProcessingFailure() {
+        final var rearranger = new ColumnRearranger(SPEC);
+        rearranger.append(new RowIndexFactory(true, true, 12_345));
+        assertThatThrownBy(() -> EXEC.createColumnRearrangeTable(createTable(20_000), rearranger, EXEC))
+            .isInstanceOf(IllegalStateException.class).hasMessageContaining("Failing row 12345");
+    }
+
+    /** Appends the row index, counting the computed cells. */
+    private static final class CountingIndexFactory extends SingleCellFactory {
+
+        private final AtomicLong m_count = new AtomicLong();
+
+        CountingIndexFactory() {
+            super(new DataColumnSpecCreator("index", LongCell.TYPE).createSpec());
+        }
+
+        @Override
+        public DataCell getCell(final DataRow row, final long rowIndex) {
+            m_count.incrementAndGet();
+            return new LongCell(rowIndex);
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
+        @Override
+        public boolean isSideEffectFree() {
+            return true;
+        }
+    }
+
+    /** New columns of side-effect-free factories are computed while iterating and materialized when iterated again. */
+    @Test
+    void testLazyComputation() throws Exception {
+        final var in = createTable(1_000);
+        final var rearranger = new ColumnRearranger(SPEC);
+        final var factory = new CountingIndexFactory();
+        rearranger.append(factory);
+        final var table = RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC);
+        assertThat(table.isLazy()).isTrue();
+        assertThat(factory.m_count).hasValue(0);
+
+        // the new column is not requested
+        try (var it = table.iteratorWithFilter(TableFilter.materializeCols(0))) {
+            while (it.hasNext()) {
+                assertThat(((IntCell)it.next().getCell(0)).getIntValue()).isNotNegative();
+            }
+        }
+        assertThat(factory.m_count).hasValue(0);
+
+        // computed on the fly, row indices of a row range are global
+        try (var it = table.iteratorWithFilter(TableFilter.filterRangeOfRows(500, 501))) {
+            assertThat(((LongCell)it.next().getCell(1)).getLongValue()).isEqualTo(500);
+            assertThat(((LongCell)it.next().getCell(1)).getLongValue()).isEqualTo(501);
+            assertThat(it.hasNext()).isFalse();
+        }
+        assertThat(table.isLazy()).isTrue();
+
+        // iterated again: computed once and stored
+        try (var it = table.iterator()) {
+            for (long i = 0; it.hasNext(); i++) {
+                assertThat(((LongCell)it.next().getCell(1)).getLongValue()).isEqualTo(i);
+            }
+        }
+        assertThat(table.isLazy()).isFalse();
+        final long computed = factory.m_count.get();
+        assertThat(table.iterator().next().getCell(1)).isEqualTo(new LongCell(0));
+        assertThat(factory.m_count).hasValue(computed);
+    }
+
+}
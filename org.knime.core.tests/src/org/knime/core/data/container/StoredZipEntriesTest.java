@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.xml.XMLCell;
+import org.knime.core.data.xml.XMLCellFactory;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests saving and loading tables whose content is written as STORED zip entries (see {@link StoredZipEntryWriter}).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StoredZipEntriesTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(), //
+        new DataColumnSpecCreator("xml", XMLCell.TYPE).createSpec());
+
+    @TempDir
+    File m_tempDir;
+
+    private static ContainerTable createTable() throws Exception {
+        final var container = new DataContainer(SPEC, true, 0);
+        for (var i = 0; i < 100; i++) {
+            final DataCell xml = XMLCellFactory.create(
+                "<foo id=\"" + i + "\">" + "a".repeat(XMLCellFactory.DEF_MIN_BLOB_SIZE_IN_BYTES) + "</foo>");
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), new StringCell("Row " + i), xml));
+        }
+        container.close();
+        final ContainerTable table = container.getBufferedTable();
+        BufferTest.waitForBufferToBeFlushed(((BufferedContainerTable)table).getBuffer());
+        return table;
+    }
+
+    private static List<DataRow> readRows(final DataTable table) {
+        final List<DataRow> rows = new ArrayList<>();
+        for (DataRow row : table) {
+            rows.add(new DefaultRow(row.getKey(), row));
+        }
+        return rows;
+    }
+
+    private File saveTable(final ContainerTable table, final boolean isStored) throws Exception {
+        final var file = new File(m_tempDir, "table-" + isStored + ".zip");
+        final boolean previous = Buffer.setStoredZipEntries(isStored);
+        try {
+            DataContainer.writeToZip(table, file, new ExecutionMonitor(new DefaultNodeProgressMonitor()));
+        } finally {
+            Buffer.setStoredZipEntries(previous);
+        }
+        return file;
+    }
+
+    private static List<Integer> getContentEntryMethods(final File file) throws Exception {
+        try (var zipFile = new ZipFile(file)) {
+            return Collections.list(zipFile.entries()).stream() //
+                .filter(e -> !e.isDirectory()) //
+                .filter(e -> e.getName().equals(Buffer.ZIP_ENTRY_DATA)
+                    || e.getName().startsWith(Buffer.ZIP_ENTRY_BLOBS + "/")) //
+                .map(ZipEntry::getMethod) //
+                .toList();
+        }
+    }
+
+    /** A table saved with stored entries loads with the same content as the original table. */
+    @Test
+    void testSaveAndLoadStored() throws Exception {
+        final ContainerTable table = createTable();
+        final File file = saveTable(table, true);
+
+        final List<Integer> methods = getContentEntryMethods(file);
+        assertThat(methods).as("data and blob entries").hasSizeGreaterThan(1).containsOnly(ZipEntry.STORED);
+        assertThat(readRows(DataContainer.readFromZip(file))).isEqualTo(readRows(table));
+    }
+
+    /**
+     * A table created while stored entries are enabled has the CRC of its data file computed while the file is
+     * written; the zip stream verifies that CRC when the entry is copied.
+     */
+    @Test
+    void testSaveAndLoadStoredWithCRCComputedWhileWriting() throws Exception {
+        final boolean previous = Buffer.setStoredZipEntries(true);
+        final ContainerTable table;
+        try {
+            table = createTable();
+        } finally {
+            Buffer.setStoredZipEntries(previous);
+        }
+        final File file = saveTable(table, true);
+
+        assertThat(getContentEntryMethods(file)).as("data and blob entries").containsOnly(ZipEntry.STORED);
+        assertThat(readRows(DataContainer.readFromZip(file))).isEqualTo(readRows(table));
+    }
+
+    /** Stored entries are opt-in, by default the table content is written as deflate entries. */
+    @Test
+    void testSaveAndLoadDeflated() throws Exception {
+        final ContainerTable table = createTable();
+        final File file = saveTable(table, false);
+
+        assertThat(getContentEntryMethods(file)).as("data and blob entries").containsOnly(ZipEntry.DEFLATED);
+        assertThat(readRows(DataContainer.readFromZip(file))).isEqualTo(readRows(table));
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.filestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests the ranged reads of {@link FileStore}, {@link FileStoreCell#readFileStoreRange(int, long, int)} and
+ * {@link FileStoreUtil#readFileStoreRange(FileStoreCell, int, long, int)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class FileStoreRangeReadTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    private FileStore m_fileStore;
+
+    @BeforeEach
+    void createFileStore() throws IOException {
+        m_fileStore = executionContextExtension.getExecutionContext().createFileStore("range_read");
+        Files.writeString(m_fileStore.getFile().toPath(), CONTENT);
+    }
+
+    /** A range inside the file is read completely by both methods. */
+    @Test
+    void testRangeInsideFile() throws IOException {
+        assertThat(toString(m_fileStore.read(2, 3))).isEqualTo("234");
+        assertThat(toString(m_fileStore.readFully(2, 3))).isEqualTo("234");
+        assertThat(toString(m_fileStore.readFully(0, CONTENT.length()))).isEqualTo(CONTENT);
+        assertThat(toString(m_fileStore.read(4, 0))).isEmpty();
+    }
+
+    /** A range past the end of the file yields a short result, or an EOFException if it's to be read fully. */
+    @Test
+    void testRangePastEndOfFile() throws IOException {
+        assertThat(toString(m_fileStore.read(8, 5))).isEqualTo("89");
+        assertThat(toString(m_fileStore.read(20, 5))).isEmpty();
+        assertThatThrownBy(() -> m_fileStore.readFully(8, 5)).isInstanceOf(EOFException.class);
+        assertThatThrownBy(() -> m_fileStore.readFully(20, 1)).isInstanceOf(EOFException.class);
+    }
+
+    /** Negative positions and lengths are rejected. */
+    @Test
+    void testNegativeArguments() {
+        assertThatThrownBy(() -> m_fileStore.read(-1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> m_fileStore.read(0, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> m_fileStore.readFully(-1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> m_fileStore.readFully(0, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** The read channel can be positioned arbitrarily. */
+    @Test
+    void testOpenReadChannel() throws IOException {
+        try (SeekableByteChannel channel = m_fileStore.openReadChannel()) {
+            assertThat(channel.size()).isEqualTo(CONTENT.length());
+            final var buffer = ByteBuffer.allocate(3);
+            channel.position(7).read(buffer);
+            assertThat(toString(buffer.flip())).isEqualTo("789");
+            buffer.clear();
+            assertThat(channel.read(buffer)).as("bytes read at end of file").isEqualTo(-1);
+        }
+    }
+
+    /** The cell reads the range of its file store; the framework method flushes the cell once before reading. */
+    @Test
+    void testFileStoreCellFlushesBeforeReading() throws IOException {
+        final var cell = new FlushingFileStoreCell(
+            executionContextExtension.getExecutionContext().createFileStore("range_read_cell"), "cell content");
+        assertThat(cell.m_flushCount.get()).isZero();
+
+        assertThat(toString(FileStoreUtil.readFileStoreRange(cell, 0, 5, 7))).isEqualTo("content");
+        assertThat(cell.m_flushCount.get()).as("flushes").isEqualTo(1);
+        assertThat(cell.isFlushedToFileStore()).isTrue();
+
+        assertThat(toString(FileStoreUtil.readFileStoreRange(cell, 0, 0, 4))).isEqualTo("cell");
+        assertThat(toString(cell.readFileStoreRange(0, 0, 100))).isEqualTo("cell content");
+        assertThat(cell.m_flushCount.get()).as("flushes").isEqualTo(1);
+    }
+
+    private static String toString(final ByteBuffer buffer) {
+        final var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /** Cell writing its content to its file store only when flushed. */
+    private static final class FlushingFileStoreCell extends FileStoreCell {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String m_content;
+
+        private final transient AtomicInteger m_flushCount = new AtomicInteger();
+
+        FlushingFileStoreCell(final FileStore fileStore, final String content) {
+            super(fileStore);
+            m_content = content;
+        }
+
+        @Override
+        protected void flushToFileStore() throws IOException {
+            m_flushCount.incrementAndGet();
+            Files.writeString(getFileStores()[0].getFile().toPath(), m_content);
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.filestore.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.filestore.FileStore;
+import org.knime.core.data.filestore.FileStoreKey;
+import org.knime.testing.data.filestore.LargeFile;
+import org.knime.testing.data.filestore.LargeFileStoreCell;
+
+/**
+ * Tests the deduplication of file stores copied into a {@link WriteFileStoreHandler}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class WriteFileStoreHandlerTest {
+
+    private WriteFileStoreHandler m_source;
+
+    private WriteFileStoreHandler m_target;
+
+    @BeforeEach
+    void createHandlers() {
+        m_source = new WriteFileStoreHandler("source", UUID.randomUUID());
+        m_target = new WriteFileStoreHandler("target", UUID.randomUUID());
+        m_target.addToRepository(NotInWorkflowDataRepository.newInstance());
+        m_target.setDeduplicateCopies(true);
+    }
+
+    @AfterEach
+    void disposeHandlers() {
+        m_source.clearAndDispose();
+        m_target.clearAndDispose();
+    }
+
+    /** Copies with identical content and name share a single file. */
+    @Test
+    void testCopiesWithIdenticalContentShareFile() throws IOException {
+        final FileStoreKey first = copy("file", 1);
+        final FileStoreKey second = copy("file", 1);
+        assertThat(second).isEqualTo(first);
+        assertThat(m_target.getFileStore(first).getFile().getName()).endsWith("_file");
+        assertThat(countFiles()).isEqualTo(1);
+    }
+
+    /** Copies with different content, or identical content but another name, are not shared. */
+    @Test
+    void testDifferentContentOrNameIsCopied() throws IOException {
+        final FileStoreKey first = copy("file", 1);
+        final FileStoreKey otherContent = copy("file", 2);
+        final FileStoreKey otherName = copy("file.bin", 1);
+        assertThat(otherContent).isNotEqualTo(first);
+        assertThat(otherName).isNotEqualTo(first).isNotEqualTo(otherContent);
+        assertThat(m_target.getFileStore(otherName).getFile().getName()).endsWith("_file.bin");
+        assertThat(countFiles()).isEqualTo(3);
+    }
+
+    /** Without deduplication each file store is copied. */
+    @Test
+    void testNoDeduplication() throws IOException {
+        m_target.setDeduplicateCopies(false);
+        assertThat(copy("file", 1)).isNotEqualTo(copy("file", 1));
+        assertThat(countFiles()).isEqualTo(2);
+    }
+
+    /** Creates a file store in the source handler and copies it into the target handler. */
+    private FileStoreKey copy(final String name, final long seed) throws IOException {
+        final FileStore fs = m_source.createFileStore(name, null, -1);
+        final var cell = new LargeFileStoreCell(LargeFile.create(fs, seed, false), seed);
+        return m_target.translateToLocal(fs, cell);
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.walk(m_target.getBaseDir().toPath())) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+}
@@ -0,0 +1,311 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ */
+package org.knime.core.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.RearrangeColumnsTable;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests that new columns of rearrange tables that are computed while iterating (see
+ * {@link RearrangeColumnsTable#isLazy()}) stay deferred beyond the creating node's execution: they are computed by the
+ * consumer that iterates the table and are materialized without the producer's execution context when the table is
+ * iterated again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class LazyOutputColumnsTest {
+
+    private static final int ROW_COUNT = 100;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    private final AtomicInteger m_computedCells = new AtomicInteger();
+
+    private final AtomicBoolean m_wasLazy = new AtomicBoolean();
+
+    private WorkflowManager m_wfm;
+
+    private NativeNodeContainer m_producer;
+
+    private NativeNodeContainer m_consumer;
+
+    @BeforeEach
+    void createWorkflow() throws IOException {
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        m_producer = WorkflowManagerUtil.createAndAddNode(m_wfm, new ProducerNodeFactory(m_computedCells, m_wasLazy));
+        m_consumer = WorkflowManagerUtil.createAndAddNode(m_wfm, new CopyNodeFactory());
+        m_wfm.addConnection(m_producer.getID(), 1, m_consumer.getID(), 1);
+    }
+
+    @AfterEach
+    void disposeWorkflow() {
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+    }
+
+    private static void assertDoubledValues(final BufferedDataTable table) {
+        assertThat(table.size()).isEqualTo(ROW_COUNT);
+        var i = 0;
+        for (DataRow row : table) {
+            assertThat(((IntCell)row.getCell(1)).getIntValue()).isEqualTo(2 * i);
+            i++;
+        }
+    }
+
+    /**
+     * The output of the producer is still lazy after it executed, the consumer computes the columns while reading
+     * them. Iterating the output once more materializes the columns after the producer finished.
+     */
+    @Test
+    void testColumnsComputedAfterProducerFinished() throws Exception {
+        m_wfm.executeUpToHere(m_producer.getID());
+        assertThat(m_wfm.waitWhileInExecution(30, TimeUnit.SECONDS)).as("producer executed").isTrue();
+        assertThat(m_producer.getNodeContainerState().isExecuted()).isTrue();
+        assertThat(m_wasLazy).as("lazy during execution").isTrue();
+        final var output = (BufferedDataTable)m_producer.getOutPort(1).getPortObject();
+        final var rearrangeTable = (RearrangeColumnsTable)output.getDelegate();
+        assertThat(rearrangeTable.isLazy()).as("lazy after execution").isTrue();
+        assertThat(m_computedCells).as("not computed by the producer").hasValue(0);
+
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isTrue();
+        assertThat(m_computedCells).as("computed by the consumer").hasValue(ROW_COUNT);
+        assertDoubledValues((BufferedDataTable)m_consumer.getOutPort(1).getPortObject());
+        assertThat(rearrangeTable.isLazy()).as("lazy after a single iteration").isTrue();
+
+        assertDoubledValues(output);
+        assertThat(rearrangeTable.isLazy()).as("lazy after the second iteration").isFalse();
+        assertThat(m_computedCells).as("computed again when materialized").hasValue(2 * ROW_COUNT);
+        assertDoubledValues(output);
+        assertThat(m_computedCells).as("stored columns are not computed").hasValue(2 * ROW_COUNT);
+
+        m_wfm.resetAndConfigureNode(m_producer.getID());
+        assertThat(m_computedCells).as("not computed on reset").hasValue(2 * ROW_COUNT);
+    }
+
+    private abstract static class AbstractTestNodeModel extends NodeModel {
+
+        AbstractTestNodeModel(final int nrInPorts) {
+            super(nrInPorts, 1);
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            // Not used
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void reset() {
+            // Not used
+        }
+    }
+
+    private abstract static class AbstractTestNodeFactory<T extends NodeModel> extends NodeFactory<T> {
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<T> createNodeView(final int viewIndex, final T nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+
+    /** Source node appending a column with twice the value by a side-effect-free factory, counting its calls. */
+    private static final class ProducerNodeFactory extends AbstractTestNodeFactory<ProducerNodeModel> {
+
+        private final AtomicInteger m_computedCells;
+
+        private final AtomicBoolean m_wasLazy;
+
+        ProducerNodeFactory(final AtomicInteger computedCells, final AtomicBoolean wasLazy) {
+            m_computedCells = computedCells;
+            m_wasLazy = wasLazy;
+        }
+
+        @Override
+        public ProducerNodeModel createNodeModel() {
+            return new ProducerNodeModel(m_computedCells, m_wasLazy);
+        }
+    }
+
+    private static final class ProducerNodeModel extends AbstractTestNodeModel {
+
+        private final AtomicInteger m_computedCells;
+
+        private final AtomicBoolean m_wasLazy;
+
+        ProducerNodeModel(final AtomicInteger computedCells, final AtomicBoolean wasLazy) {
+            super(0);
+            m_computedCells = computedCells;
+            m_wasLazy = wasLazy;
+        }
+
+        private ColumnRearranger createRearranger() {
+            final var rearranger = new ColumnRearranger(SPEC);
+            rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("double", IntCell.TYPE).createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row) {
+                    m_computedCells.incrementAndGet();
+                    return new IntCell(2 * ((IntCell)row.getCell(0)).getIntValue());
+                }
+
+                @Override
+                public boolean isSideEffectFree() {
+                    return true;
+                }
+            });
+            return rearranger;
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            return new DataTableSpec[]{createRearranger().createSpec()};
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            final var container = exec.createDataContainer(SPEC);
+            for (var i = 0; i < ROW_COUNT; i++) {
+                container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+            }
+            container.close();
+            final BufferedDataTable out = exec.createColumnRearrangeTable(container.getTable(), createRearranger(), exec);
+            m_wasLazy.set(
+                out.getDelegate() instanceof RearrangeColumnsTable rearrangeTable && rearrangeTable.isLazy());
+            return new BufferedDataTable[]{out};
+        }
+    }
+
+    /** Node copying its input table into a new table. */
+    private static final class CopyNodeFactory extends AbstractTestNodeFactory<CopyNodeModel> {
+
+        @Override
+        public CopyNodeModel createNodeModel() {
+            return new CopyNodeModel();
+        }
+    }
+
+    private static final class CopyNodeModel extends AbstractTestNodeModel {
+
+        CopyNodeModel() {
+            super(1);
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            return inSpecs;
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            final var container = exec.createDataContainer(inData[0].getDataTableSpec());
+            for (DataRow row : inData[0]) {
+                container.addRowToTable(row);
+            }
+            container.close();
+            return new BufferedDataTable[]{container.getTable()};
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ */
+package org.knime.core.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpecCreator;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests {@link NodeOutputCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeOutputCacheTest {
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    private static BufferedDataTable createTable(final int nrRows, final int offset) {
+        var exec = executionContextExtension.getExecutionContext();
+        var spec = new DataTableSpecCreator().addColumns( //
+            new DataColumnSpecCreator("S", StringCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("I", IntCell.TYPE).createSpec()).createSpec();
+        var container = exec.createDataContainer(spec);
+        for (var r = 0; r < nrRows; r++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)r),
+                new DataCell[]{new StringCell("Row " + r), new IntCell(r + offset)}));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static String createKey(final NodeOutputCache cache, final String settingValue,
+        final BufferedDataTable table) throws CanceledExecutionException {
+        var settings = new NodeSettings("test");
+        settings.addString("value", settingValue);
+        return cache.createKey("factory", settings, Map.of("var", new FlowVariable("var", 1)),
+            new PortObject[]{FlowVariablePortObject.INSTANCE, table}, new ExecutionMonitor()).orElseThrow();
+    }
+
+    /** Equal content, settings and flow variables result in equal keys, any difference in a different key. */
+    @Test
+    void testKeyReflectsContentAndSettings() throws Exception {
+        var cache = new NodeOutputCache(1 << 20);
+        var key = createKey(cache, "a", createTable(10, 0));
+        assertThat(createKey(cache, "a", createTable(10, 0))).as("equal content").isEqualTo(key);
+        assertThat(createKey(cache, "b", createTable(10, 0))).as("other settings").isNotEqualTo(key);
+        assertThat(createKey(cache, "a", createTable(10, 1))).as("other content").isNotEqualTo(key);
+        assertThat(createKey(cache, "a", createTable(11, 0))).as("more rows").isNotEqualTo(key);
+    }
+
+    /** The fingerprint covers the full spec (here: the domain), not only column names and types. */
+    @Test
+    void testFingerprintCoversSpec() throws Exception {
+        var exec = executionContextExtension.getExecutionContext();
+        var cache = new NodeOutputCache(1 << 20);
+        var table = createTable(10, 0);
+        var specWithDomain = new DataTableSpecCreator(table.getDataTableSpec()).dropAllColumns().addColumns(
+            new DataColumnSpecCreator("S", StringCell.TYPE).createSpec(), new DataColumnSpecCreator("I", IntCell.TYPE)
+                .setDomain(new DataColumnDomainCreator(new IntCell(0), new IntCell(9)).createDomain()).createSpec())
+            .createSpec();
+        var tableWithDomain = exec.createSpecReplacerTable(table, specWithDomain);
+        assertThat(cache.getTableFingerprint(tableWithDomain, exec))
+            .isNotEqualTo(cache.getTableFingerprint(createTable(10, 0), exec));
+        assertThat(cache.getTableFingerprint(table, exec)).as("equal content")
+            .isEqualTo(cache.getTableFingerprint(createTable(10, 0), exec));
+    }
+
+    /** Stored outputs are restored with the same content and identified by the fingerprint of the execution. */
+    @Test
+    void testStoreAndLookup() throws Exception {
+        var exec = executionContextExtension.getExecutionContext();
+        var cache = new NodeOutputCache(1 << 20);
+        var key = createKey(cache, "a", createTable(10, 0));
+        assertThat(cache.lookup(key, exec)).isEmpty();
+
+        var output = createTable(5, 42);
+        var pushed = new FlowVariable[]{new FlowVariable("out", "value")};
+        cache.store(key, new PortObject[]{FlowVariablePortObject.INSTANCE, output}, pushed, exec);
+        assertThat(cache.size()).isEqualTo(1);
+
+        var memoized = cache.lookup(key, exec).orElseThrow();
+        assertThat(memoized.pushedVariables()).containsExactly(pushed);
+        assertThat(memoized.outData()).hasSize(2);
+        var restored = (BufferedDataTable)memoized.outData()[1];
+        assertThat(restored.size()).isEqualTo(output.size());
+        assertThat(restored.getDataTableSpec()).isEqualTo(output.getDataTableSpec());
+        try (CloseableRowIterator expected = output.iterator(); CloseableRowIterator actual = restored.iterator()) {
+            while (expected.hasNext()) {
+                var expectedRow = expected.next();
+                var actualRow = actual.next();
+                assertThat(actualRow.getKey()).isEqualTo(expectedRow.getKey());
+                assertThat(actualRow).containsExactlyElementsOf(expectedRow);
+            }
+            assertThat(actual.hasNext()).isFalse();
+        }
+        assertThat(cache.getTableFingerprint(restored, exec)).as("fingerprint derived from execution")
+            .isEqualTo(cache.getTableFingerprint(output, exec));
+    }
+
+    /** The least recently used entries are dropped once the cache exceeds its size. */
+    @Test
+    void testEviction() throws Exception {
+        var exec = executionContextExtension.getExecutionContext();
+        var output = createTable(1000, 0);
+        var unbounded = new NodeOutputCache(Long.MAX_VALUE);
+        unbounded.store("size", new PortObject[]{FlowVariablePortObject.INSTANCE, output}, new FlowVariable[0],
+            exec);
+        var entrySize = unbounded.getSizeInBytes();
+
+        var cache = new NodeOutputCache(entrySize * 2 + entrySize / 2);
+        for (var i = 0; i < 3; i++) {
+            cache.store("key" + i, new PortObject[]{FlowVariablePortObject.INSTANCE, output}, new FlowVariable[0],
+                exec);
+        }
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSizeInBytes()).isLessThanOrEqualTo(entrySize * 2 + entrySize / 2);
+        assertThat(cache.lookup("key0", exec)).as("least recently used entry").isEmpty();
+        assertThat(cache.lookup("key2", exec)).isPresent();
+    }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ */
+package org.knime.core.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.MergeOperator;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableFunction;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel;
+import org.knime.core.node.streamable.simple.SimpleStreamableOperatorInternals;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests {@link StreamableOperatorExecutor}: partitioning of distributable inputs, order of the concatenated outputs,
+ * merging of non-distributed outputs and propagation of failures in a partition.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamableOperatorExecutorTest {
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /** Enough rows for three partitions plus a few that don't divide evenly. */
+    private static final int ROW_COUNT = 3 * (int)StreamableOperatorExecutor.MIN_ROWS_PER_PARTITION + 7;
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final var container = executionContextExtension.getExecutionContext().createDataContainer(SPEC);
+        for (var i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** Only models with streamable inputs populated by tables and a merge operator if needed are streamed. */
+    @Test
+    void testCanStream() {
+        final PortObject[] data = {createTable(10)};
+        assertThat(StreamableOperatorExecutor.canStream(new DoubleNodeModel(), data)).isTrue();
+        assertThat(StreamableOperatorExecutor.canStream(new CountNodeModel(true, -1), data)).isTrue();
+        assertThat(StreamableOperatorExecutor.canStream(new CountNodeModel(false, -1), data))
+            .as("distributed input and non-distributed output without merge operator").isFalse();
+        assertThat(StreamableOperatorExecutor.canStream(new DoubleNodeModel(),
+            new PortObject[]{InactiveBranchPortObject.INSTANCE})).as("inactive input").isFalse();
+    }
+
+    /** The partition outputs are concatenated in order, each row is computed exactly once. */
+    @Test
+    void testDistributedOutputKeepsRowOrder() throws Exception {
+        final var model = new DoubleNodeModel();
+        final PortObject[] out = new StreamableOperatorExecutor(model, 3)
+            .execute(new PortObject[]{createTable(ROW_COUNT)}, executionContextExtension.getExecutionContext());
+        assertThat(model.m_operatorCount.get()).as("number of partitions").isEqualTo(3);
+
+        final var table = (BufferedDataTable)out[0];
+        assertThat(table.size()).isEqualTo(ROW_COUNT);
+        var i = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                assertThat(row.getKey()).isEqualTo(RowKey.createRowKey((long)i));
+                assertThat(((IntCell)row.getCell(0)).getIntValue()).isEqualTo(i);
+                assertThat(((IntCell)row.getCell(1)).getIntValue()).isEqualTo(2 * i);
+                i++;
+            }
+        }
+        assertThat(i).isEqualTo(ROW_COUNT);
+    }
+
+    /** Small inputs are not split. */
+    @Test
+    void testSmallInputNotPartitioned() throws Exception {
+        final var model = new DoubleNodeModel();
+        final PortObject[] out = new StreamableOperatorExecutor(model, 3)
+            .execute(new PortObject[]{createTable(100)}, executionContextExtension.getExecutionContext());
+        assertThat(model.m_operatorCount.get()).as("number of partitions").isEqualTo(1);
+        assertThat(((BufferedDataTable)out[0]).size()).isEqualTo(100);
+    }
+
+    /** A non-distributed output is computed from the merged internals of all partitions. */
+    @Test
+    void testNonDistributedOutputIsMerged() throws Exception {
+        final PortObject[] out = new StreamableOperatorExecutor(new CountNodeModel(true, -1), 3)
+            .execute(new PortObject[]{createTable(ROW_COUNT)}, executionContextExtension.getExecutionContext());
+        final var table = (BufferedDataTable)out[0];
+        assertThat(table.size()).isOne();
+        try (CloseableRowIterator it = table.iterator()) {
+            assertThat(((LongCell)it.next().getCell(0)).getLongValue()).isEqualTo(ROW_COUNT);
+        }
+    }
+
+    /** An exception thrown by the operator of a partition run in the thread pool is rethrown unwrapped. */
+    @Test
+    void testFailureInPartitionIsRethrown() {
+        final var model = new CountNodeModel(true, ROW_COUNT - 1);
+        final var executor = new StreamableOperatorExecutor(model, 3);
+        final PortObject[] data = {createTable(ROW_COUNT)};
+        assertThatThrownBy(() -> executor.execute(data, executionContextExtension.getExecutionContext()))
+            .isInstanceOf(IllegalStateException.class).hasMessage("Failing at row " + (ROW_COUNT - 1));
+    }
+
+    /** Appends a column with twice the value of the input column, counts the created operators. */
+    private static final class DoubleNodeModel extends SimpleStreamableFunctionNodeModel {
+
+        private final AtomicInteger m_operatorCount = new AtomicInteger();
+
+        @Override
+        protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) {
+            final var rearranger = new ColumnRearranger(spec);
+            rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("double", IntCell.TYPE).createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row) {
+                    return new IntCell(2 * ((IntCell)row.getCell(0)).getIntValue());
+                }
+            });
+            return rearranger;
+        }
+
+        @Override
+        public StreamableFunction createStreamableOperator(final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            m_operatorCount.incrementAndGet();
+            return super.createStreamableOperator(partitionInfo, inSpecs);
+        }
+    }
+
+    /**
+     * Counts the rows of its distributed input, the count is published in a non-distributed output. Optionally
+     * fails when reading a given row.
+     */
+    private static final class CountNodeModel extends NodeModel {
+
+        private static final String CFG_COUNT = "count";
+
+        private final boolean m_hasMergeOperator;
+
+        private final int m_failAt;
+
+        CountNodeModel(final boolean hasMergeOperator, final int failAt) {
+            super(1, 1);
+            m_hasMergeOperator = hasMergeOperator;
+            m_failAt = failAt;
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            return new DataTableSpec[]{new DataTableSpec(new DataColumnSpecCreator(CFG_COUNT, LongCell.TYPE)
+                .createSpec())};
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            throw new IllegalStateException("Not expected to be executed regularly");
+        }
+
+        @Override
+        public InputPortRole[] getInputPortRoles() {
+            return new InputPortRole[]{InputPortRole.DISTRIBUTED_STREAMABLE};
+        }
+
+        @Override
+        public OutputPortRole[] getOutputPortRoles() {
+            return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+        }
+
+        @Override
+        public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new StreamableOperator() {
+
+                private long m_count;
+
+                @Override
+                public void runFinal(final PortInput[] inputs, final PortOutput[] outputs,
+                    final ExecutionContext exec) throws Exception {
+                    final var input = (RowInput)inputs[0];
+                    DataRow row;
+                    while ((row = input.poll()) != null) {
+                        if (((IntCell)row.getCell(0)).getIntValue() == m_failAt) {
+                            throw new IllegalStateException("Failing at row " + m_failAt);
+                        }
+                        m_count++;
+                    }
+                    input.close();
+                }
+
+                @Override
+                public StreamableOperatorInternals saveInternals() {
+                    final var internals = new SimpleStreamableOperatorInternals();
+                    internals.getConfig().addLong(CFG_COUNT, m_count);
+                    return internals;
+                }
+            };
+        }
+
+        @Override
+        public MergeOperator createMergeOperator() {
+            if (!m_hasMergeOperator) {
+                return null;
+            }
+            return new MergeOperator() {
+                @Override
+                public StreamableOperatorInternals mergeFinal(final StreamableOperatorInternals[] operators) {
+                    var count = 0L;
+                    for (StreamableOperatorInternals internals : operators) {
+                        count += ((SimpleStreamableOperatorInternals)internals).getConfig().getLong(CFG_COUNT, 0);
+                    }
+                    final var merged = new SimpleStreamableOperatorInternals();
+                    merged.getConfig().addLong(CFG_COUNT, count);
+                    return merged;
+                }
+            };
+        }
+
+        @Override
+        public void finishStreamableExecution(final StreamableOperatorInternals internals,
+            final ExecutionContext exec, final PortOutput[] output) throws Exception {
+            final long count = ((SimpleStreamableOperatorInternals)internals).getConfig().getLong(CFG_COUNT);
+            final var rowOutput = (RowOutput)output[0];
+            rowOutput.push(new DefaultRow(RowKey.createRowKey(0L), new LongCell(count)));
+            rowOutput.close();
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            // Not used
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void reset() {
+            // Not used
+        }
+    }
+
+}
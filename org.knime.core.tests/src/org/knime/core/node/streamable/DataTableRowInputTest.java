@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.streamable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests reading a range of rows with {@link DataTableRowInput} and processing it with
+ * {@link StreamableFunction#runFinal(RowInput, RowOutput, long, ExecutionContext)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DataTableRowInputTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final BufferedDataContainer cont = EXEC.createDataContainer(SPEC);
+        for (var i = 0; i < rowCount; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static final class ListRowOutput extends RowOutput {
+
+        private final List<DataRow> m_rows = new ArrayList<>();
+
+        @Override
+        public void push(final DataRow row) {
+            m_rows.add(row);
+        }
+
+        @Override
+        public void close() {
+            // nothing to do
+        }
+    }
+
+    /** Only the rows of the range are read, the row count reflects the range. */
+    @Test
+    void testRangeOfRows() throws InterruptedException {
+        final var input = new DataTableRowInput(createTable(100), TableFilter.filterRangeOfRows(10, 19));
+        assertThat(input.getRowCount()).isEqualTo(10);
+        final var values = new ArrayList<Integer>();
+        DataRow[] batch;
+        while ((batch = input.pollBatch(3)).length > 0) {
+            for (DataRow row : batch) {
+                values.add(((IntCell)row.getCell(0)).getIntValue());
+            }
+        }
+        input.close();
+        assertThat(values).containsExactly(10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+
+        assertThat(new DataTableRowInput(createTable(5), TableFilter.filterRangeOfRows(3, 10)).getRowCount())
+            .isEqualTo(2);
+    }
+
+    /** A function processing a partition sees the row indices of the whole table. */
+    @Test
+    void testRunFinalWithRowIndexOffset() throws Exception {
+        final var function = new StreamableFunction() {
+            @Override
+            public DataRow compute(final DataRow input, final long rowIndex) {
+                return new DefaultRow(input.getKey(), new LongCell(rowIndex));
+            }
+        };
+        final var output = new ListRowOutput();
+        function.runFinal(new DataTableRowInput(createTable(1000), TableFilter.filterRangeOfRows(500, 999)), output,
+            500, EXEC);
+        assertThat(output.m_rows).hasSize(500);
+        for (DataRow row : output.m_rows) {
+            assertThat(row.getKey()).isEqualTo(RowKey.createRowKey(((LongCell)row.getCell(0)).getLongValue()));
+        }
+    }
+
+}
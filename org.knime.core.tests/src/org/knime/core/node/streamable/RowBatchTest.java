@@ -0,0 +1,203 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.streamable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests handing over rows in batches: {@link RowInput#pollBatch(int)}, {@link RowOutput#pushBatch(DataRow[])} and
+ * their use in {@link StreamableFunction#runFinal(PortInput[], PortOutput[], ExecutionContext)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowBatchTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final BufferedDataContainer cont = EXEC.createDataContainer(SPEC);
+        for (var i = 0; i < rowCount; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static int value(final DataRow row) {
+        return ((IntCell)row.getCell(0)).getIntValue();
+    }
+
+    /** Records the rows pushed and the sizes of the batches. */
+    private static final class RecordingRowOutput extends RowOutput {
+
+        private final List<DataRow> m_rows = new ArrayList<>();
+
+        private final List<Integer> m_batchSizes = new ArrayList<>();
+
+        private boolean m_isClosed;
+
+        @Override
+        public void push(final DataRow row) {
+            m_rows.add(row);
+        }
+
+        @Override
+        public void pushBatch(final DataRow[] rows) throws InterruptedException {
+            m_batchSizes.add(rows.length);
+            super.pushBatch(rows);
+        }
+
+        @Override
+        public void close() {
+            m_isClosed = true;
+        }
+    }
+
+    /** The table input returns full batches until the end of the table, then empty batches. */
+    @Test
+    void testPollBatch() throws InterruptedException {
+        final var input = new DataTableRowInput(createTable(10));
+        final var values = new ArrayList<Integer>();
+        final var batchSizes = new ArrayList<Integer>();
+        DataRow[] batch;
+        while ((batch = input.pollBatch(4)).length > 0) {
+            batchSizes.add(batch.length);
+            for (DataRow row : batch) {
+                values.add(value(row));
+            }
+        }
+        assertThat(batchSizes).containsExactly(4, 4, 2);
+        assertThat(values).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(input.pollBatch(4)).isEmpty();
+        assertThat(input.poll()).isNull();
+        assertThatThrownBy(() -> input.pollBatch(0)).isInstanceOf(IllegalArgumentException.class);
+        input.close();
+    }
+
+    /** A subclass overriding {@link DataTableRowInput#poll()} sees its rows returned by the batch method, too. */
+    @Test
+    void testPollBatchUsesOverriddenPoll() throws InterruptedException {
+        final var input = new DataTableRowInput(createTable(10)) {
+            @Override
+            public DataRow poll() throws InterruptedException {
+                final DataRow row = super.poll();
+                super.poll(); // skips odd rows
+                return row;
+            }
+        };
+        final var values = new ArrayList<Integer>();
+        DataRow[] batch;
+        while ((batch = input.pollBatch(4)).length > 0) {
+            for (DataRow row : batch) {
+                values.add(value(row));
+            }
+        }
+        assertThat(values).containsExactly(0, 2, 4, 6, 8);
+    }
+
+    /** The default batch push hands the rows to {@link RowOutput#push(DataRow)} in order. */
+    @Test
+    void testPushBatch() throws InterruptedException {
+        final var output = new RecordingRowOutput();
+        final var rows = new DataRow[]{new DefaultRow("a", 1), new DefaultRow("b", 2), new DefaultRow("c", 3)};
+        output.pushBatch(rows);
+        output.pushBatch(new DataRow[0]);
+        assertThat(output.m_rows).containsExactly(rows);
+        assertThat(output.m_batchSizes).containsExactly(3, 0);
+    }
+
+    /** A function pushes its results in batches of the rows polled, preserving order and row indices. */
+    @Test
+    void testRunFinalInBatches() throws Exception {
+        final var function = new StreamableFunction() {
+            @Override
+            public DataRow compute(final DataRow input, final long rowIndex) {
+                return new DefaultRow(input.getKey(), new LongCell(rowIndex));
+            }
+        };
+        final var output = new RecordingRowOutput();
+        function.runFinal(new PortInput[]{new DataTableRowInput(createTable(300))}, new PortOutput[]{output}, EXEC);
+
+        assertThat(output.m_isClosed).isTrue();
+        assertThat(output.m_batchSizes).containsExactly(128, 128, 44);
+        assertThat(output.m_rows).hasSize(300);
+        for (var i = 0; i < 300; i++) {
+            final DataRow row = output.m_rows.get(i);
+            assertThat(row.getKey()).isEqualTo(RowKey.createRowKey((long)i));
+            assertThat(((LongCell)row.getCell(0)).getLongValue()).isEqualTo(i);
+        }
+    }
+
+}
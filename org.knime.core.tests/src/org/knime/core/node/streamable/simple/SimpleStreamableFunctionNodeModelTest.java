@@ -0,0 +1,178 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ */
+package org.knime.core.node.streamable.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests the partitioned execution of {@link SimpleStreamableFunctionNodeModel}, see
+ * {@link KNIMEConstants#PROPERTY_STREAMABLE_FUNCTION_PARTITIONS}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class SimpleStreamableFunctionNodeModelTest {
+
+    @RegisterExtension
+    static ExecutionContextExtension executionContextExtension = ExecutionContextExtension.create();
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /** Enough rows for three partitions plus a few that don't divide evenly. */
+    private static final int ROW_COUNT = 3 * 4096 + 7;
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final var container = executionContextExtension.getExecutionContext().createDataContainer(SPEC);
+        for (var i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    @AfterEach
+    void clearPartitions() {
+        System.clearProperty(KNIMEConstants.PROPERTY_STREAMABLE_FUNCTION_PARTITIONS);
+    }
+
+    /**
+     * The partitions are processed in different threads, each row is computed once with its index in the whole
+     * table, and the results are concatenated in the order of the input.
+     */
+    @Test
+    void testPartitionedExecutionKeepsRowOrder() throws Exception {
+        System.setProperty(KNIMEConstants.PROPERTY_STREAMABLE_FUNCTION_PARTITIONS, "3");
+        final var model = new RowIndexNodeModel();
+        final BufferedDataTable out = model.execute(new BufferedDataTable[]{createTable(ROW_COUNT)},
+            executionContextExtension.getExecutionContext())[0];
+        assertThat(model.m_threads).as("threads computing the partitions").hasSizeGreaterThan(1);
+        assertThat(out.getDataTableSpec()).isEqualTo(model.configure(new DataTableSpec[]{SPEC})[0]);
+        assertRows(out, ROW_COUNT);
+    }
+
+    /** Small tables are processed by the regular, not partitioned execution with the same result. */
+    @Test
+    void testSmallInputNotPartitioned() throws Exception {
+        System.setProperty(KNIMEConstants.PROPERTY_STREAMABLE_FUNCTION_PARTITIONS, "3");
+        final ExecutionContext exec = executionContextExtension.getExecutionContext();
+        assertRows(new RowIndexNodeModel().execute(new BufferedDataTable[]{createTable(100)}, exec)[0], 100);
+    }
+
+    private static void assertRows(final BufferedDataTable table, final int rowCount) {
+        assertThat(table.size()).isEqualTo(rowCount);
+        var i = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                assertThat(row.getKey()).isEqualTo(RowKey.createRowKey((long)i));
+                assertThat(((IntCell)row.getCell(0)).getIntValue()).isEqualTo(i);
+                assertThat(((LongCell)row.getCell(1)).getLongValue()).as("row index").isEqualTo(i);
+                i++;
+            }
+        }
+        assertThat(i).isEqualTo(rowCount);
+    }
+
+    /** Appends the row index, records the threads computing the new cells. */
+    private static final class RowIndexNodeModel extends SimpleStreamableFunctionNodeModel {
+
+        private final Set<Thread> m_threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) {
+            final var rearranger = new ColumnRearranger(spec);
+            rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("index", LongCell.TYPE).createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row, final long rowIndex) {
+                    m_threads.add(Thread.currentThread());
+                    return new LongCell(rowIndex);
+                }
+            });
+            return rearranger;
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            // Not used
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+    }
+
+}
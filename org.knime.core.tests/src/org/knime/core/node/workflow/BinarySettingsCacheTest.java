@@ -0,0 +1,128 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Tests {@link BinarySettingsCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BinarySettingsCacheTest {
+
+    @TempDir
+    File m_nodeDir;
+
+    private static NodeSettings createSettings() {
+        final var settings = new NodeSettings("settings.xml");
+        settings.addInt("int", 42);
+        settings.addDouble("double", Double.NaN);
+        settings.addFloat("float", 0.1f);
+        settings.addChar("char", 'ä');
+        settings.addShort("short", Short.MIN_VALUE);
+        settings.addLong("long", Long.MAX_VALUE);
+        settings.addByte("byte", (byte)-1);
+        settings.addString("string", "multi\nline € <&>");
+        settings.addString("null_string", null);
+        settings.addBoolean("boolean", true);
+        final NodeSettingsWO model = settings.addNodeSettings("model");
+        model.addStringArray("array", "a", null, "c");
+        model.addNodeSettings("empty");
+        return settings;
+    }
+
+    private static byte[] toXML(final NodeSettings settings) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        settings.saveToXML(out);
+        return out.toByteArray();
+    }
+
+    /** Reading the binary copy must result in the same settings as parsing the XML. */
+    @Test
+    void testRoundTrip() throws IOException {
+        final byte[] xml = toXML(createSettings());
+        BinarySettingsCache.write(m_nodeDir, xml, createSettings());
+        final var cacheFile = new File(m_nodeDir, BinarySettingsCache.CACHE_FILE_NAME);
+        assertThat(cacheFile).isFile();
+
+        final NodeSettings read = BinarySettingsCache.read(cacheFile, xml);
+        assertThat(read).isNotNull();
+        assertThat(read.getKey()).isEqualTo("settings.xml");
+        assertThat(toXML(read)).isEqualTo(xml);
+    }
+
+    /** A modified settings.xml invalidates the binary copy. */
+    @Test
+    void testOutdated() throws IOException {
+        final byte[] xml = toXML(createSettings());
+        BinarySettingsCache.write(m_nodeDir, xml, createSettings());
+        final byte[] editedXml = new String(xml, StandardCharsets.UTF_8).replace("42", "43")
+            .getBytes(StandardCharsets.UTF_8);
+        assertThat(BinarySettingsCache.read(new File(m_nodeDir, BinarySettingsCache.CACHE_FILE_NAME), editedXml))
+            .isNull();
+    }
+
+    /** Passwords are not written to the binary copy. */
+    @Test
+    void testPasswordNotCached() throws IOException {
+        final var settings = createSettings();
+        settings.addPassword("password", "key", "secret");
+        BinarySettingsCache.write(m_nodeDir, toXML(settings), settings);
+        assertThat(new File(m_nodeDir, BinarySettingsCache.CACHE_FILE_NAME)).doesNotExist();
+    }
+
+}
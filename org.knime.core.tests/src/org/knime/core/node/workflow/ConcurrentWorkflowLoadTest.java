@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
+import org.knime.core.node.workflow.WorkflowPersistor.WorkflowLoadResult;
+import org.knime.core.node.workflow.contextv2.WorkflowContextV2;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests the load of a workflow with nested components whose nodes are read concurrently (see
+ * {@link WorkflowLoadHelper#getNrLoaderThreads()}): the structure must be restored and the load helper must only be
+ * called back from the loading thread.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ConcurrentWorkflowLoadTest {
+
+    private WorkflowManager m_wfm;
+
+    private WorkflowManager m_loadedWfm;
+
+    @BeforeEach
+    void createEmptyWorkflow() throws Exception {
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+    }
+
+    @AfterEach
+    void disposeWorkflows() {
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+        if (m_loadedWfm != null) {
+            WorkflowManagerUtil.disposeWorkflow(m_loadedWfm);
+        }
+    }
+
+    /**
+     * Loads a workflow with two components, the first containing two nested components; all components have
+     * credentials, which must be initialized in the loading thread.
+     */
+    @Test
+    void testLoadNestedComponents(@TempDir final File workflowDir) throws Exception {
+        final SubNodeContainer outer1 = addComponent(m_wfm, "outer1");
+        addComponent(m_wfm, "outer2");
+        addComponent(outer1.getWorkflowManager(), "inner1");
+        addComponent(outer1.getWorkflowManager(), "inner2");
+        m_wfm.save(workflowDir, new ExecutionMonitor(), true);
+
+        final Thread loadingThread = Thread.currentThread();
+        final Map<String, Thread> credentialsThreads = new ConcurrentHashMap<>();
+        final var context = WorkflowContextV2.forTemporaryWorkflow(workflowDir.toPath(), null);
+        final var loadHelper = new WorkflowLoadHelper(context) {
+            @Override
+            public int getNrLoaderThreads() {
+                return 4;
+            }
+
+            @Override
+            protected List<Credentials> loadCredentials(final List<Credentials> credentials) {
+                credentials.forEach(c -> credentialsThreads.put(c.getName(), Thread.currentThread()));
+                return credentials;
+            }
+        };
+        final WorkflowLoadResult result = WorkflowManager.loadProject(workflowDir, new ExecutionMonitor(), loadHelper);
+        m_loadedWfm = result.getWorkflowManager();
+        assertThat(result.getType()).as(result.getFilteredError("", LoadResultEntryType.Warning))
+            .isNotEqualTo(LoadResultEntryType.Error);
+
+        assertThat(credentialsThreads).containsOnlyKeys("outer1", "outer2", "inner1", "inner2");
+        assertThat(credentialsThreads.values()).as("threads calling the load helper").containsOnly(loadingThread);
+
+        final SubNodeContainer loadedOuter1 = getComponent(m_loadedWfm, "outer1");
+        assertThat(getComponent(m_loadedWfm, "outer2")).isNotNull();
+        final WorkflowManager outer1Content = loadedOuter1.getWorkflowManager();
+        assertThat(getComponent(outer1Content, "inner1").getWorkflowManager().getCredentialsStore().contains("inner1"))
+            .isTrue();
+        assertThat(getComponent(outer1Content, "inner2")).isNotNull();
+        assertThat(outer1Content.getNodeContainers()).as("nodes in outer1").hasSize(4);
+    }
+
+    /** Adds an empty component with credentials of the component's name. */
+    private static SubNodeContainer addComponent(final WorkflowManager parent, final String name) {
+        final WorkflowManager metanode = parent.createAndAddSubWorkflow(new PortType[0], new PortType[0], name);
+        final NodeID id = parent.convertMetaNodeToSubNode(metanode.getID()).getConvertedNodeID();
+        final SubNodeContainer component = parent.getNodeContainer(id, SubNodeContainer.class, true);
+        component.getWorkflowManager().getCredentialsStore().add(new Credentials(name, "user", "password"));
+        return component;
+    }
+
+    private static SubNodeContainer getComponent(final WorkflowManager parent, final String name) {
+        return parent.getNodeContainers().stream() //
+            .filter(SubNodeContainer.class::isInstance).map(SubNodeContainer.class::cast) //
+            .filter(c -> name.equals(c.getName())).findFirst().orElseThrow();
+    }
+
+}
@@ -0,0 +1,390 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ *
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTableHolder;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests the concurrent execution of loops whose start node implements {@link LoopStartIndependentIterationsNode}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelLoopIterationsTest {
+
+    private static final int NR_ITERATIONS = 8;
+
+    private static final int ROWS_PER_ITERATION = 5;
+
+    private static final String ITERATION_VARIABLE = "currentIteration";
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private WorkflowManager m_wfm;
+
+    @BeforeEach
+    void createEmptyWorkflow() throws IOException {
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+    }
+
+    @AfterEach
+    void disposeWorkflow() {
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+    }
+
+    /**
+     * A loop computed in (fewer) loop body copies than it has iterations must have the same result as the sequential
+     * execution. The body's last output, taken over from a copy that was discarded afterwards, must remain readable.
+     */
+    @Test
+    void testParallelResultEqualsSequentialResult() {
+        final var sequentialStart = new ChunkLoopStartNodeFactory(0);
+        final List<String> sequential = executeLoop(sequentialStart);
+        assertThat(sequentialStart.m_virtualInputs.get()).as("virtual inputs in sequential loop").isZero();
+
+        final var parallelStart = new ChunkLoopStartNodeFactory(2);
+        final List<String> parallel = executeLoop(parallelStart);
+        assertThat(parallelStart.m_virtualInputs.get()).as("virtual inputs in parallel loop")
+            .isEqualTo(NR_ITERATIONS - 1);
+
+        assertThat(parallel).hasSize(NR_ITERATIONS * ROWS_PER_ITERATION).isEqualTo(sequential);
+    }
+
+    /** Builds start -> body -> end, executes it and returns the loop end's rows, checks the body's last output. */
+    private List<String> executeLoop(final ChunkLoopStartNodeFactory startFactory) {
+        final NativeNodeContainer start = WorkflowManagerUtil.createAndAddNode(m_wfm, startFactory);
+        final NativeNodeContainer body = WorkflowManagerUtil.createAndAddNode(m_wfm, new TransformNodeFactory());
+        final NativeNodeContainer end = WorkflowManagerUtil.createAndAddNode(m_wfm, new CollectingLoopEndNodeFactory());
+        m_wfm.addConnection(start.getID(), 1, body.getID(), 1);
+        m_wfm.addConnection(body.getID(), 1, end.getID(), 1);
+
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isTrue();
+        assertThat(end.getNodeContainerState().isExecuted()).as("loop end executed").isTrue();
+
+        final List<String> expectedLastIteration = new ArrayList<>();
+        for (var r = 0; r < ROWS_PER_ITERATION; r++) {
+            final int index = (NR_ITERATIONS - 1) * ROWS_PER_ITERATION + r;
+            expectedLastIteration.add("Row" + index + "=" + (index * 2 + NR_ITERATIONS - 1));
+        }
+        assertThat(toStrings((BufferedDataTable)body.getOutPort(1).getPortObject()))
+            .isEqualTo(expectedLastIteration);
+        return toStrings((BufferedDataTable)end.getOutPort(1).getPortObject());
+    }
+
+    private static List<String> toStrings(final BufferedDataTable table) {
+        final List<String> result = new ArrayList<>();
+        for (DataRow row : table) {
+            result.add(row.getKey().getString() + "=" + ((IntValue)row.getCell(0)).getIntValue());
+        }
+        return result;
+    }
+
+    private abstract static class AbstractTestNodeModel extends NodeModel {
+
+        AbstractTestNodeModel(final int nrInPorts, final int nrOutPorts) {
+            super(nrInPorts, nrOutPorts);
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            return new DataTableSpec[]{SPEC};
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            // Not used
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void reset() {
+            // Not used
+        }
+    }
+
+    private abstract static class AbstractTestNodeFactory<T extends NodeModel> extends NodeFactory<T> {
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<T> createNodeView(final int viewIndex, final T nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+
+    /** Loop start emitting chunks of rows Row0, Row1, ... with the row index as value. */
+    private static final class ChunkLoopStartNodeFactory extends AbstractTestNodeFactory<ChunkLoopStartNodeModel> {
+
+        private final int m_maxParallelIterations;
+
+        private final AtomicInteger m_virtualInputs = new AtomicInteger();
+
+        ChunkLoopStartNodeFactory(final int maxParallelIterations) {
+            m_maxParallelIterations = maxParallelIterations;
+        }
+
+        @Override
+        public ChunkLoopStartNodeModel createNodeModel() {
+            return new ChunkLoopStartNodeModel(m_maxParallelIterations, m_virtualInputs);
+        }
+    }
+
+    private static final class ChunkLoopStartNodeModel extends AbstractTestNodeModel
+        implements LoopStartIndependentIterationsNode, LoopStartNodeTerminator, BufferedDataTableHolder {
+
+        private final int m_maxParallelIterations;
+
+        private final AtomicInteger m_virtualInputs;
+
+        private BufferedDataTable[] m_chunks;
+
+        private int m_iteration;
+
+        ChunkLoopStartNodeModel(final int maxParallelIterations, final AtomicInteger virtualInputs) {
+            super(0, 1);
+            m_maxParallelIterations = maxParallelIterations;
+            m_virtualInputs = virtualInputs;
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            if (m_chunks == null) {
+                m_chunks = new BufferedDataTable[NR_ITERATIONS];
+                for (var i = 0; i < NR_ITERATIONS; i++) {
+                    final BufferedDataContainer container = exec.createDataContainer(SPEC);
+                    for (var r = 0; r < ROWS_PER_ITERATION; r++) {
+                        final int index = i * ROWS_PER_ITERATION + r;
+                        container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)index), new IntCell(index)));
+                    }
+                    container.close();
+                    m_chunks[i] = container.getTable();
+                }
+            }
+            pushFlowVariableInt(ITERATION_VARIABLE, m_iteration);
+            return new BufferedDataTable[]{m_chunks[m_iteration++]};
+        }
+
+        @Override
+        public boolean terminateLoop() {
+            return m_iteration >= NR_ITERATIONS;
+        }
+
+        @Override
+        public int getNrIterations() {
+            return NR_ITERATIONS;
+        }
+
+        @Override
+        public VirtualNodeInput getVirtualNodeInput(final int iteration) {
+            m_virtualInputs.incrementAndGet();
+            return new VirtualNodeInput(new PortObject[]{m_chunks[iteration]},
+                List.of(new FlowVariable(ITERATION_VARIABLE, iteration)));
+        }
+
+        @Override
+        public int getMaxParallelIterations() {
+            return m_maxParallelIterations;
+        }
+
+        @Override
+        public BufferedDataTable[] getInternalTables() {
+            return m_chunks;
+        }
+
+        @Override
+        public void setInternalTables(final BufferedDataTable[] tables) {
+            m_chunks = tables;
+        }
+
+        @Override
+        protected void reset() {
+            m_chunks = null;
+            m_iteration = 0;
+        }
+    }
+
+    /** Body node computing 2 * value + iteration. */
+    private static final class TransformNodeFactory extends AbstractTestNodeFactory<TransformNodeModel> {
+
+        @Override
+        public TransformNodeModel createNodeModel() {
+            return new TransformNodeModel();
+        }
+    }
+
+    private static final class TransformNodeModel extends AbstractTestNodeModel {
+
+        TransformNodeModel() {
+            super(1, 1);
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            final int iteration = peekFlowVariableInt(ITERATION_VARIABLE);
+            final BufferedDataContainer container = exec.createDataContainer(SPEC);
+            for (DataRow row : inData[0]) {
+                final int value = ((IntValue)row.getCell(0)).getIntValue();
+                container.addRowToTable(new DefaultRow(row.getKey(), new IntCell(value * 2 + iteration)));
+            }
+            container.close();
+            return new BufferedDataTable[]{container.getTable()};
+        }
+    }
+
+    /** Loop end concatenating the rows of all iterations. */
+    private static final class CollectingLoopEndNodeFactory
+        extends AbstractTestNodeFactory<CollectingLoopEndNodeModel> {
+
+        @Override
+        public CollectingLoopEndNodeModel createNodeModel() {
+            return new CollectingLoopEndNodeModel();
+        }
+    }
+
+    private static final class CollectingLoopEndNodeModel extends AbstractTestNodeModel implements LoopEndNode {
+
+        private BufferedDataContainer m_container;
+
+        CollectingLoopEndNodeModel() {
+            super(1, 1);
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            if (m_container == null) {
+                m_container = exec.createDataContainer(SPEC);
+            }
+            for (DataRow row : inData[0]) {
+                m_container.addRowToTable(row);
+            }
+            if (!((LoopStartNodeTerminator)getLoopStartNode()).terminateLoop()) {
+                continueLoop();
+                return new BufferedDataTable[1];
+            }
+            m_container.close();
+            final BufferedDataTable result = m_container.getTable();
+            m_container = null;
+            return new BufferedDataTable[]{result};
+        }
+
+        @Override
+        protected void reset() {
+            m_container = null;
+        }
+    }
+
+}
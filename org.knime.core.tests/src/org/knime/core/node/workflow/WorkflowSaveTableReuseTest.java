@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.StringValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.agentic.tool.WorkflowInputTestNodeFactory;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests that saving a workflow re-uses the data files of tables written by a previous save: they are hard-linked when
+ * the workflow is saved to another location, and preserved when a node is saved in place again. The nodes are saved
+ * concurrently (see {@link WorkflowSaveHelper#setNrSaveThreads(int)}).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class WorkflowSaveTableReuseTest {
+
+    private static final String TABLE_FILE = "data.zip";
+
+    private WorkflowManager m_wfm;
+
+    private WorkflowManager m_loadedWfm;
+
+    private NativeNodeContainer m_node1;
+
+    @BeforeEach
+    void createAndExecuteWorkflow() throws IOException {
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        m_node1 = WorkflowManagerUtil.createAndAddNode(m_wfm, new WorkflowInputTestNodeFactory());
+        WorkflowManagerUtil.createAndAddNode(m_wfm, new WorkflowInputTestNodeFactory());
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isTrue();
+    }
+
+    @AfterEach
+    void disposeWorkflows() {
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+        if (m_loadedWfm != null) {
+            WorkflowManagerUtil.disposeWorkflow(m_loadedWfm);
+        }
+    }
+
+    @Test
+    void testReuseTableFiles(@TempDir final Path tempDir) throws Exception {
+        final File dir1 = tempDir.resolve("workflow1").toFile();
+        final File dir2 = tempDir.resolve("workflow2").toFile();
+        final var saveHelper = new WorkflowSaveHelper(true, false).setNrSaveThreads(2);
+
+        m_wfm.save(dir1, saveHelper, new ExecutionMonitor());
+        final Map<String, Object> savedFiles = getTableFileKeys(dir1.toPath());
+        assertThat(savedFiles).as("table files").hasSize(2);
+
+        // save as: the files are linked
+        m_wfm.save(dir2, saveHelper, new ExecutionMonitor());
+        assertThat(getTableFileKeys(dir2.toPath())).as("table files after save as").isEqualTo(savedFiles);
+
+        // in place save of a dirty node: the files are preserved while the node directory is cleaned
+        m_node1.setDirty();
+        m_wfm.save(dir2, saveHelper, new ExecutionMonitor());
+        assertThat(getTableFileKeys(dir2.toPath())).as("table files after in place save").isEqualTo(savedFiles);
+        try (Stream<Path> files = Files.walk(dir2.toPath())) {
+            assertThat(files.map(p -> p.getFileName().toString())).as("files in workflow")
+                .doesNotContain(".table_stash");
+        }
+
+        m_loadedWfm = WorkflowManagerUtil.loadWorkflow(dir2);
+        assertThat(m_loadedWfm.getNodeContainers()).hasSize(2).allSatisfy(nc -> {
+            assertThat(nc.getNodeContainerState().isExecuted()).as("node executed").isTrue();
+            assertThat(getFirstColumn((BufferedDataTable)nc.getOutPort(1).getPortObject()))
+                .containsExactly("val1", "val3");
+        });
+    }
+
+    /** Relative paths of the table data files in the workflow directory mapped to their file keys. */
+    private static Map<String, Object> getTableFileKeys(final Path workflowDir) throws IOException {
+        final Map<String, Object> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(workflowDir)) {
+            for (Path file : (Iterable<Path>)files.filter(p -> p.endsWith(TABLE_FILE))::iterator) {
+                result.put(workflowDir.relativize(file).toString(),
+                    Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+            }
+        }
+        return result;
+    }
+
+    private static List<String> getFirstColumn(final BufferedDataTable table) {
+        final List<String> result = new ArrayList<>();
+        for (DataRow row : table) {
+            result.add(((StringValue)row.getCell(0)).getStringValue());
+        }
+        return result;
+    }
+
+}
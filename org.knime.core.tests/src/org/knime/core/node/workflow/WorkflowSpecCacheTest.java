@@ -0,0 +1,540 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+
+import javax.swing.JComponent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObject.PortObjectSerializer;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortObjectSpec.PortObjectSpecSerializer;
+import org.knime.core.node.port.PortObjectSpecZipInputStream;
+import org.knime.core.node.port.PortObjectSpecZipOutputStream;
+import org.knime.core.node.port.PortObjectZipInputStream;
+import org.knime.core.node.port.PortObjectZipOutputStream;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.PortTypeRegistry;
+import org.knime.core.util.FileUtil;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests {@link WorkflowSpecCache}: nodes configured while the workflow is loaded take their output specs from the
+ * cache, and a node whose model produces other specs than the cached ones doesn't execute with the outdated specs.
+ * Public as it declares the port type registered in the fragment.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class WorkflowSpecCacheTest {
+
+    private static final PortType TEST_PORT_TYPE = PortTypeRegistry.getInstance().getPortType(TestPortObject.class);
+
+    private WorkflowManager m_wfm;
+
+    private File m_workflowDir;
+
+    private final AtomicReference<String> m_columnName = new AtomicReference<>("a");
+
+    private final AtomicInteger m_configureCount = new AtomicInteger();
+
+    private NativeNodeContainer m_source;
+
+    private NativeNodeContainer m_successor;
+
+    @BeforeEach
+    void createWorkflow() throws IOException {
+        System.setProperty(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE, "true");
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        m_workflowDir = FileUtil.createTempDir("spec_cache");
+        m_source = WorkflowManagerUtil.createAndAddNode(m_wfm, new ColumnNodeFactory(m_columnName, m_configureCount));
+        m_successor = WorkflowManagerUtil.createAndAddNode(m_wfm, new PassThroughNodeFactory());
+        m_wfm.addConnection(m_source.getID(), 1, m_successor.getID(), 1);
+    }
+
+    @AfterEach
+    void disposeWorkflow() {
+        System.clearProperty(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE);
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+        FileUtil.deleteRecursively(m_workflowDir);
+    }
+
+    /** The cache is neither written nor read unless enabled. */
+    @Test
+    void testCacheIsOptIn() {
+        System.clearProperty(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE);
+        WorkflowSpecCache.write(m_wfm, m_workflowDir);
+        assertThat(new File(m_workflowDir, WorkflowSpecCache.FILE_NAME)).doesNotExist();
+
+        System.setProperty(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE, "true");
+        WorkflowSpecCache.write(m_wfm, m_workflowDir);
+        assertThat(new File(m_workflowDir, WorkflowSpecCache.FILE_NAME)).isFile();
+
+        System.clearProperty(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE);
+        assertThat(WorkflowSpecCache.read(m_wfm, m_workflowDir)).isNull();
+        WorkflowSpecCache.write(m_wfm, m_workflowDir);
+        assertThat(new File(m_workflowDir, WorkflowSpecCache.FILE_NAME)).as("outdated cache deleted").doesNotExist();
+    }
+
+    /** A node with a matching fingerprint takes its specs from the cache, its model's configure is deferred. */
+    @Test
+    void testCacheHit() {
+        configureFromCache();
+        assertThat(m_source.getNode().isConfigureDeferred()).isTrue();
+        assertThat(getColumnName(m_source)).isEqualTo("a");
+
+        final int configureCount = m_configureCount.get();
+        NodeContext.pushContext(m_source);
+        try {
+            assertThat(m_source.getNode().configureDeferred()).as("specs of deferred configure match").isTrue();
+        } finally {
+            NodeContext.removeLastContext();
+        }
+        assertThat(m_configureCount.get()).isEqualTo(configureCount + 1);
+        assertThat(m_source.getNode().isConfigureDeferred()).isFalse();
+
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isTrue();
+        assertThat(getColumnName(m_successor)).isEqualTo("a");
+    }
+
+    /**
+     * A node whose deferred configure produces other specs than the cached ones must fail instead of executing with
+     * the cached specs; the node and its successors are configured again, so that a second execution succeeds.
+     */
+    @Test
+    void testDeferredConfigureWithOutdatedSpecs() {
+        configureFromCache();
+        m_columnName.set("b");
+
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isFalse();
+        assertThat(m_source.getNodeContainerState().isExecuted()).isFalse();
+        assertThat(m_source.getNodeMessage().getMessageType()).isEqualTo(NodeMessage.Type.ERROR);
+        assertThat(m_successor.getNodeContainerState().isExecuted()).isFalse();
+        assertThat(getColumnName(m_source)).isEqualTo("b");
+        assertThat(getColumnName(m_successor)).as("successor configured with new specs").isEqualTo("b");
+
+        assertThat(m_wfm.executeAllAndWaitUntilDone()).as("workflow executed").isTrue();
+        final var table = (BufferedDataTable)m_successor.getOutPort(1).getPortObject();
+        assertThat(table.getDataTableSpec().getColumnSpec(0).getName()).isEqualTo("b");
+    }
+
+    /**
+     * Non-table input specs are fingerprinted by their serialized content: an equal spec instance (with another
+     * identity hash code) hits the cache, a spec with other content (but the same string representation) doesn't.
+     */
+    @Test
+    void testCacheWithNonTableInputSpec() {
+        final var content = new AtomicReference<>("x");
+        final NativeNodeContainer specSource =
+            WorkflowManagerUtil.createAndAddNode(m_wfm, new TestSpecSourceNodeFactory(content));
+        final NativeNodeContainer consumer =
+            WorkflowManagerUtil.createAndAddNode(m_wfm, new TestSpecConsumerNodeFactory());
+        m_wfm.addConnection(specSource.getID(), 1, consumer.getID(), 1);
+        WorkflowSpecCache.write(m_wfm, m_workflowDir);
+
+        configureWithoutCache(specSource);
+        assertThat(configureFromCache(consumer)).as("cache hits with equal spec").isEqualTo(1);
+
+        content.set("y");
+        configureWithoutCache(specSource);
+        assertThat(configureFromCache(consumer)).as("cache hits with other spec").isZero();
+    }
+
+    private void configureWithoutCache(final NativeNodeContainer nnc) {
+        try (WorkflowLock lock = m_wfm.lock()) {
+            m_wfm.configureNodeAndSuccessors(nnc.getID(), true);
+        }
+    }
+
+    /** Reads the cache written before and configures the argument node with it, returns the number of hits. */
+    private int configureFromCache(final NativeNodeContainer nnc) {
+        final WorkflowSpecCache cache = WorkflowSpecCache.read(m_wfm, m_workflowDir);
+        assertThat(cache).as("spec cache").isNotNull();
+        nnc.setSpecCacheOnLoad(cache);
+        try (WorkflowLock lock = m_wfm.lock()) {
+            m_wfm.configureNodeAndSuccessors(nnc.getID(), true);
+        } finally {
+            nnc.setSpecCacheOnLoad(null);
+        }
+        return cache.getHitCount();
+    }
+
+    /** Writes the cache and configures the source node again as if the workflow was loaded. */
+    private void configureFromCache() {
+        WorkflowSpecCache.write(m_wfm, m_workflowDir);
+        final WorkflowSpecCache cache = WorkflowSpecCache.read(m_wfm, m_workflowDir);
+        assertThat(cache).as("spec cache").isNotNull();
+
+        final int configureCount = m_configureCount.get();
+        m_source.setSpecCacheOnLoad(cache);
+        try (WorkflowLock lock = m_wfm.lock()) {
+            m_wfm.configureNodeAndSuccessors(m_source.getID(), true);
+        } finally {
+            m_source.setSpecCacheOnLoad(null);
+        }
+        assertThat(cache.getHitCount()).as("cache hits").isEqualTo(1);
+        assertThat(m_configureCount.get()).as("model configure calls").isEqualTo(configureCount);
+    }
+
+    private static String getColumnName(final NativeNodeContainer nnc) {
+        return ((DataTableSpec)nnc.getOutPort(1).getPortObjectSpec()).getColumnSpec(0).getName();
+    }
+
+    private abstract static class AbstractTestNodeModel extends NodeModel {
+
+        AbstractTestNodeModel(final int nrInPorts) {
+            super(nrInPorts, 1);
+        }
+
+        AbstractTestNodeModel(final PortType[] inPortTypes, final PortType[] outPortTypes) {
+            super(inPortTypes, outPortTypes);
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            // Not used
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            // Not used
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            // Not used
+        }
+
+        @Override
+        protected void reset() {
+            // Not used
+        }
+    }
+
+    private abstract static class AbstractTestNodeFactory<T extends NodeModel> extends NodeFactory<T> {
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<T> createNodeView(final int viewIndex, final T nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+
+    /** Source node creating an empty table with a single column whose name is taken from the factory. */
+    private static final class ColumnNodeFactory extends AbstractTestNodeFactory<ColumnNodeModel> {
+
+        private final AtomicReference<String> m_columnName;
+
+        private final AtomicInteger m_configureCount;
+
+        ColumnNodeFactory(final AtomicReference<String> columnName, final AtomicInteger configureCount) {
+            m_columnName = columnName;
+            m_configureCount = configureCount;
+        }
+
+        @Override
+        public ColumnNodeModel createNodeModel() {
+            return new ColumnNodeModel(m_columnName, m_configureCount);
+        }
+    }
+
+    private static final class ColumnNodeModel extends AbstractTestNodeModel {
+
+        private final AtomicReference<String> m_columnName;
+
+        private final AtomicInteger m_configureCount;
+
+        ColumnNodeModel(final AtomicReference<String> columnName, final AtomicInteger configureCount) {
+            super(0);
+            m_columnName = columnName;
+            m_configureCount = configureCount;
+        }
+
+        private DataTableSpec createSpec() {
+            return new DataTableSpec(new DataColumnSpecCreator(m_columnName.get(), StringCell.TYPE).createSpec());
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            m_configureCount.incrementAndGet();
+            return new DataTableSpec[]{createSpec()};
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            final var container = exec.createDataContainer(createSpec());
+            container.close();
+            return new BufferedDataTable[]{container.getTable()};
+        }
+    }
+
+    /** Node passing its input table through. */
+    private static final class PassThroughNodeFactory extends AbstractTestNodeFactory<PassThroughNodeModel> {
+
+        @Override
+        public PassThroughNodeModel createNodeModel() {
+            return new PassThroughNodeModel();
+        }
+    }
+
+    private static final class PassThroughNodeModel extends AbstractTestNodeModel {
+
+        PassThroughNodeModel() {
+            super(1);
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+            return inSpecs;
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            return inData;
+        }
+    }
+
+    /** Spec with identity hash code and a string representation that omits its content. */
+    public static final class TestPortObjectSpec implements PortObjectSpec {
+
+        private final String m_content;
+
+        TestPortObjectSpec(final String content) {
+            m_content = content;
+        }
+
+        @Override
+        public JComponent[] getViews() {
+            return new JComponent[0];
+        }
+
+        @Override
+        public String toString() {
+            return "Test spec";
+        }
+
+        /** Serializer of {@link TestPortObjectSpec}. */
+        public static final class Serializer extends PortObjectSpecSerializer<TestPortObjectSpec> {
+
+            @Override
+            public void savePortObjectSpec(final TestPortObjectSpec portObjectSpec,
+                final PortObjectSpecZipOutputStream out) throws IOException {
+                out.putNextEntry(new ZipEntry("content"));
+                out.write(portObjectSpec.m_content.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+
+            @Override
+            public TestPortObjectSpec loadPortObjectSpec(final PortObjectSpecZipInputStream in) throws IOException {
+                in.getNextEntry();
+                return new TestPortObjectSpec(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /** Port object of {@link TestPortObjectSpec}, never created by the test. */
+    public static final class TestPortObject implements PortObject {
+
+        private final TestPortObjectSpec m_spec;
+
+        TestPortObject(final TestPortObjectSpec spec) {
+            m_spec = spec;
+        }
+
+        @Override
+        public String getSummary() {
+            return m_spec.toString();
+        }
+
+        @Override
+        public TestPortObjectSpec getSpec() {
+            return m_spec;
+        }
+
+        @Override
+        public JComponent[] getViews() {
+            return new JComponent[0];
+        }
+
+        /** Serializer of {@link TestPortObject}. */
+        public static final class Serializer extends PortObjectSerializer<TestPortObject> {
+
+            @Override
+            public void savePortObject(final TestPortObject portObject, final PortObjectZipOutputStream out,
+                final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+                // spec holds all content
+            }
+
+            @Override
+            public TestPortObject loadPortObject(final PortObjectZipInputStream in, final PortObjectSpec spec,
+                final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+                return new TestPortObject((TestPortObjectSpec)spec);
+            }
+        }
+    }
+
+    /** Node creating a {@link TestPortObjectSpec} with the content taken from the factory. */
+    private static final class TestSpecSourceNodeFactory extends AbstractTestNodeFactory<TestSpecSourceNodeModel> {
+
+        private final AtomicReference<String> m_content;
+
+        TestSpecSourceNodeFactory(final AtomicReference<String> content) {
+            m_content = content;
+        }
+
+        @Override
+        public TestSpecSourceNodeModel createNodeModel() {
+            return new TestSpecSourceNodeModel(m_content);
+        }
+    }
+
+    private static final class TestSpecSourceNodeModel extends AbstractTestNodeModel {
+
+        private final AtomicReference<String> m_content;
+
+        TestSpecSourceNodeModel(final AtomicReference<String> content) {
+            super(new PortType[0], new PortType[]{TEST_PORT_TYPE});
+            m_content = content;
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[]{new TestPortObjectSpec(m_content.get())};
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            return new PortObject[]{new TestPortObject(new TestPortObjectSpec(m_content.get()))};
+        }
+    }
+
+    /** Node consuming a {@link TestPortObjectSpec}, creating a table spec. */
+    private static final class TestSpecConsumerNodeFactory
+        extends AbstractTestNodeFactory<TestSpecConsumerNodeModel> {
+
+        @Override
+        public TestSpecConsumerNodeModel createNodeModel() {
+            return new TestSpecConsumerNodeModel();
+        }
+    }
+
+    private static final class TestSpecConsumerNodeModel extends AbstractTestNodeModel {
+
+        TestSpecConsumerNodeModel() {
+            super(new PortType[]{TEST_PORT_TYPE}, new PortType[]{BufferedDataTable.TYPE});
+        }
+
+        private static DataTableSpec createSpec(final TestPortObjectSpec inSpec) {
+            return new DataTableSpec(new DataColumnSpecCreator(inSpec.m_content, StringCell.TYPE).createSpec());
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[]{createSpec((TestPortObjectSpec)inSpecs[0])};
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            final var container = exec.createDataContainer(createSpec(((TestPortObject)inObjects[0]).getSpec()));
+            container.close();
+            return new PortObject[]{container.getTable()};
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ *
+ */
+package org.knime.core.node.workflow.virtual.parchunk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.LoopEndParallelizeNode;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeStateEvent;
+import org.knime.core.node.workflow.WorkflowLock;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+
+/**
+ * Tests the chunk bookkeeping of {@link ParallelizedChunkContentMaster}, with mocked loop body copies.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelizedChunkContentMasterTest {
+
+    private WorkflowManager m_manager;
+
+    private LoopEndParallelizeNode m_endNode;
+
+    @BeforeEach
+    void createMocks() {
+        m_manager = mock(WorkflowManager.class);
+        when(m_manager.lock()).thenReturn(mock(WorkflowLock.class));
+        when(m_manager.isLockedByCurrentThread()).thenReturn(true);
+        m_endNode = mock(LoopEndParallelizeNode.class);
+        when(m_endNode.supportsDynamicChunkScheduling()).thenReturn(true);
+    }
+
+    private static ParallelizedChunkContent mockChunk(final int index) {
+        final ParallelizedChunkContent pcc = mock(ParallelizedChunkContent.class);
+        when(pcc.getVirtualOutputID()).thenReturn(NodeID.ROOTID.createChild(index));
+        return pcc;
+    }
+
+    private static VirtualNodeInput input(final int chunk) {
+        return new VirtualNodeInput(new PortObject[0], List.of(new FlowVariable("chunk", chunk)));
+    }
+
+    /** A finished chunk is timed once, repeated events of the same chunk are ignored. */
+    @Test
+    void testChunkTimings() {
+        final var master = new ParallelizedChunkContentMaster(m_manager, m_endNode, 2);
+        final ParallelizedChunkContent chunk0 = mockChunk(0);
+        final ParallelizedChunkContent chunk1 = mockChunk(1);
+        master.addParallelChunk(0, chunk0);
+        master.addParallelChunk(1, chunk1);
+        when(chunk0.executionInProgress()).thenReturn(true);
+        when(chunk1.executionInProgress()).thenReturn(true);
+        master.executeChunks();
+        verify(chunk0).executeChunk();
+        verify(chunk1).executeChunk();
+        assertThat(master.nrExecutingChunks()).isEqualTo(2);
+
+        when(chunk1.executionInProgress()).thenReturn(false);
+        when(chunk1.isExecuted()).thenReturn(true);
+        master.stateChanged(new NodeStateEvent(chunk1.getVirtualOutputID()));
+        master.stateChanged(new NodeStateEvent(chunk1.getVirtualOutputID()));
+
+        assertThat(master.getChunkTimings()).singleElement().satisfies(t -> {
+            assertThat(t.chunkIndex()).isEqualTo(1);
+            assertThat(t.slotIndex()).isEqualTo(1);
+            assertThat(t.success()).isTrue();
+        });
+        assertThat(master.nrExecutedChunks()).isEqualTo(1);
+        assertThat(master.nrExecutingChunks()).isEqualTo(1);
+    }
+
+    /** Cancelation only affects chunks that are still executing. */
+    @Test
+    void testCancel() {
+        final var master = new ParallelizedChunkContentMaster(m_manager, m_endNode, 2);
+        final ParallelizedChunkContent chunk0 = mockChunk(0);
+        final ParallelizedChunkContent chunk1 = mockChunk(1);
+        master.addParallelChunk(0, chunk0);
+        master.addParallelChunk(1, chunk1);
+        when(chunk0.executionInProgress()).thenReturn(true);
+        master.cancelChunkExecution();
+        verify(chunk0).cancelExecution();
+        verify(chunk1, never()).cancelExecution();
+    }
+
+    /** With dynamic scheduling the slots pick up the first chunks, cancelation fails all pending chunks. */
+    @Test
+    void testDynamicSchedulingAndCancel() {
+        final var master = new ParallelizedChunkContentMaster(m_manager, m_endNode, 5, 2,
+            ParallelizedChunkContentMasterTest::input, mock(ExecutionContext.class));
+        assertThat(master.isDynamicChunkScheduling()).isTrue();
+        final ParallelizedChunkContent slot0 = mockChunk(0);
+        final ParallelizedChunkContent slot1 = mockChunk(1);
+        master.addParallelChunk(0, slot0);
+        master.addParallelChunk(1, slot1);
+        when(slot0.executionInProgress()).thenReturn(true);
+        when(slot1.executionInProgress()).thenReturn(true);
+
+        master.executeChunks();
+        verify(slot0).resetChunk();
+        verify(slot0).setVirtualNodeInput(any(VirtualNodeInput.class));
+        verify(slot0).executeChunk();
+        verify(slot1).executeChunk();
+        assertThat(master.nrChunks()).isEqualTo(5);
+        // pending chunks count as executing
+        assertThat(master.nrExecutingChunks()).isEqualTo(5);
+        assertThat(master.getOutportContent(0)).isNull();
+
+        master.cancelChunkExecution();
+        verify(slot0).cancelExecution();
+        verify(slot1).cancelExecution();
+        assertThat(master.nrFailedChunks()).isEqualTo(3);
+        assertThat(master.nrExecutingChunks()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests {@link TempSpaceTracker}. Unless run in the context of a workflow, files are accounted to the "no workflow"
+ * account only.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class TempSpaceTrackerTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    File m_tempDir;
+
+    private File createFile(final String name, final long size) throws IOException {
+        final var file = new File(m_tempDir, name);
+        Files.write(file.toPath(), new byte[(int)size]);
+        return file;
+    }
+
+    /** Without tracking and quota files are not registered. */
+    @Test
+    void testDisabled() throws IOException {
+        final var tracker = new TempSpaceTracker(0, 0, 75, false);
+        assertThat(tracker.isEnabled()).isFalse();
+        tracker.onFileCreated(createFile("a.bin", MB));
+        assertThat(tracker.getWorkflowUsage()).isEmpty();
+        assertThat(tracker.isStrongCompressionRequired()).isFalse();
+    }
+
+    /** Files and directories are accounted, deleted files drop out. */
+    @Test
+    void testUsage() throws IOException {
+        final var tracker = new TempSpaceTracker(0, 0, 75, true);
+        final File file = createFile("a.bin", 1000);
+        tracker.onFileCreated(file);
+        final var dir = new File(m_tempDir, "fs");
+        assertThat(dir.mkdir()).isTrue();
+        Files.write(new File(dir, "b.bin").toPath(), new byte[500]);
+        Files.write(new File(dir, "c.bin").toPath(), new byte[200]);
+        tracker.onDirectoryCreated(dir);
+        assertThat(tracker.getWorkflowUsage()).containsOnlyKeys("<no workflow>").containsValue(1700L);
+        assertThat(tracker.getNodeUsage()).isEmpty();
+
+        Files.delete(file.toPath());
+        Files.delete(new File(dir, "b.bin").toPath());
+        Files.delete(new File(dir, "c.bin").toPath());
+        Files.delete(dir.toPath());
+        // a new tracker as the sizes are refreshed at most once per second
+        final var newTracker = new TempSpaceTracker(0, 0, 75, true);
+        newTracker.onFileCreated(file);
+        assertThat(newTracker.getWorkflowUsage()).isEmpty();
+    }
+
+    /** Test code run in the context of a workflow. */
+    @FunctionalInterface
+    private interface WorkflowContextTest {
+        void run(String workflowName) throws Exception;
+    }
+
+    /** Runs the argument in the context of a new (empty) workflow. */
+    private static void runInWorkflowContext(final WorkflowContextTest test) throws Exception {
+        final WorkflowManager wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        NodeContext.pushContext(wfm);
+        try {
+            test.run(wfm.getNameWithID());
+        } finally {
+            NodeContext.removeLastContext();
+            WorkflowManagerUtil.disposeWorkflow(wfm);
+        }
+    }
+
+    /** Exceeding the quota fails with a message naming the account and the property. */
+    @Test
+    void testQuotaExceeded() throws Exception {
+        final var tracker = new TempSpaceTracker(MB, 0, 75, false);
+        assertThat(tracker.isEnabled()).isTrue();
+        final File file = createFile("a.bin", 2 * MB);
+        runInWorkflowContext(workflowName -> assertThatThrownBy(() -> tracker.onFileCreated(file))
+            .isInstanceOf(IOException.class).hasMessageContaining(workflowName)
+            .hasMessageContaining("exceeds the quota of 1MB").hasMessageContaining("knime.tmpdir.quota.workflow"));
+    }
+
+    /** Files created without node context can't be attributed to a workflow and are not subject to its quota. */
+    @Test
+    void testNoWorkflowExemptFromQuota() throws IOException {
+        final var tracker = new TempSpaceTracker(MB, 0, 10, false);
+        tracker.onFileCreated(createFile("a.bin", 2 * MB));
+        tracker.checkQuota();
+        assertThat(tracker.getWorkflowUsage()).containsOnlyKeys("<no workflow>").containsValue(2 * MB);
+        assertThat(tracker.isStrongCompressionRequired()).isFalse();
+    }
+
+    /** A file that grows beyond the quota after it has been registered fails the next check of the quota. */
+    @Test
+    void testCheckQuotaOfGrowingFile() throws Exception {
+        final var tracker = new TempSpaceTracker(MB, 0, 75, false);
+        final File file = createFile("a.bin", 1000);
+        runInWorkflowContext(workflowName -> {
+            tracker.onFileCreated(file);
+            tracker.checkQuota();
+            Files.write(file.toPath(), new byte[(int)(2 * MB)]);
+            Thread.sleep(1500); // sizes are refreshed at most once per second
+            assertThatThrownBy(tracker::checkQuota).isInstanceOf(IOException.class)
+                .hasMessageContaining(workflowName).hasMessageContaining("exceeds the quota of 1MB");
+        });
+    }
+
+    /** Above the compression threshold the strongest compression is requested. */
+    @Test
+    void testCompressionThreshold() throws Exception {
+        runInWorkflowContext(workflowName -> {
+            final var tracker = new TempSpaceTracker(10 * MB, 0, 10, false);
+            assertThat(tracker.isStrongCompressionRequired()).isFalse();
+            tracker.onFileCreated(createFile("a.bin", 2 * MB));
+            assertThat(tracker.isStrongCompressionRequired()).isTrue();
+
+            final var disabledSwitch = new TempSpaceTracker(10 * MB, 0, 100, false);
+            disabledSwitch.onFileCreated(createFile("b.bin", 2 * MB));
+            assertThat(disabledSwitch.isStrongCompressionRequired()).isFalse();
+        });
+    }
+
+}
@@ -104,6 +104,13 @@ interface MetaDataCalculator {
          * @return the list of {@link DataColumnMetaData} corresponding to the information observed so far
          */
         List<DataColumnMetaData> createMetaData();
+
+        /**
+         * @return whether {@link #update(DataCell)} has any effect, i.e. whether cells need to be provided at all
+         */
+        default boolean isUpdating() {
+            return true;
+        }
     }
 
     /**
@@ -171,6 +178,11 @@ public List<DataColumnMetaData> createMetaData() {
             return Collections.emptyList();
         }
 
+        @Override
+        public boolean isUpdating() {
+            return false;
+        }
+
     }
 
     /**
@@ -229,6 +241,11 @@ public List<DataColumnMetaData> createMetaData() {
             return m_metaDataCreators.stream().map(DataColumnMetaDataCreator::create).collect(Collectors.toList());
         }
 
+        @Override
+        public boolean isUpdating() {
+            return m_updateMetaData && !m_metaDataCreators.isEmpty();
+        }
+
         @SuppressWarnings("unchecked")
         private void merge(final MetaDataCalculatorImpl other) {
             final Iterator<DataColumnMetaDataCreator<?>> otherCreators = other.m_metaDataCreators.iterator();
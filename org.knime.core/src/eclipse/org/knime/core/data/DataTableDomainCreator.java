@@ -54,7 +54,9 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 
 import org.knime.core.data.DataColumnMetaDataCalculators.MetaDataCalculator;
@@ -415,6 +417,105 @@ public void updateDomain(final DataRow row) {
         }
     }
 
+    /**
+     * Updates the domain of a single column with a single value, see {@link #updateDomain(DataRow)}.
+     *
+     * @param col the column index
+     * @param cell the value
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void updateDomain(final int col, final DataCell cell) {
+        if (m_isInEffect) {
+            updateMinMax(col, cell, m_mins, m_maxs, m_comparators);
+            m_metaDataCalculators[col].update(cell);
+        }
+    }
+
+    /**
+     * Updates the domain of a single column with a value that is not available as cell (yet), e.g. because it is
+     * written right to a file. The cell is only created if the domain of the column is determined at all.
+     *
+     * @param <T> the type of the value
+     * @param col the column index
+     * @param value the (non-missing) value
+     * @param toCell creates the cell for the value
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public <T> void updateDomain(final int col, final T value, final Function<? super T, ? extends DataCell> toCell) {
+        if (isUpdating(col)) {
+            updateDomain(col, toCell.apply(value));
+        }
+    }
+
+    /**
+     * As {@link #updateDomain(int, Object, Function)} for the value of an int or long column. If only the bounds of the
+     * column are determined, the cell is only created if the value is a new bound.
+     *
+     * @param col the column index
+     * @param value the (non-missing) value
+     * @param toCell creates the cell for the value
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void updateDomain(final int col, final long value, final LongFunction<? extends DataCell> toCell) {
+        if (!isUpdating(col)) {
+            return;
+        }
+        if (m_possVals[col] != null || m_metaDataCalculators[col].isUpdating()) {
+            updateDomain(col, toCell.apply(value));
+            return;
+        }
+        DataCell cell = null;
+        if (m_minsMissing[col] || !(m_mins[col] instanceof LongValue min) || value < min.getLongValue()) {
+            cell = toCell.apply(value);
+            updateMin(col, m_mins, cell, m_comparators[col]);
+        }
+        if (m_maxs[col].isMissing() || !(m_maxs[col] instanceof LongValue max) || value > max.getLongValue()) {
+            updateMax(col, m_maxs, cell == null ? toCell.apply(value) : cell, m_comparators[col]);
+        }
+    }
+
+    /**
+     * As {@link #updateDomain(int, Object, Function)} for the value of a double column. If only the bounds of the
+     * column are determined, the cell is only created if the value is a new bound.
+     *
+     * @param col the column index
+     * @param value the (non-missing) value
+     * @param toCell creates the cell for the value
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void updateDomain(final int col, final double value, final DoubleFunction<? extends DataCell> toCell) {
+        if (!isUpdating(col)) {
+            return;
+        }
+        if (m_possVals[col] != null || m_metaDataCalculators[col].isUpdating()) {
+            updateDomain(col, toCell.apply(value));
+            return;
+        }
+        if (Double.isNaN(value)) {
+            return;
+        }
+        DataCell cell = null;
+        if (m_minsMissing[col] || !(m_mins[col] instanceof DoubleValue min)
+            || Double.compare(value, min.getDoubleValue()) < 0) {
+            cell = toCell.apply(value);
+            updateMin(col, m_mins, cell, m_comparators[col]);
+        }
+        if (m_maxs[col].isMissing() || !(m_maxs[col] instanceof DoubleValue max)
+            || Double.compare(value, max.getDoubleValue()) > 0) {
+            updateMax(col, m_maxs, cell == null ? toCell.apply(value) : cell, m_comparators[col]);
+        }
+    }
+
+    /** Whether the domain of the argument column (bounds, possible values or meta data) is determined. */
+    private boolean isUpdating(final int col) {
+        return m_isInEffect
+            && (m_possVals[col] != null || m_mins[col] != null || m_metaDataCalculators[col].isUpdating());
+    }
+
     /**
      * Updates the domain values by scanning a whole table. Note that the table's structure must match the table spec
      * that has been provided to the constructor.
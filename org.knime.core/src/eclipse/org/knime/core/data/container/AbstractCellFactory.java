@@ -186,7 +186,10 @@ public final boolean isParallelProcessing() {
      * certain row computation takes long the framework needs to temporarily
      * cache the results of the following rows - the cache size is determined
      * by this parameter. If this cache is full, no further row computations
-     * are queued until the long-running task finishes.)
+     * are queued until the long-running task finishes.) As of 5.12 the rows
+     * are handed to the workers in chunks of contiguous rows and the number of
+     * pending chunks is bounded by the worker count, the queue size is only
+     * validated.
      * @since 2.5
      */
     public final void setParallelProcessing(final boolean value,
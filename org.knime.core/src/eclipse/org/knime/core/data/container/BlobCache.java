@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.container.BlobDataCell.BlobAddress;
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of blobs read by {@link Buffer#readBlobDataCell(BlobAddress, CellClassInfo)}, shared by all buffers. The cache
+ * is bounded by the size of the blobs it holds, see {@link KNIMEConstants#PROPERTY_BLOB_CACHE_SIZE_MB}, lookups don't
+ * require any lock, and it is emptied on a {@link MemoryAlert}. Deserialized blobs are weighed by the length of their
+ * uncompressed serialized content, an estimate of their size on the heap. Blobs larger than a fraction of the cache
+ * size ({@link #MAX_ENTRY_FRACTION}) are not cached (and not read ahead) as they would evict most other entries.
+ *
+ * <p>
+ * In addition to deserialized blobs, the cache holds the serialized content of blobs that are read ahead: when the
+ * blobs of a column are read sequentially (as done when a table is iterated and the blob cells are accessed), the
+ * content of the next blobs in the column is read in the background, so that reading the next blob only needs to
+ * deserialize it.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @noreference This class is not intended to be referenced by clients.
+ * @since 5.12
+ */
+public final class BlobCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BlobCache.class);
+
+    /** Number of blobs read ahead in a column. */
+    static final int READ_AHEAD_COUNT = 8;
+
+    private static final long DEFAULT_SIZE_MB = 64;
+
+    /** Blobs larger than the cache size divided by this value are not cached. */
+    static final int MAX_ENTRY_FRACTION = 16;
+
+    private static final BlobCache INSTANCE = new BlobCache(
+        Math.max(0, Long.getLong(KNIMEConstants.PROPERTY_BLOB_CACHE_SIZE_MB, DEFAULT_SIZE_MB)) << 20);
+
+    /** Reads blobs ahead, discards tasks if the I/O can't keep up. */
+    private static final ThreadPoolExecutor READ_AHEAD_EXECUTOR;
+
+    static {
+        final var threadCount = new AtomicInteger();
+        READ_AHEAD_EXECUTOR = new ThreadPoolExecutor(2, 2, 10L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), r -> {
+            final var thread = new Thread(r, "KNIME-Blob-Read-Ahead-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        READ_AHEAD_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final Cache<Key, Entry> m_cache;
+
+    private final long m_maxEntrySize;
+
+    private final AtomicLong m_bytesHeld = new AtomicLong();
+
+    // counted here rather than by the cache as lookups of read-ahead content and read-ahead probes are no cache hits
+    // or misses of deserialized blobs
+    private final AtomicLong m_hitCount = new AtomicLong();
+
+    private final AtomicLong m_missCount = new AtomicLong();
+
+    private final AtomicLong m_readAheadCount = new AtomicLong();
+
+    private BlobCache(final long maxBytes) {
+        m_maxEntrySize = Math.min(maxBytes / MAX_ENTRY_FRACTION, Integer.MAX_VALUE);
+        m_cache = CacheBuilder.newBuilder() //
+            .maximumWeight(maxBytes) //
+            .<Key, Entry> weigher((k, v) -> v.m_weight) //
+            .<Key, Entry> removalListener(n -> m_bytesHeld.addAndGet(-n.getValue().m_weight)) //
+            .build();
+        MemoryAlertSystem.getInstance().addListener(new MemoryAlertListener() {
+            @Override
+            protected boolean memoryAlert(final MemoryAlert alert) {
+                LOGGER.debugWithFormat("Clearing blob cache (%d bytes) in response to memory alert", getBytesHeld());
+                m_cache.invalidateAll();
+                return false;
+            }
+        });
+    }
+
+    /** @return the instance shared by all buffers */
+    public static BlobCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param buffer the owner of the blob
+     * @param address the address of the blob
+     * @return the cached blob or null
+     */
+    BlobDataCell getCell(final Buffer buffer, final BlobAddress address) {
+        final Entry entry = m_cache.asMap().get(new Key(buffer, address));
+        if (entry != null && entry.m_cell != null) {
+            m_hitCount.incrementAndGet();
+            return entry.m_cell;
+        }
+        m_missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param buffer the owner of the blob
+     * @param address the address of the blob
+     * @param cell the blob read from the buffer
+     * @param inflatedSize the size of its uncompressed serialized content, used as weight
+     */
+    void putCell(final Buffer buffer, final BlobAddress address, final BlobDataCell cell, final long inflatedSize) {
+        if (isCacheable(inflatedSize)) {
+            put(new Key(buffer, address), new Entry(cell, null, inflatedSize));
+        }
+    }
+
+    /**
+     * @param size the size of a blob (serialized or deserialized)
+     * @return whether a blob of that size is held in the cache
+     */
+    boolean isCacheable(final long size) {
+        return size <= m_maxEntrySize;
+    }
+
+    /**
+     * Returns and removes the serialized content of a blob that was read ahead.
+     *
+     * @param buffer the owner of the blob
+     * @param address the address of the blob
+     * @return the content or null if not read ahead (or already evicted)
+     */
+    byte[] takeReadAheadContent(final Buffer buffer, final BlobAddress address) {
+        final Entry entry = m_cache.asMap().remove(new Key(buffer, address));
+        return entry == null ? null : entry.m_content;
+    }
+
+    /**
+     * Reads the serialized content of the blobs <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive)
+     * in the given column in the background, stopping at the first blob that can't be read (e.g. after the last blob
+     * in the column). Blobs too large to be cached are skipped.
+     */
+    void readAhead(final Buffer buffer, final int column, final boolean isCompressed, final int fromIndex,
+        final int toIndex) {
+        if (m_maxEntrySize <= 0) {
+            return;
+        }
+        READ_AHEAD_EXECUTOR.execute(() -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                final var key = new Key(buffer.getUniqueID().longValue(), column, index);
+                if (m_cache.asMap().containsKey(key)) {
+                    continue;
+                }
+                try {
+                    if (!isCacheable(buffer.getBlobContentLength(index, column, isCompressed))) {
+                        continue;
+                    }
+                    final byte[] content = buffer.readBlobContent(index, column, isCompressed);
+                    put(key, new Entry(null, content, content.length));
+                    m_readAheadCount.incrementAndGet();
+                } catch (Exception e) { // NOSONAR -- read-ahead is optional
+                    return;
+                }
+            }
+        });
+    }
+
+    /** Removes all blobs of the given buffer, called when the buffer is cleared. */
+    void invalidate(final Buffer buffer) {
+        final long uniqueID = buffer.getUniqueID().longValue();
+        m_cache.asMap().keySet().removeIf(k -> k.m_bufferUniqueID == uniqueID);
+    }
+
+    private void put(final Key key, final Entry entry) {
+        m_bytesHeld.addAndGet(entry.m_weight);
+        m_cache.put(key, entry);
+    }
+
+    /** @return the number of lookups of deserialized blobs that were answered from the cache */
+    public long getHitCount() {
+        return m_hitCount.get();
+    }
+
+    /** @return the number of lookups of deserialized blobs that required reading (or deserializing) the blob */
+    public long getMissCount() {
+        return m_missCount.get();
+    }
+
+    /** @return the number of blobs read ahead */
+    public long getReadAheadCount() {
+        return m_readAheadCount.get();
+    }
+
+    /** @return the number of blobs (deserialized or read ahead) in the cache */
+    public long getEntryCount() {
+        return m_cache.size();
+    }
+
+    /** @return the size of the blobs in the cache, see class description */
+    public long getBytesHeld() {
+        return m_bytesHeld.get();
+    }
+
+    /** Identifies a blob by the unique ID of the buffer (buffer IDs are not unique) and its position in the column. */
+    private static final class Key {
+
+        private final long m_bufferUniqueID;
+
+        private final int m_column;
+
+        private final int m_index;
+
+        Key(final Buffer buffer, final BlobAddress address) {
+            this(buffer.getUniqueID().longValue(), address.getColumn(), address.getIndexOfBlobInColumn());
+        }
+
+        Key(final long bufferUniqueID, final int column, final int index) {
+            m_bufferUniqueID = bufferUniqueID;
+            m_column = column;
+            m_index = index;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key k && k.m_bufferUniqueID == m_bufferUniqueID && k.m_column == m_column
+                && k.m_index == m_index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(m_bufferUniqueID) * 31 * 31 + m_column * 31 + m_index;
+        }
+    }
+
+    /** Either a deserialized blob or the serialized content of a blob read ahead. */
+    private static final class Entry {
+
+        private final BlobDataCell m_cell;
+
+        private final byte[] m_content;
+
+        private final int m_weight;
+
+        Entry(final BlobDataCell cell, final byte[] content, final long weight) {
+            m_cell = cell;
+            m_content = content;
+            m_weight = (int)Math.min(Integer.MAX_VALUE, Math.max(1, weight));
+        }
+    }
+
+}
@@ -56,9 +56,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -66,10 +67,8 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
@@ -89,7 +88,10 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
@@ -97,6 +99,7 @@
 import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataRow;
@@ -128,6 +131,8 @@
 import org.knime.core.data.util.memory.MemoryAlert;
 import org.knime.core.data.util.memory.MemoryAlertListener;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.v2.RowCursor;
+import org.knime.core.data.v2.RowRead;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -145,6 +150,7 @@
 import org.knime.core.util.LRUCache;
 import org.knime.core.util.MutableBoolean;
 import org.knime.core.util.ShutdownHelper;
+import org.knime.core.util.TempSpaceTracker;
 
 /**
  * A buffer writes the rows from a {@link DataContainer} to a file. This class serves as connector between the
@@ -216,6 +222,9 @@ public class Buffer implements KNIMEStreamConstants {
     /** Config entry whether or not this buffer contains blobs. */
     private static final String CFG_CONTAINS_BLOBS = "container.contains.blobs";
 
+    /** Config entry whether blobs are stored in segment files ({@link PackedBlobStore}), only written if true. */
+    private static final String CFG_PACKED_BLOBS = "container.blobs.packed";
+
     /**
      * Config entry (String) for buffer's filestore handler UUID, only applicable if buffer is not in workflow.
      */
@@ -254,6 +263,26 @@ public class Buffer implements KNIMEStreamConstants {
     /** The version number corresponding to {@link #VERSION}. */
     public static final int IVERSION = 12;
 
+    /**
+     * Version string written instead of {@link #VERSION} if the blobs are stored in segment files
+     * ({@link PackedBlobStore}); the table layout is otherwise unchanged so that all other tables remain readable by
+     * older versions.
+     */
+    static final String VERSION_PACKED_BLOBS = "container_13";
+
+    /** The version number corresponding to {@link #VERSION_PACKED_BLOBS}. */
+    static final int IVERSION_PACKED_BLOBS = 13;
+
+    /**
+     * Version string written instead of {@link #VERSION} or {@link #VERSION_PACKED_BLOBS} if the data file contains
+     * dictionary encoded strings (see {@link DefaultTableStoreWriter#CFG_DICTIONARY_ENCODED_STRINGS}), which older
+     * versions can't read. The blobs of such tables may or may not be packed.
+     */
+    static final String VERSION_DICTIONARY_STRINGS = "container_14";
+
+    /** The version number corresponding to {@link #VERSION_DICTIONARY_STRINGS}. */
+    static final int IVERSION_DICTIONARY_STRINGS = 14;
+
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
     static {
@@ -270,6 +299,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
         COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
         COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put(VERSION_PACKED_BLOBS, IVERSION_PACKED_BLOBS); // version 5.12 - packed blobs (only)
+        COMPATIBILITY_MAP.put(VERSION_DICTIONARY_STRINGS, IVERSION_DICTIONARY_STRINGS); // 5.12 - dictionaries (only)
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -287,6 +318,12 @@ public class Buffer implements KNIMEStreamConstants {
     /** Number of dirs/files per directory when blobs are saved. */
     private static final int BLOB_ENTRIES_PER_DIRECTORY = 1000;
 
+    /** Whether new buffers store their blobs packed, see {@link KNIMEConstants#PROPERTY_PACKED_BLOBS}. */
+    private static final boolean IS_PACK_BLOBS = Boolean.getBoolean(KNIMEConstants.PROPERTY_PACKED_BLOBS);
+
+    /** Whether the content of flushed buffers is saved as STORED zip entries, see {@link StoredZipEntryWriter}. */
+    private static boolean isStoredZipEntries = Boolean.getBoolean(KNIMEConstants.PROPERTY_STORED_TABLE_ZIP_ENTRIES);
+
     /**
      * Is executing the shutdown hook? If so, no logging is done, bug fix #862.
      */
@@ -409,13 +446,6 @@ public static void waitForAsyncWrites() {
         }
     }
 
-    /**
-     * Hash used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
-     * added multiple times to a table... the iterator will read the blob address, treat it as unseen and then ask the
-     * owning Buffer to restore the blob.
-     */
-    private final BlobLRUCache m_blobLRUCache = new BlobLRUCache();
-
     static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         @SuppressWarnings("unchecked")
         Class<? extends BlobDataCell> cl = (Class<? extends BlobDataCell>)cellClassInfo.getCellClass();
@@ -448,6 +478,16 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
     /** the file to write to. */
     private File m_binFile;
 
+    /**
+     * Computes the CRC of {@link #m_binFile} while it's written if the content is saved as STORED zip entries, so
+     * that it doesn't need to be read an additional time when saved (see {@link StoredZipEntryWriter}); null if not
+     * computed.
+     */
+    private CheckedOutputStream m_binFileChecksumOut;
+
+    /** Length of {@link #m_binFile} when its writer was closed, -1 if not closed (or the CRC is not computed). */
+    private long m_binFileLengthAtClose = -1;
+
     /** a flag that determines whether this Buffer has its own temporary m_binFile to write to */
     private boolean m_hasTempFile = true;
 
@@ -464,6 +504,12 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
     /** true if any row contained in this buffer contains blob cells. */
     private boolean m_containsBlobs;
 
+    /** Whether the blobs are stored in segment files in m_blobDir instead of one file per blob. */
+    private boolean m_isPackedBlobs;
+
+    /** Reads and writes the blobs if m_isPackedBlobs, created lazily. */
+    private volatile PackedBlobStore m_packedBlobStore;
+
     /**
      * The integer id of a buffer associated with a workflow and created by a {@link BufferedDataTable}. This id is used
      * only for blob serialization and is not unique, as buffers might have the same id when (a) they are associated
@@ -481,6 +527,15 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
      */
     private final Long m_uniqueID = RUNNING_ID.getAndIncrement();
 
+    /** Guards {@link #m_lastReadBlobIndices} and {@link #m_blobReadAheadEnds}. */
+    private final Object m_blobReadAheadLock = new Object();
+
+    /** Per column the index of the last blob read, used to detect sequential blob access. */
+    private int[] m_lastReadBlobIndices;
+
+    /** Per column the (exclusive) index up to which blobs have been requested to be read ahead. */
+    private int[] m_blobReadAheadEnds;
+
     /**
      * A map with other buffers that may have written certain blob cells. We reference them by using the bufferID that
      * is written to the file. This temporary repository exists only while a node is executing. It is only important
@@ -644,6 +699,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_dataRepository = dataRepository;
         m_spec = spec;
         m_outputFormat = m_bufferSettings.getOutputFormat(m_spec);
+        m_isPackedBlobs = IS_PACK_BLOBS;
         BufferTracker.getInstance().bufferCreated(this);
     }
 
@@ -720,6 +776,19 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         BufferTracker.getInstance().bufferCreated(this);
     }
 
+    /**
+     * Sets whether the content of flushed buffers is saved as STORED zip entries, overriding
+     * {@link KNIMEConstants#PROPERTY_STORED_TABLE_ZIP_ENTRIES}. Only used in tests.
+     *
+     * @param isStored the new value
+     * @return the previous value
+     */
+    static boolean setStoredZipEntries(final boolean isStored) {
+        final boolean previous = isStoredZipEntries;
+        isStoredZipEntries = isStored;
+        return previous;
+    }
+
     /**
      * Get the version string to write to the meta file. This method is overridden in the {@code NoKeyBuffer} to
      * distinguish streams written by the different implementations.
@@ -727,7 +796,23 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
      * @return The version string.
      */
     public String getVersion() {
-        return VERSION;
+        if (isDictionaryEncodedStrings()) {
+            return VERSION_DICTIONARY_STRINGS;
+        }
+        return m_isPackedBlobs ? VERSION_PACKED_BLOBS : VERSION;
+    }
+
+    /** @return whether the blobs of this buffer are stored in segment files ({@link PackedBlobStore}). */
+    final boolean isPackedBlobs() {
+        return m_isPackedBlobs;
+    }
+
+    /**
+     * @return whether the data file contains dictionary encoded strings, known once the file is written (or read)
+     */
+    final boolean isDictionaryEncodedStrings() {
+        return m_formatSettings != null
+            && m_formatSettings.getBoolean(DefaultTableStoreWriter.CFG_DICTIONARY_ENCODED_STRINGS, false);
     }
 
     /**
@@ -805,8 +890,39 @@ synchronized void addRow(final DataRow r, final boolean isCopyOfExisting, final
         }
     }
 
+    /**
+     * Whether rows can be added via {@link #addRow(RowRead, DirectWriteType[])}, i.e. whether this buffer already
+     * writes to disk (and not to its in-memory list) using the default format.
+     *
+     * @return that property
+     */
+    synchronized boolean canAddRowDirectly() {
+        return m_listWhileAddRow == null && m_outputFormat instanceof DefaultTableStoreFormat;
+    }
+
+    /**
+     * Adds a row whose values are all of a {@link DirectWriteType} by writing it right to the file, i.e. without
+     * creating a {@link DataRow} and cells for it. Must only be called if {@link #canAddRowDirectly()}.
+     *
+     * @param row the row to add
+     * @param types the types of all columns
+     */
+    synchronized void addRow(final RowRead row, final DirectWriteType[] types) {
+        assert canAddRowDirectly();
+        try {
+            ensureWriterIsOpen();
+            final long index = getAndIncrementSize();
+            ((DefaultTableStoreWriter)m_outputWriter).writeRow(row, types);
+            checkTempSpaceQuota(index);
+        } catch (IOException e) {
+            final String file = m_binFile != null ? (", failed to write to file \"" + m_binFile.getName() + "\"") : "";
+            throw new RuntimeException("Error while writing to buffer" + file + ": " + e.getMessage(), e);
+        }
+    }
+
     synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOException {
-        if (getAndIncrementSize() == Integer.MAX_VALUE) {
+        final long index = getAndIncrementSize();
+        if (index == Integer.MAX_VALUE) {
             /**
              * Since m_list is an ArrayList, it cannot hold more than Integer.MAX_VALUE rows, so we have to flush
              * independent of the lifecycle.
@@ -821,6 +937,18 @@ synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOE
         } else {
             ensureWriterIsOpen();
             m_outputWriter.writeRow(row);
+            checkTempSpaceQuota(index);
+        }
+    }
+
+    /**
+     * The quota of the temp space is checked when files are created, see {@link #onFileCreated(File)}. As the data
+     * file grows after it is created, the quota is also checked every {@link #TEMP_SPACE_CHECK_INTERVAL} rows written
+     * to it.
+     */
+    private static void checkTempSpaceQuota(final long rowIndex) throws IOException {
+        if (rowIndex % TEMP_SPACE_CHECK_INTERVAL == TEMP_SPACE_CHECK_INTERVAL - 1) {
+            TempSpaceTracker.getInstance().checkQuota(); // throws if quota exceeded
         }
     }
 
@@ -837,7 +965,20 @@ private void initOutputWriter(final Supplier<OutputStream> output)
      * @throws IOException
      */
     private void initOutputWriter(final File binFile) throws IOException {
-        m_outputWriter = m_outputFormat.createWriter(binFile, m_spec, !shouldSkipRowKey());
+        m_binFileChecksumOut = null;
+        m_binFileLengthAtClose = -1;
+        if (isStoredZipEntries) {
+            final var checksumOut = new CheckedOutputStream(new FileOutputStream(binFile), new CRC32());
+            try {
+                m_outputWriter = m_outputFormat.createWriter(checksumOut, m_spec, !shouldSkipRowKey());
+                m_binFileChecksumOut = checksumOut;
+            } catch (UnsupportedOperationException e) { // NOSONAR optional operation, CRC computed when saved
+                checksumOut.close();
+                m_outputWriter = m_outputFormat.createWriter(binFile, m_spec, !shouldSkipRowKey());
+            }
+        } else {
+            m_outputWriter = m_outputFormat.createWriter(binFile, m_spec, !shouldSkipRowKey());
+        }
         m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)m_fileStoreHandler);
     }
 
@@ -897,6 +1038,41 @@ private BlobSupportDataRow saveBlobsAndFileStores(final DataRow row, final boole
         return cellCopies == null ? blobRow : new BlobSupportDataRow(row.getKey(), cellCopies);
     }
 
+    /**
+     * Flushes the content of the file store cells in the given rows (see {@link FileStoreCell#flushToFileStore()})
+     * in case this buffer writes its rows to disk, i.e. when the flush is due anyway as soon as the rows are written.
+     * This is called by the (concurrent) container threads for each batch of rows so that the file store content is
+     * written in parallel and before the rows are handed to the (sequential) writer, which then finds the cells
+     * already flushed. Cells are flushed at most once, as before.
+     *
+     * @param rows the rows as returned by {@link #saveBlobsAndFileStores(DataRow, boolean)}
+     * @throws IOException if a cell fails to flush its content
+     */
+    void flushFileStoreCells(final List<BlobSupportDataRow> rows) throws IOException {
+        synchronized (this) {
+            if (!m_flushedToDisk || !(m_fileStoreHandler instanceof IWriteFileStoreHandler)) {
+                // in-memory tables flush their file store cells when (and if) they get written
+                return;
+            }
+        }
+        for (BlobSupportDataRow row : rows) {
+            for (int col = 0; col < row.getNumCells(); col++) {
+                flushFileStoreCell(row.getRawCell(col));
+            }
+        }
+    }
+
+    private static void flushFileStoreCell(final DataCell cell) throws IOException {
+        if (cell instanceof FileStoreCell fsCell) {
+            FileStoreUtil.invokeFlush(fsCell);
+        } else if (cell instanceof CellCollection collection && !collection.containsBlobWrapperCells()) {
+            // collections referencing blobs are skipped as iterating them would read the blobs
+            for (DataCell c : collection) {
+                flushFileStoreCell(c);
+            }
+        }
+    }
+
     private DataCell handleIncomingBlob(final DataCell cell, final int col, final int totalColCount,
         final boolean copyForVersionHop, final boolean forceCopyOfBlobsArg, final boolean isWrapperCell,
         final boolean isCollectionCell) throws IOException {
@@ -1057,10 +1233,7 @@ private DataCell handleIncomingBlob(final DataCell cell, final int col, final in
                 if (b != null && !isToCloneForVersionHop) {
                     int indexBlobInCol = m_indicesOfBlobInColumns[col]++;
                     rewrite.setIndexOfBlobInColumn(indexBlobInCol);
-                    File source =
-                        b.getBlobFile(ad.getIndexOfBlobInColumn(), ad.getColumn(), false, ad.isUseCompression());
-                    File dest = getBlobFile(indexBlobInCol, col, true, ad.isUseCompression());
-                    FileUtil.copy(source, dest);
+                    copyBlob(b, ad, indexBlobInCol, col, ad.isUseCompression());
                     wc = new BlobWrapperDataCell(this, rewrite, cl);
                 } else {
                     BlobDataCell bc;
@@ -1115,7 +1288,6 @@ private void writeBlobDataCell(final BlobDataCell cell, final BlobAddress a) thr
         int indexInColumn = m_indicesOfBlobInColumns[column]++;
         a.setIndexOfBlobInColumn(indexInColumn);
         boolean isToCompress = Buffer.isUseCompressionForBlobs(CellClassInfo.get(cell));
-        File outFile = getBlobFile(indexInColumn, column, true, isToCompress);
         BlobAddress originalBA = cell.getBlobAddress();
         if (!Objects.equals(originalBA, a)) {
             int originalBufferIndex = originalBA.getBufferID();
@@ -1130,27 +1302,121 @@ private void writeBlobDataCell(final BlobDataCell cell, final BlobAddress a) thr
                 }
             }
             if (originalBuffer != null) {
-                int index = originalBA.getIndexOfBlobInColumn();
-                int col = originalBA.getColumn();
-                boolean compress = originalBA.isUseCompression();
-                File source = originalBuffer.getBlobFile(index, col, false, compress);
-                FileUtil.copy(source, outFile);
+                copyBlob(originalBuffer, originalBA, indexInColumn, column, isToCompress);
                 return;
             }
         }
 
-        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(outFile));
+        // packed blobs are serialized into memory and then appended to the column's segment file
+        final ByteArrayOutputStream packedContent = m_isPackedBlobs ? new ByteArrayOutputStream() : null;
+        final File outFile = m_isPackedBlobs ? null : getBlobFile(indexInColumn, column, true, isToCompress);
+        try (final OutputStream out =
+                packedContent != null ? packedContent : new BufferedOutputStream(new FileOutputStream(outFile));
                 final BlockableDCObjectOutputVersion2 outStream = new BlockableDCObjectOutputVersion2(
                     isToCompress ? new BufferedOutputStream(new GZIPOutputStream(out)) : out)) {
             // buffering the gzip stream brings another performance boost
             // (in one case from 5mins down to 2 mins)
-            Buffer.onFileCreated(outFile);
+            if (outFile != null) {
+                Buffer.onFileCreated(outFile);
+            }
             if (ser != null) { // DataCell is datacell-serializable
                 outStream.writeDataCellPerKNIMESerializer(ser, cell);
             } else {
                 outStream.writeDataCellPerJavaSerialization(cell);
             }
         }
+        if (packedContent != null) {
+            getPackedBlobStore(true).write(column, indexInColumn, packedContent.toByteArray());
+        }
+    }
+
+    /**
+     * Copies the serialized content of a blob owned by another buffer into this buffer.
+     *
+     * @param source the owner of the blob
+     * @param sourceAddress the address of the blob in the source buffer
+     * @param indexBlobInCol the index of the copy in this buffer
+     * @param column the column of the copy in this buffer
+     * @param isCompressed whether the content is compressed
+     */
+    private void copyBlob(final Buffer source, final BlobAddress sourceAddress, final int indexBlobInCol,
+        final int column, final boolean isCompressed) throws IOException {
+        final int sourceIndex = sourceAddress.getIndexOfBlobInColumn();
+        final int sourceColumn = sourceAddress.getColumn();
+        final boolean isSourceCompressed = sourceAddress.isUseCompression();
+        if (!m_isPackedBlobs && !source.m_isPackedBlobs) {
+            File sourceFile = source.getBlobFile(sourceIndex, sourceColumn, false, isSourceCompressed);
+            FileUtil.copy(sourceFile, getBlobFile(indexBlobInCol, column, true, isCompressed));
+            return;
+        }
+        try (InputStream in = source.openBlobInputStream(sourceIndex, sourceColumn, isSourceCompressed)) {
+            if (m_isPackedBlobs) {
+                // segments are appended from memory, packed blobs are limited to 2GB by the index format
+                getPackedBlobStore(true).write(column, indexBlobInCol, in.readAllBytes());
+            } else {
+                File outFile = getBlobFile(indexBlobInCol, column, true, isCompressed);
+                Buffer.onFileCreated(outFile);
+                Files.copy(in, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream on the serialized (and possibly compressed) content of a blob owned by this buffer, either
+     * reading the blob's file or the blob's range in a segment file (if the blobs are packed).
+     *
+     * @param indexBlobInCol The index in the column (generally the row number).
+     * @param column The column index.
+     * @param isCompressed If the blob is compressed
+     * @return a new stream, to be closed by the caller
+     * @throws IOException If the blob can't be read
+     */
+    InputStream openBlobInputStream(final int indexBlobInCol, final int column, final boolean isCompressed)
+        throws IOException {
+        if (m_isPackedBlobs) {
+            return getPackedBlobStore(false).openInputStream(column, indexBlobInCol);
+        }
+        return new FileInputStream(getBlobFile(indexBlobInCol, column, false, isCompressed));
+    }
+
+    /**
+     * @param indexBlobInCol The index in the column (generally the row number).
+     * @param column The column index.
+     * @param isCompressed If the blob is compressed
+     * @return the length of the serialized (and possibly compressed) content of a blob owned by this buffer
+     * @throws IOException If there is no such blob
+     * @see #openBlobInputStream(int, int, boolean)
+     */
+    long getBlobContentLength(final int indexBlobInCol, final int column, final boolean isCompressed)
+        throws IOException {
+        if (m_isPackedBlobs) {
+            return getPackedBlobStore(false).getLength(column, indexBlobInCol);
+        }
+        final File file = getBlobFile(indexBlobInCol, column, false, isCompressed);
+        if (!file.isFile()) {
+            throw new FileNotFoundException("Blob file \"" + file.getAbsolutePath() + "\" does not exist");
+        }
+        return file.length();
+    }
+
+    private PackedBlobStore getPackedBlobStore(final boolean forWriting) throws IOException {
+        PackedBlobStore store = m_packedBlobStore;
+        if (store == null) {
+            synchronized (this) {
+                if (forWriting) {
+                    ensureBlobDirExists();
+                }
+                if (m_blobDir == null) {
+                    throw new IOException("No blob directory assigned to buffer " + m_bufferID);
+                }
+                store = m_packedBlobStore;
+                if (store == null) {
+                    store = new PackedBlobStore(m_blobDir);
+                    m_packedBlobStore = store;
+                }
+            }
+        }
+        return store;
     }
 
     private boolean mustBeFlushedPriorSave(final DataCell cell, final boolean isWrapperCell,
@@ -1223,6 +1489,9 @@ void closeInternal() {
             flushBuffer();
             closeWriterAndWriteMeta();
         }
+        if (m_packedBlobStore != null) {
+            m_packedBlobStore.closeWriters();
+        }
         m_localRepository = null;
     }
 
@@ -1245,6 +1514,9 @@ private void ensureWriterIsOpen() throws IOException {
     private void closeWriterAndWriteMeta() {
         try {
             m_outputWriter.close();
+            if (m_binFileChecksumOut != null) {
+                m_binFileLengthAtClose = m_binFile.length();
+            }
             NodeSettings formatSettings = new NodeSettings(CFG_TABLE_FORMAT_CONFIG);
             m_outputWriter.writeMetaInfoAfterWrite(formatSettings);
             m_formatSettings = formatSettings;
@@ -1277,6 +1549,9 @@ private void writeMetaToFile(final Supplier<OutputStream> out) throws IOExceptio
             subSettings.addLong(CFG_SIZE_L, size());
         }
         subSettings.addBoolean(CFG_CONTAINS_BLOBS, m_containsBlobs);
+        if (m_isPackedBlobs) { // added in 5.12 (with version 13) - not written otherwise
+            subSettings.addBoolean(CFG_PACKED_BLOBS, true);
+        }
         // added between version 8 and 9 - no increment of version number
         String fileStoresUUID = null;
         if (m_fileStoreHandler instanceof NotInWorkflowWriteFileStoreHandler) {
@@ -1301,6 +1576,28 @@ private void writeMetaToFile(final Supplier<OutputStream> out) throws IOExceptio
         settings.saveToXML(out.get());
     }
 
+    /**
+     * Reads only the row count from the meta information written by {@link #writeMetaToFile(Supplier)}. Used to
+     * answer {@link BufferedContainerTable#size()} for tables loaded from a workflow without extracting them.
+     *
+     * @param metaIn To read from, will be closed.
+     * @return the row count
+     * @throws IOException If reading fails or the meta information is broken.
+     */
+    static long readSizeFromMeta(final InputStream metaIn) throws IOException {
+        try (InputStream inStream = new BufferedInputStream(metaIn)) {
+            NodeSettingsRO subSettings = NodeSettings.loadFromXML(inStream).getNodeSettings(CFG_INTERNAL_META);
+            long size = subSettings.containsKey(CFG_SIZE_L) ? subSettings.getLong(CFG_SIZE_L)
+                : subSettings.getInt(CFG_SIZE);
+            if (size < 0) {
+                throw new IOException("Table size must not be < 0: " + size);
+            }
+            return size;
+        } catch (InvalidSettingsException ise) {
+            throw new IOException("Unable to read table size from meta information: " + ise.getMessage(), ise);
+        }
+    }
+
     /**
      * Reads meta information, that is row count, version, byte assignments.
      *
@@ -1328,6 +1625,10 @@ private void readMetaFromFile(final InputStream metaIn, final File fileStoreDir)
             m_containsBlobs = false;
             if (m_version >= 4) { // no blobs in version 1.1.x
                 m_containsBlobs = subSettings.getBoolean(CFG_CONTAINS_BLOBS);
+                m_isPackedBlobs = subSettings.getBoolean(CFG_PACKED_BLOBS, false);
+                if (m_isPackedBlobs && m_version < IVERSION_PACKED_BLOBS) {
+                    throw new IOException("Table with packed blobs has invalid version \"" + version + "\"");
+                }
                 int bufferID = subSettings.getInt(CFG_BUFFER_ID);
                 // the bufferIDs may be different in cases when an 1.0.0 table
                 // was read, then converted to a new version (done by
@@ -1372,6 +1673,9 @@ private void readMetaFromFile(final InputStream metaIn, final File fileStoreDir)
             NodeSettingsRO outputFormatSettings =
                 m_version >= 10 ? subSettings.getNodeSettings(CFG_TABLE_FORMAT_CONFIG) : subSettings;
             m_formatSettings = outputFormatSettings;
+            if (isDictionaryEncodedStrings() && m_version < IVERSION_DICTIONARY_STRINGS) {
+                throw new IOException("Table with dictionary encoded strings has invalid version \"" + version + "\"");
+            }
             initOutputReader(outputFormatSettings, m_version);
         }
     }
@@ -1483,20 +1787,77 @@ BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo
             Buffer blobBuffer =( (BufferedContainerTable)cnTbl).getBuffer();
             return blobBuffer.readBlobDataCell(blobAddress, cl);
         }
-        SoftReference<BlobDataCell> softRef = m_blobLRUCache.get(blobAddress);
-        BlobDataCell result = softRef != null ? softRef.get() : null;
+        final BlobCache cache = BlobCache.getInstance();
+        BlobDataCell result = cache.getCell(this, blobAddress);
         if (result != null) {
             return result;
         }
         if (getReadVersion() <= 5) { // 2.0 TechPreview and earlier
             result = BufferFromFileIteratorVersion1x.readBlobDataCell(this, blobAddress, cl);
+            cache.putCell(this, blobAddress, result, getBlobFile(blobAddress.getIndexOfBlobInColumn(),
+                blobAddress.getColumn(), false, blobAddress.isUseCompression()).length());
         } else {
-            result = BufferFromFileIteratorVersion20.readBlobDataCell(blobAddress, cl, this);
+            final byte[] content = cache.takeReadAheadContent(this, blobAddress);
+            readAheadBlobs(blobAddress);
+            // the blob is streamed from disk unless read ahead, counting the inflated length to weigh the cache entry
+            try (InputStream in = content != null ? new ByteArrayInputStream(content)
+                : new BufferedInputStream(openBlobInputStream(blobAddress.getIndexOfBlobInColumn(),
+                    blobAddress.getColumn(), blobAddress.isUseCompression()));
+                    CountingInputStream inflated = new CountingInputStream(blobAddress.isUseCompression()
+                        // that buffering is important
+                        ? new BufferedInputStream(new GZIPInputStream(in)) : in)) {
+                result = BufferFromFileIteratorVersion20.readBlobDataCell(blobAddress, cl, inflated);
+                cache.putCell(this, blobAddress, result, inflated.getByteCount());
+            }
         }
-        m_blobLRUCache.put(blobAddress, new SoftReference<BlobDataCell>(result));
         return result;
     }
 
+    /**
+     * Reads the serialized (and possibly compressed) content of a blob owned by this buffer into memory. Only used to
+     * read ahead blobs that are small enough to be cached (see {@link BlobCache#isCacheable(long)}).
+     *
+     * @see #openBlobInputStream(int, int, boolean)
+     */
+    byte[] readBlobContent(final int indexBlobInCol, final int column, final boolean isCompressed)
+        throws IOException {
+        try (InputStream in = openBlobInputStream(indexBlobInCol, column, isCompressed)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Called when a blob is read. If it's the successor of the previously read blob in the column (the blobs are read
+     * sequentially, e.g. while iterating the table), the next blobs are read ahead, unless that's already done.
+     */
+    private void readAheadBlobs(final BlobAddress blobAddress) {
+        final int column = blobAddress.getColumn();
+        final int index = blobAddress.getIndexOfBlobInColumn();
+        final int readAheadFrom;
+        final int readAheadTo;
+        synchronized (m_blobReadAheadLock) {
+            if (m_lastReadBlobIndices == null || m_lastReadBlobIndices.length <= column) {
+                final int length = Math.max(column + 1, m_spec.getNumColumns());
+                final int oldLength = m_lastReadBlobIndices == null ? 0 : m_lastReadBlobIndices.length;
+                m_lastReadBlobIndices = m_lastReadBlobIndices == null ? new int[length]
+                    : Arrays.copyOf(m_lastReadBlobIndices, length);
+                m_blobReadAheadEnds = m_blobReadAheadEnds == null ? new int[length]
+                    : Arrays.copyOf(m_blobReadAheadEnds, length);
+                Arrays.fill(m_lastReadBlobIndices, oldLength, length, -2);
+            }
+            final boolean isSequential = m_lastReadBlobIndices[column] == index - 1;
+            m_lastReadBlobIndices[column] = index;
+            // read ahead again once half of the blobs read ahead are consumed
+            if (!isSequential || index + BlobCache.READ_AHEAD_COUNT / 2 < m_blobReadAheadEnds[column]) {
+                return;
+            }
+            readAheadFrom = Math.max(index + 1, m_blobReadAheadEnds[column]);
+            readAheadTo = index + 1 + BlobCache.READ_AHEAD_COUNT;
+            m_blobReadAheadEnds[column] = readAheadTo;
+        }
+        BlobCache.getInstance().readAhead(this, column, blobAddress.isUseCompression(), readAheadFrom, readAheadTo);
+    }
+
     private void ensureBlobDirExists() throws IOException {
         if (m_blobDir == null) {
             ensureTempFileExists();
@@ -1624,6 +1985,31 @@ public final synchronized CloseableRowIterator iteratorWithFilter(final TableFil
         return iteratorWithFilter(filter, null);
     }
 
+    /**
+     * Creates a row cursor. If the table is not held in memory and was written in the default format, the cursor
+     * reads all rows into the same {@link org.knime.core.data.v2.RowRead}, i.e. it doesn't create rows and cells of
+     * primitive types while iterating; otherwise it wraps the {@link #iterator()}.
+     *
+     * @return the row cursor
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    @SuppressWarnings("resource")
+    public final synchronized RowCursor cursor() {
+        if (!m_isClearedLock.booleanValue() && !m_useBackIntoMemoryIterator
+            && obtainListFromCacheOrBackIntoMemoryIterator() == null) {
+            final TableStoreCloseableRowIterator tableStoreIt = m_outputReader.iterator();
+            tableStoreIt.setBuffer(this);
+            m_nrOpenInputStreams.incrementAndGet();
+            m_openResources.register(tableStoreIt, tableStoreIt);
+            if (tableStoreIt instanceof BufferFromFileIteratorVersion20 fileIt) {
+                return new BufferRowCursor(fileIt, m_spec.getNumColumns());
+            }
+            return new FallbackRowCursor(tableStoreIt, m_spec);
+        }
+        return new FallbackRowCursor(iterator(), m_spec);
+    }
+
     // This method might return a FilterDelegateRowIterator that wraps a CloseableRowIterator. This leads to a warning
     // about the wrapped iterator potentially not being closed. It is safe to disregard this warning though, since
     // the FilterDelegateRowIterator takes care of closing the wrapped iterator.
@@ -1796,11 +2182,11 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
         if (ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083) {
             zipOut.setLevel(Deflater.NO_COMPRESSION);
         }
-        zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_DATA));
         // these are the conditions:
         //    !usesOutFile() --> data all kept in memory, small tables
         //    m_version< ... --> container version bump
         if (!isFlushedToDisk() || m_version < IVERSION) {
+            zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_DATA));
             // need to use new buffer since we otherwise write properties
             // of this buffer, which prevents it from further reading (version
             // conflict) - see bug #1364
@@ -1864,7 +2250,27 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
             }
             zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_META));
             copy.writeMetaToFile(() -> new NonClosableOutputStream.Zip(zipOut));
+        } else if (isStoredZipEntries) {
+            final var storedEntries = new StoredZipEntryWriter();
+            if (m_binFileChecksumOut != null && m_binFileLengthAtClose == m_binFile.length()) {
+                storedEntries.addFile(ZIP_ENTRY_DATA, m_binFile, m_binFileChecksumOut.getChecksum().getValue());
+            } else {
+                storedEntries.addFile(ZIP_ENTRY_DATA, m_binFile);
+            }
+            if (m_blobDir != null) {
+                storedEntries.addDirectoryContent(ZIP_ENTRY_BLOBS, m_blobDir);
+            }
+            if (hasOwnFileStoreCells()) {
+                storedEntries.addDirectoryContent(ZIP_ENTRY_FILESTORES, getOwnFileStoreCellsDirectory());
+            }
+            storedEntries.writeTo(zipOut);
+            if (ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083) {
+                zipOut.setLevel(Deflater.DEFAULT_COMPRESSION);
+            }
+            zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_META));
+            writeMetaToFile(() -> new NonClosableOutputStream.Zip(zipOut));
         } else {
+            zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_DATA));
             // no need for BufferedInputStream here as the copy method
             // does the buffering itself
             try (InputStream is = new FileInputStream(m_binFile)) {
@@ -1999,6 +2405,10 @@ synchronized void clear() {
                             // reason, we are OK with it as well, since we're clearing this buffer anyways.
                         }
                     }
+                    if (m_packedBlobStore != null) {
+                        m_packedBlobStore.close(); // release file handles prior delete
+                        m_packedBlobStore = null;
+                    }
                     if (m_blobDir != null) {
                         DeleteInBackgroundThread.delete(m_binFile, m_blobDir);
                     } else {
@@ -2008,10 +2418,9 @@ synchronized void clear() {
                 if (m_fileStoreHandler instanceof NotInWorkflowWriteFileStoreHandler) {
                     m_fileStoreHandler.clearAndDispose();
                 }
-                if (m_blobLRUCache != null) {
-                    m_blobLRUCache.clear();
-                }
+                BlobCache.getInstance().invalidate(this);
                 m_binFile = null;
+                m_binFileChecksumOut = null;
                 m_blobDir = null;
             }
         }
@@ -2028,6 +2437,9 @@ boolean isCleared() {
 
     private static final int MAX_FILES_TO_CREATE_BEFORE_GC = 10000;
 
+    /** Number of rows written to the data file between checks of the temp space quota. */
+    private static final int TEMP_SPACE_CHECK_INTERVAL = 1024;
+
     private static final AtomicInteger FILES_CREATED_COUNTER = new AtomicInteger(0);
 
     /**
@@ -2038,11 +2450,13 @@ boolean isCleared() {
      *
      * @param file The existing file
      * @throws IOException If there is not enough space left on the partition of the temp folder, see
-     *             {@link FileUtil#checkFreeSpace(File)}.
+     *             {@link FileUtil#checkFreeSpace(File)}, or the temp space quota is exceeded, see
+     *             {@link TempSpaceTracker}.
      */
     static void onFileCreated(final File file) throws IOException {
         int count = FILES_CREATED_COUNTER.incrementAndGet();
         FileUtil.checkFreeSpace(file); // throws if not enough space
+        TempSpaceTracker.getInstance().onFileCreated(file); // throws if quota exceeded
         if (count % MAX_FILES_TO_CREATE_BEFORE_GC == 0 && !DISCOURAGE_GC) {
             LOGGER.debug("created " + count + " files, performing garbage collection to release handles");
             System.gc(); // NOSONAR: We want to call GC here and now.
@@ -2083,37 +2497,6 @@ private void writeList(final List<BlobSupportDataRow> list) {
         }
     }
 
-    /** Last recently used cache for blobs. */
-    private static final class BlobLRUCache extends LinkedHashMap<BlobAddress, SoftReference<BlobDataCell>> {
-
-        private static final long serialVersionUID = 1L;
-
-        /** Default constructor, instructs for access order. */
-        BlobLRUCache() {
-            super(16, 0.75f, true); // args copied from HashMap implementation
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        protected synchronized boolean removeEldestEntry(final Entry<BlobAddress, SoftReference<BlobDataCell>> eldest) {
-            return size() >= 100;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> get(final Object key) {
-            return super.get(key);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> put(final BlobAddress key,
-            final SoftReference<BlobDataCell> value) {
-            return super.put(key, value);
-        }
-
-    }
-
     /**
      * The BackIntoMemoryIterator holds lists of datarows read from a file. It is strongly referenced only by the
      * FromListIterators and is only weak-referenced in the outer Buffer class. This way, we make sure that the
@@ -47,14 +47,12 @@
  */
 package org.knime.core.data.container;
 
-import java.io.BufferedInputStream;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.zip.GZIPInputStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
@@ -64,6 +62,11 @@
 import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
 import org.knime.core.data.container.DefaultTableStoreReader.FromFileIterator;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
@@ -101,10 +104,17 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /**
+     * The dictionaries of dictionary encoded string columns, built while reading (entries precede their references);
+     * <code>null</code> if the table doesn't dictionary encode strings.
+     */
+    private final List<StringCell>[] m_stringDictionaries;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
      * @throws IOException If stream reading fails.
      */
+    @SuppressWarnings("unchecked")
     BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
         // init the pointer
         m_pointer = 0;
@@ -122,6 +132,8 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
         m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+        m_stringDictionaries = tableFormatReader.isDictionaryEncodedStrings()
+            ? new List[tableFormatReader.getTableSpec().getNumColumns()] : null;
     }
 
 
@@ -169,7 +181,7 @@ public synchronized BlobSupportDataRow next() {
             DataCell nextCell;
             try {
                 try {
-                    nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
+                    nextCell = readDataCell(m_inStream, i);
                 } finally {
                     m_inStream.endBlock();
                 }
@@ -192,6 +204,150 @@ public synchronized BlobSupportDataRow next() {
         return new BlobSupportDataRow(key, cells);
     }
 
+    /**
+     * Reads the next row into the argument instead of creating a new row: cells of primitive types are deserialized
+     * right into the reusable values of the row, see {@link BufferRowCursor}.
+     *
+     * @param row the row to read into
+     * @throws NoSuchElementException if at end
+     */
+    synchronized void readInto(final BufferRowRead row) {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Iterator at end");
+        }
+        final BlockableDCObjectInputVersion2 inStream = m_inStream;
+        final int colCount = row.getNumColumns();
+        if (inStream == null) { // iterator was closed
+            if (m_missingCellsForClosedTable == null) {
+                m_missingCellsForClosedTable = new DataCell[colCount];
+                Arrays.fill(m_missingCellsForClosedTable, DataType.getMissingCell());
+                LOGGER.warn("Invalid access on table, iterator has been closed");
+            }
+            row.setKey("INVALID_ROW (table is closed) - (Row " + m_pointer + ")");
+            for (int i = 0; i < colCount; i++) {
+                row.setMissing(i);
+            }
+            m_pointer++;
+            return;
+        }
+        try {
+            row.setKey(readRowKeyStringAndEndBlock(inStream));
+        } catch (Exception throwable) {
+            handleReadThrowable(throwable);
+            row.setKey("Read_failed__auto_generated_key_" + m_pointer);
+        }
+        for (int i = 0; i < colCount; i++) {
+            try {
+                try {
+                    readCellInto(inStream, row, i);
+                } finally {
+                    inStream.endBlock();
+                }
+            } catch (final Exception e) {
+                handleReadThrowable(e);
+                row.setMissing(i);
+            }
+        }
+        try {
+            byte eoRow = inStream.readControlByte();
+            if (eoRow != BYTE_ROW_SEPARATOR) {
+                throw new IOException("Expected end of row byte, got '" + eoRow + "', (byte " + (int)eoRow + ")");
+            }
+        } catch (IOException ioe) {
+            handleReadThrowable(ioe);
+        } finally {
+            m_pointer++;
+        }
+    }
+
+    /** Reads a cell, for the primitive cell types only its content (see the respective serializers). */
+    private void readCellInto(final BlockableDCObjectInputVersion2 inStream, final BufferRowRead row,
+        final int column) throws IOException {
+        inStream.setCurrentClassLoader(null);
+        final byte identifier = inStream.readControlByte();
+        if (identifier == BYTE_TYPE_MISSING) {
+            row.setMissing(column);
+            return;
+        }
+        final StringCell dictionaryCell = readDictionaryEncoded(inStream, column, identifier);
+        if (dictionaryCell != null) {
+            row.setString(column, dictionaryCell.getStringValue());
+            return;
+        }
+        if (identifier != BYTE_TYPE_SERIALIZATION) {
+            final Class<? extends DataCell> cellClass = m_tableFormatReader.getTypeForChar(identifier).getCellClass();
+            if (cellClass == DoubleCell.class) {
+                row.setDouble(column, inStream.readDouble());
+                return;
+            } else if (cellClass == IntCell.class) {
+                row.setInt(column, inStream.readInt());
+                return;
+            } else if (cellClass == StringCell.class) {
+                row.setString(column, inStream.readUTF());
+                return;
+            } else if (cellClass == LongCell.class) {
+                row.setLong(column, inStream.readLong());
+                return;
+            } else if (cellClass == BooleanCell.class) {
+                row.setBoolean(column, inStream.readBoolean());
+                return;
+            }
+        }
+        row.setCell(column, m_dataCellStreamReader.readDataCell(inStream, identifier));
+    }
+
+    /** Reads the cell of a column, resolving dictionary encoded strings. */
+    private DataCell readDataCell(final BlockableDCObjectInputVersion2 inStream, final int column) throws IOException {
+        if (m_stringDictionaries == null) {
+            return m_dataCellStreamReader.readDataCell(inStream);
+        }
+        inStream.setCurrentClassLoader(null);
+        final byte identifier = inStream.readControlByte();
+        final StringCell dictionaryCell = readDictionaryEncoded(inStream, column, identifier);
+        return dictionaryCell != null ? dictionaryCell : m_dataCellStreamReader.readDataCell(inStream, identifier);
+    }
+
+    /**
+     * Reads a dictionary encoded string if the identifier denotes one. New entries are added to the dictionary of the
+     * column, references return the (shared) cell of the entry.
+     *
+     * @return the cell or <code>null</code> if the identifier denotes a different type
+     */
+    private StringCell readDictionaryEncoded(final BlockableDCObjectInputVersion2 inStream, final int column,
+        final byte identifier) throws IOException {
+        if (m_stringDictionaries == null) {
+            return null;
+        }
+        if (identifier == BYTE_TYPE_DICTIONARY_ENTRY) {
+            final StringCell cell = new StringCell(inStream.readUTF());
+            if (m_stringDictionaries[column] == null) {
+                m_stringDictionaries[column] = new ArrayList<>();
+            }
+            m_stringDictionaries[column].add(cell);
+            return cell;
+        } else if (identifier == BYTE_TYPE_DICTIONARY_REFERENCE) {
+            final int index = inStream.readShort();
+            final List<StringCell> dictionary = m_stringDictionaries[column];
+            if (dictionary == null || index < 0 || index >= dictionary.size()) {
+                throw new IOException("Invalid reference to dictionary entry " + index + " in column " + column);
+            }
+            return dictionary.get(index);
+        }
+        return null;
+    }
+
+    /** As {@link #readRowKeyAndEndBlock(BlockableDCObjectInputVersion2)} but without creating the key. */
+    private String readRowKeyStringAndEndBlock(final BlockableDCObjectInputVersion2 inStream) throws IOException {
+        if (!m_tableFormatReader.isReadRowKey()) {
+            return DUMMY_ROW_KEY.getString();
+        }
+        try {
+            return inStream.readUTF();
+        } finally {
+            inStream.endBlock();
+        }
+    }
+
     /** Reads a row key from the stream and ends the block. In case of buffers
      * that don't persist their row keys ({@link NoKeyBuffer}), it returns
      * a static key.
@@ -259,26 +415,16 @@ protected void finalize() throws Throwable {
     }
 
     /**
-     * Reads the blob from the given blob address.
-     * @param blobAddress The address to read from.
-     * @param cl The expected class.
-     * @return The blob cell being read.
-     * @throws IOException If that fails.
+     * Deserializes a blob from its content as written to the blob file or segment.
+     *
+     * @param blobAddress the address of the blob
+     * @param cl the expected class
+     * @param in the serialized (already uncompressed) content of the blob, closed by this method
+     * @return the blob cell
+     * @throws IOException if the content can't be deserialized
      */
-    static BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo cl, final Buffer buffer)
+    static BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo cl, final InputStream in)
         throws IOException {
-        assert buffer.getBufferID() == blobAddress.getBufferID() : "Buffer IDs don't match: " + buffer.getBufferID()
-            + " vs. " + blobAddress.getBufferID();
-        int column = blobAddress.getColumn();
-        int indexInColumn = blobAddress.getIndexOfBlobInColumn();
-        boolean isCompress = blobAddress.isUseCompression();
-        File inFile = buffer.getBlobFile(indexInColumn, column, false, isCompress);
-        InputStream in = new BufferedInputStream(new FileInputStream(inFile));
-        if (isCompress) {
-            in = new GZIPInputStream(in);
-            // that buffering is important
-            in = new BufferedInputStream(in);
-        }
         Class<? extends DataCell> cellClass = cl.getCellClass();
         DataCellSerializer<? extends DataCell> ser = cl.getSerializer();
         BlockableDCObjectInputVersion2 inStream = new BlockableDCObjectInputVersion2(in);
@@ -320,8 +466,19 @@ public DataCellStreamReader(final AbstractTableStoreReader tableFormatReader) {
          */
         public DataCell readDataCell(final DCObjectInputVersion2 inStream) throws IOException {
             inStream.setCurrentClassLoader(null);
+            return readDataCell(inStream, inStream.readControlByte());
+        }
 
-            byte identifier = inStream.readControlByte();
+        /**
+         * Reads a data cell whose first control byte has already been read.
+         *
+         * @param inStream To read from.
+         * @param firstIdentifier the control byte read from the stream
+         * @return the data cell being read
+         * @throws IOException If exceptions occur.
+         */
+        DataCell readDataCell(final DCObjectInputVersion2 inStream, final byte firstIdentifier) throws IOException {
+            byte identifier = firstIdentifier;
             if (identifier == BYTE_TYPE_MISSING) {
                 return DataType.getMissingCell();
             }
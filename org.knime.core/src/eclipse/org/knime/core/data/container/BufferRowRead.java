@@ -0,0 +1,511 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.RowKeyValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.data.v2.value.ValueInterfaces.BooleanReadValue;
+import org.knime.core.data.v2.value.ValueInterfaces.DoubleReadValue;
+import org.knime.core.data.v2.value.ValueInterfaces.IntReadValue;
+import org.knime.core.data.v2.value.ValueInterfaces.LongReadValue;
+import org.knime.core.data.v2.value.ValueInterfaces.StringReadValue;
+
+/**
+ * A {@link RowRead} whose values are set while reading a row from a buffer file, see
+ * {@link BufferFromFileIteratorVersion20#readInto(BufferRowRead)}. Values of primitive cells (int, long, double,
+ * boolean, string) are kept in reusable {@link org.knime.core.data.v2.ReadValue} holders (one per column and type),
+ * all other cells are kept as read; blob cells are unwrapped when accessed. The row is only valid until the next row
+ * is read into it.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BufferRowRead implements RowRead {
+
+    private static final byte MISSING = 0;
+
+    private static final byte INT = 1;
+
+    private static final byte LONG = 2;
+
+    private static final byte DOUBLE = 3;
+
+    private static final byte BOOLEAN = 4;
+
+    private static final byte STRING = 5;
+
+    private static final byte CELL = 6;
+
+    /** The kind of value of each column in the current row. */
+    private final byte[] m_kinds;
+
+    private final IntHolder[] m_ints;
+
+    private final LongHolder[] m_longs;
+
+    private final DoubleHolder[] m_doubles;
+
+    private final BooleanHolder[] m_booleans;
+
+    private final StringHolder[] m_strings;
+
+    private final DataCell[] m_cells;
+
+    private String m_key;
+
+    private final RowKeyValue m_rowKey = () -> m_key;
+
+    BufferRowRead(final int numColumns) {
+        m_kinds = new byte[numColumns];
+        m_ints = new IntHolder[numColumns];
+        m_longs = new LongHolder[numColumns];
+        m_doubles = new DoubleHolder[numColumns];
+        m_booleans = new BooleanHolder[numColumns];
+        m_strings = new StringHolder[numColumns];
+        m_cells = new DataCell[numColumns];
+    }
+
+    void setKey(final String key) {
+        m_key = key;
+    }
+
+    void setMissing(final int column) {
+        m_kinds[column] = MISSING;
+        m_cells[column] = null;
+    }
+
+    void setInt(final int column, final int value) {
+        if (m_ints[column] == null) {
+            m_ints[column] = new IntHolder();
+        }
+        m_ints[column].m_value = value;
+        m_kinds[column] = INT;
+        m_cells[column] = null;
+    }
+
+    void setLong(final int column, final long value) {
+        if (m_longs[column] == null) {
+            m_longs[column] = new LongHolder();
+        }
+        m_longs[column].m_value = value;
+        m_kinds[column] = LONG;
+        m_cells[column] = null;
+    }
+
+    void setDouble(final int column, final double value) {
+        if (m_doubles[column] == null) {
+            m_doubles[column] = new DoubleHolder();
+        }
+        m_doubles[column].m_value = value;
+        m_kinds[column] = DOUBLE;
+        m_cells[column] = null;
+    }
+
+    void setBoolean(final int column, final boolean value) {
+        if (m_booleans[column] == null) {
+            m_booleans[column] = new BooleanHolder();
+        }
+        m_booleans[column].m_value = value;
+        m_kinds[column] = BOOLEAN;
+        m_cells[column] = null;
+    }
+
+    void setString(final int column, final String value) {
+        if (m_strings[column] == null) {
+            m_strings[column] = new StringHolder();
+        }
+        m_strings[column].m_value = value;
+        m_kinds[column] = STRING;
+        m_cells[column] = null;
+    }
+
+    void setCell(final int column, final DataCell cell) {
+        if (cell.isMissing()) {
+            setMissing(column);
+        } else {
+            m_kinds[column] = CELL;
+            m_cells[column] = cell;
+        }
+    }
+
+    @Override
+    public int getNumColumns() {
+        return m_kinds.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <D extends DataValue> D getValue(final int index) {
+        return (D)switch (m_kinds[index]) {
+            case INT -> m_ints[index];
+            case LONG -> m_longs[index];
+            case DOUBLE -> m_doubles[index];
+            case BOOLEAN -> m_booleans[index];
+            case STRING -> m_strings[index];
+            case CELL -> unwrap(m_cells[index]);
+            default -> null;
+        };
+    }
+
+    @Override
+    public boolean isMissing(final int index) {
+        return m_kinds[index] == MISSING;
+    }
+
+    @Override
+    public DataCell getAsDataCell(final int index) {
+        return m_kinds[index] == CELL ? unwrap(m_cells[index]) : RowRead.super.getAsDataCell(index);
+    }
+
+    /**
+     * Like {@link #getAsDataCell(int)} but blob cells are returned as the {@link BlobWrapperDataCell} read from the
+     * buffer, which allows containers to reference the blob instead of copying it.
+     *
+     * @param index the column index
+     * @return the cell, a blob wrapper for blob cells
+     */
+    DataCell getRawCell(final int index) {
+        return m_kinds[index] == CELL ? m_cells[index] : RowRead.super.getAsDataCell(index);
+    }
+
+    /** The materialized row keeps blobs wrapped, see {@link BlobSupportDataRow#getRawCell(int)}. */
+    @Override
+    public DataRow materializeDataRow() {
+        final var cells = new DataCell[getNumColumns()];
+        for (var i = 0; i < cells.length; i++) {
+            cells[i] = getRawCell(i);
+        }
+        return new BlobSupportDataRow(new RowKey(m_key), cells);
+    }
+
+    /** Blob cells are read as wrappers, clients expect the actual cell (and its value interfaces). */
+    private static DataCell unwrap(final DataCell cell) {
+        return cell instanceof BlobWrapperDataCell wrapper ? wrapper.getCell() : cell;
+    }
+
+    @Override
+    public RowKeyValue getRowKey() {
+        return m_rowKey;
+    }
+
+    private static final class IntHolder implements IntReadValue {
+
+        private int m_value;
+
+        @Override
+        public DataCell getDataCell() {
+            return new IntCell(m_value);
+        }
+
+        @Override
+        public int getIntValue() {
+            return m_value;
+        }
+
+        @Override
+        public long getLongValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getDoubleValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getRealValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getImaginaryValue() {
+            return 0;
+        }
+
+        @Override
+        public double getMinSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getMinCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getCenterOfGravity() {
+            return m_value;
+        }
+    }
+
+    private static final class LongHolder implements LongReadValue {
+
+        private long m_value;
+
+        @Override
+        public DataCell getDataCell() {
+            return new LongCell(m_value);
+        }
+
+        @Override
+        public long getLongValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getDoubleValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getRealValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getImaginaryValue() {
+            return 0;
+        }
+
+        @Override
+        public double getMinSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getMinCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getCenterOfGravity() {
+            return m_value;
+        }
+    }
+
+    private static final class DoubleHolder implements DoubleReadValue {
+
+        private double m_value;
+
+        @Override
+        public DataCell getDataCell() {
+            return new DoubleCell(m_value);
+        }
+
+        @Override
+        public double getDoubleValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getRealValue() {
+            return m_value;
+        }
+
+        @Override
+        public double getImaginaryValue() {
+            return 0;
+        }
+
+        @Override
+        public double getMinSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxSupport() {
+            return m_value;
+        }
+
+        @Override
+        public double getMinCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getMaxCore() {
+            return m_value;
+        }
+
+        @Override
+        public double getCenterOfGravity() {
+            return m_value;
+        }
+    }
+
+    private static final class BooleanHolder implements BooleanReadValue {
+
+        private boolean m_value;
+
+        private int intValue() {
+            return m_value ? 1 : 0;
+        }
+
+        @Override
+        public DataCell getDataCell() {
+            return m_value ? BooleanCell.TRUE : BooleanCell.FALSE;
+        }
+
+        @Override
+        public boolean getBooleanValue() {
+            return m_value;
+        }
+
+        @Override
+        public int getIntValue() {
+            return intValue();
+        }
+
+        @Override
+        public long getLongValue() {
+            return intValue();
+        }
+
+        @Override
+        public double getDoubleValue() {
+            return intValue();
+        }
+
+        @Override
+        public double getRealValue() {
+            return intValue();
+        }
+
+        @Override
+        public double getImaginaryValue() {
+            return 0;
+        }
+
+        @Override
+        public double getMinSupport() {
+            return intValue();
+        }
+
+        @Override
+        public double getCore() {
+            return intValue();
+        }
+
+        @Override
+        public double getMaxSupport() {
+            return intValue();
+        }
+
+        @Override
+        public double getMinCore() {
+            return intValue();
+        }
+
+        @Override
+        public double getMaxCore() {
+            return intValue();
+        }
+
+        @Override
+        public double getCenterOfGravity() {
+            return intValue();
+        }
+    }
+
+    private static final class StringHolder implements StringReadValue {
+
+        private String m_value;
+
+        @Override
+        public DataCell getDataCell() {
+            return new StringCell(m_value);
+        }
+
+        @Override
+        public String getStringValue() {
+            return m_value;
+        }
+    }
+
+}
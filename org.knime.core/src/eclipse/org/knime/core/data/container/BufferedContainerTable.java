@@ -94,6 +94,9 @@ public final class BufferedContainerTable implements ContainerTable {
 
     private DataTableSpec m_spec;
 
+    /** Row count of a table not yet copied (m_readTask != null) as read from its meta information, -1 if unknown. */
+    private volatile long m_sizeWithoutCopy = -1;
+
     /**
      * Create new Table based on a Buffer. This constructor is called from <code>DataContainer.getTable()</code>.
      *
@@ -127,10 +130,10 @@ public DataTableSpec getDataTableSpec() {
         return m_spec;
     }
 
-    @SuppressWarnings("resource")
     @Override
     public RowCursor cursor() {
-        return new FallbackRowCursor(iterator(), getDataTableSpec());
+        ensureBufferOpen();
+        return m_buffer.cursor();
     }
 
     @SuppressWarnings("resource")
@@ -172,10 +175,42 @@ public int getRowCount() {
      */
     @Override
     public long size() {
+        if (m_readTask != null) {
+            final long size = readSizeWithoutCopy();
+            if (size >= 0) {
+                return size;
+            }
+        }
         ensureBufferOpen();
         return m_buffer.size();
     }
 
+    /**
+     * Reads the row count of a table that was loaded from a workflow but whose content has not been accessed yet
+     * from its meta information (instead of extracting the data to temp). The result is cached.
+     *
+     * @return the row count or -1 if the table was opened in the meantime or the count can't be determined
+     */
+    private long readSizeWithoutCopy() {
+        long size = m_sizeWithoutCopy;
+        if (size >= 0) {
+            return size;
+        }
+        final CopyOnAccessTask readTask = m_readTask;
+        if (readTask == null) {
+            return -1;
+        }
+        try {
+            size = readTask.readRowCount();
+        } catch (IOException ioe) {
+            LOGGER.debug(() -> "Unable to read row count from \"" + readTask.getFileName()
+                + "\" without extracting it, extracting entire table: " + ioe.getMessage(), ioe);
+            return -1;
+        }
+        m_sizeWithoutCopy = size;
+        return size;
+    }
+
     /**
      * Get reference to buffer.
      *
@@ -71,6 +71,7 @@
 import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.lang3.mutable.MutableLong;
+import org.knime.core.data.BooleanValue;
 import org.knime.core.data.BoundedValue;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -79,15 +80,25 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DomainCreatorColumnSelection;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.IDataRepository;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
 import org.knime.core.data.NominalValue;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
 import org.knime.core.data.container.storage.TableStoreFormat;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.data.filestore.internal.IWriteFileStoreHandler;
 import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
 import org.knime.core.data.filestore.internal.NotInWorkflowWriteFileStoreHandler;
 import org.knime.core.data.util.NonClosableOutputStream;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.v2.RowRead;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -141,6 +152,13 @@ class BufferedDataContainerDelegate implements DataContainerDelegate {
     @Deprecated
     static final boolean INIT_DOMAIN;
 
+    /**
+     * Whether the container threads flush the file store cells of each batch of rows before it's handed to the
+     * buffer, see {@link KNIMEConstants#PROPERTY_FILESTORE_BATCH_FLUSH}.
+     */
+    private static final boolean FLUSH_FILE_STORES_IN_BATCH =
+        Boolean.parseBoolean(System.getProperty(KNIMEConstants.PROPERTY_FILESTORE_BATCH_FLUSH, "true"));
+
     static {
         final DataContainerSettings defaults = DataContainerSettings.getDefault();
         ASYNC_CACHE_SIZE = defaults.getRowBatchSize();
@@ -192,6 +210,9 @@ public Thread newThread(final Runnable r) {
     /** Flag indicating the memory state. */
     boolean m_memoryLowState;
 
+    /** Flag indicating that rows are written synchronously via {@link #addRowToTable(RowRead, DirectWriteType[])}. */
+    private boolean m_directWriteState;
+
     /**
      * The index of the pending batch, i.e., the index of the next batch that has to be forwarded to the {@link Buffer}.
      */
@@ -556,6 +577,63 @@ public void addRowToTable(final DataRow row) {
         m_size += 1;
     }
 
+    /**
+     * Adds a row whose columns are all of a {@link DirectWriteType} without creating a {@link DataRow} and cells for
+     * it, provided the buffer already writes to disk, see {@link Buffer#addRow(RowRead, DirectWriteType[])}. Rows that
+     * are (still) kept in memory need to be added via {@link #addRowToTable(DataRow)}.
+     *
+     * @param row the row to add
+     * @param types the types of all columns
+     * @return whether the row was added
+     */
+    boolean addRowToTable(final RowRead row, final DirectWriteType[] types) {
+        if (!isOpen()) {
+            throw new IllegalStateException("Cannot add row: container has not been initialized (opened).");
+        }
+        initBufferIfRequired();
+        if (!m_buffer.canAddRowDirectly()) {
+            return false;
+        }
+        if (!m_forceSequentialRowHandling) {
+            checkAsyncWriteThrowable();
+            if (!m_directWriteState) {
+                try {
+                    switchToSynchronousWrite();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DataContainerException("Interrupted while writing rows", e);
+                }
+                m_directWriteState = true;
+            }
+        }
+        updateDomain(row, types);
+        addRowKeyForDuplicateCheck(row.getRowKey().getString());
+        m_buffer.addRow(row, types);
+        m_size += 1;
+        return true;
+    }
+
+    private void updateDomain(final RowRead row, final DirectWriteType[] types) {
+        for (int i = 0; i < types.length; i++) {
+            if (row.isMissing(i)) {
+                m_domainCreator.updateDomain(i, row.getAsDataCell(i));
+                continue;
+            }
+            switch (types[i]) {
+                case INT -> m_domainCreator.updateDomain(i, row.<IntValue> getValue(i).getIntValue(),
+                    (final long v) -> new IntCell((int)v));
+                case LONG -> m_domainCreator.updateDomain(i, row.<LongValue> getValue(i).getLongValue(),
+                    LongCell::new);
+                case DOUBLE -> m_domainCreator.updateDomain(i, row.<DoubleValue> getValue(i).getDoubleValue(),
+                    DoubleCell::new);
+                case BOOLEAN -> m_domainCreator.updateDomain(i,
+                    BooleanCell.get(row.<BooleanValue> getValue(i).getBooleanValue()));
+                case STRING -> m_domainCreator.updateDomain(i, row.<StringValue> getValue(i).getStringValue(),
+                    StringCell::new);
+            }
+        }
+    }
+
     @Override
     public void clear() {
         if (m_table != null) {
@@ -611,23 +689,15 @@ private void addRowToTableAsynchronously(final DataRow row) {
                 if (!m_memoryLowState) {
                     // flush the buffer, forces the buffer to synchronously write to disc from here on
                     m_buffer.flushBuffer();
-                    // submit the pending batch
-                    if (!m_curBatch.isEmpty()) {
-                        submit();
-                    }
-                    // wait until all runnables are finished
-                    waitForRunnableTermination();
+                    switchToSynchronousWrite();
                     // adjust the memory state
                     m_memoryLowState = true;
-                    // we change to synchronous write so we need to ensure that the domain values order stays correct
-                    // and that our ContainerRunnables can continue their work once we leave the low memory state
-                    m_domainCreator.setBatchId(m_curBatchIdx++);
-                    m_pendingBatchIdx.increment();
                 }
                 // write synchronously
                 addRowToTableWrite(row);
             } else {
                 m_memoryLowState = false;
+                m_directWriteState = false;
                 m_curBatch.add(row);
                 if (m_curBatch.size() == m_batchSize) {
                     submit();
@@ -638,6 +708,25 @@ private void addRowToTableAsynchronously(final DataRow row) {
         }
     }
 
+    /**
+     * Hands all pending rows to the {@link ContainerRunnable ContainerRunnables} and waits until they are written, so
+     * that subsequent rows can be written synchronously.
+     *
+     * @throws InterruptedException if an interrupted occured
+     */
+    private void switchToSynchronousWrite() throws InterruptedException {
+        // submit the pending batch
+        if (!m_curBatch.isEmpty()) {
+            submit();
+        }
+        // wait until all runnables are finished
+        waitForRunnableTermination();
+        // we change to synchronous write so we need to ensure that the domain values order stays correct
+        // and that our ContainerRunnables can continue their work once we leave the synchronous state
+        m_domainCreator.setBatchId(m_curBatchIdx++);
+        m_pendingBatchIdx.increment();
+    }
+
     private void waitForRunnableTermination() throws InterruptedException {
         m_numActiveContRunnables.acquire(m_maxNumThreads);
         m_numActiveContRunnables.release(m_maxNumThreads);
@@ -719,8 +808,12 @@ final Buffer getBuffer() {
      * @throws DuplicateKeyException If a duplicate is encountered.
      */
     private void addRowKeyForDuplicateCheck(final RowKey key) {
+        addRowKeyForDuplicateCheck(key.toString());
+    }
+
+    private void addRowKeyForDuplicateCheck(final String key) {
         try {
-            m_duplicateChecker.addKey(key.toString());
+            m_duplicateChecker.addKey(key);
         } catch (IOException ioe) {
             throw new DataContainerException(
                 ioe.getClass().getSimpleName() + " while checking for duplicate row IDs: " + ioe.getMessage(), ioe);
@@ -791,6 +884,9 @@ public final void run() {
                         addRowKeyForDuplicateCheck(row.getKey());
                         blobRows.add(m_buffer.saveBlobsAndFileStores(row, m_forceCopyOfBlobs));
                     }
+                    if (FLUSH_FILE_STORES_IN_BATCH) {
+                        m_buffer.flushFileStoreCells(blobRows);
+                    }
                     boolean addRows;
                     synchronized (m_pendingBatchIdx) {
                         addRows = m_batchIdx == m_pendingBatchIdx.longValue();
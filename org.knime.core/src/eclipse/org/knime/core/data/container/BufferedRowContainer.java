@@ -73,9 +73,25 @@ final class BufferedRowContainer implements RowContainer, RowWriteCursor {
 
     private final ValueSchema m_schema;
 
+    /**
+     * The delegate's container and the types of all columns if rows can be written without creating a
+     * {@link org.knime.core.data.DataRow} (all columns are of a primitive type), otherwise <code>null</code>.
+     */
+    private final BufferedDataContainerDelegate m_directWriteDelegate;
+
+    private final DirectWriteType[] m_directWriteTypes;
+
     BufferedRowContainer(final BufferedDataContainer delegate, final ValueSchema schema) {
         m_delegate = delegate;
         m_schema = schema;
+        final DirectWriteType[] types = DirectWriteType.of(schema);
+        if (types != null && delegate.getDataContainerDelegate() instanceof BufferedDataContainerDelegate bdcd) {
+            m_directWriteDelegate = bdcd;
+            m_directWriteTypes = types;
+        } else {
+            m_directWriteDelegate = null;
+            m_directWriteTypes = null;
+        }
     }
 
     @Override
@@ -90,6 +106,10 @@ public RowWriteCursor createCursor() {
 
     @Override
     public void commit(final RowRead row) {
+        // rows of primitive values are written right to the buffer file (once it doesn't keep rows in memory)
+        if (m_directWriteDelegate != null && m_directWriteDelegate.addRowToTable(row, m_directWriteTypes)) {
+            return;
+        }
         m_delegate.addRowToTable(row.materializeDataRow());
     }
 
@@ -98,6 +98,35 @@ default DataCell[] getCells(final DataRow row, final long rowIndex) {
         return getCells(row);
     }
 
+    /**
+     * Whether {@link #getCells(DataRow, long)} may be called concurrently (and in no particular order) for different
+     * rows, i.e. the cells of a row only depend on that row and the implementation has no unsynchronized state. If so,
+     * the input is processed in parallel by a {@link ColumnRearranger}, also if parallel processing is not enabled
+     * via {@link AbstractCellFactory#setParallelProcessing(boolean)}.
+     *
+     * @return that property, the default is <code>false</code>
+     * @since 5.12
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * Whether the cells are a pure function of the row and its index, which allows a {@link ColumnRearranger} to
+     * defer their computation: the resulting table only keeps the reference table and this factory, and computes the
+     * cells when the table is iterated (possibly repeatedly, after the node has executed and in other threads) until it
+     * is materialized, e.g. when it's saved. Factories returning <code>true</code> must be {@linkplain #isThreadSafe()
+     * thread-safe}, must not create file store or blob cells and must return the final column specs from
+     * {@link #getColumnSpecs()} as the domain of deferred columns is not computed from the data.
+     * {@link AbstractCellFactory#afterProcessing()} is only called when the columns are materialized.
+     *
+     * @return that property, the default is <code>false</code>
+     * @since 5.12
+     */
+    default boolean isSideEffectFree() {
+        return false;
+    }
+
     /**
      * The column specs for the cells that are generated in the getCells() method. This method is only called once,
      * there is no need to cache the return value. The length of the returned array must match the length of the array
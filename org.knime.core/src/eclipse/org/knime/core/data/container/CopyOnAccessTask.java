@@ -55,11 +55,18 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.text.NumberFormat;
 import java.util.Optional;
 import java.util.TimerTask;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.knime.core.data.DataTableSpec;
@@ -95,6 +102,13 @@ final class CopyOnAccessTask {
      * files won't report their copying (if faster than this threshold). */
     private static final long NOTIFICATION_DELAY = 3000;
 
+    /** Zip format constants used to locate uncompressed data, see {@link #findStoredDataRegion(File)}. */
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x08;
+    private static final long ZIP64_MAGIC_SIZE = 0xFFFFFFFFL;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
     /** The node's context set at construction time. It will be set during copying (which happens asynchronously), to
      * guarantee that the copied file is extracted into the workflow's temp directory. Added as part of AP-24014. */
     private final Optional<NodeContext> m_contextOptional;
@@ -156,6 +170,10 @@ public void run() {
                 }
             };
             KNIMETimer.getInstance().schedule(timerTask, NOTIFICATION_DELAY);
+            final long[] storedDataRegion = findStoredDataRegion(file);
+            if (storedDataRegion != null) {
+                return createBufferFromStoredData(file, storedDataRegion[0], storedDataRegion[1]);
+            }
             return createBuffer(
                     new BufferedInputStream(new FileInputStream(file)));
         } finally {
@@ -175,11 +193,22 @@ public void run() {
      * @throws IOException If the file can't be accessed.
      */
     Buffer createBuffer(final InputStream in) throws IOException {
+        return createBuffer(in, null);
+    }
+
+    /**
+     * Reads the zip entries from the argument stream.
+     * @param in To read from, closed eventually.
+     * @param extractedBinFile The temp file holding the binary data if it was already extracted (and the stream is
+     * positioned after the data entry), or null if the data entry is read from the stream.
+     */
+    private Buffer createBuffer(final InputStream in, final File extractedBinFile) throws IOException {
         ZipInputStream inStream = new ZipInputStream(in);
         ZipEntry entry;
         // file name ending may change later when meta info is read
         final String fallbackFileExtension = ".tmp";
-        File binFile = DataContainer.createTempFile(fallbackFileExtension);
+        File binFile = extractedBinFile != null ? extractedBinFile
+            : DataContainer.createTempFile(fallbackFileExtension);
         File blobDir = null;
         File fileStoreDir = null;
         // we only need to read from this file while being in
@@ -187,7 +216,7 @@ Buffer createBuffer(final InputStream in) throws IOException {
         File metaTempFile = FileUtil.createTempFile("meta", ".xml", true);
         DataTableSpec spec = m_spec;
         boolean isSpecFound = m_spec != null;
-        boolean isDataFound = false;
+        boolean isDataFound = extractedBinFile != null;
         boolean isMetaFound = false;
         while ((entry = inStream.getNextEntry()) != null) {
             String name = entry.getName();
@@ -267,6 +296,110 @@ Buffer createBuffer(final InputStream in) throws IOException {
         return buffer;
     }
 
+    /**
+     * Reads the row count of the table from the meta information in the zip file, without extracting the data.
+     * @return the row count
+     * @throws IOException If the file can't be read.
+     */
+    long readRowCount() throws IOException {
+        m_fileRef.lock();
+        try (ZipFile zipFile = new ZipFile(m_fileRef.getFile())) {
+            final ZipEntry metaEntry = zipFile.getEntry(Buffer.ZIP_ENTRY_META);
+            if (metaEntry == null) {
+                throw new IOException("No entry " + Buffer.ZIP_ENTRY_META + " in file");
+            }
+            return Buffer.readSizeFromMeta(zipFile.getInputStream(metaEntry));
+        } finally {
+            m_fileRef.unlock();
+        }
+    }
+
+    /**
+     * Creates the buffer from a zip file whose (first) data entry is stored uncompressed: The entry's region of the
+     * file is transferred to the temp file as is, i.e. without running it through the inflater; the
+     * remaining (small) entries are then read as usual.
+     */
+    private Buffer createBufferFromStoredData(final File file, final long dataOffset, final long dataLength)
+        throws IOException {
+        final File binFile = DataContainer.createTempFile(".tmp");
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(binFile.toPath(), StandardOpenOption.WRITE)) {
+            // transferTo lets the OS copy the region (no mapping, which would keep the zip file locked until GC)
+            for (long position = 0; position < dataLength;) {
+                final long transferred = in.transferTo(dataOffset + position, dataLength - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of file " + file.getAbsolutePath());
+                }
+                position += transferred;
+            }
+        }
+        @SuppressWarnings("resource") // closed by createBuffer
+        final FileChannel remainder = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        remainder.position(dataOffset + dataLength);
+        return createBuffer(new BufferedInputStream(Channels.newInputStream(remainder)), binFile);
+    }
+
+    /**
+     * Parses the local header of the first entry in the zip file and returns the location of its data if it is the
+     * {@link Buffer#ZIP_ENTRY_DATA data entry} and stored uncompressed ({@link ZipEntry#STORED}).
+     *
+     * @return {offset, length} of the entry data or null if not applicable
+     */
+    static long[] findStoredDataRegion(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (readFully(channel, header, 0) < LOCAL_HEADER_SIZE || header.getInt(0) != LOCAL_HEADER_SIGNATURE
+                || header.getShort(8) != ZipEntry.STORED || (header.getShort(6) & DATA_DESCRIPTOR_FLAG) != 0) {
+                return null;
+            }
+            long length = Integer.toUnsignedLong(header.getInt(18));
+            final int nameLength = Short.toUnsignedInt(header.getShort(26));
+            final int extraLength = Short.toUnsignedInt(header.getShort(28));
+            final ByteBuffer nameAndExtra =
+                ByteBuffer.allocate(nameLength + extraLength).order(ByteOrder.LITTLE_ENDIAN);
+            if (readFully(channel, nameAndExtra, LOCAL_HEADER_SIZE) < nameAndExtra.capacity()) {
+                return null;
+            }
+            final String name = new String(nameAndExtra.array(), 0, nameLength, StandardCharsets.UTF_8);
+            if (!Buffer.ZIP_ENTRY_DATA.equals(name)) {
+                return null;
+            }
+            if (length == ZIP64_MAGIC_SIZE) {
+                length = readZip64CompressedSize(nameAndExtra, nameLength);
+            }
+            final long offset = (long)LOCAL_HEADER_SIZE + nameLength + extraLength;
+            return length < 0 || offset + length > channel.size() ? null : new long[]{offset, length};
+        }
+    }
+
+    /** Reads the compressed size from the zip64 extra field, -1 if not present. */
+    private static long readZip64CompressedSize(final ByteBuffer nameAndExtra, final int extraStart) {
+        int pos = extraStart;
+        while (pos + 4 <= nameAndExtra.capacity()) {
+            final int id = Short.toUnsignedInt(nameAndExtra.getShort(pos));
+            final int size = Short.toUnsignedInt(nameAndExtra.getShort(pos + 2));
+            if (id == ZIP64_EXTRA_ID && size >= 16 && pos + 4 + size <= nameAndExtra.capacity()) {
+                // uncompressed size first, then compressed size (both are present in local headers)
+                return nameAndExtra.getLong(pos + 4 + 8);
+            }
+            pos += 4 + size;
+        }
+        return -1;
+    }
+
+    private static int readFully(final FileChannel channel, final ByteBuffer dst, final long position)
+        throws IOException {
+        int total = 0;
+        while (dst.hasRemaining()) {
+            final int read = channel.read(dst, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
     /** Get name of file to copy from. Used for better error messages.
      * @return source file
      */
@@ -158,6 +158,48 @@ RowKey readRowKey() throws IOException {
         return new RowKey(m_dataIn.readUTF());
     }
 
+    /** Reads the content of an {@link org.knime.core.data.def.IntCell} (without creating the cell).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    int readInt() throws IOException {
+        return m_dataIn.readInt();
+    }
+
+    /** Reads the content of a {@link org.knime.core.data.def.LongCell} (without creating the cell).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    long readLong() throws IOException {
+        return m_dataIn.readLong();
+    }
+
+    /** Reads the content of a {@link org.knime.core.data.def.DoubleCell} (without creating the cell).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    double readDouble() throws IOException {
+        return m_dataIn.readDouble();
+    }
+
+    /** Reads the content of a {@link org.knime.core.data.def.BooleanCell} (without creating the cell).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    boolean readBoolean() throws IOException {
+        return m_dataIn.readBoolean();
+    }
+
+    /** Reads the index of a dictionary entry (of dictionary encoded strings).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    short readShort() throws IOException {
+        return m_dataIn.readShort();
+    }
+
+    /** Reads the content of a {@link org.knime.core.data.def.StringCell} or a row key (without creating the cell).
+     * @return the value
+     * @throws IOException If IO problems occur. */
+    String readUTF() throws IOException {
+        return m_dataIn.readUTF();
+    }
+
     /** Reads a single byte from the stream.
      * @return That byte.
      * @throws IOException If IO problems occur. */
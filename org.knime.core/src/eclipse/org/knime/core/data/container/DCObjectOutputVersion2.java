@@ -137,6 +137,48 @@ void writeRowKey(final RowKey key) throws IOException {
         m_dataOut.writeUTF(key.getString());
     }
 
+    /** Writes the content of an {@link org.knime.core.data.def.IntCell} (as its serializer does).
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeInt(final int value) throws IOException {
+        m_dataOut.writeInt(value);
+    }
+
+    /** Writes the content of a {@link org.knime.core.data.def.LongCell} (as its serializer does).
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeLong(final long value) throws IOException {
+        m_dataOut.writeLong(value);
+    }
+
+    /** Writes the content of a {@link org.knime.core.data.def.DoubleCell} (as its serializer does).
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeDouble(final double value) throws IOException {
+        m_dataOut.writeDouble(value);
+    }
+
+    /** Writes the content of a {@link org.knime.core.data.def.BooleanCell} (as its serializer does).
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeBoolean(final boolean value) throws IOException {
+        m_dataOut.writeBoolean(value);
+    }
+
+    /** Writes the index of a dictionary entry (of dictionary encoded strings).
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeShort(final int value) throws IOException {
+        m_dataOut.writeShort(value);
+    }
+
+    /** Writes the content of a {@link org.knime.core.data.def.StringCell} (as its serializer does) or a row key.
+     * @param value the value
+     * @throws IOException In case of stream corruption. */
+    void writeUTF(final String value) throws IOException {
+        m_dataOut.writeUTF(value);
+    }
+
     /** Writes the argument byte.
      * @param controlByte The byte to write.
      * @throws IOException In case of stream corruption.
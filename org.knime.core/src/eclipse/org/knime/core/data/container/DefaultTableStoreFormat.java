@@ -71,6 +71,7 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.TempSpaceTracker;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
 
@@ -305,7 +306,14 @@ public AbstractTableStoreWriter createWriter(final File binFile, final DataTable
     @Override
     public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
         final boolean writeRowKey) throws IOException {
-        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings.getCompressionFormat());
+        CompressionFormat compressionFormat = m_tableStoreSettings.getCompressionFormat();
+        if (compressionFormat != CompressionFormat.GZIP
+            && TempSpaceTracker.getInstance().isStrongCompressionRequired()) {
+            // close to the temp space quota, trade CPU for disc space
+            compressionFormat = CompressionFormat.GZIP;
+        }
+        return new DefaultTableStoreWriter(spec, output, writeRowKey, compressionFormat,
+            m_tableStoreSettings.isDictionaryEncodeStrings());
     }
 
     @Override
@@ -363,6 +371,9 @@ public static final class DefaultTableStoreSettings {
         /** The compression format. */
         private final CompressionFormat m_compType;
 
+        /** Whether string columns are dictionary encoded. */
+        private final boolean m_isDictionaryEncodeStrings;
+
         /** The default instance. */
         private static final DefaultTableStoreSettings DEFAULT_INSTANCE = new DefaultTableStoreSettings();
 
@@ -382,7 +393,7 @@ private DefaultTableStoreSettings() {
                 }
                 m_compType = compFormat;
             }
-
+            m_isDictionaryEncodeStrings = Boolean.getBoolean(KNIMEConstants.PROPERTY_DICTIONARY_ENCODED_STRINGS);
         }
 
         /**
@@ -398,9 +409,12 @@ public static DefaultTableStoreSettings getDefault() {
          * Constructor.
          *
          * @param compFormat the compression format
+         * @param isDictionaryEncodeStrings whether string columns are dictionary encoded
          */
-        private DefaultTableStoreSettings(final CompressionFormat compFormat) {
+        private DefaultTableStoreSettings(final CompressionFormat compFormat,
+            final boolean isDictionaryEncodeStrings) {
             m_compType = compFormat;
+            m_isDictionaryEncodeStrings = isDictionaryEncodeStrings;
         }
 
         /**
@@ -418,9 +432,29 @@ CompressionFormat getCompressionFormat() {
          * @param compFormat the compression format to be used
          * @return a copy using the new compression format
          */
-        @SuppressWarnings("static-method")
         public DefaultTableStoreSettings withCompression(final CompressionFormat compFormat) {
-            return new DefaultTableStoreSettings(compFormat);
+            return new DefaultTableStoreSettings(compFormat, m_isDictionaryEncodeStrings);
+        }
+
+        /**
+         * Returns whether string columns are dictionary encoded.
+         *
+         * @return that property
+         */
+        boolean isDictionaryEncodeStrings() {
+            return m_isDictionaryEncodeStrings;
+        }
+
+        /**
+         * Returns a copy with dictionary encoding of string columns enabled or disabled. The default is defined by
+         * {@link KNIMEConstants#PROPERTY_DICTIONARY_ENCODED_STRINGS}.
+         *
+         * @param isDictionaryEncodeStrings whether to dictionary encode string columns
+         * @return a copy using the argument setting
+         * @since 5.12
+         */
+        public DefaultTableStoreSettings withDictionaryEncodedStrings(final boolean isDictionaryEncodeStrings) {
+            return new DefaultTableStoreSettings(m_compType, isDictionaryEncodeStrings);
         }
     }
 
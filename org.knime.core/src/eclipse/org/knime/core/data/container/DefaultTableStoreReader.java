@@ -72,6 +72,8 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     private final boolean m_isReadRowKey;
 
+    private final boolean m_isDictionaryEncodedStrings;
+
     /**
      * Constructs a reader for materializing serialized KNIME tables.
      *
@@ -108,6 +110,8 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
             cF = CompressionFormat.GZIP;
         }
         m_compressionFormat = cF;
+        m_isDictionaryEncodedStrings =
+            settings.getBoolean(DefaultTableStoreWriter.CFG_DICTIONARY_ENCODED_STRINGS, false);
     }
 
     @Override
@@ -146,6 +150,11 @@ boolean isReadRowKey() {
         return m_isReadRowKey;
     }
 
+    /** @return whether string columns are dictionary encoded (tables written with 5.12+) */
+    boolean isDictionaryEncodedStrings() {
+        return m_isDictionaryEncodedStrings;
+    }
+
     /**
      * @return number of records
      * @see org.knime.core.data.container.Buffer#size()
@@ -50,14 +50,19 @@
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowRead;
 import org.knime.core.node.NodeSettingsWO;
 
 /**
@@ -66,6 +71,18 @@
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
+    /**
+     * Config entry whether string columns are dictionary encoded, see {@link #MAX_DICTIONARY_SIZE}. Only written if
+     * a dictionary entry was written, such tables are saved with {@link Buffer#VERSION_DICTIONARY_STRINGS}.
+     */
+    static final String CFG_DICTIONARY_ENCODED_STRINGS = "container.strings.dictionary";
+
+    /**
+     * The maximum number of distinct values of a dictionary encoded column; columns with more values fall back to plain
+     * encoding. Dictionary indices are written as short.
+     */
+    static final int MAX_DICTIONARY_SIZE = 4096;
+
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
      * (to figure out when a cell implementation reads too many or too few bytes).
@@ -75,6 +92,18 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
     /** The compression format. */
     private final CompressionFormat m_compFormat;
 
+    /**
+     * The dictionaries (value to index) of the string columns, <code>null</code> for other columns or columns that fell
+     * back to plain encoding. The array is <code>null</code> if strings aren't dictionary encoded at all.
+     */
+    private final Map<String, Integer>[] m_stringDictionaries;
+
+    /** Whether any dictionary entry was written, i.e. the file can only be read with dictionary support. */
+    private boolean m_hasDictionaryEntries;
+
+    /** The type identifiers of the {@link DirectWriteType types}, lazily assigned on first use. */
+    private final byte[] m_directWriteIdentifiers = new byte[DirectWriteType.values().length];
+
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
      *
@@ -82,13 +111,26 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
      * @param outputStream
      * @param writeRowKey a flag that determines whether to store the row keys in the Parquet file
      * @param compFormat the compression format
+     * @param isDictionaryEncodeStrings whether string columns are dictionary encoded
      * @throws IOException any type of I/O problem
      */
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
-        final CompressionFormat compFormat) throws IOException {
+        final CompressionFormat compFormat, final boolean isDictionaryEncodeStrings) throws IOException {
         super(spec, writeRowKey);
         m_compFormat = compFormat;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
+        m_stringDictionaries = isDictionaryEncodeStrings ? createStringDictionaries(spec) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Integer>[] createStringDictionaries(final DataTableSpec spec) {
+        final Map<String, Integer>[] dictionaries = new Map[spec.getNumColumns()];
+        for (int i = 0; i < dictionaries.length; i++) {
+            if (spec.getColumnSpec(i).getType().getCellClass() == StringCell.class) {
+                dictionaries[i] = new HashMap<>();
+            }
+        }
+        return dictionaries;
     }
 
     /**
@@ -103,12 +145,80 @@ public void writeRow(final DataRow row) throws IOException {
         for (int i = 0; i < row.getNumCells(); i++) {
             DataCell cell =
                 row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
-            writeDataCell(cell, m_outStream);
+            if (!(cell instanceof StringCell stringCell) || !writeDictionaryEncoded(i, stringCell.getStringValue())) {
+                writeDataCell(cell, m_outStream);
+            }
             m_outStream.endBlock();
         }
         m_outStream.endRow();
     }
 
+    /**
+     * Writes a string of a dictionary encoded column: either as new dictionary entry or as reference to an existing
+     * one. If the dictionary is full the column falls back to plain encoding.
+     *
+     * @return whether the value was written; if not it needs to be written plain
+     */
+    private boolean writeDictionaryEncoded(final int column, final String value) throws IOException {
+        final Map<String, Integer> dictionary = m_stringDictionaries == null ? null : m_stringDictionaries[column];
+        if (dictionary == null) {
+            return false;
+        }
+        final Integer index = dictionary.get(value);
+        if (index != null) {
+            m_outStream.writeControlByte(BYTE_TYPE_DICTIONARY_REFERENCE);
+            m_outStream.writeShort(index);
+        } else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            m_outStream.writeControlByte(BYTE_TYPE_DICTIONARY_ENTRY);
+            m_outStream.writeUTF(value);
+            dictionary.put(value, dictionary.size());
+            m_hasDictionaryEntries = true;
+        } else {
+            // too many distinct values, entries written so far remain valid (the reader keeps its dictionary)
+            m_stringDictionaries[column] = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Serializes a row to the output stream without creating cells for its values. The written data is the same as if
+     * the row was materialized and written via {@link #writeRow(DataRow)}.
+     *
+     * @param row the row to write
+     * @param types the types of all columns
+     * @throws IOException If an IO error occurs while writing to the file.
+     */
+    void writeRow(final RowRead row, final DirectWriteType[] types) throws IOException {
+        if (isWriteRowKey()) {
+            m_outStream.writeUTF(row.getRowKey().getString());
+            m_outStream.endBlock();
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (row.isMissing(i)) {
+                // keeps the error message of missing cells, if any
+                writeDataCell(row.getAsDataCell(i), m_outStream);
+            } else if (types[i] != DirectWriteType.STRING
+                || !writeDictionaryEncoded(i, row.<StringValue> getValue(i).getStringValue())) {
+                m_outStream.writeControlByte(getDirectWriteIdentifier(types[i]));
+                types[i].write(row, i, m_outStream);
+            }
+            m_outStream.endBlock();
+        }
+        m_outStream.endRow();
+    }
+
+    private byte getDirectWriteIdentifier(final DirectWriteType type) throws IOException {
+        final int ordinal = type.ordinal();
+        if (m_directWriteIdentifiers[ordinal] == 0) {
+            final CellClassInfo cellClass = CellClassInfo.get(type.getCellClass(), null);
+            // registers the type, as done for the first cell of the type in writeDataCell
+            getSerializerForDataCell(cellClass);
+            m_directWriteIdentifiers[ordinal] = getTypeShortCut(cellClass);
+        }
+        return m_directWriteIdentifiers[ordinal];
+    }
+
     /**
      * Writes the row key to the out stream. This method is overridden in {@link NoKeyBuffer} in order to skip the row
      * key.
@@ -137,6 +247,9 @@ private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream
     @Override
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
         m_compFormat.saveSettings(settings);
+        if (m_hasDictionaryEntries) {
+            settings.addBoolean(CFG_DICTIONARY_ENCODED_STRINGS, true);
+        }
         super.writeMetaInfoAfterWrite(settings);
     }
 
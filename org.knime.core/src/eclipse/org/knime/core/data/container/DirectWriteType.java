@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.data.v2.ValueFactory;
+import org.knime.core.data.v2.schema.ValueSchema;
+import org.knime.core.data.v2.value.BooleanValueFactory;
+import org.knime.core.data.v2.value.DoubleValueFactory;
+import org.knime.core.data.v2.value.IntValueFactory;
+import org.knime.core.data.v2.value.LongValueFactory;
+import org.knime.core.data.v2.value.StringValueFactory;
+
+/**
+ * The types of columns whose values are written from a {@link RowRead} right to a buffer file, i.e. without creating
+ * a {@link DataCell} for them, see {@link Buffer#addRow(RowRead, DirectWriteType[])}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+enum DirectWriteType {
+
+        /** {@link IntCell}, written as int. */
+        INT(IntValueFactory.class, IntCell.class),
+        /** {@link LongCell}, written as long. */
+        LONG(LongValueFactory.class, LongCell.class),
+        /** {@link DoubleCell}, written as double. */
+        DOUBLE(DoubleValueFactory.class, DoubleCell.class),
+        /** {@link BooleanCell}, written as boolean. */
+        BOOLEAN(BooleanValueFactory.class, BooleanCell.class),
+        /** {@link StringCell}, written as (long) UTF string. */
+        STRING(StringValueFactory.class, StringCell.class);
+
+    private final Class<?> m_valueFactoryClass;
+
+    private final Class<? extends DataCell> m_cellClass;
+
+    DirectWriteType(final Class<?> valueFactoryClass, final Class<? extends DataCell> cellClass) {
+        m_valueFactoryClass = valueFactoryClass;
+        m_cellClass = cellClass;
+    }
+
+    /** @return the class of the cells that are read when reading the values back */
+    Class<? extends DataCell> getCellClass() {
+        return m_cellClass;
+    }
+
+    /**
+     * Writes the (non-missing) value of a column.
+     *
+     * @param row the row containing the value
+     * @param column the column index
+     * @param out the stream to write to
+     * @throws IOException If that fails
+     */
+    void write(final RowRead row, final int column, final DCObjectOutputVersion2 out) throws IOException {
+        switch (this) {
+            case INT -> out.writeInt(row.<IntValue> getValue(column).getIntValue());
+            case LONG -> out.writeLong(row.<LongValue> getValue(column).getLongValue());
+            case DOUBLE -> out.writeDouble(row.<DoubleValue> getValue(column).getDoubleValue());
+            case BOOLEAN -> out.writeBoolean(row.<BooleanValue> getValue(column).getBooleanValue());
+            case STRING -> out.writeUTF(row.<StringValue> getValue(column).getStringValue());
+        }
+    }
+
+    /**
+     * Determines the types of all columns of a schema.
+     *
+     * @param schema the schema, including the row key column
+     * @return the types of the (non row key) columns or <code>null</code> if any of the columns is of a different type
+     */
+    static DirectWriteType[] of(final ValueSchema schema) {
+        final DirectWriteType[] types = new DirectWriteType[schema.numColumns() - 1];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = of(schema.getValueFactory(i + 1), schema.getDataColumnSpec(i + 1).getType());
+            if (types[i] == null) {
+                return null;
+            }
+        }
+        return types;
+    }
+
+    private static DirectWriteType of(final ValueFactory<?, ?> valueFactory, final DataType type) {
+        for (DirectWriteType t : values()) {
+            // exact classes, derived factories and cell types may be serialized differently
+            if (valueFactory.getClass() == t.m_valueFactoryClass && type.getCellClass() == t.m_cellClass) {
+                return t;
+            }
+        }
+        return null;
+    }
+}
@@ -81,5 +81,21 @@ public interface KNIMEStreamConstants {
     /** Separator for different rows. */
     static final byte BYTE_ROW_SEPARATOR = BYTE_TYPE_MISSING + 3;
 
+    /**
+     * The char for a string cell (of a dictionary encoded column) that is added to the dictionary of its column. This
+     * and {@link #BYTE_TYPE_DICTIONARY_REFERENCE} are not used for types.
+     *
+     * @since 5.12
+     */
+    static final byte BYTE_TYPE_DICTIONARY_ENTRY = Byte.MAX_VALUE - 1;
+
+    /**
+     * The char for a string cell (of a dictionary encoded column) that references an entry in the dictionary of its
+     * column.
+     *
+     * @since 5.12
+     */
+    static final byte BYTE_TYPE_DICTIONARY_REFERENCE = Byte.MAX_VALUE;
+
 
 }
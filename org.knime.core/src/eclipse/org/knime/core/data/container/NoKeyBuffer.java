@@ -77,6 +77,12 @@ class NoKeyBuffer extends Buffer {
     /** The version number corresponding to VERSION. */
     private static final int IVERSION = 12;
 
+    /** Version string written if blobs are packed, see {@link Buffer#VERSION_PACKED_BLOBS}. */
+    private static final String VERSION_PACKED_BLOBS = "noRowKeyContainer_13";
+
+    /** Version string written if strings are dictionary encoded, see {@link Buffer#VERSION_DICTIONARY_STRINGS}. */
+    private static final String VERSION_DICTIONARY_STRINGS = "noRowKeyContainer_14";
+
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
     static {
@@ -94,6 +100,8 @@ class NoKeyBuffer extends Buffer {
         COMPATIBILITY_MAP.put("noRowKeyContainer_10", 10);
         COMPATIBILITY_MAP.put("noRowKeyContainer_11", 11);
         COMPATIBILITY_MAP.put(VERSION, IVERSION);
+        COMPATIBILITY_MAP.put(VERSION_PACKED_BLOBS, IVERSION_PACKED_BLOBS);
+        COMPATIBILITY_MAP.put(VERSION_DICTIONARY_STRINGS, IVERSION_DICTIONARY_STRINGS);
     }
 
     /** Creates new buffer for writing.
@@ -130,7 +138,10 @@ class NoKeyBuffer extends Buffer {
     /** {@inheritDoc} */
     @Override
     public String getVersion() {
-        return VERSION;
+        if (isDictionaryEncodedStrings()) {
+            return VERSION_DICTIONARY_STRINGS;
+        }
+        return isPackedBlobs() ? VERSION_PACKED_BLOBS : VERSION;
     }
 
     /** {@inheritDoc} */
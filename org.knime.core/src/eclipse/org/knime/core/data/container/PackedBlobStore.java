@@ -0,0 +1,375 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Packed storage of the blobs of a {@link Buffer}. Instead of one file per blob, the (serialized and possibly
+ * compressed) blobs of a column are appended to segment files, and an index file records for each blob index in the
+ * column the segment, offset and length. The layout in the buffer's blob directory is:
+ *
+ * <pre>
+ *   col_&lt;column&gt;/index.bin        -- 16 bytes per blob: int segment + 1, long offset, int length
+ *   col_&lt;column&gt;/segment_&lt;n&gt;.bin  -- concatenated blob content
+ * </pre>
+ *
+ * The segment number in the index is stored one-based so that entries that were never written (holes in the index
+ * file, which read as zeros) are detected and reported as an error rather than read as empty blobs.
+ *
+ * Blobs are read with positional reads, which don't require synchronization. Writing is synchronized and appends to
+ * the last segment of the column, starting a new segment once {@link #MAX_SEGMENT_SIZE} is exceeded.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PackedBlobStore implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PackedBlobStore.class);
+
+    /** Size after which a new segment file is started. */
+    static final long MAX_SEGMENT_SIZE = 256L << 20;
+
+    private static final String INDEX_FILE_NAME = "index.bin";
+
+    private static final String SEGMENT_FILE_PREFIX = "segment_";
+
+    private static final String SEGMENT_FILE_SUFFIX = ".bin";
+
+    private static final int INDEX_ENTRY_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final File m_blobDir;
+
+    /** Open writers by column, only used while blobs are added. */
+    private final Map<Integer, ColumnWriter> m_writers = new HashMap<>();
+
+    /** Channels used for reading, keyed by file (index and segment files). */
+    private final Map<File, FileChannel> m_readChannels = new ConcurrentHashMap<>();
+
+    private volatile boolean m_isClosed;
+
+    /**
+     * @param blobDir the blob directory of the buffer
+     */
+    PackedBlobStore(final File blobDir) {
+        m_blobDir = blobDir;
+    }
+
+    /**
+     * Appends a blob.
+     *
+     * @param column the column index
+     * @param indexInColumn the index of the blob in the column
+     * @param content the serialized blob
+     * @throws IOException if writing fails
+     */
+    synchronized void write(final int column, final int indexInColumn, final byte[] content) throws IOException {
+        if (m_isClosed) {
+            throw new IOException("Blob store \"" + m_blobDir.getAbsolutePath() + "\" is closed");
+        }
+        ColumnWriter writer = m_writers.get(column);
+        if (writer == null) {
+            writer = new ColumnWriter(getColumnDir(column, true));
+            m_writers.put(column, writer);
+        }
+        writer.write(indexInColumn, content);
+    }
+
+    /**
+     * Reads the content of a blob as written by {@link #write(int, int, byte[])}.
+     *
+     * @param column the column index
+     * @param indexInColumn the index of the blob in the column
+     * @return the serialized blob
+     * @throws IOException if reading fails or there is no such blob
+     */
+    byte[] read(final int column, final int indexInColumn) throws IOException {
+        final IndexEntry entry = readIndexEntry(column, indexInColumn);
+        final ByteBuffer content = ByteBuffer.allocate(entry.length());
+        readFully(getReadChannel(getSegmentFile(getColumnDir(column, false), entry.segment())), content,
+            entry.offset());
+        return content.array();
+    }
+
+    /**
+     * Opens a stream on the content of a blob as written by {@link #write(int, int, byte[])}. The stream reads the
+     * blob's range of the segment file without copying it into memory first.
+     *
+     * @param column the column index
+     * @param indexInColumn the index of the blob in the column
+     * @return a new stream, which doesn't need to be closed
+     * @throws IOException if reading fails or there is no such blob
+     */
+    InputStream openInputStream(final int column, final int indexInColumn) throws IOException {
+        final IndexEntry entry = readIndexEntry(column, indexInColumn);
+        final FileChannel channel = getReadChannel(getSegmentFile(getColumnDir(column, false), entry.segment()));
+        return new SegmentInputStream(channel, entry.offset(), entry.length());
+    }
+
+    /**
+     * @param column the column index
+     * @param indexInColumn the index of the blob in the column
+     * @return the length of the content of the blob
+     * @throws IOException if reading fails or there is no such blob
+     */
+    int getLength(final int column, final int indexInColumn) throws IOException {
+        return readIndexEntry(column, indexInColumn).length();
+    }
+
+    private IndexEntry readIndexEntry(final int column, final int indexInColumn) throws IOException {
+        final File columnDir = getColumnDir(column, false);
+        final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        readFully(getReadChannel(new File(columnDir, INDEX_FILE_NAME)), entry, (long)indexInColumn * INDEX_ENTRY_SIZE);
+        entry.flip();
+        final int segment = entry.getInt() - 1;
+        final long offset = entry.getLong();
+        final int length = entry.getInt();
+        if (segment < 0 || offset < 0 || length < 0) {
+            throw new IOException("No blob at index " + indexInColumn + " in column " + column);
+        }
+        return new IndexEntry(segment, offset, length);
+    }
+
+    /** Closes the writers (if any), subsequent writes append to the existing files. */
+    synchronized void closeWriters() {
+        for (ColumnWriter writer : m_writers.values()) {
+            writer.close();
+        }
+        m_writers.clear();
+    }
+
+    /** Closes all files, the store must not be used afterwards. */
+    @Override
+    public void close() {
+        m_isClosed = true;
+        closeWriters();
+        for (FileChannel channel : m_readChannels.values()) {
+            closeQuietly(channel);
+        }
+        m_readChannels.clear();
+    }
+
+    private File getColumnDir(final int column, final boolean create) throws IOException {
+        final File columnDir = new File(m_blobDir, "col_" + column);
+        if (create && !columnDir.isDirectory() && !columnDir.mkdirs()) {
+            throw new IOException("Unable to create directory " + columnDir.getAbsolutePath());
+        }
+        return columnDir;
+    }
+
+    private static File getSegmentFile(final File columnDir, final int segment) {
+        return new File(columnDir, SEGMENT_FILE_PREFIX + segment + SEGMENT_FILE_SUFFIX);
+    }
+
+    private FileChannel getReadChannel(final File file) throws IOException {
+        if (m_isClosed) {
+            throw new IOException("Blob store \"" + m_blobDir.getAbsolutePath() + "\" is closed");
+        }
+        FileChannel channel = m_readChannels.get(file);
+        if (channel == null) {
+            if (!file.isFile()) {
+                throw new IOException("Blob file \"" + file.getAbsolutePath() + "\" does not exist");
+            }
+            final FileChannel newChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channel = m_readChannels.putIfAbsent(file, newChannel);
+            if (channel == null) {
+                channel = newChannel;
+            } else {
+                closeQuietly(newChannel);
+            }
+        }
+        return channel;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+        throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new IOException("Unexpected end of blob file at position " + pos);
+            }
+            pos += read;
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close blob file: " + e.getMessage(), e);
+        }
+    }
+
+    /** Location of a blob as recorded in the index file. */
+    private record IndexEntry(int segment, long offset, int length) {
+    }
+
+    /** Reads a range of a segment file with positional reads, the channel is shared and not closed. */
+    private static final class SegmentInputStream extends InputStream {
+
+        private final FileChannel m_channel;
+
+        private final long m_end;
+
+        private long m_position;
+
+        SegmentInputStream(final FileChannel channel, final long offset, final int length) {
+            m_channel = channel;
+            m_position = offset;
+            m_end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : (b[0] & 0xFF);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (m_position >= m_end) {
+                return -1;
+            }
+            final var buffer = ByteBuffer.wrap(b, off, (int)Math.min(len, m_end - m_position));
+            final int read = m_channel.read(buffer, m_position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of blob file at position " + m_position);
+            }
+            m_position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, m_end - m_position));
+            m_position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int)Math.min(Integer.MAX_VALUE, m_end - m_position);
+        }
+    }
+
+    /** Appends the blobs of a single column. */
+    private static final class ColumnWriter {
+
+        private final File m_columnDir;
+
+        private final FileChannel m_indexChannel;
+
+        private int m_segment;
+
+        private FileChannel m_segmentChannel;
+
+        private long m_segmentSize;
+
+        ColumnWriter(final File columnDir) throws IOException {
+            m_columnDir = columnDir;
+            m_indexChannel = FileChannel.open(new File(columnDir, INDEX_FILE_NAME).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+            // continue after the last segment in case blobs were written previously
+            int segment = 0;
+            while (getSegmentFile(columnDir, segment + 1).exists()) {
+                segment++;
+            }
+            m_segment = segment;
+        }
+
+        void write(final int indexInColumn, final byte[] content) throws IOException {
+            if (m_segmentChannel == null) {
+                m_segmentChannel = openSegment();
+            } else if (m_segmentSize > MAX_SEGMENT_SIZE) {
+                m_segmentChannel.close();
+                m_segment++;
+                m_segmentChannel = openSegment();
+            }
+            final long offset = m_segmentSize;
+            final ByteBuffer contentBuffer = ByteBuffer.wrap(content);
+            while (contentBuffer.hasRemaining()) {
+                m_segmentChannel.write(contentBuffer, offset + contentBuffer.position());
+            }
+            m_segmentSize += content.length;
+            final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putInt(m_segment + 1).putLong(offset).putInt(content.length).flip();
+            final long entryPosition = (long)indexInColumn * INDEX_ENTRY_SIZE;
+            while (entry.hasRemaining()) {
+                m_indexChannel.write(entry, entryPosition + entry.position());
+            }
+        }
+
+        private FileChannel openSegment() throws IOException {
+            final File segmentFile = getSegmentFile(m_columnDir, m_segment);
+            final FileChannel channel =
+                FileChannel.open(segmentFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            Buffer.onFileCreated(segmentFile);
+            m_segmentSize = channel.size();
+            return channel;
+        }
+
+        void close() {
+            closeQuietly(m_indexChannel);
+            if (m_segmentChannel != null) {
+                closeQuietly(m_segmentChannel);
+            }
+        }
+    }
+
+}
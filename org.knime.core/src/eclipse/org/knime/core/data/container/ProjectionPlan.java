@@ -0,0 +1,272 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+
+/**
+ * Flattens a tree of tables that only rearrange, rename or join the columns of their reference tables (as created by
+ * consecutive nodes using a {@link ColumnRearranger}, {@link TableSpecReplacerTable} etc.) into a single projection:
+ * each output column is read directly from the table that stores it, i.e. the bottom-most reference table or the
+ * append table of one of the {@link RearrangeColumnsTable} levels. All these sources have the same rows in the same
+ * order, so a single iterator can assemble the output rows, instead of each level allocating a row per input row.
+ *
+ * <p>
+ * Tables whose new columns are {@linkplain RearrangeColumnsTable#isLazy() computed while iterating} and any other
+ * table type are sources (leaves) of the plan.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ProjectionPlan {
+
+    /** The source tables (a {@link BufferedDataTable} or a {@link ContainerTable}), the first provides the keys. */
+    private final List<Object> m_sources = new ArrayList<>();
+
+    /** The indices of the sources in {@link #m_sources}. */
+    private final Map<Object, Integer> m_sourceIndices = new IdentityHashMap<>();
+
+    /** For each source the columns to materialize. */
+    private final List<List<Integer>> m_sourceColumns = new ArrayList<>();
+
+    /** For each output column the index of the source, -1 if not requested. */
+    private final int[] m_columnSources;
+
+    /** For each output column the index of the column in its source. */
+    private final int[] m_sourceColumnIndices;
+
+    private ProjectionPlan(final int columnCount, final BufferedDataTable keySource) {
+        m_columnSources = new int[columnCount];
+        m_sourceColumnIndices = new int[columnCount];
+        Arrays.fill(m_columnSources, -1);
+        getSourceIndex(keySource);
+    }
+
+    /**
+     * Creates the plan for the requested columns of the table.
+     *
+     * @param table the table to iterate, its new columns must not be pending
+     * @param columns the requested output columns
+     * @return the plan or <code>null</code> if the reference table isn't a rearranging table (and hence there is
+     *         nothing to flatten)
+     */
+    static ProjectionPlan of(final RearrangeColumnsTable table, final int[] columns) {
+        final BufferedDataTable reference = table.getReferenceTables()[0];
+        if (!isFlattenable(Node.invokeGetDelegate(reference))) {
+            return null;
+        }
+        final var plan = new ProjectionPlan(table.getDataTableSpec().getNumColumns(), getKeySource(reference));
+        for (int column : columns) {
+            if (table.isFromReferenceTable(column)) {
+                plan.resolve(column, reference, table.getColumnIndex(column));
+            } else {
+                plan.addSource(column, table.getAppendTable(), table.getColumnIndex(column));
+            }
+        }
+        return plan;
+    }
+
+    private static boolean isFlattenable(final KnowsRowCountTable table) {
+        return (table instanceof RearrangeColumnsTable rct && !rct.isLazy()) || table instanceof TableSpecReplacerTable
+            || table instanceof WrappedTable || table instanceof JoinedTable;
+    }
+
+    /** The source providing the row keys, found along the reference (or left) tables. */
+    private static BufferedDataTable getKeySource(final BufferedDataTable table) {
+        BufferedDataTable keySource = table;
+        for (KnowsRowCountTable delegate = Node.invokeGetDelegate(keySource); isFlattenable(delegate);
+                delegate = Node.invokeGetDelegate(keySource)) {
+            keySource = delegate.getReferenceTables()[0];
+        }
+        return keySource;
+    }
+
+    /** Follows the given column of the table down to the table that stores it. */
+    private void resolve(final int outputColumn, final BufferedDataTable table, final int column) {
+        BufferedDataTable current = table;
+        int currentColumn = column;
+        for (KnowsRowCountTable delegate = Node.invokeGetDelegate(current); isFlattenable(delegate);
+                delegate = Node.invokeGetDelegate(current)) {
+            if (delegate instanceof RearrangeColumnsTable rct) {
+                if (!rct.isFromReferenceTable(currentColumn)) {
+                    addSource(outputColumn, rct.getAppendTable(), rct.getColumnIndex(currentColumn));
+                    return;
+                }
+                currentColumn = rct.getColumnIndex(currentColumn);
+                current = rct.getReferenceTables()[0];
+            } else if (delegate instanceof JoinedTable) {
+                final BufferedDataTable left = delegate.getReferenceTables()[0];
+                final int leftColumnCount = left.getDataTableSpec().getNumColumns();
+                if (currentColumn < leftColumnCount) {
+                    current = left;
+                } else {
+                    currentColumn -= leftColumnCount;
+                    current = delegate.getReferenceTables()[1];
+                }
+            } else {
+                // spec replacer and wrapped tables don't change the data
+                current = delegate.getReferenceTables()[0];
+            }
+        }
+        addSource(outputColumn, current, currentColumn);
+    }
+
+    private void addSource(final int outputColumn, final Object source, final int column) {
+        final int sourceIndex = getSourceIndex(source);
+        m_columnSources[outputColumn] = sourceIndex;
+        m_sourceColumnIndices[outputColumn] = column;
+        m_sourceColumns.get(sourceIndex).add(column);
+    }
+
+    private int getSourceIndex(final Object source) {
+        return m_sourceIndices.computeIfAbsent(source, s -> {
+            m_sources.add(s);
+            m_sourceColumns.add(new ArrayList<>());
+            return m_sources.size() - 1;
+        });
+    }
+
+    /** @return the number of tables the rows are assembled from */
+    int getSourceCount() {
+        return m_sources.size();
+    }
+
+    /**
+     * Opens iterators on all sources and assembles the output rows.
+     *
+     * @param filter the filter applied to the table (row range; the requested columns are already part of the plan),
+     *            may be <code>null</code>
+     * @param exec for progress and cancelation, may be <code>null</code>
+     * @return the iterator
+     */
+    @SuppressWarnings("resource")
+    CloseableRowIterator iterator(final TableFilter filter, final ExecutionMonitor exec) {
+        final var iterators = new CloseableRowIterator[m_sources.size()];
+        try {
+            for (var i = 0; i < iterators.length; i++) {
+                final TableFilter sourceFilter = (filter == null ? new TableFilter.Builder()
+                    : new TableFilter.Builder(filter)).withMaterializeColumnIndices(
+                        m_sourceColumns.get(i).stream().mapToInt(Integer::intValue).distinct().toArray()).build();
+                final Object source = m_sources.get(i);
+                iterators[i] = source instanceof BufferedDataTable bdt ? bdt.filter(sourceFilter, exec).iterator()
+                    : ((ContainerTable)source).iteratorWithFilter(sourceFilter, exec);
+            }
+        } catch (RuntimeException e) {
+            for (CloseableRowIterator it : iterators) {
+                if (it != null) {
+                    it.close();
+                }
+            }
+            throw e;
+        }
+        return new ProjectionIterator(iterators, m_columnSources, m_sourceColumnIndices);
+    }
+
+    /** Iterates all sources in lockstep and assembles the output rows from their cells. */
+    private static final class ProjectionIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator[] m_iterators;
+
+        private final DataRow[] m_rows;
+
+        private final int[] m_columnSources;
+
+        private final int[] m_sourceColumnIndices;
+
+        ProjectionIterator(final CloseableRowIterator[] iterators, final int[] columnSources,
+            final int[] sourceColumnIndices) {
+            m_iterators = iterators;
+            m_rows = new DataRow[iterators.length];
+            m_columnSources = columnSources;
+            m_sourceColumnIndices = sourceColumnIndices;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // hasNext is called on all iterators so that they can close resources at the end, see AP-8055
+            var hasNext = true;
+            for (CloseableRowIterator it : m_iterators) {
+                hasNext &= it.hasNext();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public DataRow next() {
+            for (var i = 0; i < m_iterators.length; i++) {
+                m_rows[i] = m_iterators[i].next();
+            }
+            final var cells = new DataCell[m_columnSources.length];
+            for (var c = 0; c < cells.length; c++) {
+                final int source = m_columnSources[c];
+                // columns that are not requested by the filter are not materialized
+                cells[c] = source < 0 ? DataType.getMissingCell()
+                    : JoinTableIterator.getUnwrappedCell(m_rows[source], m_sourceColumnIndices[c]);
+            }
+            return new BlobSupportDataRow(m_rows[0].getKey(), cells);
+        }
+
+        @Override
+        public void close() {
+            for (CloseableRowIterator it : m_iterators) {
+                it.close();
+            }
+        }
+    }
+
+}
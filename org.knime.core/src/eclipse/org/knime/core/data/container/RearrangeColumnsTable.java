@@ -51,16 +51,22 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.CancellationException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -69,11 +75,15 @@
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.ColumnRearranger.SpecAndFactoryObject;
 import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.data.filestore.internal.NotInWorkflowWriteFileStoreHandler;
 import org.knime.core.data.v2.RowCursor;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
@@ -83,12 +93,14 @@
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.ExtensionTable;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.Node;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.workflow.NodeContext;
 import org.knime.core.node.workflow.WorkflowDataRepository;
-import org.knime.core.util.MultiThreadWorker;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.Pair;
 
 /**
@@ -104,6 +116,16 @@ public final class RearrangeColumnsTable implements KnowsRowCountTable {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(RearrangeColumnsTable.class);
 
+    /** Number of workers used for {@linkplain CellFactory#isThreadSafe() thread-safe} cell factories that don't
+     * specify it via {@link AbstractCellFactory#setParallelProcessing(boolean, int, int)}. */
+    private static final int DEFAULT_PARALLEL_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    /** Maximum number of rows handed to a worker at once when processing the input concurrently. */
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    /** See {@link KNIMEConstants#PROPERTY_DISABLE_LAZY_REARRANGE}. */
+    private static final boolean IS_LAZY_DISABLED = Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_LAZY_REARRANGE);
+
     private static final RowKey DUMMY_KEY = new RowKey("non-existing");
 
     private static final DataRow DUMMY_ROW = new DefaultRow(DUMMY_KEY, new DataCell[0]);
@@ -151,17 +173,24 @@ public void close() {
 
     private final boolean[] m_isFromRefTable;
 
-    private final ContainerTable m_appendTable;
+    private volatile ContainerTable m_appendTable;
+
+    /** The new columns that are computed while iterating, null if they are materialized (or there are none). */
+    private volatile PendingColumns m_pending;
+
+    /** The repository this table was put into while its new columns were pending (to add them once computed). */
+    private WorkflowDataRepository m_pendingDataRepository;
 
     /*
      * Used from the factory method, see below.
      * @see #create(ColumnRearranger, BufferedDataTable, ExecutionMonitor)
      */
     private RearrangeColumnsTable(final BufferedDataTable reference, final int[] map, final boolean[] isFromRefTable,
-        final DataTableSpec spec, final ContainerTable appendTbl) {
+        final DataTableSpec spec, final ContainerTable appendTbl, final PendingColumns pending) {
         m_spec = spec;
         m_reference = reference;
         m_appendTable = appendTbl;
+        m_pending = pending;
         m_map = map;
         m_isFromRefTable = isFromRefTable;
     }
@@ -264,14 +293,98 @@ public BufferedDataTable[] getReferenceTables() {
     /**
      * Get reference to the appended table. This table must not be used publicly as the append table is corrupted: It
      * does not contain proper row keys (it contains only the appended columns). This method returns null if this table
-     * only filters out some of the columns.
+     * only filters out some of the columns. If the new columns are computed while iterating (see {@link #isLazy()}),
+     * they are materialized first.
      *
      * @return Reference to append table.
      */
     public ContainerTable getAppendTable() {
+        materializeQuietly();
         return m_appendTable;
     }
 
+    /**
+     * Whether the new columns are not stored but computed while iterating the table. That's the case for columns
+     * created by {@linkplain CellFactory#isSideEffectFree() side-effect-free} cell factories until the table is
+     * iterated repeatedly, saved or {@linkplain #materialize(ExecutionMonitor) materialized} explicitly. This may
+     * happen after the creating node finished, e.g. when a successor iterates the table.
+     *
+     * @return that property
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public boolean isLazy() {
+        return m_pending != null;
+    }
+
+    /**
+     * Computes and stores the new columns if they are computed while iterating (see {@link #isLazy()}), does nothing
+     * otherwise.
+     *
+     * @param exec for progress and cancelation
+     * @throws CanceledExecutionException if canceled
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public synchronized void materialize(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final PendingColumns pending = m_pending;
+        if (pending == null) {
+            return;
+        }
+        final IDataRepository dataRepository =
+            m_pendingDataRepository != null ? m_pendingDataRepository : pending.m_dataRepository;
+        final DataContainer container = new DataContainer(pending.m_appendSpec,
+            DataContainerSettings.internalBuilder().withInitializedDomain(true).withRowKeysEnabled(false).build(),
+            dataRepository, new DefaultLocalDataRepository(), NotInWorkflowWriteFileStoreHandler.create(),
+            new BufferedTableBackend());
+        final FileStoreFactory fileStoreFactory = FileStoreFactory.createNotInWorkflowFileStoreFactory();
+        for (CellFactory factory : pending.m_producers.getUniqueCellFactoryMap().keySet()) {
+            if (factory instanceof AbstractCellFactory abstractFactory) {
+                abstractFactory.setFileStoreFactory(fileStoreFactory);
+            }
+        }
+        try {
+            calcNewCols(m_reference, exec, pending.m_producers, container, pending.m_workerCount);
+        } finally {
+            container.close();
+            finishProcessing(pending.m_producers);
+            fileStoreFactory.close();
+        }
+        final ContainerTable appendTable = container.getBufferedTable();
+        if (m_pendingDataRepository != null) {
+            m_pendingDataRepository.addTable(appendTable.getTableId(), appendTable);
+            m_pendingDataRepository = null;
+        }
+        m_appendTable = appendTable;
+        m_pending = null;
+    }
+
+    private void materializeQuietly() {
+        try {
+            materialize(new ExecutionMonitor());
+        } catch (CanceledExecutionException e) {
+            throw new IllegalStateException("Computation of new columns canceled", e);
+        }
+    }
+
+    /**
+     * Determines whether new columns need to be computed while iterating the given output columns. The columns are
+     * materialized instead when they are iterated repeatedly.
+     *
+     * @return the pending columns to compute or null if they are materialized or not needed
+     */
+    private PendingColumns getPendingColumnsFor(final IntStream columns) {
+        final PendingColumns pending = m_pending;
+        if (pending == null || columns.allMatch(i -> m_isFromRefTable[i])) {
+            return null;
+        }
+        if (pending.m_iterationCount.incrementAndGet() > 1) {
+            materializeQuietly();
+            return null;
+        }
+        return pending;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -291,6 +404,14 @@ public boolean isFromReferenceTable(final int columnIndex) {
         return m_isFromRefTable[columnIndex];
     }
 
+    /**
+     * @param columnIndex index of a column of this table
+     * @return the index of the column in the reference or append table, see {@link #isFromReferenceTable(int)}
+     */
+    int getColumnIndex(final int columnIndex) {
+        return m_map[columnIndex];
+    }
+
     @SuppressWarnings("resource")
     @Override
     public RowCursor cursor() {
@@ -311,6 +432,14 @@ public RowCursor cursor(final TableFilter filter) {
     @Override
     @SuppressWarnings("resource")
     public CloseableRowIterator iterator() {
+        final PendingColumns pending = getPendingColumnsFor(IntStream.range(0, m_map.length));
+        if (pending != null) {
+            return new LazyJoinIterator(m_reference.iterator(), pending.m_producers, 0, m_map, m_isFromRefTable);
+        }
+        final ProjectionPlan plan = ProjectionPlan.of(this, IntStream.range(0, m_map.length).toArray());
+        if (plan != null) {
+            return plan.iterator(null, null);
+        }
         // determine iterator for appended table
         CloseableRowIterator appendIt = EMPTY_ITERATOR;
         if (m_appendTable != null) {
@@ -339,13 +468,30 @@ public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final E
         final Supplier<IntStream> indicesSup = () -> filter.getMaterializeColumnIndices()
             .map(o -> o.stream().mapToInt(i -> i)).orElse(IntStream.range(0, m_map.length));
 
+        final PendingColumns pending = getPendingColumnsFor(indicesSup.get());
+        if (pending != null) {
+            // the factories need complete input rows, only the row range of the filter applies
+            final TableFilter refFilter = new TableFilter.Builder(filter).withMaterializeColumnIndices(
+                IntStream.range(0, m_reference.getDataTableSpec().getNumColumns()).toArray()).build();
+            return new LazyJoinIterator(m_reference.filter(refFilter, exec).iterator(), pending.m_producers,
+                filter.getFromRowIndex().orElse(0L), m_map, m_isFromRefTable);
+        }
+        final ProjectionPlan plan = ProjectionPlan.of(this, indicesSup.get().toArray());
+        if (plan != null) {
+            return plan.iterator(filter, exec);
+        }
+
          // determine iterator for appended table
         CloseableRowIterator appendIt = EMPTY_ITERATOR;
-        if (m_appendTable != null) {
+        final ContainerTable appendTable = m_appendTable;
+        if (appendTable != null) {
             final TableFilter.Builder appendFilterBuilder = new TableFilter.Builder(filter);
             final int[] appendIndices = indicesSup.get().filter(i -> !m_isFromRefTable[i]).map(i -> m_map[i]).toArray();
             appendFilterBuilder.withMaterializeColumnIndices(appendIndices);
-            appendIt = m_appendTable.iteratorWithFilter(appendFilterBuilder.build());
+            appendIt = appendTable.iteratorWithFilter(appendFilterBuilder.build());
+        } else if (m_pending != null) {
+            // new columns are not requested (and not computed)
+            appendIt = new MissingCellsIterator(m_pending.m_appendSpec.getNumColumns());
         }
 
         // determine iterator for reference table
@@ -386,33 +532,37 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
         int workerCount = Integer.MAX_VALUE;
         for (SpecAndFactoryObject s : newColumnFactoryList) {
             CellFactory factory = s.getFactory();
-            if (factory instanceof AbstractCellFactory) {
-                AbstractCellFactory acf = (AbstractCellFactory)factory;
+            if (factory instanceof AbstractCellFactory acf && acf.isParallelProcessing()) {
                 workerCount = Math.min(workerCount, acf.getMaxParallelWorkers());
+            } else if (factory != null && factory.isThreadSafe()) {
+                workerCount = Math.min(workerCount, DEFAULT_PARALLEL_WORKERS);
             } else {
-                // unknown factory - process sequentially
+                // unknown factory (or converter) - process sequentially
                 workerCount = -1;
             }
             newColSpecsList.add(s.getColSpec());
         }
-        initProcessing(newColsProducerMapping, context);
         final int newColCount = newColSpecsList.size();
         DataColumnSpec[] newColSpecs = newColSpecsList.toArray(new DataColumnSpec[newColSpecsList.size()]);
         ContainerTable appendTable;
         DataTableSpec appendTableSpec;
+        PendingColumns pending = null;
         // for a pure filter (a table that just hides some columns from
         // the reference table but does not add any new column we avoid to scan
         // the entire table (nothing is written anyway))
-        if (newColCount > 0) {
+        if (newColCount > 0 && isDeferrable(newColsProducerMapping)) {
+            // computed while iterating, the column specs of the factories are final (no domain calculation)
+            appendTable = null;
+            appendTableSpec = new DataTableSpec(newColSpecs);
+            pending = new PendingColumns(newColsProducerMapping, Node.invokeGetDataRepository(context),
+                appendTableSpec, workerCount);
+        } else if (newColCount > 0) {
+            initProcessing(newColsProducerMapping, context);
             final DataContainer container =
                 Node.invokeCreateDataContainer(context, new DataTableSpec(newColSpecs), true, -1, false);
             assert newColumnFactoryList.size() == newColCount;
             try {
-                if (workerCount <= 0) {
-                    calcNewColsSynchronously(table, subProgress, newColsProducerMapping, container);
-                } else {
-                    calcNewColsASynchronously(table, subProgress, newColsProducerMapping, container);
-                }
+                calcNewCols(table, subProgress, newColsProducerMapping, container, workerCount);
             } finally {
                 container.close();
                 finishProcessing(newColsProducerMapping);
@@ -449,7 +599,41 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             }
         }
         DataTableSpec spec = new DataTableSpec(colSpecs);
-        return new RearrangeColumnsTable(table, includesIndex, isFromRefTable, spec, appendTable);
+        return new RearrangeColumnsTable(table, includesIndex, isFromRefTable, spec, appendTable, pending);
+    }
+
+    /**
+     * Whether the new columns can be computed while iterating, i.e. all factories are
+     * {@linkplain CellFactory#isSideEffectFree() side-effect-free} and no column is converted.
+     */
+    private static boolean isDeferrable(final NewColumnsProducerMapping mapping) {
+        return !IS_LAZY_DISABLED && mapping.getConverterToIndexMap().isEmpty()
+            && mapping.getUniqueCellFactoryMap().keySet().stream().allMatch(CellFactory::isSideEffectFree)
+            && mapping.getAllNewColumnsList().stream().allMatch(s -> isBlobFreeType(s.getColSpec().getType()));
+    }
+
+    /**
+     * Blob and file store cells are owned by the container that creates them, which differs between repeated
+     * computations of deferred columns -- columns that may contain such cells are therefore never deferred.
+     */
+    private static boolean isBlobFreeType(final DataType type) {
+        final Class<? extends DataCell> cellClass = type.getCellClass();
+        if (cellClass == null || BlobDataCell.class.isAssignableFrom(cellClass)
+            || FileStoreCell.class.isAssignableFrom(cellClass)) {
+            return false;
+        }
+        return !type.isCollectionType() || isBlobFreeType(type.getCollectionElementType());
+    }
+
+    /** Computes the new columns of all rows of the table (sequentially or concurrently) and adds them to container. */
+    private static void calcNewCols(final BufferedDataTable table, final ExecutionMonitor subProgress,
+        final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container, final int workerCount)
+        throws CanceledExecutionException {
+        if (workerCount <= 0 || table.size() < 2) {
+            calcNewColsSynchronously(table, subProgress, newColsProducerMapping, container);
+        } else {
+            calcNewColsInChunks(table, subProgress, newColsProducerMapping, container, workerCount);
+        }
     }
 
     /** Set a file store factory on the {@link AbstractCellFactory}.
@@ -495,53 +679,113 @@ private static void calcNewColsSynchronously(final BufferedDataTable table, fina
     }
 
     /**
-     * Processes input concurrently using a {@link ConcurrentNewColCalculator}.
+     * Processes input concurrently: the caller thread reads the input in chunks of contiguous rows, which are computed
+     * by tasks in the global thread pool (each task filling a pre-sized array of result rows). The results are
+     * written in input order by the caller thread. At most <code>workerCount</code> chunks are computed
+     * concurrently and at most twice as many are pending to be written.
      */
-    private static void calcNewColsASynchronously(final BufferedDataTable table, final ExecutionMonitor subProgress,
-        final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container)
+    private static void calcNewColsInChunks(final BufferedDataTable table, final ExecutionMonitor subProgress,
+        final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container, final int workerCount)
         throws CanceledExecutionException {
-        long finalRowCount = table.size();
-        CellFactory facForProgress = null;
-        int workers = Integer.MAX_VALUE;
-        int queueSize = Integer.MAX_VALUE;
-        Collection<SpecAndFactoryObject> newColsFactories = newColsProducerMapping.getAllNewColumnsList();
-        for (SpecAndFactoryObject specAndFac : newColsFactories) {
-            if (specAndFac.getFactory() instanceof AbstractCellFactory) {
-                AbstractCellFactory acf = (AbstractCellFactory)specAndFac.getFactory();
-                workers = Math.min(workers, acf.getMaxParallelWorkers());
-                queueSize = Math.min(queueSize, acf.getMaxQueueSize());
-            } else {
-                throw new IllegalStateException("Coding problem: This method"
-                    + " should not have been called as the cell factories do not allow parallel processing");
-            }
-            if ((facForProgress == null) || !specAndFac.isNewColumn()) {
-                facForProgress = specAndFac.getFactory();
+        final long rowCount = table.size();
+        // a few chunks per worker to balance expensive rows, but not more than MAX_CHUNK_SIZE rows per chunk
+        final int chunkSize = (int)Math.max(1, Math.min(MAX_CHUNK_SIZE, rowCount / (4L * workerCount)));
+        final Set<CellFactory> newColsFactories = newColsProducerMapping.getUniqueCellFactoryMap().keySet();
+        final CellFactory facForProgress = newColsFactories.isEmpty() ? null : newColsFactories.iterator().next();
+        final var activeChunks = new Semaphore(workerCount);
+        final Deque<Future<DataRow[]>> pendingChunks = new ArrayDeque<>();
+        final NodeContext context = NodeContext.getContext();
+
+        final Callable<Void> run = () -> {
+            long written = 0;
+            long firstIndexOfChunk = 0;
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    final var rows = new ArrayList<DataRow>(chunkSize);
+                    while (rows.size() < chunkSize && it.hasNext()) {
+                        rows.add(it.next());
+                    }
+                    final long firstIndex = firstIndexOfChunk;
+                    firstIndexOfChunk += rows.size();
+                    activeChunks.acquire();
+                    pendingChunks.add(KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> {
+                        if (context != null) {
+                            NodeContext.pushContext(context);
+                        }
+                        try {
+                            final var result = new DataRow[rows.size()];
+                            for (var i = 0; i < result.length; i++) {
+                                result[i] = calcNewCellsForRow(rows.get(i), newColsProducerMapping, firstIndex + i);
+                            }
+                            return result;
+                        } finally {
+                            activeChunks.release();
+                            if (context != null) {
+                                NodeContext.removeLastContext();
+                            }
+                        }
+                    }));
+                    if (pendingChunks.size() >= 2 * workerCount) {
+                        written = writeChunk(pendingChunks.poll(), container, written, rowCount, facForProgress,
+                            subProgress);
+                    }
+                    subProgress.checkCanceled();
+                }
+                while (!pendingChunks.isEmpty()) {
+                    written = writeChunk(pendingChunks.poll(), container, written, rowCount, facForProgress,
+                        subProgress);
+                }
             }
-        }
-        assert facForProgress != null;
-        assert workers > 0 : "Nr workers <= 0: " + workers;
-        assert queueSize > 0 : "queue size <= 0: " + queueSize;
-        ConcurrentNewColCalculator calculator =
-            new ConcurrentNewColCalculator(queueSize, workers, container, subProgress, finalRowCount,
-                newColsProducerMapping, facForProgress);
+            return null;
+        };
+
         try {
-            calculator.run(table);
-        } catch (InterruptedException e) {
+            // the caller thread only reads and writes, the computation is done by the chunk tasks
+            if (ThreadPool.currentPool() != null) {
+                KNIMEConstants.GLOBAL_THREAD_POOL.runInvisible(run);
+            } else {
+                run.call();
+            }
+        } catch (InterruptedException e) { // NOSONAR interruption means cancelation
+            pendingChunks.forEach(f -> f.cancel(true));
             CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
             cee.initCause(e);
             throw cee;
-        } catch (ExecutionException e) {
-            Throwable cause = e.getCause();
-            if (cause == null) {
-                cause = e;
+        } catch (Exception e) { // NOSONAR
+            pendingChunks.forEach(f -> f.cancel(true));
+            Throwable cause = e;
+            // the task's exception may be wrapped by future.get() and runInvisible
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
             }
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException)cause;
+            if (cause instanceof CanceledExecutionException cee) {
+                throw cee;
+            } else if (cause instanceof InterruptedException) {
+                throw new CanceledExecutionException(cause.getMessage());
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
             }
             throw new RuntimeException(cause);
         }
     }
 
+    /** Waits for the computation of a chunk, adds its rows to the container and reports progress. */
+    private static long writeChunk(final Future<DataRow[]> chunk, final DataContainer container, final long written,
+        final long rowCount, final CellFactory facForProgress, final ExecutionMonitor subProgress)
+        throws InterruptedException, ExecutionException {
+        final DataRow[] rows = chunk.get();
+        for (DataRow row : rows) {
+            container.addRowToTable(row);
+        }
+        final long newWritten = written + rows.length;
+        if (facForProgress != null && rows.length > 0) {
+            facForProgress.setProgress(newWritten, rowCount, rows[rows.length - 1].getKey(), subProgress);
+        }
+        return newWritten;
+    }
+
     private static Set<Class<? extends CellFactory>> codingProblemsCellFactoryClasses;
 
     /**
@@ -563,21 +807,7 @@ static DataRow calcNewCellsForRow(final DataRow unconvertedRow, final NewColumns
             CellFactory factory = e.getKey();
             List<Pair<Integer, Integer>> list = e.getValue();
             DataCell[] fromFac = factory.getCells(row, rowIndex);
-            if (fromFac.length != list.size()) {
-                String error = String.format("New cells array length conflict: expected %d, actual %d (class %s)",
-                    list.size(), fromFac.length, factory.getClass().getName());
-                if (fromFac.length < list.size()) {
-                    throw new IndexOutOfBoundsException(error);
-                } else {
-                    // such problems were ignored until 2.6 -- print warning only
-                    if (codingProblemsCellFactoryClasses == null) {
-                        codingProblemsCellFactoryClasses = new HashSet<Class<? extends CellFactory>>();
-                    }
-                    if (codingProblemsCellFactoryClasses.add(factory.getClass())) {
-                        LOGGER.coding(error);
-                    }
-                }
-            }
+            checkNewCellCount(factory, list.size(), fromFac.length);
             final int length = list.size();
             for (int i = 0; i < length; i++) {
                 Pair<Integer, Integer> indexPair = list.get(i);
@@ -591,6 +821,29 @@ static DataRow calcNewCellsForRow(final DataRow unconvertedRow, final NewColumns
         return appendix;
     }
 
+    /**
+     * Checks the number of new cells returned by a factory against the number of new columns it was registered for.
+     *
+     * @throws IndexOutOfBoundsException if the factory returned fewer cells than expected
+     */
+    private static void checkNewCellCount(final CellFactory factory, final int expected, final int actual) {
+        if (actual != expected) {
+            String error = String.format("New cells array length conflict: expected %d, actual %d (class %s)",
+                expected, actual, factory.getClass().getName());
+            if (actual < expected) {
+                throw new IndexOutOfBoundsException(error);
+            } else {
+                // such problems were ignored until 2.6 -- print warning only
+                if (codingProblemsCellFactoryClasses == null) {
+                    codingProblemsCellFactoryClasses = new HashSet<Class<? extends CellFactory>>();
+                }
+                if (codingProblemsCellFactoryClasses.add(factory.getClass())) {
+                    LOGGER.coding(error);
+                }
+            }
+        }
+    }
+
     /**
      * Used when {@link ColumnRearranger#ensureColumnIsConverted(DataCellTypeConverter, int)} is called. It
      * preproccesses the row and replaces the column to be converted by the the result of the given converter.
@@ -673,6 +926,7 @@ public long size() {
     @Override
     public void saveToFile(final File f, final NodeSettingsWO s, final ExecutionMonitor exec) throws IOException,
         CanceledExecutionException {
+        materialize(exec);
         NodeSettingsWO subSettings = s.addNodeSettings(CFG_INTERNAL_META);
         subSettings.addInt(CFG_REFERENCE_ID, m_reference.getBufferedTableId());
         subSettings.addIntArray(CFG_MAP, m_map);
@@ -700,6 +954,7 @@ public void saveToFile(final File f, final NodeSettingsWO s, final ExecutionMoni
      */
     @Override
     public void clear() {
+        m_pending = null;
         if (m_appendTable != null) {
             m_appendTable.clear();
         }
@@ -719,9 +974,11 @@ public void ensureOpen() {
      * {@inheritDoc}
      */
     @Override
-    public void putIntoTableRepository(final WorkflowDataRepository dataRepository) {
+    public synchronized void putIntoTableRepository(final WorkflowDataRepository dataRepository) {
         if (m_appendTable != null) {
             dataRepository.addTable(m_appendTable.getTableId(), m_appendTable);
+        } else if (m_pending != null) {
+            m_pendingDataRepository = dataRepository;
         }
     }
 
@@ -729,7 +986,10 @@ public void putIntoTableRepository(final WorkflowDataRepository dataRepository)
      * {@inheritDoc}
      */
     @Override
-    public boolean removeFromTableRepository(final WorkflowDataRepository dataRepository) {
+    public synchronized boolean removeFromTableRepository(final WorkflowDataRepository dataRepository) {
+        if (m_pendingDataRepository == dataRepository) {
+            m_pendingDataRepository = null;
+        }
         if (m_appendTable != null) {
             int id = m_appendTable.getTableId();
             if (!dataRepository.removeTable(id).isPresent()) {
@@ -742,64 +1002,98 @@ public boolean removeFromTableRepository(final WorkflowDataRepository dataReposi
     }
 
     /**
-     * The MultiThreadWorker that processes the input rows concurrently. Only used if the cell factory is an
-     * {@link AbstractCellFactory} with parallel processing ( {@link AbstractCellFactory#setParallelProcessing(boolean)}
-     * )
+     * The state needed to compute (and eventually materialize) new columns while iterating. It doesn't refer to the
+     * execution context of the creating node as the columns may be materialized after that node finished: the table
+     * then creates its own container and file store handler (the columns contain neither blobs nor file stores, see
+     * {@link RearrangeColumnsTable#isBlobFreeType(DataType)}).
      */
-    private static final class ConcurrentNewColCalculator extends MultiThreadWorker<DataRow, DataRow> {
+    private static final class PendingColumns {
 
-        private final ExecutionMonitor m_subProgress;
+        private final NewColumnsProducerMapping m_producers;
 
-        private NewColumnsProducerMapping m_reducedList;
+        /** The repository of the workflow, used to obtain the ID of the materialized table. */
+        private final IDataRepository m_dataRepository;
 
-        private DataContainer m_container;
+        private final DataTableSpec m_appendSpec;
 
-        private final long m_totalRowCount;
+        private final int m_workerCount;
 
-        private final CellFactory m_facForProgress;
+        private final AtomicInteger m_iterationCount = new AtomicInteger();
+
+        PendingColumns(final NewColumnsProducerMapping producers, final IDataRepository dataRepository,
+            final DataTableSpec appendSpec, final int workerCount) {
+            m_producers = producers;
+            m_dataRepository = dataRepository;
+            m_appendSpec = appendSpec;
+            m_workerCount = workerCount;
+        }
+    }
+
+    /** Computes the new columns of each reference row and assembles the output row. */
+    private static final class LazyJoinIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator m_itReference;
+
+        private final NewColumnsProducerMapping m_producers;
+
+        private final int[] m_map;
+
+        private final boolean[] m_flags;
+
+        private long m_rowIndex;
+
+        LazyJoinIterator(final CloseableRowIterator itReference, final NewColumnsProducerMapping producers,
+            final long firstRowIndex, final int[] map, final boolean[] flags) {
+            m_itReference = itReference;
+            m_producers = producers;
+            m_rowIndex = firstRowIndex;
+            m_map = map;
+            m_flags = flags;
+        }
 
-        /**
-         * @param maxQueueSize
-         * @param maxActiveInstanceSize
-         * @param table
-         * @param subProgress
-         * @param reducedList
-         * @param newColCount
-         * @param container
-         */
-        private ConcurrentNewColCalculator(final int maxQueueSize, final int maxActiveInstanceSize,
-            final DataContainer container, final ExecutionMonitor subProgress, final long totalRowCount,
-            final NewColumnsProducerMapping reducedList, final CellFactory facForProgress) {
-            super(maxQueueSize, maxActiveInstanceSize);
-            m_container = container;
-            m_subProgress = subProgress;
-            m_totalRowCount = totalRowCount;
-            m_reducedList = reducedList;
-            m_facForProgress = facForProgress;
-        }
-
-        /** {@inheritDoc} */
         @Override
-        protected DataRow compute(final DataRow in, final long index) throws Exception {
-            return calcNewCellsForRow(in, m_reducedList, index);
+        public boolean hasNext() {
+            return m_itReference.hasNext();
         }
 
-        /** {@inheritDoc} */
         @Override
-        protected void processFinished(final ComputationTask task) throws ExecutionException, CancellationException,
-            InterruptedException {
-            int r = (int)task.getIndex(); // row count in table is integer
-            RowKey key = task.getInput().getKey();
-            DataRow append = task.get(); // exception falls through
-            m_container.addRowToTable(append);
-            m_facForProgress.setProgress(r + 1, m_totalRowCount, key, m_subProgress);
-            try {
-                m_subProgress.checkCanceled();
-            } catch (CanceledExecutionException cee) {
-                throw new CancellationException();
-            }
+        public DataRow next() {
+            final DataRow ref = m_itReference.next();
+            final DataRow app = calcNewCellsForRow(ref, m_producers, m_rowIndex++);
+            return JoinTableIterator.createOutputRow(ref, app, m_map, m_flags);
         }
 
+        @Override
+        public void close() {
+            m_itReference.close();
+        }
+    }
+
+    /** Provides missing cells for new columns that are not materialized by a filter. */
+    private static final class MissingCellsIterator extends CloseableRowIterator {
+
+        private final DataRow m_row;
+
+        MissingCellsIterator(final int cellCount) {
+            final var cells = new DataCell[cellCount];
+            Arrays.fill(cells, DataType.getMissingCell());
+            m_row = new DefaultRow(DUMMY_KEY, cells);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public DataRow next() {
+            return m_row;
+        }
+
+        @Override
+        public void close() {
+            // no op
+        }
     }
 
     /**
@@ -836,7 +1130,6 @@ private NewColumnsProducerMapping(final Vector<SpecAndFactoryObject> includes) {
                     m_allNewColumnsList.add(s);
                 }
             }
-
         }
 
         /**
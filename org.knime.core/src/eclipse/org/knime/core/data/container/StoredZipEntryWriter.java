@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes files as {@link ZipEntry#STORED STORED} (uncompressed) entries to a zip stream, used for the content of a
+ * buffer that is compressed already (data file, blobs, file stores). Unlike deflated entries (even with
+ * {@link java.util.zip.Deflater#NO_COMPRESSION}), the entry content is the file content, which allows the data entry
+ * to be read in place when the table is loaded (see {@link CopyOnAccessTask}).
+ *
+ * <p>
+ * A STORED entry needs its size and CRC to be known before it's written. The CRC of the data file is computed while
+ * the buffer writes it (see {@link #addFile(String, File, long)}), so it's only read once, to copy it into the zip
+ * stream. Other files (blobs, file stores) are read twice: once to compute the CRC and once to copy them; they are
+ * usually still in the OS file cache when they are read the second time.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StoredZipEntryWriter {
+
+    /** Entry names in the order they are written. */
+    private final List<String> m_names = new ArrayList<>();
+
+    /** The files for the names in {@link #m_names}, null for directory entries. */
+    private final List<File> m_files = new ArrayList<>();
+
+    /** The CRCs of the files in {@link #m_files}, null if to be computed. */
+    private final List<Long> m_crcs = new ArrayList<>();
+
+    /**
+     * Adds a file entry.
+     *
+     * @param name the entry name
+     * @param file the file, its content must not change until {@link #writeTo(ZipOutputStream)} returns
+     */
+    void addFile(final String name, final File file) {
+        m_names.add(name);
+        m_files.add(file);
+        m_crcs.add(null);
+    }
+
+    /**
+     * Adds a file entry whose CRC is known already, e.g. computed while the file was written.
+     *
+     * @param name the entry name
+     * @param file the file, its content must not change until {@link #writeTo(ZipOutputStream)} returns
+     * @param crc the CRC-32 of the file's content; a wrong value fails the write
+     */
+    void addFile(final String name, final File file, final long crc) {
+        m_names.add(name);
+        m_files.add(file);
+        m_crcs.add(crc);
+    }
+
+    /**
+     * Adds recursively the content of the directory <code>dir</code>, prefixed with <code>prefix</code> (same layout
+     * as written by {@link Buffer} for deflated entries).
+     */
+    void addDirectoryContent(final String prefix, final File dir) {
+        for (File f : dir.listFiles()) {
+            final String name = prefix + "/" + f.getName();
+            if (f.isDirectory()) {
+                m_names.add(name + "/");
+                m_files.add(null);
+                m_crcs.add(null);
+                addDirectoryContent(name, f);
+            } else {
+                addFile(name, f);
+            }
+        }
+    }
+
+    /**
+     * Writes all added entries. The stream's current entry (if any) is closed.
+     *
+     * @param zipOut to write to
+     * @throws IOException if a file can't be read or the stream can't be written
+     */
+    void writeTo(final ZipOutputStream zipOut) throws IOException {
+        for (int i = 0; i < m_names.size(); i++) {
+            final File file = m_files.get(i);
+            final var entry = new ZipEntry(m_names.get(i));
+            entry.setMethod(ZipEntry.STORED);
+            if (file == null) {
+                entry.setSize(0);
+                entry.setCrc(0);
+                zipOut.putNextEntry(entry);
+            } else {
+                final Long crc = m_crcs.get(i);
+                entry.setSize(file.length());
+                entry.setCrc(crc != null ? crc : computeCRC(file));
+                zipOut.putNextEntry(entry);
+                Files.copy(file.toPath(), zipOut);
+            }
+            zipOut.closeEntry();
+        }
+    }
+
+    private static long computeCRC(final File file) throws IOException {
+        final var crc = new CRC32();
+        final var buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            for (int read; (read = in.read(buffer)) >= 0;) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+}
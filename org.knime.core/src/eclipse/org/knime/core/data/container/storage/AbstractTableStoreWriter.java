@@ -175,7 +175,7 @@ public Byte getTypeShortCut(final CellClassInfo cellClass) {
      *
      * @param cellClass The cell's class to write out.
      * @return The serializer to use or <code>null</code>.
-     * @throws IOException If there are too many different cell implementations (currently 253 are theoretically
+     * @throws IOException If there are too many different cell implementations (currently 251 are theoretically
      *             supported)
      */
     synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final CellClassInfo cellClass) throws IOException {
@@ -186,7 +186,8 @@ synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final
         DataCellSerializer<DataCell> serializer = (DataCellSerializer<DataCell>)cellClass.getSerializer();
         if (!m_typeShortCuts.containsKey(cellClass)) {
             int size = m_typeShortCuts.size();
-            if (size + BYTE_TYPE_START > Byte.MAX_VALUE) {
+            // the last two identifiers are reserved for dictionary encoded strings
+            if (size + BYTE_TYPE_START >= BYTE_TYPE_DICTIONARY_ENTRY) {
                 throw new IOException("Too many different cell implementations");
             }
             Byte identifier = (byte)(size + BYTE_TYPE_START);
@@ -47,7 +47,13 @@
  */
 package org.knime.core.data.filestore;
 
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.knime.core.data.filestore.internal.IFileStoreHandler;
 import org.knime.core.data.filestore.internal.WriteFileStoreHandler;
@@ -92,6 +98,62 @@ public File getFile() {
         return new File(parentDir, relativePath);
     }
 
+    /**
+     * Opens a channel for reading the file store's content at arbitrary positions, e.g. to read only the header of a
+     * large file.
+     *
+     * @return a new channel, to be closed by the caller
+     * @throws IOException if the file can't be opened
+     * @since 5.12
+     */
+    public SeekableByteChannel openReadChannel() throws IOException {
+        return FileChannel.open(getFile().toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads a range of the file store's content without reading the content before (or after) it.
+     *
+     * @param position the position of the first byte to read
+     * @param length the number of bytes to read
+     * @return a buffer holding the bytes read, flipped for reading; it holds less than <code>length</code> bytes only if
+     *         the end of the file is reached
+     * @throws IOException if the file can't be read
+     * @since 5.12
+     */
+    public ByteBuffer read(final long position, final int length) throws IOException {
+        if (position < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid range, position: " + position + ", length: " + length);
+        }
+        final var buffer = ByteBuffer.allocate(length);
+        try (var channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+            long pos = position;
+            int read;
+            while (buffer.hasRemaining() && (read = channel.read(buffer, pos)) >= 0) {
+                pos += read;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads a range of the file store's content that is expected to be present entirely.
+     *
+     * @param position the position of the first byte to read
+     * @param length the number of bytes to read
+     * @return a buffer holding <code>length</code> bytes, flipped for reading
+     * @throws EOFException if the file ends before the range does
+     * @throws IOException if the file can't be read
+     * @since 5.12
+     */
+    public ByteBuffer readFully(final long position, final int length) throws IOException {
+        final ByteBuffer buffer = read(position, length);
+        if (buffer.remaining() < length) {
+            throw new EOFException(
+                "File store " + m_key + " ends before the requested range (" + position + " + " + length + ")");
+        }
+        return buffer;
+    }
+
     /**
      * {@inheritDoc}
      */
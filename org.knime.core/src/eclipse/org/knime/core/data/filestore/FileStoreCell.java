@@ -48,6 +48,7 @@
 package org.knime.core.data.filestore;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
@@ -74,7 +75,7 @@ public abstract class FileStoreCell extends DataCell implements FlushCallback {
 
     private FileStoreProxy[] m_fileStoreProxies;
 
-    private boolean m_isFlushedToFileStore;
+    private volatile boolean m_isFlushedToFileStore;
 
     /**
      * Create a {@link FileStoreCell} with an array of {@link FileStore}s.
@@ -135,6 +136,25 @@ protected FileStore[] getFileStores() {
         return Arrays.stream(m_fileStoreProxies).map(FileStoreProxy::getFileStore).toArray(FileStore[]::new);
     }
 
+    /**
+     * Reads a range of the content of one of the referenced {@link FileStore}s, for instance to read only a header
+     * (image dimensions, model metadata) rather than the entire file. The file is read as is, this method doesn't
+     * call {@link #flushToFileStore()} (so that it can be used while flushing).
+     *
+     * @param fileStoreIndex the index of the file store, see {@link #getFileStores()}
+     * @param position the position of the first byte to read
+     * @param length the number of bytes to read
+     * @return a buffer holding the bytes read, flipped for reading; less than <code>length</code> bytes only if the end
+     *         of the file is reached
+     * @throws IOException if the file can't be read
+     * @see FileStore#read(long, int)
+     * @since 5.12
+     */
+    protected ByteBuffer readFileStoreRange(final int fileStoreIndex, final long position, final int length)
+        throws IOException {
+        return m_fileStoreProxies[fileStoreIndex].getFileStore().read(position, length);
+    }
+
     /**
      * @noreference This method is not intended to be referenced by clients.
      * @since 4.3
@@ -163,7 +183,8 @@ protected void postConstruct() throws IOException {
         // no op.
     }
 
-    void callFlushIfNeeded() throws IOException {
+    // synchronized as the flush may be triggered by a container thread and by the table writer
+    synchronized void callFlushIfNeeded() throws IOException {
         if (!m_isFlushedToFileStore) {
             flushToFileStore();
             m_isFlushedToFileStore = true;
@@ -48,6 +48,7 @@
 package org.knime.core.data.filestore;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -111,6 +112,19 @@ public static int getNumFileStores(final FileStoreCell cell) {
         return cell.getNumFileStores();
     }
 
+    /**
+     * Reads a range of the content of a file store referenced by the given cell, see
+     * {@link FileStoreCell#readFileStoreRange(int, long, int)}. The cell's content is flushed first (if not done yet).
+     *
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static ByteBuffer readFileStoreRange(final FileStoreCell cell, final int fileStoreIndex,
+        final long position, final int length) throws IOException {
+        cell.callFlushIfNeeded();
+        return cell.readFileStoreRange(fileStoreIndex, position, length);
+    }
+
     /** @noreference This method is not intended to be referenced by clients. */
     public static List<FileStore> getFileStores(final FileStorePortObject po) {
         return IntStream.range(0, po.getFileStoreCount()) //
@@ -49,6 +49,11 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 import org.knime.core.data.IDataRepository;
@@ -57,11 +62,13 @@
 import org.knime.core.data.filestore.FileStoreUtil;
 import org.knime.core.data.filestore.internal.FileStoreProxy.FlushCallback;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.WorkflowDataRepository;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.LRUCache;
+import org.knime.core.util.TempSpaceTracker;
 
 /**
  *
@@ -83,6 +90,10 @@ public class WriteFileStoreHandler implements IWriteFileStoreHandler {
 
     private static final int MAX_NR_FILES = (int)Math.pow(FILES_PER_FOLDER, FOLDER_LEVEL + 1);
 
+    /** See {@link KNIMEConstants#PROPERTY_FILESTORE_DEDUPLICATION}. */
+    private static final boolean IS_DEDUPLICATE_COPIES =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_FILESTORE_DEDUPLICATION);
+
     private final String m_name;
     private final UUID m_storeUUID;
     private File m_baseDirInWorkflowFolder;
@@ -90,6 +101,11 @@ public class WriteFileStoreHandler implements IWriteFileStoreHandler {
     private InternalDuplicateChecker m_duplicateChecker;
     private IDataRepository m_dataRepository;
     private LRUCache<FileStoreKey, FileStoreKey> m_createdFileStoreKeys;
+    /** Whether copied file stores are deduplicated, see {@link KNIMEConstants#PROPERTY_FILESTORE_DEDUPLICATION}. */
+    private boolean m_isDeduplicateCopies = IS_DEDUPLICATE_COPIES;
+    /** Content digest and name of copied (single file) file stores to their local copy, only used for
+     * deduplication. */
+    private LRUCache<String, CopiedContent> m_copiedContent;
     private int m_nextIndex = 0;
 
 
@@ -108,6 +124,16 @@ public void addToRepository(final IDataRepository dataRepository) {
         m_dataRepository = dataRepository;
     }
 
+    /**
+     * Enables or disables the deduplication of copied file stores, overriding
+     * {@link KNIMEConstants#PROPERTY_FILESTORE_DEDUPLICATION}. Used in tests.
+     *
+     * @param isDeduplicateCopies that property
+     */
+    void setDeduplicateCopies(final boolean isDeduplicateCopies) {
+        m_isDeduplicateCopies = isDeduplicateCopies;
+    }
+
     public void setBaseDir(final File baseDir) {
         CheckUtils.checkState(baseDir.isDirectory(), "Base directory of file store to node %s does not exist: %s",
             m_name, baseDir.getAbsolutePath());
@@ -188,20 +214,69 @@ private synchronized FileStoreKey copyFileStore(final FileStore fs, final FlushC
             return local;
         }
         FileStore newStore;
+        String contentKey = null;
         try {
             // fixes problem with file store cell that keep things in memory until serialized:
             // notify them that a copy is taken place and that they need to flush their in memory content
             FileStoreUtil.invokeFlush(flushCallback);
+            final File source = fs.getFile();
+            if (m_isDeduplicateCopies && source.isFile()) {
+                // only copies with the same name share a file: clients may rely on the name (e.g. its extension)
+                contentKey = digestContent(source) + "/" + key.getName();
+                final FileStoreKey sharedKey = getCopiedContent(contentKey, source.length());
+                if (sharedKey != null) {
+                    m_createdFileStoreKeys.put(key, sharedKey);
+                    return sharedKey;
+                }
+            }
             newStore = createFileStoreInternal(getNextIndex() + "_" + key.getName(), null, -1);
-            FileUtil.copyDir(fs.getFile(), newStore.getFile());
+            FileUtil.copyDir(source, newStore.getFile());
         } catch (IOException e) {
             throw new RuntimeException("Failed copying file stores to local handler", e);
         }
         final FileStoreKey newKey = FileStoreUtil.getFileStoreKey(newStore);
         m_createdFileStoreKeys.put(key, newKey);
+        if (contentKey != null) {
+            if (m_copiedContent == null) {
+                m_copiedContent = new LRUCache<>(10000);
+            }
+            m_copiedContent.put(contentKey, new CopiedContent(newKey, newStore.getFile().length()));
+        }
         return newKey;
     }
 
+    /**
+     * Looks up a previous copy with the given content digest and name (deduplication of copied file stores).
+     *
+     * @return the key of the local copy or null if there is no such copy
+     */
+    private FileStoreKey getCopiedContent(final String contentKey, final long size) {
+        assert Thread.holdsLock(this);
+        final CopiedContent content = m_copiedContent == null ? null : m_copiedContent.get(contentKey);
+        if (content == null || content.size() != size) {
+            return null;
+        }
+        LOGGER.debugWithFormat("Sharing file store \"%s\" instead of copying identical content", content.key());
+        return content.key();
+    }
+
+    private static String digestContent(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /** {@inheritDoc} */
     @Override
     public FileStore getFileStore(final FileStoreKey key) {
@@ -343,6 +418,7 @@ private void ensureInitBaseDirectory() throws IOException {
             nodeName = nodeName.replaceAll("^(.{5}).*?(\\d+(?:-\\d+)+)", "$1_$2");
             baseDirName.append(nodeName).append("-");
             m_baseDir = FileUtil.createTempDir(baseDirName.toString());
+            TempSpaceTracker.getInstance().onDirectoryCreated(m_baseDir);
             LOGGER.debug("Assigning temp directory to file store \"" + toString() + "\"");
         }
     }
@@ -401,4 +477,8 @@ public static final IFileStoreHandler restore(final String name,
         return fileStoreHandler;
     }
 
+    /** A file store copied into this handler whose file is shared by all copies with identical content and name. */
+    private record CopiedContent(FileStoreKey key, long size) {
+    }
+
 }
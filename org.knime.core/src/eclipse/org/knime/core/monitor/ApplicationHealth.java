@@ -66,6 +66,7 @@
 import javax.management.ObjectName;
 
 import org.knime.core.data.DataTable;
+import org.knime.core.data.container.BlobCache;
 import org.knime.core.data.util.memory.InstanceCounter;
 import org.knime.core.internal.ApplicationHealthInternal;
 import org.knime.core.internal.ApplicationHealthInternal.LoadAvgIntervals;
@@ -81,6 +82,7 @@
 import org.knime.core.monitor.beans.NodeStatesMXBean;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.workflow.WorkflowDataRepository;
+import org.knime.core.util.TempSpaceTracker;
 
 /**
  * Utility class centralizing metrics that can be monitored, e.g. in metrics end points etc. While the class is public,
@@ -134,6 +136,15 @@ public LoadAverages getAverageLoad() {
                     .toList());
         }
 
+        if (TempSpaceTracker.getInstance().isEnabled()) {
+            metrics.put("org.knime.core:type=Disk,name=TempSpaceWorkflows",
+                (CountersMXBean)() -> toCounters(ApplicationHealth.getTempSpaceUsagePerWorkflow()));
+            metrics.put("org.knime.core:type=Disk,name=TempSpaceNodes",
+                (CountersMXBean)() -> toCounters(ApplicationHealth.getTempSpaceUsagePerNode()));
+        }
+        metrics.put("org.knime.core:type=Memory,name=BlobCache",
+            (CountersMXBean)ApplicationHealth::getBlobCacheCounters);
+
         final var mbs = ManagementFactory.getPlatformMBeanServer();
         metrics.entrySet().stream() //
             .map(b -> tryRegisterAsBean(mbs, b.getKey(), b.getValue())) //
@@ -204,6 +215,47 @@ public static long getDataTableCountFor(final String name) {
         return WorkflowDataRepository.takeDataTableCountSnapshotFor(name);
     }
 
+    /**
+     * Temporary disc space (in bytes) used per workflow, see {@link TempSpaceTracker}. Empty unless tracking is enabled
+     * (or a quota is set).
+     *
+     * @return A new map.
+     * @since 5.12
+     */
+    public static Map<String, Long> getTempSpaceUsagePerWorkflow() {
+        return TempSpaceTracker.getInstance().getWorkflowUsage();
+    }
+
+    /**
+     * Temporary disc space (in bytes) used per node, see {@link #getTempSpaceUsagePerWorkflow()}.
+     *
+     * @return A new map.
+     * @since 5.12
+     */
+    public static Map<String, Long> getTempSpaceUsagePerNode() {
+        return TempSpaceTracker.getInstance().getNodeUsage();
+    }
+
+    private static List<Counter> toCounters(final Map<String, Long> counts) {
+        return counts.entrySet().stream().map(e -> new Counter(e.getKey(), e.getValue())).toList();
+    }
+
+    /**
+     * Statistics of the cache holding blob cells read from tables, see {@link BlobCache}: hits, misses, blobs read
+     * ahead, entries and bytes held.
+     *
+     * @return A new list of counters.
+     * @since 5.12
+     */
+    public static List<Counter> getBlobCacheCounters() {
+        final BlobCache cache = BlobCache.getInstance();
+        return List.of(new Counter("hits", cache.getHitCount()), //
+            new Counter("misses", cache.getMissCount()), //
+            new Counter("readAhead", cache.getReadAheadCount()), //
+            new Counter("entries", cache.getEntryCount()), //
+            new Counter("bytes", cache.getBytesHeld()));
+    }
+
     /**
      * An estimate for the number of native nodes currently in executing state (truly executing, not just waiting to be
      * executed).
@@ -58,10 +58,16 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import javax.swing.JComponent;
@@ -186,6 +192,37 @@ static PortObjectSerializer<BufferedDataTable> getPortObjectSerializer() {
     private final KnowsRowCountTable m_delegate;
     private int m_tableID;
     private Node m_owner;
+    /** The data file of this (container) table as last written by {@link #save(File, Set, ExecutionMonitor)} or read
+     * on load, null if none. As the table is immutable the file can be reused by subsequent saves. */
+    private volatile SavedDataFile m_savedDataFile;
+
+    /** Location and identity (file key, size, modification time) of a data file written by a previous save. The
+     * identity is used to verify that the file was not modified or replaced since, without reading its content. */
+    private record SavedDataFile(Path path, Object fileKey, long size, FileTime lastModified) {
+
+        static SavedDataFile of(final Path path) throws IOException {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return new SavedDataFile(path, attrs.fileKey(), attrs.size(), attrs.lastModifiedTime());
+        }
+
+        static SavedDataFile ofOrNull(final Path path) {
+            try {
+                return of(path);
+            } catch (IOException e) { // NOSONAR file is not reused then
+                return null;
+            }
+        }
+
+        SavedDataFile moveTo(final Path newPath) {
+            return new SavedDataFile(newPath, fileKey, size, lastModified);
+        }
+
+        boolean isCurrent() {
+            final SavedDataFile current = ofOrNull(path);
+            return current != null && Objects.equals(fileKey, current.fileKey) && size == current.size
+                && lastModified.equals(current.lastModified);
+        }
+    }
 
     /**
      * Creates a new buffered data table based on a container table (caching everything).
@@ -205,7 +242,8 @@ static PortObjectSerializer<BufferedDataTable> getPortObjectSerializer() {
      */
     BufferedDataTable(final RearrangeColumnsTable table, final IDataRepository dataRepository) {
         this(table,
-            table.getAppendTable() != null ? table.getAppendTable().getTableId() : dataRepository.generateNewID(),
+            !table.isLazy() && table.getAppendTable() != null ? table.getAppendTable().getTableId()
+                : dataRepository.generateNewID(),
             dataRepository);
     }
 
@@ -624,9 +662,14 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
                     s.addString(CFG_TABLE_TYPE, TABLE_TYPE_CONTAINER);
                 }
             }
-            m_delegate.saveToFile(outFile, s, exec);
+            if (!reuseSavedDataFile(outFile)) {
+                m_delegate.saveToFile(outFile, s, exec);
+            }
+            m_savedDataFile = SavedDataFile.ofOrNull(outFile.toPath());
         } else {
             if (m_delegate instanceof RearrangeColumnsTable) {
+                // new columns that are computed while iterating are stored now
+                ((RearrangeColumnsTable)m_delegate).materialize(exec);
                 final ContainerTable containerTable = ((RearrangeColumnsTable)m_delegate).getAppendTable();
                 if (containerTable != null && containerTable instanceof BufferedContainerTable) {
                     final BufferedContainerTable appendTable = (BufferedContainerTable)containerTable;
@@ -747,6 +790,70 @@ static DataTableSpec loadSpec(final ReferencedFile dataPortDir)
         }
     }
 
+    /**
+     * Re-uses the data file written by a previous save (of this very table, which is immutable) instead of writing
+     * the content again. If the previous file is the target file nothing needs to be done, otherwise the file is
+     * hard-linked to the target location or, if that's not supported (e.g. different file systems), copied as is.
+     *
+     * @param outFile the data file to write
+     * @return true if the data file is in place, false if it needs to be written
+     */
+    private boolean reuseSavedDataFile(final File outFile) {
+        final SavedDataFile saved = m_savedDataFile;
+        if (saved == null || !saved.isCurrent()) {
+            return false;
+        }
+        final Path target = outFile.toPath();
+        if (saved.path().equals(target)) {
+            return true;
+        }
+        try {
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, saved.path());
+            } catch (IOException | UnsupportedOperationException linkException) { // NOSONAR fallback to copy
+                Files.copy(saved.path(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            NodeLogger.getLogger(BufferedDataTable.class).debug(() -> String.format(
+                "Unable to re-use data file \"%s\" of table %d, writing it again", saved.path(), m_tableID), e);
+            return false;
+        }
+    }
+
+    /**
+     * Hard-links the data files written by a previous save into <code>nodeDir</code> (of this table and its
+     * references owned by the same node) into the (temporary) <code>stashDir</code>. This way they survive the cleanup
+     * of the node directory that precedes an in-place save of the node and can be re-used by
+     * {@link #save(File, Set, ExecutionMonitor)}. Files that can't be linked are ignored (they are written again).
+     *
+     * @param nodeDir the node directory that is about to be cleaned
+     * @param stashDir the directory to link the files to, created if needed
+     */
+    void stashSavedDataFiles(final Path nodeDir, final Path stashDir) {
+        for (BufferedDataTable reference : m_delegate.getReferenceTables()) {
+            if (reference.getOwner() == getOwner()) {
+                reference.stashSavedDataFiles(nodeDir, stashDir);
+            }
+        }
+        final SavedDataFile saved = m_savedDataFile;
+        if (saved == null || !saved.path().startsWith(nodeDir) || !saved.isCurrent()) {
+            return;
+        }
+        final Path stashed = stashDir.resolve(getBufferedTableId() + ".zip");
+        try {
+            Files.createDirectories(stashDir);
+            if (!Files.exists(stashed)) {
+                Files.createLink(stashed, saved.path());
+            }
+            m_savedDataFile = saved.moveTo(stashed);
+        } catch (IOException | UnsupportedOperationException e) { // NOSONAR file gets written again
+            NodeLogger.getLogger(BufferedDataTable.class).debug(() -> String.format(
+                "Unable to preserve data file \"%s\" of table %d, writing it again", saved.path(), m_tableID), e);
+        }
+    }
+
     /** Factory method to restore a table that has been written using
      * the save method.
      * @param dirRef The directory to load from.
@@ -833,6 +940,8 @@ static BufferedDataTable loadFromFile(final ReferencedFile dirRef,
             case TABLE_TYPE_CONTAINER_COMPRESS: // added in 4.0
                 final ContainerTable cont = BufferedDataContainer.readFromZipDelayed(fileRef, spec, id, dataRepository);
                 t = new BufferedDataTable(cont, id);
+                // the loaded file can be re-used when saving to a different location (save as, auto-save)
+                t.m_savedDataFile = SavedDataFile.ofOrNull(fileRef.getFile().toPath());
                 break;
             case TABLE_TYPE_REARRANGE_COLUMN_CUSTOM:
             case TABLE_TYPE_REARRANGE_COLUMN_COMPRESS:
@@ -937,6 +1046,38 @@ void setOwnerRecursively(final Node owner) {
         }
     }
 
+    /**
+     * Hands this table and its references over to a new owner, as far as they are owned by the old owner. Used by
+     * {@link Node#takeOverTables(Node, PortObject[], Set)}.
+     *
+     * @param oldOwner the current owner
+     * @param newOwner the node taking over the tables
+     */
+    void changeOwnerRecursively(final Node oldOwner, final Node newOwner) {
+        if (m_owner == oldOwner) {
+            m_owner = newOwner;
+            for (BufferedDataTable reference : m_delegate.getReferenceTables()) {
+                reference.changeOwnerRecursively(oldOwner, newOwner);
+            }
+        }
+    }
+
+    /**
+     * @param owners a set of nodes
+     * @return whether this table or any of its (transitive) references is owned by one of the argument nodes
+     */
+    boolean isOwnedByAnyOf(final Set<Node> owners) {
+        if (owners.contains(m_owner)) {
+            return true;
+        }
+        for (BufferedDataTable reference : m_delegate.getReferenceTables()) {
+            if (reference.isOwnedByAnyOf(owners)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** Finds all tables owned by the argument node, which are directly
      * reachable (including this table).
      * @param dataOwner The owner.
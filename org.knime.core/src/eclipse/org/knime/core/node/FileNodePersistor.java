@@ -1434,6 +1434,35 @@ private static void saveFileStoreObjects(final Node node, final ReferencedFile n
         fsSettings.addString("file_store_id", uuidS);
     }
 
+    /**
+     * Preserves the data files of the (output and internally held) tables of the argument node that were written by a
+     * previous save into <code>nodeDir</code> by hard-linking them into <code>stashDir</code>. Called before the node
+     * directory is cleaned for an in-place save so that unchanged tables don't need to be written again. The caller
+     * is responsible for deleting the stash directory once the node is saved.
+     *
+     * @param nnc the node about to be saved
+     * @param nodeDir the node directory
+     * @param stashDir the (temporary) directory to link the files to, created on demand
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public static void stashSavedTableFiles(final NativeNodeContainer nnc, final File nodeDir, final File stashDir) {
+        final Node node = nnc.getNode();
+        final List<PortObject> objects = new ArrayList<>();
+        for (int i = 1; i < node.getNrOutPorts(); i++) {
+            objects.add(node.getOutputObject(i));
+        }
+        final PortObject[] internalObjects = node.getInternalHeldPortObjects();
+        if (internalObjects != null) {
+            objects.addAll(Arrays.asList(internalObjects));
+        }
+        for (PortObject object : objects) {
+            if (object instanceof BufferedDataTable table && table.getOwner() == node) {
+                table.stashSavedDataFiles(nodeDir.toPath(), stashDir.toPath());
+            }
+        }
+    }
+
     private static void saveBufferedDataTable(final BufferedDataTable table, final Set<Integer> savedTableIDs,
         final File directory, final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
         table.save(directory, savedTableIDs, exec);
@@ -144,6 +144,41 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TEMP_DIR_MIN_SPACE_MB = "knime.tmpdir.minspace";
 
+    /**
+     * Java property to enable tracking of the temporary disc space used per workflow and node (data files of tables,
+     * blobs, file stores), as exposed by {@link org.knime.core.monitor.ApplicationHealth}. Tracking is also enabled
+     * when any of the quotas ({@link #PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB}, {@link #PROPERTY_TEMP_DIR_QUOTA_NODE_MB})
+     * is set. The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_TEMP_DIR_TRACKING = "knime.tmpdir.tracking";
+
+    /**
+     * Java property to specify the maximum temporary disc space in MB a workflow may use. Creating further temp files
+     * for a workflow exceeding the quota fails with an error. The default is no quota.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB = "knime.tmpdir.quota.workflow";
+
+    /**
+     * Java property to specify the maximum temporary disc space in MB a single node may use, see
+     * {@link #PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB}. The default is no quota.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_TEMP_DIR_QUOTA_NODE_MB = "knime.tmpdir.quota.node";
+
+    /**
+     * Java property to specify the usage of a temp space quota (in percent) above which tables are written with the
+     * strongest compression (GZIP), regardless of {@link #PROPERTY_TABLE_COMPRESSION}. The default is 75, 100
+     * disables the switch.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_TEMP_DIR_QUOTA_COMPRESSION_PERCENT = "knime.tmpdir.quota.compressionthreshold";
+
     /**
      * Java property to disable the nonsequential handling of rows for KNIME tables. By default, each table container
      * processes its rows asynchronously in a number of (potentially re-used) threads. Setting this field to true will
@@ -235,6 +270,136 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_DISCOURAGE_GC = "knime.discourage.gc";
 
+    /**
+     * Java property to enable the memoization of node outputs: the maximum size in MB of the on-disk cache holding
+     * output tables of nodes implementing {@link MemoizableNodeModel}. If a node is executed with the same inputs,
+     * settings and flow variables as a previous execution, the cached outputs are reused instead of executing the
+     * node. The default is 0 (disabled).
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_NODE_MEMOIZATION_CACHE_SIZE = "knime.node.memoization.cachesize";
+
+    /**
+     * Java property to set the number of threads used to read the settings of the nodes in a workflow (or metanode
+     * or component) concurrently when it's loaded. This also creates the node models concurrently, which is only
+     * safe if their factories and constructors are thread-safe. The default is 1 (the settings are read
+     * sequentially).
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_WORKFLOW_LOAD_THREADS = "knime.workflow.load.threads";
+
+    /**
+     * Java property to set the number of threads used to save the native nodes of a workflow (or metanode or
+     * component) concurrently, including their output and internal tables. Only to be enabled if the node
+     * implementations involved are known to save their internals without accessing the workflow, which is locked by
+     * the saving thread. The default is 1 (sequential saving).
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_WORKFLOW_SAVE_THREADS = "knime.workflow.save.threads";
+
+    /**
+     * Java property to enable the cache of output specs of configured nodes: when a workflow is saved, the specs are
+     * written to a file in the workflow directory, and when it's loaded, they are used instead of configuring the
+     * nodes whose settings and input specs are unchanged. The node models are then configured in the background. If
+     * their output specs differ from the cached ones, the nodes and their successors are configured again (and a
+     * node executed meanwhile fails). The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_WORKFLOW_SPEC_CACHE = "knime.workflow.speccache";
+
+    /**
+     * Java property to enable writing a compact binary copy of each node's settings.xml next to it when a workflow
+     * is saved. When the workflow is loaded, the binary copy is used instead of parsing the XML if it was written from
+     * the identical XML content. The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_BINARY_SETTINGS_CACHE = "knime.settings.binarycache";
+
+    /**
+     * Java property to enable content based deduplication of file stores that are copied into a node's file store
+     * handler (e.g. when file store cells from another table or loop iteration are added to a table). Copies of files
+     * with identical content then share a single file. The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_FILESTORE_DEDUPLICATION = "knime.filestore.deduplication";
+
+    /**
+     * Java property to disable the flushing of file store cells by the (concurrent) container threads. By default,
+     * when rows are handled asynchronously (see {@link #PROPERTY_SYNCHRONOUS_IO}) and the table is written to disk,
+     * the content of the file store cells in a batch of rows is flushed in the container threads before the rows are
+     * handed to the sequential table writer. Setting this property to <code>false</code> flushes the cells only when
+     * the rows are written.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_FILESTORE_BATCH_FLUSH = "knime.filestore.batchflush";
+
+    /**
+     * Java property to store the blob cells of newly written tables packed into a few segment files per column
+     * (plus an index file) instead of one file per blob. This reduces the number of files for tables with many blobs
+     * considerably. Tables written with this option can't be read by versions prior 5.12. The default is
+     * <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_PACKED_BLOBS = "knime.container.packedblobs";
+
+    /**
+     * Java property to set the size of the cache (in MB) holding blob cells read from tables (and blobs read ahead
+     * while iterating a table), shared by all tables. The cache is cleared on low memory. The default is 64MB, 0
+     * disables the cache.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_BLOB_CACHE_SIZE_MB = "knime.container.blobcache.size";
+
+    /**
+     * Java property to enable storing the (already compressed) data, blobs and file stores of a saved table as
+     * uncompressed ("stored") zip entries instead of deflate entries without compression. Stored entries are copied
+     * as is when saving and the data entry is read in place when loading. The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_STORED_TABLE_ZIP_ENTRIES = "knime.container.zip.stored";
+
+    /**
+     * Java property to set the maximum number of partitions (row ranges) into which nodes extending
+     * {@link org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel} with a distributable input split
+     * their input table when executed regularly. The partitions are processed in parallel and their results are
+     * concatenated. Values smaller than 2 disable the partitioning (default), in which case the result is created as
+     * a column rearrange table that only stores the new columns.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_STREAMABLE_FUNCTION_PARTITIONS = "knime.streamablefunction.partitions";
+
+    /**
+     * Java property to disable the deferred computation of new columns created by
+     * {@linkplain org.knime.core.data.container.CellFactory#isSideEffectFree() side-effect-free} cell factories. If
+     * set, column rearrange tables always compute and store their new columns when they are created. Otherwise the
+     * columns are computed while the table is iterated and stored once it's iterated again or saved (tables that are
+     * iterated only once are never stored).
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_DISABLE_LAZY_REARRANGE = "knime.rearranger.lazy.disabled";
+
+    /**
+     * Java property to dictionary encode the string columns of newly written tables: each distinct value of a column
+     * is written only once and subsequently referenced, and the values read back share their cells. Columns with
+     * many distinct values fall back to plain encoding. Tables written with this option can't be read by versions
+     * prior 5.12. The default is <code>false</code>.
+     *
+     * @since 5.12
+     */
+    public static final String PROPERTY_DICTIONARY_ENCODED_STRINGS = "knime.container.dictionarystrings";
+
     /**
      * Java property to enable/disable table stream compression. Compression results in smaller temp-file sizes but also
      * (sometimes significant) longer runtime. By default {@code Gzip} is used.
@@ -260,6 +260,14 @@ static class Input {
     // cases then
     private final Object m_configureLock = new Object();
 
+    /** Input specs of the last configure call if the output specs were taken from a cache and the model is yet to be
+     * configured (see {@link #configureDeferred()}), otherwise null. Guarded by m_configureLock. */
+    private PortObjectSpec[] m_deferredConfigureInSpecs;
+
+    /** Set if the last execution failed because the output specs taken from a cache were outdated, see
+     * {@link #consumeCachedOutputSpecsOutdated()}. Guarded by m_configureLock. */
+    private boolean m_cachedOutputSpecsOutdated;
+
     private final ModifiableNodeCreationConfiguration m_creationConfig;
 
     private final NodeDescription m_adaptedNodeDescription;
@@ -991,6 +999,18 @@ public boolean execute(final PortObject[] rawInData, final ExecutionEnvironment
         // clear the message object
         clearNodeMessageAndNotify();
 
+        // the model's configure may have been deferred on load (output specs taken from cache)
+        // don't run with outdated specs: fail, the node and its successors get configured again afterwards
+        if (!configureDeferred()) {
+            synchronized (m_configureLock) {
+                m_cachedOutputSpecsOutdated = true;
+            }
+            createErrorMessageAndNotify(Message.fromSummary(
+                "Output specs differ from the specs cached when the workflow was saved, node reconfigured. "
+                    + "Execute it again."));
+            return false;
+        }
+
         // loops that override the resetAndConfigureLoopBody (returning true)
         // will not call reset between successive executions
         // => force a clear of the model's content here
@@ -1035,7 +1055,7 @@ public boolean execute(final PortObject[] rawInData, final ExecutionEnvironment
                 exec.checkCanceled();
                 // INVOKE MODEL'S EXECUTE
                 // (warnings will now be processed "automatically" - we listen)
-                rawOutData = invokeFullyNodeModelExecute(exec, exEnv, newInData);
+                rawOutData = invokeFullyNodeModelExecuteMemoized(exec, exEnv, newInData);
                 // e.g. flushes any open containers if the node is a LoopEnd node
                 if (isModelCompatibleTo(RowFlushable.class)) {
                     ((RowFlushable)m_model).flushRows();
@@ -1314,6 +1334,41 @@ public PortObject[] invokeNodeModelExecute(final ExecutionContext exec, final Ex
         return ArrayUtils.remove(extendedOutData, 0);
     }
 
+    /**
+     * Invokes {@link #invokeFullyNodeModelExecute(ExecutionContext, ExecutionEnvironment, PortObject[])} unless the
+     * model is a {@link MemoizableNodeModel} and the outputs of an execution with the same inputs, settings and flow
+     * variables are available in the {@link NodeOutputCache} (only if memoization is enabled).
+     */
+    private PortObject[] invokeFullyNodeModelExecuteMemoized(final ExecutionContext exec,
+        final ExecutionEnvironment exEnv, final PortObject[] inData) throws Exception {
+        final Optional<NodeOutputCache> cache =
+            NodeOutputCache.getInstance().filter(c -> NodeOutputCache.isMemoizable(m_model));
+        if (cache.isEmpty()) {
+            return invokeFullyNodeModelExecute(exec, exEnv, inData);
+        }
+        final var settings = new NodeSettings("memoization");
+        saveModelSettingsTo(settings);
+        final Optional<String> key = cache.get().createKey(getFactory().getFactoryId(), settings,
+            getFlowObjectStack().getAllAvailableFlowVariables(), inData, exec);
+        if (key.isPresent()) {
+            final var memoized = cache.get().lookup(key.get(), exec);
+            if (memoized.isPresent()) {
+                LOGGER.debug("Reusing memoized output of node \"" + getName() + "\"");
+                for (FlowVariable v : memoized.get().pushedVariables()) {
+                    m_model.pushFlowVariable(v);
+                }
+                return memoized.get().outData();
+            }
+        }
+        final PortObject[] outData = invokeFullyNodeModelExecute(exec, exEnv, inData);
+        if (key.isPresent() && m_model.getWarning() == null) {
+            final FlowVariable[] pushedVariables = m_model.getOutgoingFlowObjectStack().getAllAvailableFlowVariables()
+                .values().toArray(FlowVariable[]::new);
+            cache.get().store(key.get(), outData, pushedVariables, exec);
+        }
+        return outData;
+    }
+
     /** Invokes package private method {@link NodeModel#executeModel(PortObject[], ExecutionEnvironment,
      * ExecutionContext)}. The array argument and result include the optional flow variable in- and output (all nodes
      * have at least one in- and one output).
@@ -1907,6 +1962,36 @@ public int removeOutputTablesFromGlobalRepository(final WorkflowDataRepository d
         return result;
     }
 
+    /**
+     * Hands the tables created by another node over to this node: they are disposed when this node is reset and no
+     * longer when the source node is reset. Used to take over the execution result of a node that is reset afterwards
+     * without copying its data (results of loop body copies computing independent loop iterations).
+     *
+     * <p>
+     * Nothing is handed over if the source node created file stores (they are deleted together with its file store
+     * handler) or if any of the tables references a table owned by one of the argument transient owners, whose tables
+     * are disposed together with the ones of the source node.
+     *
+     * @param source the node that created the tables
+     * @param objects output and internal port objects of the source node, non-table elements and null are ignored
+     * @param transientOwners nodes other than the source whose tables are disposed together with the source's tables
+     * @return whether the tables were handed over, if false nothing was changed
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public boolean takeOverTables(final Node source, final PortObject[] objects, final Set<Node> transientOwners) {
+        if (source.getFileStoreHandler() instanceof IWriteFileStoreHandler fsh && fsh.getBaseDir() != null) {
+            return false;
+        }
+        final List<BufferedDataTable> tables = Arrays.stream(objects) //
+            .filter(BufferedDataTable.class::isInstance).map(BufferedDataTable.class::cast).toList();
+        if (tables.stream().anyMatch(t -> t.isOwnedByAnyOf(transientOwners))) {
+            return false;
+        }
+        tables.forEach(t -> t.changeOwnerRecursively(source, this));
+        return true;
+    }
+
     /**
      * Delegate method to allow access to the (package scope) method
      * {@link ExecutionContext#getLocalTableRepository()}. Called after
@@ -2019,6 +2104,7 @@ public boolean configure(final PortObjectSpec[] rawInSpecs, final NodeConfigureH
                 // update data table spec
                 m_outputs[p].spec = null;
             }
+            m_deferredConfigureInSpecs = null;
 
             PortObjectSpec[] newOutSpec =
                 new PortObjectSpec[getNrOutPorts() - 1];
@@ -2047,9 +2133,17 @@ public boolean configure(final PortObjectSpec[] rawInSpecs, final NodeConfigureH
                     configureHelper.preConfigure();
                 }
 
-                // call configure model to create output table specs
-                // guaranteed to return non-null, correct-length array
-                newOutSpec = invokeNodeModelConfigure(inSpecs);
+                // output specs may be known already (workflow load) - the model is then configured later
+                final PortObjectSpec[] cachedOutSpec =
+                    configureHelper != null ? configureHelper.getCachedOutputSpecs(inSpecs) : null;
+                if (cachedOutSpec != null) {
+                    newOutSpec = cachedOutSpec;
+                    m_deferredConfigureInSpecs = inSpecs;
+                } else {
+                    // call configure model to create output table specs
+                    // guaranteed to return non-null, correct-length array
+                    newOutSpec = invokeNodeModelConfigure(inSpecs);
+                }
                 if (configureHelper != null) {
                     newOutSpec = configureHelper.postConfigure(inSpecs, newOutSpec);
                 }
@@ -2110,6 +2204,72 @@ public PortObjectSpec[] invokeNodeModelConfigure(final PortObjectSpec[] inSpecs)
         return newOutSpec;
     }
 
+    /**
+     * @return whether the last configure call took the output specs from a cache and the node model is yet to be
+     *         configured, see {@link #configureDeferred()}
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public boolean isConfigureDeferred() {
+        synchronized (m_configureLock) {
+            return m_deferredConfigureInSpecs != null;
+        }
+    }
+
+    /**
+     * Configures the node model if that was deferred because the output specs were taken from a cache
+     * (see {@link NodeConfigureHelper#getCachedOutputSpecs(PortObjectSpec[])}), does nothing otherwise.
+     *
+     * @return <code>false</code> if the node model failed to configure or its output specs differ from the cached
+     *         ones (the caller then needs to configure the node again, including its successors), <code>true</code>
+     *         otherwise
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public boolean configureDeferred() {
+        synchronized (m_configureLock) {
+            final PortObjectSpec[] inSpecs = m_deferredConfigureInSpecs;
+            if (inSpecs == null) {
+                return true;
+            }
+            m_deferredConfigureInSpecs = null;
+            try {
+                final PortObjectSpec[] newOutSpec = invokeNodeModelConfigure(inSpecs);
+                for (int p = 0; p < newOutSpec.length; p++) {
+                    if (!Objects.equals(newOutSpec[p], m_outputs[p + 1].spec)) {
+                        LOGGER.debugWithFormat("Cached output spec at port %d outdated (%s)", p + 1, getName());
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InvalidSettingsException e) {
+                LOGGER.warn("Deferred configure failed (" + getName() + "): " + e.getMessage(), e);
+                return false;
+            } catch (Throwable t) { // NOSONAR
+                LOGGER.error("Deferred configure failed (" + getName() + "), caught \""
+                    + t.getClass().getSimpleName() + "\": " + t.getMessage(), t);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the last {@link #execute(PortObject[], ExecutionEnvironment, ExecutionContext) execution}
+     * failed because the deferred configure (see {@link #configureDeferred()}) produced output specs different from
+     * the cached ones, and clears that flag. The caller is then to configure the node and its successors again.
+     *
+     * @return that property
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public boolean consumeCachedOutputSpecsOutdated() {
+        synchronized (m_configureLock) {
+            final boolean result = m_cachedOutputSpecsOutdated;
+            m_cachedOutputSpecsOutdated = false;
+            return result;
+        }
+    }
+
     /**
      * @return The number of available views.
      */
@@ -78,4 +78,18 @@ public interface NodeConfigureHelper {
     public PortObjectSpec[] postConfigure(final PortObjectSpec[] inSpecs,
             PortObjectSpec[] nodeModelOutSpecs) throws InvalidSettingsException;
 
+    /**
+     * Called after {@link #preConfigure()}; if output specs are returned, they are used instead of calling
+     * NodeModel's configure, which is deferred until {@link Node#configureDeferred()} is called (used on workflow load
+     * when the output specs of the node are known from a previous session).
+     *
+     * @param inSpecs port object specs from predecessor node(s)
+     * @return the output specs of the node model or <code>null</code> (default) if the node model needs to be
+     *         configured
+     * @since 5.12
+     */
+    default PortObjectSpec[] getCachedOutputSpecs(final PortObjectSpec[] inSpecs) {
+        return null;
+    }
+
 }
@@ -602,7 +602,12 @@ PortObject[] executeModel(final PortObject[] rawData, final ExecutionEnvironment
         PortObject[] outData;
         try {
             if (!exEnv.reExecute()) {
-                outData = execute(data, exec);
+                if (exEnv.getPartitionCount() > 0 && StreamableOperatorExecutor.canStream(this, data)) {
+                    outData = new StreamableOperatorExecutor(this, exEnv.getPartitionCount())
+                        .execute(data, exec);
+                } else {
+                    outData = execute(data, exec);
+                }
             } else {
                 if (this instanceof ReExecutable) {
                     @SuppressWarnings("rawtypes")
@@ -0,0 +1,434 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.container.BlobWrapperDataCell;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.container.LongUTFDataOutputStream;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.data.filestore.FileStoreKey;
+import org.knime.core.data.filestore.FileStoreUtil;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectHolder;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.ScopeEndNode;
+import org.knime.core.node.workflow.ScopeStartNode;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Bounded on-disk cache of node outputs, used to memoize the execution of nodes implementing
+ * {@link MemoizableNodeModel}. Entries are identified by a fingerprint (SHA-256) of the node type, the node settings,
+ * the available flow variables and the input tables. Input tables are identified by a content digest, which is
+ * computed once per table; tables created by a memoized node are identified by the fingerprint of the execution that
+ * created them, so chains of memoized nodes don't need to scan their inputs.
+ *
+ * <p>
+ * The output tables are written to a temp directory; the least recently used entries are dropped if the size limit
+ * ({@link KNIMEConstants#PROPERTY_NODE_MEMOIZATION_CACHE_SIZE}) is exceeded. The cache lives as long as the JVM.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeOutputCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeOutputCache.class);
+
+    private static final NodeOutputCache INSTANCE = createInstance();
+
+    /** The outputs and pushed flow variables of a memoized node execution. */
+    record MemoizedOutput(PortObject[] outData, FlowVariable[] pushedVariables) {
+    }
+
+    private record Entry(File[] tableFiles, FlowVariable[] pushedVariables, long sizeInBytes) {
+    }
+
+    private final long m_maxSizeInBytes;
+
+    /** Entries in access order (least recently used first), guarded by 'this'. */
+    private final LinkedHashMap<String, Entry> m_entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Fingerprints of tables, either content digests or derived from the execution that created them. */
+    private final Map<BufferedDataTable, String> m_tableFingerprints =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private long m_sizeInBytes;
+
+    private File m_cacheDir;
+
+    NodeOutputCache(final long maxSizeInBytes) {
+        m_maxSizeInBytes = maxSizeInBytes;
+    }
+
+    private static NodeOutputCache createInstance() {
+        final long sizeInMB = Long.getLong(KNIMEConstants.PROPERTY_NODE_MEMOIZATION_CACHE_SIZE, 0L);
+        if (sizeInMB <= 0) {
+            return null;
+        }
+        LOGGER.debugWithFormat("Node output memoization enabled, cache size %d MB", sizeInMB);
+        return new NodeOutputCache(sizeInMB << 20);
+    }
+
+    /**
+     * @return the cache if memoization is enabled via {@link KNIMEConstants#PROPERTY_NODE_MEMOIZATION_CACHE_SIZE}
+     */
+    static Optional<NodeOutputCache> getInstance() {
+        return Optional.ofNullable(INSTANCE);
+    }
+
+    /**
+     * @param model the model in question
+     * @return whether executions of this model can be memoized
+     */
+    static boolean isMemoizable(final NodeModel model) {
+        return model instanceof MemoizableNodeModel && !(model instanceof ScopeStartNode)
+            && !(model instanceof ScopeEndNode) && !(model instanceof BufferedDataTableHolder)
+            && !(model instanceof PortObjectHolder);
+    }
+
+    /**
+     * Computes the fingerprint of a node execution.
+     *
+     * @param factoryId the id of the node factory
+     * @param settings the node's model settings
+     * @param flowVariables the flow variables available to the node
+     * @param inData the input data, including the flow variable port
+     * @param exec to check for cancelation
+     * @return the fingerprint or an empty optional if the inputs aren't supported (non-table port objects)
+     * @throws CanceledExecutionException if canceled while computing the digest of an input table
+     */
+    Optional<String> createKey(final String factoryId, final NodeSettings settings,
+        final Map<String, FlowVariable> flowVariables, final PortObject[] inData, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final var digest = newDigest();
+        update(digest, factoryId);
+        try {
+            final var settingsBytes = new ByteArrayOutputStream();
+            settings.saveToXML(settingsBytes);
+            digest.update(settingsBytes.toByteArray());
+        } catch (IOException e) {
+            LOGGER.debug(() -> "Unable to serialize node settings, not memoizing: " + e.getMessage(), e);
+            return Optional.empty();
+        }
+        for (FlowVariable v : new TreeMap<>(flowVariables).values()) {
+            update(digest, v.getName());
+            update(digest, v.getVariableType().getIdentifier());
+            update(digest, v.getValueAsString());
+        }
+        for (int i = 1; i < inData.length; i++) {
+            if (inData[i] == null) {
+                update(digest, "<none>");
+            } else if (inData[i] instanceof BufferedDataTable table) {
+                try {
+                    update(digest, getTableFingerprint(table, exec));
+                } catch (IOException e) {
+                    LOGGER.debug(() -> "Unable to serialize input table, not memoizing: " + e.getMessage(), e);
+                    return Optional.empty();
+                }
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Returns the fingerprint of the table, computing (and remembering) a digest of its content if unknown. The
+     * digest covers the serialized spec and the row keys and cells as written by the cells' serializers.
+     */
+    String getTableFingerprint(final BufferedDataTable table, final ExecutionMonitor exec)
+        throws CanceledExecutionException, IOException {
+        final String known = m_tableFingerprints.get(table);
+        if (known != null) {
+            return known;
+        }
+        final var digest = newDigest();
+        final var specSettings = new NodeSettings("spec");
+        table.getDataTableSpec().save(specSettings);
+        final var specBytes = new ByteArrayOutputStream();
+        specSettings.saveToXML(specBytes);
+        digest.update(specBytes.toByteArray());
+        try (CloseableRowIterator it = table.iterator();
+                var out = new DigestDataOutput(digest)) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                final DataRow row = it.next();
+                out.writeUTF(row.getKey().getString());
+                for (DataCell cell : row) {
+                    out.writeDataCell(cell);
+                }
+            }
+        }
+        final String fingerprint = HexFormat.of().formatHex(digest.digest());
+        m_tableFingerprints.put(table, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Retrieves the outputs of a previous execution. The tables are restored as new tables owned by the argument
+     * context.
+     *
+     * @param key the fingerprint of the execution, see {@link #createKey(String, NodeSettings, Map, PortObject[],
+     *            ExecutionMonitor)}
+     * @param exec to create the tables
+     * @return the memoized output or an empty optional if not cached (or the cached data can't be read)
+     * @throws CanceledExecutionException if canceled while restoring the tables
+     */
+    Optional<MemoizedOutput> lookup(final String key, final ExecutionContext exec) throws CanceledExecutionException {
+        final Entry entry;
+        synchronized (this) {
+            entry = m_entries.get(key);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        final var outData = new PortObject[entry.tableFiles().length + 1];
+        outData[0] = FlowVariablePortObject.INSTANCE;
+        try {
+            for (int i = 0; i < entry.tableFiles().length; i++) {
+                final ContainerTable cached = DataContainer.readFromZip(entry.tableFiles()[i]);
+                try {
+                    outData[i + 1] = exec.createBufferedDataTable(cached,
+                        exec.createSubProgress(1.0 / entry.tableFiles().length));
+                } finally {
+                    cached.clear();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug(() -> "Unable to read memoized node output, discarding cache entry: " + e.getMessage(), e);
+            for (int i = 1; i < outData.length; i++) {
+                if (outData[i] instanceof BufferedDataTable table) {
+                    exec.clearTable(table);
+                }
+            }
+            synchronized (this) {
+                if (m_entries.get(key) == entry) {
+                    remove(key);
+                }
+            }
+            return Optional.empty();
+        }
+        registerOutputFingerprints(key, outData);
+        return Optional.of(new MemoizedOutput(outData, entry.pushedVariables().clone()));
+    }
+
+    /**
+     * Caches the outputs of an execution. Outputs other than data tables (and the flow variable port) and tables
+     * containing file store cells are not supported and silently ignored.
+     *
+     * @param key the fingerprint of the execution
+     * @param outData the outputs, including the flow variable port
+     * @param pushedVariables the flow variables pushed by the node
+     * @param exec for cancelation
+     * @throws CanceledExecutionException if canceled while writing
+     */
+    void store(final String key, final PortObject[] outData, final FlowVariable[] pushedVariables,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        registerOutputFingerprints(key, outData);
+        for (int i = 1; i < outData.length; i++) {
+            if (!(outData[i] instanceof BufferedDataTable table) || containsFileStoreCells(table)) {
+                return;
+            }
+        }
+        synchronized (this) {
+            if (m_entries.containsKey(key)) {
+                return;
+            }
+        }
+        final var files = new File[outData.length - 1];
+        long size = 0;
+        try {
+            final File dir = getCacheDir();
+            for (int i = 0; i < files.length; i++) {
+                files[i] = new File(dir, key + "_" + i + ".zip");
+                DataContainer.writeToZip((BufferedDataTable)outData[i + 1], files[i], exec.createSilentSubProgress(0));
+                size += files[i].length();
+            }
+        } catch (IOException e) {
+            LOGGER.debug(() -> "Unable to memoize node output: " + e.getMessage(), e);
+            deleteFiles(files);
+            return;
+        }
+        if (size > m_maxSizeInBytes) {
+            deleteFiles(files);
+            return;
+        }
+        synchronized (this) {
+            remove(key);
+            m_entries.put(key, new Entry(files, pushedVariables.clone(), size));
+            m_sizeInBytes += size;
+            while (m_sizeInBytes > m_maxSizeInBytes) {
+                remove(m_entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    /** @return the number of cached executions */
+    synchronized int size() {
+        return m_entries.size();
+    }
+
+    /** @return the size of all cached tables on disk */
+    synchronized long getSizeInBytes() {
+        return m_sizeInBytes;
+    }
+
+    private void registerOutputFingerprints(final String key, final PortObject[] outData) {
+        for (int i = 1; i < outData.length; i++) {
+            if (outData[i] instanceof BufferedDataTable table) {
+                final var digest = newDigest();
+                update(digest, key);
+                update(digest, Integer.toString(i));
+                m_tableFingerprints.put(table, HexFormat.of().formatHex(digest.digest()));
+            }
+        }
+    }
+
+    private void remove(final String key) {
+        assert Thread.holdsLock(this);
+        final Entry old = m_entries.remove(key);
+        if (old != null) {
+            m_sizeInBytes -= old.sizeInBytes();
+            deleteFiles(old.tableFiles());
+        }
+    }
+
+    private synchronized File getCacheDir() throws IOException {
+        if (m_cacheDir == null) {
+            m_cacheDir = FileUtil.createTempDir("knime_memoization_", new File(KNIMEConstants.getKNIMETempDir()));
+        }
+        return m_cacheDir;
+    }
+
+    private static boolean containsFileStoreCells(final BufferedDataTable table) {
+        for (DataColumnSpec col : table.getDataTableSpec()) {
+            final Class<? extends DataCell> cellClass = col.getType().getCellClass();
+            if (cellClass != null && FileStoreCell.class.isAssignableFrom(cellClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void deleteFiles(final File[] files) {
+        for (File f : files) {
+            if (f != null && f.exists() && !f.delete()) {
+                LOGGER.debug("Unable to delete memoized node output " + f.getAbsolutePath());
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    /**
+     * Feeds the serialized form of cells into a digest. Cells are written by their {@link DataCellSerializer}, cells
+     * without one via java serialization. File store cells add the keys of their file stores, as their serialized
+     * form doesn't include the file content.
+     */
+    private static final class DigestDataOutput extends LongUTFDataOutputStream implements DataCellDataOutput {
+
+        DigestDataOutput(final MessageDigest digest) {
+            super(new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest)));
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            final DataCell c = cell instanceof BlobWrapperDataCell wrapper ? wrapper.getCell() : cell;
+            writeUTF(c.getClass().getName());
+            final Optional<DataCellSerializer<DataCell>> serializer =
+                DataTypeRegistry.getInstance().getSerializer(c.getClass());
+            if (serializer.isPresent()) {
+                serializer.get().serialize(c, this);
+            } else {
+                final var objectOut = new ObjectOutputStream(this);
+                objectOut.writeObject(c);
+                objectOut.flush();
+            }
+            if (c instanceof FileStoreCell fsCell) {
+                for (FileStoreKey key : FileStoreUtil.getFileStoreKeys(fsCell)) {
+                    writeUTF(key.toString());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,404 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.MergeOperator;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PartitionRunner;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+
+/**
+ * Executes a {@link NodeModel} in-core through its {@link StreamableOperator} rather than its
+ * {@link NodeModel#execute(PortObject[], ExecutionContext) execute} method. Distributable inputs are split into
+ * contiguous row ranges that are processed by separate operator instances in parallel; their results are combined
+ * using the node's {@link MergeOperator}, distributed table outputs are concatenated in partition order.
+ *
+ * <p>
+ * Used when a node is executed with an {@link org.knime.core.node.workflow.ExecutionEnvironment} that
+ * {@linkplain org.knime.core.node.workflow.ExecutionEnvironment#getPartitionCount() asks for partitions}.
+ * Nodes that don't provide a streamable implementation are executed regularly, see
+ * {@link #canStream(NodeModel, PortObject[])}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamableOperatorExecutor {
+
+    /** Distributable inputs are only split if each partition gets at least that many rows. */
+    static final long MIN_ROWS_PER_PARTITION = 4096;
+
+    private final NodeModel m_model;
+
+    private final int m_maxPartitionCount;
+
+    private final InputPortRole[] m_inRoles;
+
+    private final OutputPortRole[] m_outRoles;
+
+    /**
+     * @param model the node model to execute
+     * @param maxPartitionCount upper bound for the number of partitions of distributable inputs, at least 1
+     */
+    StreamableOperatorExecutor(final NodeModel model, final int maxPartitionCount) {
+        m_model = model;
+        m_maxPartitionCount = Math.max(1, maxPartitionCount);
+        m_inRoles = model.getInputPortRoles();
+        m_outRoles = model.getOutputPortRoles();
+    }
+
+    /**
+     * Whether the model can be executed by this class. That is the case if it declares at least one streamable or
+     * distributable input (otherwise its operator just wraps the execute method), if all these inputs are
+     * populated with tables and if it provides a merge operator in case non-distributable outputs are to be
+     * computed from distributed inputs.
+     *
+     * @param model the model in question
+     * @param data its input data (excluding the flow variable port)
+     * @return that property
+     */
+    static boolean canStream(final NodeModel model, final PortObject[] data) {
+        final var inRoles = model.getInputPortRoles();
+        if (inRoles.length != data.length) {
+            return false;
+        }
+        var hasStreamableInput = false;
+        var isDistributed = false;
+        for (var i = 0; i < data.length; i++) {
+            if (data[i] instanceof InactiveBranchPortObject) {
+                return false;
+            }
+            if (inRoles[i].isStreamable() || inRoles[i].isDistributable()) {
+                if (!(data[i] instanceof BufferedDataTable)) {
+                    return false;
+                }
+                hasStreamableInput = true;
+                isDistributed |= inRoles[i].isDistributable();
+            }
+        }
+        if (!hasStreamableInput) {
+            return false;
+        }
+        final var hasNonDistributedOutput =
+            Arrays.stream(model.getOutputPortRoles()).anyMatch(r -> !r.isDistributable());
+        return !(isDistributed && hasNonDistributedOutput && model.createMergeOperator() == null);
+    }
+
+    /**
+     * Runs the streamable execution.
+     *
+     * @param data the input data (excluding the flow variable port)
+     * @param exec the context of the node execution
+     * @return the output objects (excluding the flow variable port)
+     * @throws Exception as thrown by the node's operators or merge
+     */
+    PortObject[] execute(final PortObject[] data, final ExecutionContext exec) throws Exception {
+        final var inSpecs = new PortObjectSpec[data.length];
+        for (var i = 0; i < data.length; i++) {
+            inSpecs[i] = data[i] == null ? null : data[i].getSpec();
+        }
+        final boolean isDistributed = Arrays.stream(m_inRoles).anyMatch(InputPortRole::isDistributable);
+        final int partitionCount = isDistributed ? getPartitionCount(data) : 1;
+        final MergeOperator merge = m_model.createMergeOperator();
+
+        StreamableOperatorInternals internals = m_model.createInitialStreamableOperatorInternals();
+        while (internals != null && m_model.iterate(internals)) {
+            exec.checkCanceled();
+            final var loadedInternals = internals;
+            final List<StreamableOperatorInternals> intermediates =
+                runPartitions(partitionCount, exec, false, (op, partition, subExec) -> {
+                    op.loadInternals(loadedInternals);
+                    op.runIntermediate(createInputs(data, partition, partitionCount), subExec);
+                    return op.saveInternals();
+                }, inSpecs);
+            internals = merge != null ? merge.mergeIntermediate(intermediates.toArray(StreamableOperatorInternals[]::new))
+                : intermediates.get(0);
+        }
+
+        final PortObjectSpec[] outSpecs = m_model.computeFinalOutputSpecs(internals, inSpecs);
+        final var finalInternals = internals;
+        final List<PartitionResult> results = runPartitions(partitionCount, exec, true, (op, partition, subExec) -> {
+            if (finalInternals != null) {
+                op.loadInternals(finalInternals);
+            }
+            final PortOutput[] outputs = createOutputs(outSpecs, subExec, isDistributed);
+            op.runFinal(createInputs(data, partition, partitionCount), outputs, subExec);
+            closeOutputs(outputs);
+            return new PartitionResult(outputs, op.saveInternals());
+        }, inSpecs);
+
+        PortOutput[] finishOutputs = new PortOutput[m_outRoles.length];
+        if (merge != null) {
+            final var merged = merge.mergeFinal(
+                results.stream().map(PartitionResult::internals).toArray(StreamableOperatorInternals[]::new));
+            if (isDistributed) {
+                finishOutputs = createNonDistributedOutputs(outSpecs, exec);
+            }
+            m_model.finishStreamableExecution(merged, exec, finishOutputs);
+            closeOutputs(finishOutputs);
+        }
+
+        final var outData = new PortObject[m_outRoles.length];
+        final var concatExec = exec.createSubExecutionContext(0.1);
+        for (var i = 0; i < outData.length; i++) {
+            if (finishOutputs[i] != null) {
+                outData[i] = getResult(finishOutputs[i]);
+            } else if (!isDistributed || !m_outRoles[i].isDistributable()) {
+                outData[i] = getResult(results.get(0).outputs()[i]);
+            } else {
+                outData[i] = concatenate(results, i, concatExec);
+            }
+        }
+        return outData;
+    }
+
+    private int getPartitionCount(final PortObject[] data) {
+        long rowCount = -1;
+        for (var i = 0; i < data.length; i++) {
+            if (!m_inRoles[i].isDistributable()) {
+                continue;
+            }
+            if (!m_inRoles[i].isStreamable()) {
+                // whole table is handed to the operator, cannot be split
+                return 1;
+            }
+            final long size = ((BufferedDataTable)data[i]).size();
+            if (rowCount >= 0 && rowCount != size) {
+                // partitions of different inputs would not correspond to each other
+                return 1;
+            }
+            rowCount = size;
+        }
+        final long byRowCount = Math.max(1, rowCount / MIN_ROWS_PER_PARTITION);
+        return (int)Math.min(m_maxPartitionCount, byRowCount);
+    }
+
+    private PortInput[] createInputs(final PortObject[] data, final int partition, final int partitionCount) {
+        final var inputs = new PortInput[data.length];
+        for (var i = 0; i < data.length; i++) {
+            if (data[i] == null) {
+                continue;
+            }
+            if (!m_inRoles[i].isStreamable()) {
+                inputs[i] = new PortObjectInput(data[i]);
+            } else {
+                final var table = (BufferedDataTable)data[i];
+                final long size = table.size();
+                if (m_inRoles[i].isDistributable() && partitionCount > 1) {
+                    final long from = size * partition / partitionCount;
+                    final long to = size * (partition + 1) / partitionCount - 1;
+                    inputs[i] = new DataTableRowInput(table, TableFilter.filterRangeOfRows(from, to));
+                } else {
+                    inputs[i] = new DataTableRowInput(table);
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private PortOutput[] createOutputs(final PortObjectSpec[] outSpecs, final ExecutionContext exec,
+        final boolean isDistributed) {
+        final var outputs = new PortOutput[m_outRoles.length];
+        for (var i = 0; i < outputs.length; i++) {
+            if (!isDistributed || m_outRoles[i].isDistributable()) {
+                outputs[i] = createOutput(i, outSpecs, exec);
+            }
+        }
+        return outputs;
+    }
+
+    private PortOutput[] createNonDistributedOutputs(final PortObjectSpec[] outSpecs, final ExecutionContext exec) {
+        final var outputs = new PortOutput[m_outRoles.length];
+        for (var i = 0; i < outputs.length; i++) {
+            if (!m_outRoles[i].isDistributable()) {
+                outputs[i] = createOutput(i, outSpecs, exec);
+            }
+        }
+        return outputs;
+    }
+
+    private PortOutput createOutput(final int port, final PortObjectSpec[] outSpecs, final ExecutionContext exec) {
+        if (m_model.getOutPortType(port).equals(BufferedDataTable.TYPE)) {
+            final var spec = outSpecs != null && outSpecs[port] instanceof DataTableSpec s ? s : null;
+            return new TableRowOutput(spec, exec);
+        }
+        return new PortObjectOutput();
+    }
+
+    private static void closeOutputs(final PortOutput[] outputs) throws InterruptedException {
+        for (PortOutput output : outputs) {
+            if (output instanceof TableRowOutput tableOutput) {
+                tableOutput.close();
+            }
+        }
+    }
+
+    private static PortObject getResult(final PortOutput output) {
+        if (output instanceof TableRowOutput tableOutput) {
+            return tableOutput.getResult();
+        }
+        return ((PortObjectOutput)output).getPortObject();
+    }
+
+    private static PortObject concatenate(final List<PartitionResult> results, final int port,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        final var tables = new ArrayList<BufferedDataTable>(results.size());
+        for (PartitionResult result : results) {
+            final var table = getResult(result.outputs()[port]);
+            if (table instanceof InactiveBranchPortObject) {
+                return table;
+            }
+            tables.add((BufferedDataTable)table);
+        }
+        if (tables.size() == 1) {
+            return tables.get(0);
+        }
+        return exec.createConcatenateTable(exec, tables.toArray(BufferedDataTable[]::new));
+    }
+
+    /**
+     * Creates an operator for each partition and runs the task on it, see {@link PartitionRunner}.
+     */
+    private <T> List<T> runPartitions(final int partitionCount, final ExecutionContext exec,
+        final boolean reportProgress, final PartitionTask<T> task, final PortObjectSpec[] inSpecs) throws Exception {
+        final var operators = new StreamableOperator[partitionCount];
+        final var subExecs = new ExecutionContext[partitionCount];
+        for (var p = 0; p < partitionCount; p++) {
+            operators[p] = m_model.createStreamableOperator(new PartitionInfo(p, partitionCount), inSpecs);
+            subExecs[p] = reportProgress ? exec.createSubExecutionContext(0.9 / partitionCount)
+                : exec.createSilentSubExecutionContext(0.0);
+        }
+        return PartitionRunner.run(partitionCount, p -> task.run(operators[p], p, subExecs[p]));
+    }
+
+    @FunctionalInterface
+    private interface PartitionTask<T> {
+        T run(StreamableOperator operator, int partition, ExecutionContext exec) throws Exception;
+    }
+
+    private record PartitionResult(PortOutput[] outputs, StreamableOperatorInternals internals) {
+    }
+
+    /**
+     * Collects the rows of a table output. The container is only created when rows are pushed; a table that is set
+     * {@linkplain #setFully(BufferedDataTable) fully} (as done by the default operator) is taken over without copying.
+     */
+    private static final class TableRowOutput extends RowOutput {
+
+        private final DataTableSpec m_spec;
+
+        private final ExecutionContext m_exec;
+
+        private BufferedDataContainer m_container;
+
+        private PortObject m_result;
+
+        TableRowOutput(final DataTableSpec spec, final ExecutionContext exec) {
+            m_spec = spec;
+            m_exec = exec;
+        }
+
+        @Override
+        public void push(final DataRow row) throws InterruptedException {
+            getContainer().addRowToTable(row);
+        }
+
+        @Override
+        public void setFully(final BufferedDataTable table) throws InterruptedException {
+            if (m_container == null && m_result == null) {
+                m_result = table;
+            } else {
+                super.setFully(table);
+            }
+        }
+
+        @Override
+        public void setInactive() {
+            m_result = InactiveBranchPortObject.INSTANCE;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            if (m_result == null) {
+                final var container = getContainer();
+                container.close();
+                m_result = container.getTable();
+            }
+        }
+
+        private BufferedDataContainer getContainer() {
+            if (m_container == null) {
+                if (m_spec == null) {
+                    throw new IllegalStateException("Output spec is not known, rows can only be set as full table");
+                }
+                m_container = m_exec.createDataContainer(m_spec);
+            }
+            return m_container;
+        }
+
+        PortObject getResult() {
+            return m_result;
+        }
+    }
+
+}
@@ -47,12 +47,17 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.util.CheckUtils;
 
 /** Default implementation of a {@link RowInput}. It reads data
  * from a {@link DataTable}.
@@ -78,6 +83,24 @@ public DataTableRowInput(final DataTable table) {
         }
     }
 
+    /**
+     * Initialize with the rows of a table that pass a filter, e.g. a range of rows (see
+     * {@link TableFilter#filterRangeOfRows(long, long)}). Column filters are not supported, the spec is the table's.
+     *
+     * @param table The table to read from.
+     * @param filter The filter selecting the rows to read.
+     * @since 5.12
+     */
+    public DataTableRowInput(final BufferedDataTable table, final TableFilter filter) {
+        CheckUtils.checkArgument(filter.getMaterializeColumnIndices().isEmpty(), "Column filters are not supported");
+        m_tableSpec = table.getDataTableSpec();
+        m_iterator = table.filter(filter).iterator();
+        final long size = table.size();
+        final long from = filter.getFromRowIndex().orElse(0L);
+        final long to = Math.min(filter.getToRowIndex().orElse(size - 1), size - 1);
+        m_rowCount = Math.max(0, to - from + 1);
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataTableSpec getDataTableSpec() {
@@ -93,6 +116,23 @@ public DataRow poll() throws InterruptedException {
         return null;
     }
 
+    /**
+     * Returns the next rows of the table's iterator. Subclasses that override {@link #poll()} get the default
+     * implementation, which delegates to their {@link #poll()}. {@inheritDoc}
+     */
+    @Override
+    public DataRow[] pollBatch(final int maxRows) throws InterruptedException {
+        if (getClass() != DataTableRowInput.class || !m_iterator.hasNext()) {
+            // subclasses may override poll(); argument check and end of stream
+            return super.pollBatch(maxRows);
+        }
+        final List<DataRow> rows = new ArrayList<>(Math.min(maxRows, 1024));
+        while (rows.size() < maxRows && m_iterator.hasNext()) {
+            rows.add(m_iterator.next());
+        }
+        return rows.toArray(DataRow[]::new);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
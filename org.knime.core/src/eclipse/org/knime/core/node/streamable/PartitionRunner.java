@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.streamable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Runs a task for each partition of a node execution in parallel: partition 0 in the calling thread, all others in
+ * the {@linkplain KNIMEConstants#GLOBAL_THREAD_POOL global thread pool} with the caller's {@link NodeContext}. The
+ * calling thread waits for the others without occupying a slot of its pool; if any partition fails, all others are
+ * cancelled and the failure is rethrown as thrown by the task.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class PartitionRunner {
+
+    private PartitionRunner() {
+    }
+
+    /**
+     * The work done for a single partition.
+     *
+     * @param <T> the type of the partition result
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+
+        /**
+         * @param partition the index of the partition, 0 &lt;= partition &lt; partitionCount
+         * @return the result of the partition
+         * @throws Exception any exception to abort the execution of all partitions
+         */
+        T run(int partition) throws Exception;
+    }
+
+    /**
+     * Runs the task for each partition and waits until all of them are done.
+     *
+     * @param <T> the type of the partition results
+     * @param partitionCount number of partitions, at least 1
+     * @param task the task to run for each partition
+     * @return the results of the partitions, in partition order
+     * @throws Exception as thrown by the task of any partition
+     */
+    public static <T> List<T> run(final int partitionCount, final Task<T> task) throws Exception {
+        if (partitionCount == 1) {
+            return List.of(task.run(0));
+        }
+        final NodeContext context = NodeContext.getContext();
+        final List<Future<T>> futures = new ArrayList<>(partitionCount - 1);
+        for (var p = 1; p < partitionCount; p++) {
+            final int partition = p;
+            futures.add(KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> {
+                if (context != null) {
+                    NodeContext.pushContext(context);
+                }
+                try {
+                    return task.run(partition);
+                } finally {
+                    if (context != null) {
+                        NodeContext.removeLastContext();
+                    }
+                }
+            }));
+        }
+        final var results = new ArrayList<T>(partitionCount);
+        try {
+            results.add(task.run(0));
+            final Callable<Void> waitForOthers = () -> {
+                for (Future<T> future : futures) {
+                    results.add(future.get());
+                }
+                return null;
+            };
+            final ThreadPool currentPool = ThreadPool.currentPool();
+            if (currentPool != null) {
+                currentPool.runInvisible(waitForOthers);
+            } else {
+                waitForOthers.call();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw unwrap(e);
+        } catch (Exception e) { // NOSONAR cancel all partitions on any failure
+            futures.forEach(f -> f.cancel(true));
+            throw e;
+        }
+        return results;
+    }
+
+    private static Exception unwrap(final ExecutionException e) {
+        var cause = e.getCause();
+        // runInvisible wraps the exception of future.get() another time
+        while (cause instanceof ExecutionException ee && ee.getCause() != null) {
+            cause = ee.getCause();
+        }
+        if (cause instanceof Exception ex) {
+            return ex;
+        }
+        if (cause instanceof Error err) {
+            throw err;
+        }
+        return e;
+    }
+
+}
@@ -140,6 +140,22 @@ public void commit(final RowRead row) {
      */
     public abstract void push(final DataRow row) throws InterruptedException;
 
+    /**
+     * Adds new rows to the output, the batch counterpart of {@link #push(DataRow)} which allows implementations to
+     * hand off multiple rows at once to downstream nodes. The default implementation pushes the rows one by one.
+     *
+     * @param rows the rows to add; the array is handed over to the output, i.e. the caller must not modify it
+     *            afterwards
+     * @throws InterruptedException If canceled.
+     * @throws OutputClosedException If no consumer is to consume the generated output.
+     * @since 5.12
+     */
+    public void pushBatch(final DataRow[] rows) throws InterruptedException {
+        for (DataRow row : rows) {
+            push(row);
+        }
+    }
+
     /** Fully sets the table and closes the output. Only valid to call if no other rows were added previously through
      * {@link #push(DataRow)}.
      * @param table The non-null table to set.
@@ -73,6 +73,9 @@ public abstract class StreamableFunction extends StreamableOperator {
      */
     public static final int DEFAULT_OUTPORT_INDEX = 0;
 
+    /** Maximum number of rows polled from the input and pushed to the output at once. */
+    private static final int BATCH_SIZE = 128;
+
     private int m_inportIndex = DEFAULT_INPORT_INDEX;
     private int m_outportIndex = DEFAULT_OUTPORT_INDEX;
 
@@ -102,16 +105,39 @@ protected StreamableFunction(final int inportIdx, final int outportIdx) {
     @Override
     public void runFinal(final PortInput[] inputs, final PortOutput[] outputs,
             final ExecutionContext ctx) throws Exception {
-        RowInput rowInput = ((RowInput)inputs[m_inportIndex]);
-        RowOutput rowOutput = ((RowOutput)outputs[m_outportIndex]);
+        runFinal((RowInput)inputs[m_inportIndex], (RowOutput)outputs[m_outportIndex], 0L, ctx);
+    }
+
+    /**
+     * Processes the rows of the input and pushes the results to the output, as done by
+     * {@link #runFinal(PortInput[], PortOutput[], ExecutionContext)}. The input may be a partition of a larger table,
+     * in which case the row index passed to {@link #compute(DataRow, long)} starts at the argument offset (the index
+     * of the partition's first row in the whole table).
+     *
+     * @param rowInput the input
+     * @param rowOutput the output
+     * @param firstRowIndex the index of the first input row
+     * @param ctx the context for progress, cancelation and file store creation
+     * @throws Exception any exception to indicate an error or cancelation
+     * @since 5.12
+     */
+    public void runFinal(final RowInput rowInput, final RowOutput rowOutput, final long firstRowIndex,
+        final ExecutionContext ctx) throws Exception {
         init(ctx);
         try {
-            DataRow inputRow;
-            for (var index = 0L; (inputRow = rowInput.poll()) != null; index++) {
-                rowOutput.push(compute(inputRow, index));
-                final long i = index;
-                final DataRow r = inputRow;
-                ctx.setMessage(() -> String.format("Row %d (\"%s\"))", i, r.getKey()));
+            // rows are handed over in batches, which for inputs/outputs fed by other nodes avoids per-row
+            // synchronization (and is equivalent to single rows for inputs/outputs without batch support)
+            DataRow[] inputRows;
+            var index = firstRowIndex;
+            while ((inputRows = rowInput.pollBatch(BATCH_SIZE)).length > 0) {
+                final var outputRows = new DataRow[inputRows.length];
+                for (var i = 0; i < inputRows.length; i++, index++) {
+                    outputRows[i] = compute(inputRows[i], index);
+                }
+                rowOutput.pushBatch(outputRows);
+                final long last = index - 1;
+                final DataRow r = inputRows[inputRows.length - 1];
+                ctx.setMessage(() -> String.format("Row %d (\"%s\"))", last, r.getKey()));
             }
             rowInput.close();
             rowOutput.close();
@@ -178,12 +204,19 @@ public static void runFinalInterwoven(final RowInput input, final StreamableFunc
         func1.init(exec);
         func2.init(exec);
         try {
-            DataRow inputRow;
-            for (var index = 0L; (inputRow = input.poll()) != null; index++) {
-                output1.push(func1.compute(inputRow, index));
-                output2.push(func2.compute(inputRow, index));
+            DataRow[] inputRows;
+            var index = 0L;
+            while ((inputRows = input.pollBatch(BATCH_SIZE)).length > 0) {
+                final var outputRows1 = new DataRow[inputRows.length];
+                final var outputRows2 = new DataRow[inputRows.length];
+                for (var i = 0; i < inputRows.length; i++, index++) {
+                    outputRows1[i] = func1.compute(inputRows[i], index);
+                    outputRows2[i] = func2.compute(inputRows[i], index);
+                }
+                output1.pushBatch(outputRows1);
+                output2.pushBatch(outputRows2);
                 exec.setMessage(String.format("Row %d (\"%s\"))",
-                        index + 1, inputRow.getKey()));
+                        index, inputRows[inputRows.length - 1].getKey()));
             }
             input.close();
             output1.close();
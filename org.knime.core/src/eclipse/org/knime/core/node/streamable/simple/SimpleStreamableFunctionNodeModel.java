@@ -50,20 +50,26 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
 import org.knime.core.node.streamable.InputPortRole;
 import org.knime.core.node.streamable.OutputPortRole;
 import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PartitionRunner;
 import org.knime.core.node.streamable.StreamableFunction;
 import org.knime.core.node.streamable.StreamableFunctionProducer;
 
@@ -76,6 +82,9 @@
  */
 public abstract class SimpleStreamableFunctionNodeModel extends NodeModel implements StreamableFunctionProducer {
 
+    /** The input is only partitioned if each partition gets at least that many rows. */
+    private static final long MIN_ROWS_PER_PARTITION = 4096;
+
     private int m_streamableInPortIdx;
     private int m_streamableOutPortIdx;
 
@@ -113,11 +122,60 @@ public SimpleStreamableFunctionNodeModel(final PortType[] inPortTypes,
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         BufferedDataTable in = inData[0];
+        final int partitionCount = getPartitionCount(in);
+        if (partitionCount > 1) {
+            return new BufferedDataTable[]{executePartitioned(in, partitionCount, exec)};
+        }
         ColumnRearranger r = createColumnRearranger(in.getDataTableSpec());
         BufferedDataTable out = exec.createColumnRearrangeTable(in, r, exec);
         return new BufferedDataTable[]{out};
     }
 
+    /**
+     * Number of row ranges the input is split into during execution, see
+     * {@link KNIMEConstants#PROPERTY_STREAMABLE_FUNCTION_PARTITIONS}. Only nodes using the default constructor (one
+     * input, one output) and being {@linkplain #isDistributable() distributable} are partitioned.
+     */
+    private int getPartitionCount(final BufferedDataTable in) {
+        final int maxPartitions = Integer.getInteger(KNIMEConstants.PROPERTY_STREAMABLE_FUNCTION_PARTITIONS, 1);
+        if (maxPartitions < 2 || !isDistributable() || getNrInPorts() != 1 || getNrOutPorts() != 1) {
+            return 1;
+        }
+        return (int)Math.min(maxPartitions, in.size() / MIN_ROWS_PER_PARTITION);
+    }
+
+    /**
+     * Splits the input into contiguous row ranges, each processed by its own {@link StreamableFunction} (in parallel,
+     * see {@link PartitionRunner}), and concatenates the results in order. The concatenated table references the
+     * partition tables, it doesn't copy them.
+     */
+    private BufferedDataTable executePartitioned(final BufferedDataTable in, final int partitionCount,
+        final ExecutionContext exec) throws Exception {
+        final DataTableSpec inSpec = in.getDataTableSpec();
+        final DataTableSpec outSpec = createColumnRearranger(inSpec).createSpec();
+        final long size = in.size();
+        final var functions = new StreamableFunction[partitionCount];
+        final var outputs = new BufferedDataTableRowOutput[partitionCount];
+        final var subExecs = new ExecutionContext[partitionCount];
+        for (var p = 0; p < partitionCount; p++) {
+            functions[p] = createStreamableOperator(new PartitionInfo(p, partitionCount), new PortObjectSpec[]{inSpec});
+            subExecs[p] = exec.createSubExecutionContext(0.95 / partitionCount);
+            outputs[p] = new BufferedDataTableRowOutput(subExecs[p].createDataContainer(outSpec));
+        }
+        PartitionRunner.run(partitionCount, p -> {
+            final long from = size * p / partitionCount;
+            final long to = size * (p + 1) / partitionCount - 1;
+            functions[p].runFinal(new DataTableRowInput(in, TableFilter.filterRangeOfRows(from, to)), outputs[p],
+                from, subExecs[p]);
+            return null;
+        });
+
+        final BufferedDataTable[] tables =
+            Arrays.stream(outputs).map(BufferedDataTableRowOutput::getDataTable).toArray(BufferedDataTable[]::new);
+        // row keys of the partitions are disjoint as they originate from disjoint row ranges of the input
+        return exec.createConcatenateTable(exec.createSubProgress(0.05), Optional.empty(), false, tables);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
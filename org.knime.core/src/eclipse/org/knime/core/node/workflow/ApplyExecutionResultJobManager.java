@@ -0,0 +1,249 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.filestore.FileStorePortObject;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResult;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
+import org.knime.core.node.workflow.execresult.NativeNodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.node.workflow.execresult.NodeExecutionResult;
+
+/**
+ * Job manager that 'executes' a node by applying the execution result of another (executed) node container, which
+ * was computed with the same settings on equivalent input. Used to transfer the results of loop body copies back into
+ * the original loop body when running independent loop iterations concurrently
+ * (see {@link LoopStartIndependentIterationsNode}). It's never persisted and not selectable by the user, it's only
+ * set via {@link NodeContainer#setOneShotJobManager(NodeExecutionJobManager)}.
+ *
+ * <p>
+ * The source node is reset (and its data discarded) as soon as it continues with another iteration, while the
+ * executing node's successors (e.g. the loop end) may still reference the data. The tables of the result are
+ * therefore handed over to the executing node by reference (see {@link Node#takeOverTables(Node, PortObject[], Set)}),
+ * they are only copied if that's not possible because they hold file stores or reference data of other nodes of the
+ * loop body copy.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ApplyExecutionResultJobManager extends AbstractNodeExecutionJobManager {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ApplyExecutionResultJobManager.class);
+
+    private final NodeContainer m_source;
+
+    /**
+     * @param source the executed node whose result is applied, not null.
+     */
+    ApplyExecutionResultJobManager(final NodeContainer source) {
+        m_source = CheckUtils.checkArgumentNotNull(source, "Source node must not be null");
+    }
+
+    @Override
+    public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] data) {
+        final var job = new ApplyExecutionResultJob(nc, data, m_source);
+        job.m_future = KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(job);
+        return job;
+    }
+
+    @Override
+    public String getID() {
+        return ApplyExecutionResultJobManager.class.getName();
+    }
+
+    @Override
+    public URL getIcon() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "Apply result of " + m_source.getNameWithID();
+    }
+
+    /** Job copying the result from the source node into the executing node. */
+    private static final class ApplyExecutionResultJob extends NodeExecutionJob {
+
+        private final NodeContainer m_source;
+
+        private Future<?> m_future;
+
+        ApplyExecutionResultJob(final NodeContainer nc, final PortObject[] data, final NodeContainer source) {
+            super(nc, data);
+            m_source = source;
+        }
+
+        @Override
+        protected boolean cancel() {
+            return m_future != null && m_future.cancel(true);
+        }
+
+        @Override
+        protected boolean isReConnecting() {
+            return false;
+        }
+
+        @Override
+        protected NodeContainerExecutionStatus mainExecute() {
+            final NodeContainerExecutionResult result;
+            try {
+                result = m_source.createExecutionResult(new ExecutionMonitor());
+                if (getNodeContainer() instanceof NativeNodeContainer nnc
+                    && m_source instanceof NativeNodeContainer sourceNNC
+                    && result instanceof NativeNodeContainerExecutionResult nativeResult) {
+                    takeOverOutputs(nnc, sourceNNC, nativeResult.getNodeExecutionResult());
+                }
+            } catch (CanceledExecutionException e) {
+                LOGGER.debug("Canceled while copying result of " + m_source.getNameWithID(), e);
+                return NodeContainerExecutionStatus.FAILURE;
+            } catch (IOException e) {
+                LOGGER.debug("Unable to copy result of " + m_source.getNameWithID(), e);
+                return NodeContainerExecutionStatus.FAILURE;
+            }
+            final var loadResult = new LoadResult("Apply result of " + m_source.getNameWithID());
+            getNodeContainer().loadExecutionResult(result, new ExecutionMonitor(), loadResult);
+            if (loadResult.hasErrors() || result.needsResetAfterLoad()) {
+                LOGGER.debug(() -> String.format("Errors applying result of %s to %s:%n%s", m_source.getNameWithID(),
+                    getNodeContainer().getNameWithID(), loadResult.getFilteredError("", LoadResultEntryType.Warning)));
+                return NodeContainerExecutionStatus.FAILURE;
+            }
+            return result;
+        }
+
+        /** Makes the executing node the owner of the data of the result (see class comment). */
+        private static void takeOverOutputs(final NativeNodeContainer nnc, final NativeNodeContainer source,
+            final NodeExecutionResult result) throws IOException, CanceledExecutionException {
+            final List<PortObject> objects = new ArrayList<>();
+            for (var i = 0; i < result.getNrOfPortObjects(); i++) {
+                objects.add(result.getPortObject(i));
+            }
+            if (result.getInternalHeldPortObjects() != null) {
+                objects.addAll(Arrays.asList(result.getInternalHeldPortObjects()));
+            }
+            // the data of all nodes in the loop body copy is discarded when it continues with another iteration
+            final Set<Node> transientOwners = new HashSet<>();
+            for (NodeContainer nc : source.getParent().getNodeContainers()) {
+                if (nc != source && nc instanceof NativeNodeContainer other) {
+                    transientOwners.add(other.getNode());
+                }
+            }
+            final boolean hasFileStorePortObject = objects.stream().anyMatch(FileStorePortObject.class::isInstance);
+            if (hasFileStorePortObject || !nnc.getNode().takeOverTables(source.getNode(),
+                objects.toArray(PortObject[]::new), transientOwners)) {
+                LOGGER.debug(() -> "Copying result of " + source.getNameWithID() + " into " + nnc.getNameWithID());
+                copyOutputs(nnc, result);
+            }
+        }
+
+        /** Replaces the data of the result by copies owned by the executing node. */
+        private static void copyOutputs(final NativeNodeContainer nnc, final NodeExecutionResult result)
+            throws IOException, CanceledExecutionException {
+            final ExecutionContext exec = nnc.createExecutionContext();
+            // file store handler was set in beforeExecute, cells of copied tables are translated into it
+            nnc.getNode().openFileStoreHandler(exec);
+            final var portObjects = new PortObject[result.getNrOfPortObjects()];
+            for (var i = 0; i < portObjects.length; i++) {
+                portObjects[i] = copy(result.getPortObject(i), exec);
+            }
+            result.setPortObjects(portObjects);
+            final PortObject[] internalObjects = result.getInternalHeldPortObjects();
+            if (internalObjects != null) {
+                final var internalCopies = new PortObject[internalObjects.length];
+                for (var i = 0; i < internalObjects.length; i++) {
+                    internalCopies[i] = copy(internalObjects[i], exec);
+                }
+                result.setInternalHeldPortObjects(internalCopies);
+            }
+        }
+
+        private static PortObject copy(final PortObject object, final ExecutionContext exec)
+            throws IOException, CanceledExecutionException {
+            if (object instanceof BufferedDataTable table) {
+                final BufferedDataContainer container = exec.createDataContainer(table.getDataTableSpec(), false);
+                try {
+                    for (DataRow row : table) {
+                        exec.checkCanceled();
+                        container.addRowToTable(row);
+                    }
+                } finally {
+                    container.close();
+                }
+                return container.getTable();
+            } else if (object instanceof FileStorePortObject) {
+                return Node.copyPortObject(object, exec);
+            }
+            // other port objects don't hold any resources of the source node
+            return object;
+        }
+
+        @Override
+        protected String getCustomThreadName(final String originalThreadName) {
+            return originalThreadName + "-" + getNodeContainer().getNameWithID();
+        }
+    }
+
+}
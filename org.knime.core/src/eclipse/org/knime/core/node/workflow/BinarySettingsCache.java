@@ -0,0 +1,310 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.config.Config;
+import org.knime.core.node.config.base.ConfigBase;
+import org.knime.core.node.config.base.ConfigEntries;
+
+/**
+ * Compact binary copy of a node's settings.xml, written next to it when a workflow is saved (if enabled via
+ * {@link KNIMEConstants#PROPERTY_BINARY_SETTINGS_CACHE}). The file records the SHA-256 digest of the XML content it
+ * was created from and is only used on load if the current settings.xml still has that digest, i.e. the XML remains
+ * the authoritative format and any edit to it (or a missing or broken binary file) falls back to parsing the XML.
+ *
+ * <p>
+ * Only plain (not encrypted) settings are cached. Settings containing entry types that are not persisted verbatim in
+ * the XML (passwords, transient strings) are not cached either.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BinarySettingsCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BinarySettingsCache.class);
+
+    /** Name of the binary file, located in the node directory next to the settings.xml. */
+    static final String CACHE_FILE_NAME = "settings.bin";
+
+    private static final int MAGIC = 0x4B4E5342; // "KNSB"
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final boolean IS_ENABLED = Boolean.getBoolean(KNIMEConstants.PROPERTY_BINARY_SETTINGS_CACHE);
+
+    // type codes used in the file, independent of the ordinal of ConfigEntries
+    private static final byte TYPE_CONFIG = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_DOUBLE = 2;
+    private static final byte TYPE_FLOAT = 3;
+    private static final byte TYPE_CHAR = 4;
+    private static final byte TYPE_SHORT = 5;
+    private static final byte TYPE_LONG = 6;
+    private static final byte TYPE_BYTE = 7;
+    private static final byte TYPE_STRING = 8;
+    private static final byte TYPE_BOOLEAN = 9;
+
+    private BinarySettingsCache() {
+    }
+
+    /** @return whether the binary copy is to be written on save */
+    static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Writes the binary copy of the given settings into the node directory. Failures are logged and remove the binary
+     * file, they are never propagated as the settings.xml is complete on its own.
+     *
+     * @param nodeDir the node directory
+     * @param xmlContent the content of the settings.xml as written to disc
+     * @param settings the settings that were saved as <code>xmlContent</code>
+     */
+    static void write(final File nodeDir, final byte[] xmlContent, final ConfigBase settings) {
+        final File cacheFile = new File(nodeDir, CACHE_FILE_NAME);
+        final File tmpFile = new File(nodeDir, CACHE_FILE_NAME + ".tmp");
+        try {
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeByte(FORMAT_VERSION);
+                out.write(digest(xmlContent));
+                writeString(out, settings.getKey());
+                writeConfig(out, settings);
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | InvalidSettingsException e) {
+            LOGGER.debug(() -> "Not writing binary settings to \"" + cacheFile.getAbsolutePath() + "\": "
+                + e.getMessage(), e);
+            deleteQuietly(tmpFile);
+            deleteQuietly(cacheFile);
+        }
+    }
+
+    /**
+     * Reads the settings from the binary copy in case it was created from the given XML content.
+     *
+     * @param cacheFile the binary file
+     * @param xmlContent the current content of the settings.xml
+     * @return the settings or <code>null</code> if the binary file is missing, outdated or can't be read (in which
+     *         case the XML needs to be parsed)
+     */
+    static NodeSettings read(final File cacheFile, final byte[] xmlContent) {
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            final byte[] expectedDigest = digest(xmlContent);
+            final byte[] cachedDigest = new byte[expectedDigest.length];
+            in.readFully(cachedDigest);
+            if (!Arrays.equals(expectedDigest, cachedDigest)) {
+                LOGGER.debugWithFormat("Binary settings \"%s\" are outdated, reading XML",
+                    cacheFile.getAbsolutePath());
+                return null;
+            }
+            final NodeSettings settings = new NodeSettings(readString(in));
+            readConfig(in, settings);
+            return settings;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug(() -> "Unable to read binary settings \"" + cacheFile.getAbsolutePath() + "\", reading XML: "
+                + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static byte[] digest(final byte[] content) throws IOException {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static void writeConfig(final DataOutputStream out, final ConfigBase config)
+        throws IOException, InvalidSettingsException {
+        out.writeInt(config.keySet().size());
+        for (String key : config.keySet()) {
+            final ConfigEntries type = config.getEntry(key).getType();
+            writeString(out, key);
+            switch (type) {
+                case config:
+                    out.writeByte(TYPE_CONFIG);
+                    writeConfig(out, (ConfigBase)config.getEntry(key));
+                    break;
+                case xint:
+                    out.writeByte(TYPE_INT);
+                    out.writeInt(config.getInt(key));
+                    break;
+                case xdouble:
+                    out.writeByte(TYPE_DOUBLE);
+                    out.writeDouble(config.getDouble(key));
+                    break;
+                case xfloat:
+                    out.writeByte(TYPE_FLOAT);
+                    out.writeFloat(config.getFloat(key));
+                    break;
+                case xchar:
+                    out.writeByte(TYPE_CHAR);
+                    out.writeChar(config.getChar(key));
+                    break;
+                case xshort:
+                    out.writeByte(TYPE_SHORT);
+                    out.writeShort(config.getShort(key));
+                    break;
+                case xlong:
+                    out.writeByte(TYPE_LONG);
+                    out.writeLong(config.getLong(key));
+                    break;
+                case xbyte:
+                    out.writeByte(TYPE_BYTE);
+                    out.writeByte(config.getByte(key));
+                    break;
+                case xstring:
+                    out.writeByte(TYPE_STRING);
+                    writeString(out, config.getString(key));
+                    break;
+                case xboolean:
+                    out.writeByte(TYPE_BOOLEAN);
+                    out.writeBoolean(config.getBoolean(key));
+                    break;
+                default:
+                    throw new InvalidSettingsException(
+                        "Unsupported entry type \"" + type + "\" for key \"" + key + "\"");
+            }
+        }
+    }
+
+    private static void readConfig(final DataInputStream in, final Config config) throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            final String key = readString(in);
+            final byte type = in.readByte();
+            switch (type) {
+                case TYPE_CONFIG:
+                    readConfig(in, config.addConfig(key));
+                    break;
+                case TYPE_INT:
+                    config.addInt(key, in.readInt());
+                    break;
+                case TYPE_DOUBLE:
+                    config.addDouble(key, in.readDouble());
+                    break;
+                case TYPE_FLOAT:
+                    config.addFloat(key, in.readFloat());
+                    break;
+                case TYPE_CHAR:
+                    config.addChar(key, in.readChar());
+                    break;
+                case TYPE_SHORT:
+                    config.addShort(key, in.readShort());
+                    break;
+                case TYPE_LONG:
+                    config.addLong(key, in.readLong());
+                    break;
+                case TYPE_BYTE:
+                    config.addByte(key, in.readByte());
+                    break;
+                case TYPE_STRING:
+                    config.addString(key, readString(in));
+                    break;
+                case TYPE_BOOLEAN:
+                    config.addBoolean(key, in.readBoolean());
+                    break;
+                default:
+                    throw new IOException("Invalid entry type " + type + " for key \"" + key + "\"");
+            }
+        }
+    }
+
+    /** Strings are written as length of UTF-8 bytes (-1 for null) followed by the bytes (no 64k limit). */
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteQuietly(final File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) { // NOSONAR
+            // best effort, an outdated file is ignored on load anyway
+        }
+    }
+
+}
@@ -63,13 +63,12 @@ public final class ExecutionEnvironment {
     private final boolean m_reExecute;
     private final Object m_preReExecData;
     private final boolean m_useAsNewDefault;
+    private final int m_partitionCount;
 
     /** Default constructor: no re-execution, don't preload ViewContent.
      */
     public ExecutionEnvironment() {
-        m_reExecute = false;
-        m_preReExecData = null;
-        m_useAsNewDefault = false;
+        this(false, (Object)null, false);
     }
 
     /** Setup default environment with new parameters.
@@ -93,9 +92,42 @@ public ExecutionEnvironment(final boolean reExecute, final ViewContent preExecVC
      * @since 4.5
      */
     public ExecutionEnvironment(final boolean reExecute, final Object preReExecData, final boolean useAsNewDefault) {
+        this(reExecute, preReExecData, useAsNewDefault, 0);
+    }
+
+    private ExecutionEnvironment(final boolean reExecute, final Object preReExecData, final boolean useAsNewDefault,
+        final int partitionCount) {
         m_reExecute = reExecute;
         m_preReExecData = preReExecData;
         m_useAsNewDefault = useAsNewDefault;
+        m_partitionCount = partitionCount;
+    }
+
+    /**
+     * Derives an environment that asks the node to run through its
+     * {@link org.knime.core.node.streamable.StreamableOperator} (if it provides one) instead of its plain execute
+     * method, with distributable inputs split into at most the given number of partitions that are processed in
+     * parallel. Inputs and outputs are still materialized tables, rows are not streamed between nodes.
+     *
+     * @param partitionCount maximum number of partitions for distributable inputs, 0 for a regular execution
+     * @return a new environment, otherwise identical to this one
+     * @throws IllegalArgumentException if the argument is negative
+     * @since 5.12
+     */
+    public ExecutionEnvironment withPartitions(final int partitionCount) {
+        if (partitionCount < 0) {
+            throw new IllegalArgumentException("Partition count must not be negative: " + partitionCount);
+        }
+        return new ExecutionEnvironment(m_reExecute, m_preReExecData, m_useAsNewDefault, partitionCount);
+    }
+
+    /**
+     * @return maximum number of partitions for a partitioned execution, 0 if the node is to be executed regularly
+     * @see #withPartitions(int)
+     * @since 5.12
+     */
+    public int getPartitionCount() {
+        return m_partitionCount;
     }
 
     /**
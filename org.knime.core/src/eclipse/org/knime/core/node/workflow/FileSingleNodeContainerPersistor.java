@@ -45,12 +45,15 @@
 package org.knime.core.node.workflow;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -63,6 +66,7 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.FileNodePersistor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.Node;
 import org.knime.core.node.NodeLogger;
@@ -91,6 +95,9 @@ public abstract class FileSingleNodeContainerPersistor implements SingleNodeCont
     FromFileNodeContainerPersistor {
 
     private static final NodeLogger SAVE_LOGGER = NodeLogger.getLogger(FileSingleNodeContainerPersistor.class);
+
+    /** Temporary directory in the node directory holding links to table data files during an in-place save. */
+    private static final String TABLE_STASH_DIR_NAME = ".table_stash";
     private final NodeLogger m_logger = NodeLogger.getLogger(getClass());
 
     private final LoadVersion m_version;
@@ -209,12 +216,23 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
             setDirtyAfterLoad();
             throw new IOException("Can't read node file \"" + settingsFile.getAbsolutePath() + "\"");
         }
-        NodeSettingsRO settings;
+        NodeSettingsRO settings = null;
         try {
-            InputStream in = new FileInputStream(settingsFile);
-            // parentPersitor is null for loaded subnode templates
-            in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
-            settings = NodeSettings.loadFromXML(new BufferedInputStream(in));
+            InputStream in;
+            File binaryCacheFile = new File(settingsFile.getParentFile(), BinarySettingsCache.CACHE_FILE_NAME);
+            if (SETTINGS_FILE_NAME.equals(settingsFile.getName()) && binaryCacheFile.isFile()) {
+                // binary copy is only written for unencrypted settings and only valid for identical XML content
+                byte[] xmlContent = Files.readAllBytes(settingsFile.toPath());
+                settings = BinarySettingsCache.read(binaryCacheFile, xmlContent);
+                in = new ByteArrayInputStream(xmlContent);
+            } else {
+                in = new FileInputStream(settingsFile);
+            }
+            if (settings == null) {
+                // parentPersitor is null for loaded subnode templates
+                in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
+                settings = NodeSettings.loadFromXML(new BufferedInputStream(in));
+            }
         } catch (IOException ioe) {
             setDirtyAfterLoad();
             throw ioe;
@@ -592,8 +610,14 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
             }
         }
         boolean nodeDirDeleted = true;
+        // unchanged table data files of a previous save, preserved while the node directory is cleaned
+        final File tableStashDir = new File(nodeDir, TABLE_STASH_DIR_NAME);
         if (singleNC instanceof NativeNodeContainer) {
-            nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME);
+            FileUtil.deleteRecursively(tableStashDir); // left over from a failed save
+            if (nodeDirExists && saveHelper.isSaveData()) {
+                FileNodePersistor.stashSavedTableFiles((NativeNodeContainer)singleNC, nodeDir, tableStashDir);
+            }
+            nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME, TABLE_STASH_DIR_NAME);
         }
         nodeDir.mkdirs();
         if (!nodeDir.isDirectory() || !nodeDir.canWrite()) {
@@ -640,14 +664,23 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
             NativeNodeContainer nativeNC = (NativeNodeContainer)singleNC;
             FileNativeNodeContainerPersistor.save(nativeNC, settings, exec, nodeDirRef,
                 saveHelper.isSaveData() && singleNC.getInternalState().equals(InternalNodeContainerState.EXECUTED));
+            FileUtil.deleteRecursively(tableStashDir);
         } else {
             SubNodeContainer subnodeNC = (SubNodeContainer)singleNC;
             FileSubNodeContainerPersistor.save(subnodeNC, settings, exec, nodeDirRef, saveHelper);
         }
         File nodeSettingsXMLFile = new File(nodeDir, settingsDotXML);
-        OutputStream os = new FileOutputStream(nodeSettingsXMLFile);
-        os = singleNC.getDirectNCParent().cipherOutput(os);
-        settings.saveToXML(os);
+        if (BinarySettingsCache.isEnabled() && SETTINGS_FILE_NAME.equals(settingsDotXML)) {
+            // not encrypted -- keep the XML content in order to write the binary copy alongside
+            ByteArrayOutputStream xmlContent = new ByteArrayOutputStream();
+            settings.saveToXML(xmlContent);
+            Files.write(nodeSettingsXMLFile.toPath(), xmlContent.toByteArray());
+            BinarySettingsCache.write(nodeDir, xmlContent.toByteArray(), settings);
+        } else {
+            OutputStream os = new FileOutputStream(nodeSettingsXMLFile);
+            os = singleNC.getDirectNCParent().cipherOutput(os);
+            settings.saveToXML(os);
+        }
         if (saveHelper.isAutoSave() && sncAutoSaveDirRef == null) {
             sncAutoSaveDirRef = nodeDirRef;
             singleNC.setAutoSaveDirectory(sncAutoSaveDirRef);
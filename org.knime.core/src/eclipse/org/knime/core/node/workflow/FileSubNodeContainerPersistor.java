@@ -109,6 +109,9 @@ public final class FileSubNodeContainerPersistor extends FileSingleNodeContainer
 
     private String m_nameOverwrite;
 
+    /** see {@link #setDeferCredentialsInit(boolean)}. */
+    private boolean m_deferCredentialsInit;
+
     private int m_virtualInNodeIDSuffix = -1;
 
     private int m_virtualOutNodeIDSuffix = -1;
@@ -239,6 +242,7 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
             m_workflowPersistor.setNameOverwrite(m_nameOverwrite);
             m_nameOverwrite = null;
         }
+        m_workflowPersistor.setDeferCredentialsInit(m_deferCredentialsInit);
         try {
             int i = nodeSettings.getInt("virtual-in-ID");
             CheckUtils.checkSetting(i >= 0, "Node ID < 0: %d", i);
@@ -513,6 +517,24 @@ public PortType getUpstreamPortType(final int index) {
         return null;
     }
 
+    /**
+     * Defers the initialization of the credentials of the component's workflow, see
+     * {@link FileWorkflowPersistor#setDeferCredentialsInit(boolean)}. To be called before
+     * {@link #preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO, LoadResult)}.
+     *
+     * @param deferCredentialsInit that property
+     */
+    void setDeferCredentialsInit(final boolean deferCredentialsInit) {
+        m_deferCredentialsInit = deferCredentialsInit;
+    }
+
+    /** Initializes the deferred credentials, see {@link FileWorkflowPersistor#initCredentials()}. */
+    void initCredentials() {
+        if (m_workflowPersistor != null) {
+            m_workflowPersistor.initCredentials();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setNameOverwrite(final String nameOverwrite) {
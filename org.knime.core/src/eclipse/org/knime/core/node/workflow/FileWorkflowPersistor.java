@@ -74,6 +74,15 @@
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -104,6 +113,7 @@
 import org.knime.core.util.LoadVersion;
 import org.knime.core.util.LockFailedException;
 import org.knime.core.util.Pair;
+import org.knime.core.util.ThreadUtils;
 import org.knime.core.util.workflowalizer.AuthorInformation;
 
 /**
@@ -178,6 +188,32 @@ public String toString() {
 
     private static final NodeSettingsRO EMPTY_SETTINGS = new NodeSettings("<<empty>>");
 
+    /**
+     * Threads reading node settings concurrently during load, see
+     * {@link #preLoadNodeContainers(List, ExecutionMonitor)}, and saving nodes concurrently, see
+     * {@link #saveNodeContainersConcurrently(List, ReferencedFile, ExecutionMonitor, WorkflowSaveHelper)}. The number
+     * of threads per workflow level is bounded by {@link WorkflowLoadHelper#getNrLoaderThreads()} and
+     * {@link WorkflowSaveHelper#getNrSaveThreads()}, respectively, the pool itself by the number of processors.
+     */
+    private static final ExecutorService WORKFLOW_IO_EXECUTOR;
+
+    static {
+        final int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final var executor = new ThreadPoolExecutor(maxThreads, maxThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final var t = new Thread(r, "KNIME-Workflow-IO-" + m_threadCount.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        executor.allowCoreThreadTimeOut(true);
+        WORKFLOW_IO_EXECUTOR = executor;
+    }
+
     /** The node logger for this class. */
     private final NodeLogger m_logger = NodeLogger.getLogger(getClass());
 
@@ -223,6 +259,9 @@ public String toString() {
 
     private List<Credentials> m_credentials;
 
+    /** see {@link #setDeferCredentialsInit(boolean)}. */
+    private boolean m_deferCredentialsInit;
+
     private WorkflowTableBackendSettings m_tableBackendSettings;
 
     private List<AnnotationData> m_workflowAnnotations;
@@ -376,6 +415,27 @@ public void setNameOverwrite(final String nameOverwrite) {
         m_nameOverwrite = nameOverwrite;
     }
 
+    /**
+     * If set, {@link #preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO, LoadResult)} only reads the credentials
+     * and leaves their initialization (which may prompt the user) to a call of {@link #initCredentials()}. Used when
+     * the persistor is pre-loaded in a loader thread, see {@link #preLoadNodeContainers(List, ExecutionMonitor)}.
+     *
+     * @param deferCredentialsInit that property
+     */
+    void setDeferCredentialsInit(final boolean deferCredentialsInit) {
+        m_deferCredentialsInit = deferCredentialsInit;
+    }
+
+    /**
+     * Initializes the credentials read in {@link #preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO, LoadResult)}
+     * via {@link WorkflowLoadHelper#loadCredentialsPrefilled(List)}. To be called in the thread loading the workflow.
+     */
+    void initCredentials() {
+        if (m_credentials != null && !m_credentials.isEmpty()) {
+            m_credentials = getLoadHelper().loadCredentialsPrefilled(m_credentials);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public MetaNodeTemplateInformation getTemplateInformation() {
@@ -632,9 +692,9 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
 
         try {
             m_credentials = loadCredentials(m_workflowSett);
-            // request to initialize credentials - if available
-            if (m_credentials != null && !m_credentials.isEmpty()) {
-                m_credentials = getLoadHelper().loadCredentialsPrefilled(m_credentials);
+            // request to initialize credentials - if available (and not deferred to the thread loading the parent)
+            if (!m_deferCredentialsInit) {
+                initCredentials();
             }
         } catch (InvalidSettingsException e) {
             String error = "Unable to load credentials: " + e.getMessage();
@@ -948,6 +1008,7 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
             new HashMap<Integer, NodeFactoryUnknownException>();
         exec.setMessage("node information");
         final ReferencedFile workflowDirRef = workflowKNIMEFile.getParent();
+        final List<NodePreLoadTask> preLoadTasks = new ArrayList<>();
         /* Load nodes */
         for (String nodeKey : nodes.keySet()) {
             exec.checkCanceled();
@@ -1038,11 +1099,18 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
                 default:
                     throw new IllegalStateException("Unknown node type: " + nodeType);
             }
-            try {
-                LoadResult childResult = new LoadResult(nodeType.toString() + " with ID suffix " + nodeIDSuffix);
-                persistor.preLoadNodeContainer(this, nodeSetting, childResult);
-                loadResult.addChildError(childResult);
-            } catch (Throwable e) {
+            preLoadTasks.add(new NodePreLoadTask(nodeIDSuffix, nodeType, nodeSetting, nodeUIInfo, nodeFile, persistor));
+        }
+        /* read the node settings (possibly concurrently), then add the nodes in their original order */
+        preLoadNodeContainers(preLoadTasks, exec);
+        for (NodePreLoadTask task : preLoadTasks) {
+            int nodeIDSuffix = task.m_nodeIDSuffix;
+            final ReferencedFile nodeFile = task.m_nodeFile;
+            final FromFileNodeContainerPersistor persistor = task.m_persistor;
+            final Throwable e = task.m_failure;
+            if (e == null) {
+                loadResult.addChildError(task.m_childResult);
+            } else {
                 String error =
                     "Unable to load node with ID suffix " + nodeIDSuffix + " into workflow, skipping it: "
                         + e.getMessage();
@@ -1079,7 +1147,7 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
                 nodeIDSuffix = randomID;
             }
             meta.setNodeIDSuffix(nodeIDSuffix);
-            meta.setUIInfo(nodeUIInfo);
+            meta.setUIInfo(task.m_nodeUIInfo);
             if (persistor.isDirtyAfterLoad()) {
                 setDirtyAfterLoad();
             }
@@ -1203,6 +1271,113 @@ private NodeUIInformation loadNodeUIInformation(final NodeSettingsRO nodeSetting
         return nodeUIInfo;
     }
 
+    /**
+     * Calls {@link FromFileNodeContainerPersistor#preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO, LoadResult)}
+     * on all argument tasks. The settings files of native nodes and components are independent of each other and
+     * are read concurrently, using at most {@link WorkflowLoadHelper#getNrLoaderThreads()} threads (including the
+     * calling thread). Metanodes are pre-loaded in the calling thread as they may call back into the load helper
+     * (e.g. to prompt for credentials); the credentials of components are initialized in the calling thread after
+     * all tasks are done. Failures are recorded in the tasks and not thrown.
+     */
+    private void preLoadNodeContainers(final List<NodePreLoadTask> tasks, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final List<NodePreLoadTask> concurrentTasks = new ArrayList<>(tasks.size());
+        for (NodePreLoadTask task : tasks) {
+            if (task.m_nodeType == NodeType.MetaNode) {
+                exec.checkCanceled();
+                task.run(this);
+            } else {
+                concurrentTasks.add(task);
+            }
+        }
+        final int nrThreads = Math.min(getLoadHelper().getNrLoaderThreads(), concurrentTasks.size());
+        if (nrThreads <= 1) {
+            for (NodePreLoadTask task : concurrentTasks) {
+                exec.checkCanceled();
+                task.run(this);
+            }
+            return;
+        }
+        // the load helper may prompt the user, only call it from this thread
+        concurrentTasks.stream().map(t -> t.m_persistor).filter(FileSubNodeContainerPersistor.class::isInstance)
+            .forEach(p -> ((FileSubNodeContainerPersistor)p).setDeferCredentialsInit(true));
+        final var nextTaskIndex = new AtomicInteger();
+        final Runnable worker = () -> {
+            for (int i = nextTaskIndex.getAndIncrement(); i < concurrentTasks.size();
+                    i = nextTaskIndex.getAndIncrement()) {
+                try {
+                    exec.checkCanceled();
+                } catch (CanceledExecutionException cee) { // NOSONAR rethrown by calling thread below
+                    return;
+                }
+                concurrentTasks.get(i).run(this);
+            }
+        };
+        final List<Future<?>> futures = new ArrayList<>(nrThreads - 1);
+        for (int t = 1; t < nrThreads; t++) {
+            futures.add(WORKFLOW_IO_EXECUTOR.submit(ThreadUtils.runnableWithContext(worker, false)));
+        }
+        worker.run();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new CanceledExecutionException("Interrupted while reading node settings");
+            } catch (ExecutionException ee) { // NOSONAR tasks don't throw, see NodePreLoadTask#run
+                throw new IllegalStateException(ee.getCause());
+            }
+        }
+        exec.checkCanceled();
+        for (NodePreLoadTask task : concurrentTasks) {
+            if (task.m_failure == null && task.m_persistor instanceof FileSubNodeContainerPersistor subNodePersistor) {
+                subNodePersistor.initCredentials();
+            }
+        }
+    }
+
+    /** A node whose settings are read by {@link #preLoadNodeContainers(List, ExecutionMonitor)}. */
+    private static final class NodePreLoadTask {
+
+        private final int m_nodeIDSuffix;
+
+        private final NodeType m_nodeType;
+
+        private final NodeSettingsRO m_nodeSetting;
+
+        private final NodeUIInformation m_nodeUIInfo;
+
+        private final ReferencedFile m_nodeFile;
+
+        private final FromFileNodeContainerPersistor m_persistor;
+
+        private final LoadResult m_childResult;
+
+        /** The failure of the pre-load, null if successful or not run; written/read in different threads. */
+        private volatile Throwable m_failure;
+
+        NodePreLoadTask(final int nodeIDSuffix, final NodeType nodeType, final NodeSettingsRO nodeSetting,
+            final NodeUIInformation nodeUIInfo, final ReferencedFile nodeFile,
+            final FromFileNodeContainerPersistor persistor) {
+            m_nodeIDSuffix = nodeIDSuffix;
+            m_nodeType = nodeType;
+            m_nodeSetting = nodeSetting;
+            m_nodeUIInfo = nodeUIInfo;
+            m_nodeFile = nodeFile;
+            m_persistor = persistor;
+            m_childResult = new LoadResult(nodeType.toString() + " with ID suffix " + nodeIDSuffix);
+        }
+
+        void run(final WorkflowPersistor parentPersistor) {
+            try {
+                m_persistor.preLoadNodeContainer(parentPersistor, m_nodeSetting, m_childResult);
+            } catch (Throwable e) { // NOSONAR same as sequential loading, any failure skips the node
+                m_failure = e;
+            }
+        }
+    }
+
     /** Fills the list with null so that list.get(index) doesn't throw an exception. */
     private static void ensureArrayListIndexValid(final ArrayList<?> list, final int index) {
         for (int i = list.size(); i <= index; i++) {
@@ -2081,11 +2256,17 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
             Collection<NodeContainer> nodes = wm.getNodeContainers();
             double progRatio = 1.0 / (nodes.size() + 1);
 
+            final boolean isSaveConcurrently = saveHelper.getNrSaveThreads() > 1;
+            final List<NodeSaveTask> concurrentSaveTasks = new ArrayList<>();
             for (NodeContainer nextNode : nodes) {
                 int id = nextNode.getID().getIndex();
                 ExecutionMonitor subExec = execMon.createSubProgress(progRatio);
-                execMon.setMessage(nextNode.getNameWithID());
                 NodeSettingsWO sub = nodesSettings.addNodeSettings("node_" + id);
+                if (isSaveConcurrently && nextNode instanceof NativeNodeContainer) {
+                    concurrentSaveTasks.add(new NodeSaveTask(nextNode, sub, subExec));
+                    continue;
+                }
+                execMon.setMessage(nextNode.getNameWithID());
                 NodeContext.pushContext(nextNode);
                 try {
                     saveNodeContainer(sub, workflowDirRef, nextNode, subExec, saveHelper);
@@ -2094,6 +2275,7 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
                 }
                 subExec.setProgress(1.0);
             }
+            saveNodeContainersConcurrently(concurrentSaveTasks, workflowDirRef, execMon, saveHelper);
 
             execMon.setMessage("Getting connection information...");
             NodeSettingsWO connSettings = saveSettingsForConnections(preFilledSettings);
@@ -2350,6 +2532,83 @@ protected static void saveNodeContainer(final NodeSettingsWO settings, final Ref
         saveNodeUIInformation(settings, container.getUIInformation());
     }
 
+    /**
+     * Saves the argument (native) nodes using up to {@link WorkflowSaveHelper#getNrSaveThreads()} threads (including
+     * the calling thread). The node settings objects were added to the workflow settings in the node order by the
+     * caller, so the written workflow file is identical to a sequential save. The first failure is rethrown once all
+     * threads are done; remaining nodes are not saved then.
+     */
+    private static void saveNodeContainersConcurrently(final List<NodeSaveTask> tasks,
+        final ReferencedFile workflowDirRef, final ExecutionMonitor execMon, final WorkflowSaveHelper saveHelper)
+        throws IOException, CanceledExecutionException, LockFailedException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        execMon.setMessage(tasks.size() + " node(s)");
+        final var nextTaskIndex = new AtomicInteger();
+        final var failure = new AtomicReference<Exception>();
+        final Runnable worker = () -> {
+            for (int i = nextTaskIndex.getAndIncrement(); i < tasks.size() && failure.get() == null;
+                    i = nextTaskIndex.getAndIncrement()) {
+                final NodeSaveTask task = tasks.get(i);
+                NodeContext.pushContext(task.m_nc);
+                try {
+                    saveNodeContainer(task.m_settings, workflowDirRef, task.m_nc, task.m_exec, saveHelper);
+                    task.m_exec.setProgress(1.0);
+                } catch (IOException | CanceledExecutionException | LockFailedException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    NodeContext.removeLastContext();
+                }
+            }
+        };
+        final int nrThreads = Math.min(saveHelper.getNrSaveThreads(), tasks.size());
+        final List<Future<?>> futures = new ArrayList<>(nrThreads - 1);
+        for (int t = 1; t < nrThreads; t++) {
+            futures.add(WORKFLOW_IO_EXECUTOR.submit(worker));
+        }
+        worker.run();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, new CanceledExecutionException("Interrupted while saving nodes"));
+                futures.forEach(f -> f.cancel(true));
+                break;
+            } catch (ExecutionException ee) { // NOSONAR worker catches all exceptions thrown by the save
+                failure.compareAndSet(null, new IOException(ee.getCause().getMessage(), ee.getCause()));
+            }
+        }
+        final Exception e = failure.get();
+        if (e instanceof IOException ioe) {
+            throw ioe;
+        } else if (e instanceof CanceledExecutionException cee) {
+            throw cee;
+        } else if (e instanceof LockFailedException lfe) {
+            throw lfe;
+        } else if (e instanceof RuntimeException rte) {
+            throw rte;
+        }
+    }
+
+    /** A native node saved by {@link #saveNodeContainersConcurrently(List, ReferencedFile, ExecutionMonitor,
+     * WorkflowSaveHelper)}, along with its (pre-allocated) settings and progress monitor. */
+    private static final class NodeSaveTask {
+
+        private final NodeContainer m_nc;
+
+        private final NodeSettingsWO m_settings;
+
+        private final ExecutionMonitor m_exec;
+
+        NodeSaveTask(final NodeContainer nc, final NodeSettingsWO settings, final ExecutionMonitor exec) {
+            m_nc = nc;
+            m_settings = settings;
+            m_exec = exec;
+        }
+    }
+
     /**
      * Helper to save a {@link NodeUIInformation} object.
      */
@@ -66,4 +66,17 @@ public interface LoopEndParallelizeNode extends LoopEndNode {
      */
     public void updateStatus();
 
+    /**
+     * Whether this end node retrieves the results of the chunks via
+     * {@link ParallelizedChunkContentMaster#getOutportContent(int)} (and not via
+     * {@link ParallelizedChunkContentMaster#getChunk(int)}), which is a prerequisite for dynamic chunk scheduling
+     * (see {@link LoopStartParallelizeNode#getNrChunkSlots()}).
+     *
+     * @return that property, default is <code>false</code>
+     * @since 5.12
+     */
+    default boolean supportsDynamicChunkScheduling() {
+        return false;
+    }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+
+/**
+ * Capability of a loop start node whose iterations are independent of each other, i.e. the result of an iteration
+ * does not depend on the outcome of any previous iteration (no feedback of variables or data from the loop end).
+ * Examples are group loops or chunk loops over a fixed input table.
+ *
+ * <p>
+ * Loops started by such a node are executed with several iterations running concurrently: once the first iteration
+ * was executed by the start node, the framework copies the loop body into a metanode and computes the
+ * following iterations in these copies, fed by {@link #getVirtualNodeInput(int)}. The loop itself is still iterated
+ * in order, the nodes of the original loop body take their results from the copies so that the loop end node sees
+ * the iterations in their original order. Loops whose end node propagates modified variables (see
+ * {@link LoopEndNode#shouldPropagateModifiedVariables()}) or whose body contains metanodes, components or other
+ * scopes are executed sequentially.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ */
+public interface LoopStartIndependentIterationsNode extends LoopStartNode {
+
+    /**
+     * Total number of iterations of the loop. Called by the framework after the first iteration was executed.
+     *
+     * @return number of iterations or a value smaller than 2 if the iterations are not known in advance (in which
+     *         case the loop is executed sequentially)
+     */
+    int getNrIterations();
+
+    /**
+     * Input (data + loop variables) of the given iteration as the start node would produce it during its execution in
+     * that iteration. The returned port objects exclude the flow variable port.
+     *
+     * @param iteration the iteration index, 1 &lt;= iteration &lt; {@link #getNrIterations()}
+     * @return the input for the virtual start node of the loop body copy, not null
+     */
+    VirtualNodeInput getVirtualNodeInput(int iteration);
+
+    /**
+     * Number of iterations that are computed concurrently. Default is the maximum number of threads of the
+     * {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool}.
+     *
+     * @return maximum number of loop body copies, values smaller than 1 disable concurrent execution
+     */
+    default int getMaxParallelIterations() {
+        return KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads();
+    }
+
+}
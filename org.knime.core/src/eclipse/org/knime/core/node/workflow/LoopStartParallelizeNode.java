@@ -79,6 +79,21 @@ public interface LoopStartParallelizeNode extends LoopStartNode {
 	 */
     int getNrRemoteChunks();
 
+    /**
+     * Number of copies of the loop body that process the remote chunks ("dynamic chunk scheduling"). If positive and
+     * smaller than {@link #getNrRemoteChunks()}, only this many copies are created and the chunks are handed out to
+     * them as they become idle: a copy that finishes early continues with the next pending chunk. Start nodes can then
+     * split their input into many small chunks, which balances chunks with skewed runtimes, without creating a copy
+     * per chunk. Only used if the end node {@link LoopEndParallelizeNode#supportsDynamicChunkScheduling() supports}
+     * it, otherwise one copy per chunk is created.
+     *
+     * @return the number of loop body copies, a value &lt;= 0 (default) creates one copy per chunk
+     * @since 5.12
+     */
+    default int getNrChunkSlots() {
+        return 0;
+    }
+
     /** Set parallel chunk master so the start node has access to clean up
      * when reset.
      *
@@ -150,6 +150,9 @@ public class NativeNodeContainer extends SingleNodeContainer {
 
     private LoopStatusChangeHandler m_loopStatusChangeHandler;
 
+    /** Set while the node is configured during workflow load, see {@link #setSpecCacheOnLoad(WorkflowSpecCache)}. */
+    private WorkflowSpecCache m_specCacheOnLoad;
+
     /** Used to exclude virtual nodes from copy operations. */
     public static final Predicate<NodeContainer> IS_VIRTUAL_IN_OUT_NODE = nc -> {
         if (nc instanceof NativeNodeContainer) {
@@ -582,6 +585,22 @@ void performStateTransitionEXECUTED(
         }
     }
 
+    /**
+     * Sets the spec cache consulted in the next configure call(s), null to unset. Used during workflow load.
+     *
+     * @param specCache the cache or null
+     */
+    void setSpecCacheOnLoad(final WorkflowSpecCache specCache) {
+        m_specCacheOnLoad = specCache;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    PortObjectSpec[] getCachedOutputSpecsOnLoad(final PortObjectSpec[] inSpecs) {
+        final WorkflowSpecCache specCache = m_specCacheOnLoad;
+        return specCache != null ? specCache.getOutputSpecs(this, inSpecs) : null;
+    }
+
     /** {@inheritDoc} */
     @Override
     boolean performConfigure(final PortObjectSpec[] inSpecs, final NodeConfigureHelper nch,
@@ -598,10 +617,33 @@ void performLoadModelSettingsFrom(final NodeSettingsRO modelSettings) throws Inv
     /** {@inheritDoc} */
     @Override
     public NodeContainerExecutionStatus performExecuteNode(final PortObject[] inObjects) {
+        return performExecuteNode(inObjects, getExecutionEnvironment());
+    }
+
+    /**
+     * Executes the node like {@link #performExecuteNode(PortObject[])} but runs it through its
+     * {@link org.knime.core.node.streamable.StreamableOperator} if the node model provides a streamable
+     * implementation, see {@link ExecutionEnvironment#withPartitions(int)}. Inputs and outputs are still
+     * materialized tables; only distributable inputs are processed in parallel partitions. Meant to be called by
+     * node execution jobs of job managers that want this behavior.
+     *
+     * @param inObjects the input objects
+     * @param partitionCount maximum number of partitions that distributable inputs are split into (at least 1)
+     * @return whether successful
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.12
+     */
+    public NodeContainerExecutionStatus performPartitionedExecuteNode(final PortObject[] inObjects,
+        final int partitionCount) {
+        CheckUtils.checkArgument(partitionCount > 0, "Partition count must be positive: %d", partitionCount);
+        return performExecuteNode(inObjects, getExecutionEnvironment().withPartitions(partitionCount));
+    }
+
+    private NodeContainerExecutionStatus performExecuteNode(final PortObject[] inObjects,
+        final ExecutionEnvironment ev) {
         ExecutionContext ec = createExecutionContext();
         m_node.openFileStoreHandler(ec);
 
-        ExecutionEnvironment ev = getExecutionEnvironment();
         boolean success;
         try {
             ec.checkCanceled();
@@ -158,6 +158,12 @@ public boolean executionInProgress() {
      */
     private NodeExecutionJobManager m_jobManager;
 
+    /**
+     * Job manager that is used for the next execution only (takes precedence over {@link #findJobManager()}); not
+     * persisted and cleared once the node is queued. See {@link #setOneShotJobManager(NodeExecutionJobManager)}.
+     */
+    private NodeExecutionJobManager m_oneShotJobManager;
+
     /** The job representing the pending task of executing the node. */
     private NodeExecutionJob m_executionJob;
 
@@ -364,6 +370,19 @@ public final NodeExecutionJobManager getJobManager() {
         return m_jobManager;
     }
 
+    /**
+     * Sets a job manager that is used for the next execution of this node only, e.g. to apply a result that was
+     * computed by a copy of this node. Unlike {@link #setJobManager(NodeExecutionJobManager)} this is not a setting
+     * of the node, it's neither persisted nor reported to listeners.
+     *
+     * @param jobManager the job manager to use for the next execution or null to clear a previously set one
+     */
+    void setOneShotJobManager(final NodeExecutionJobManager jobManager) {
+        synchronized (m_nodeMutex) {
+            m_oneShotJobManager = jobManager;
+        }
+    }
+
     /** @return NodeExecutionJobManager responsible for this node and all its children. */
     public final NodeExecutionJobManager findJobManager() {
         // if a job manager is explicitly set, use it
@@ -522,7 +541,8 @@ boolean queue(final PortObject[] inData) {
                 return false;
             }
             // queue job if state change was successful
-            NodeExecutionJobManager jobManager = findJobManager();
+            NodeExecutionJobManager jobManager = m_oneShotJobManager != null ? m_oneShotJobManager : findJobManager();
+            m_oneShotJobManager = null;
             NodeContext.pushContext(this);
             try {
                 NodeExecutionJob job = jobManager.submitJob(this, inData);
@@ -309,6 +309,12 @@ public PortObjectSpec[] postConfigure(final PortObjectSpec[] inObjSpecs,
                 }
                 return jobMgr.configure(inObjSpecs, nodeModelOutSpecs);
             }
+
+            /** {@inheritDoc} */
+            @Override
+            public PortObjectSpec[] getCachedOutputSpecs(final PortObjectSpec[] inObjSpecs) {
+                return getCachedOutputSpecsOnLoad(inObjSpecs);
+            }
         };
         NodeContext.pushContext(this);
         try {
@@ -318,6 +324,17 @@ public PortObjectSpec[] postConfigure(final PortObjectSpec[] inObjSpecs,
         }
     }
 
+    /**
+     * Output specs known from a previous session, used instead of configuring the node model while the workflow is
+     * loaded (see {@link WorkflowSpecCache}).
+     *
+     * @param inSpecs the input specs (excluding flow variable port)
+     * @return the output specs (excluding flow variable port) or null if not available (default)
+     */
+    PortObjectSpec[] getCachedOutputSpecsOnLoad(final PortObjectSpec[] inSpecs) {
+        return null;
+    }
+
     /** All preparations done: pass configure down to derived classes.
      *
      * @param inSpecs ...
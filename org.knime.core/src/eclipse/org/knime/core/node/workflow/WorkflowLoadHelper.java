@@ -86,6 +86,10 @@ public class WorkflowLoadHelper {
     /** Default (pessimistic) default load helper. */
     public static final WorkflowLoadHelper INSTANCE = new WorkflowLoadHelper();
 
+    /** See {@link KNIMEConstants#PROPERTY_WORKFLOW_LOAD_THREADS}. */
+    private static final int DEFAULT_NR_LOADER_THREADS =
+        Math.max(1, Integer.getInteger(KNIMEConstants.PROPERTY_WORKFLOW_LOAD_THREADS, 1));
+
     /** Workflow version, indicates the "oldest" version that is compatible to the current workflow format. */
     static final String CFG_VERSION = "version";
 
@@ -475,6 +479,21 @@ public Optional<Credentials> getSystemDefaultCredentials() {
         return Optional.empty();
     }
 
+    /**
+     * The number of threads used to read the settings of the nodes contained in a workflow, metanode or component
+     * concurrently. The nodes are inserted into the workflow by a single thread in either case. Note that reading
+     * the settings includes the instantiation of the node models, so concurrent reading requires the node factories
+     * and models of the workflow to be thread-safe in their constructors. Subclasses may override this to force
+     * sequential loading (return 1), e.g. if their callbacks are not thread-safe.
+     *
+     * @return the maximum number of concurrent readers per workflow level; values smaller than 2 disable concurrent
+     *         reading. The default is determined by {@link KNIMEConstants#PROPERTY_WORKFLOW_LOAD_THREADS}.
+     * @since 5.12
+     */
+    public int getNrLoaderThreads() {
+        return DEFAULT_NR_LOADER_THREADS;
+    }
+
     public final void setDataContainerSettings(final DataContainerSettings settings) {
         m_dataContainerSettings = settings;
     }
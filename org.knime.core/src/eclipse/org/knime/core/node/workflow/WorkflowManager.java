@@ -206,8 +206,8 @@
 import org.knime.core.node.workflow.virtual.parchunk.FlowVirtualScopeContext;
 import org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkContent;
 import org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkContentMaster;
+import org.knime.core.node.workflow.virtual.parchunk.ParallelizedIterationMaster;
 import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
-import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeModel;
 import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectOutNodeFactory;
 import org.knime.core.quickform.AbstractQuickFormConfiguration;
 import org.knime.core.quickform.AbstractQuickFormValueInConfiguration;
@@ -337,6 +337,15 @@ public Thread newThread(final Runnable r) {
     /** Vector holding workflow specific variables. */
     private Vector<FlowVariable> m_workflowVariables;
 
+    /**
+     * Masters of loops whose iterations are computed concurrently in copies of the loop body, by ID of the loop start
+     * node (see {@link LoopStartIndependentIterationsNode}). Guarded by the workflow lock.
+     */
+    private final Map<NodeID, ParallelizedIterationMaster> m_parallelIterationMasters = new HashMap<>();
+
+    /** Output specs of nodes from the previous session, only set while a project is loaded. */
+    private WorkflowSpecCache m_specCacheOnLoad;
+
     /** Workflow annotations, order defines "z-order" */
     private final List<WorkflowAnnotation> m_annotations = new ArrayList<>();
 
@@ -3766,6 +3775,12 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
                             resetAndConfigureNode(nc.getID());
                         }
                     }
+                    // first iteration of a loop with independent iterations: compute the others concurrently
+                    if (node.getNodeModel() instanceof LoopStartIndependentIterationsNode && !node.isInactive()
+                        && !m_parallelIterationMasters.containsKey(nc.getID())
+                        && node.getOutgoingFlowObjectStack().peek(FlowLoopContext.class).getIterationIndex() == 0) {
+                        parallelizeLoopIterations(nnc);
+                    }
                     // process loop context for "real" nodes:
                     if (nnc.isModelCompatibleTo(LoopStartNode.class)) {
                         // if this was BEGIN, it's not anymore (until we do not restart it explicitly!)
@@ -3847,9 +3862,20 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
                         nnc.getNode().clearLoopContext();
                     }
                 }
+                if (nnc.isModelCompatibleTo(LoopEndNode.class)
+                    && (!success || nnc.getNode().getLoopContext() == null)) {
+                    // loop terminated (or failed): discard copies of the loop body computing iterations concurrently
+                    Optional.ofNullable(nnc.getFlowObjectStack().peek(FlowLoopContext.class))
+                        .map(FlowLoopContext::getOwner).ifPresent(this::disposeParallelIterations);
+                }
             }
             // note this is NOT the else of the if above - success can be modified...
-            if (!success && nc instanceof SingleNodeContainer) {
+            if (!success && nc instanceof NativeNodeContainer nnc
+                && nnc.getNode().consumeCachedOutputSpecsOutdated()) {
+                // output specs taken from the spec cache on load were outdated: successors need the new ones, too
+                configureNodeAndSuccessors(nc.getID(), true);
+                nc.setNodeMessage(latestNodeMessage);
+            } else if (!success && nc instanceof SingleNodeContainer) {
                 // switch from IDLE to CONFIGURED if possible!
                 // keeps node messages, also for nodes within a component/subnode
                 configureSingleNodeContainer((SingleNodeContainer)nc, /*keepNodeMessage=*/true);
@@ -3918,13 +3944,31 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
                 return;
             }
         }
+        NativeNodeContainer headNNC = ((NativeNodeContainer)headNode);
+        assert headNNC.isModelCompatibleTo(LoopStartNode.class);
+        // (2b) the next iteration may be computed concurrently in a copy of the loop body - wait until it's done
+        final ParallelizedIterationMaster pim = m_parallelIterationMasters.get(headNNC.getID());
+        final int nextIteration =
+            headNNC.getOutgoingFlowObjectStack().peek(FlowLoopContext.class).getIterationIndex() + 1;
+        if (pim != null && pim.isHandled(nextIteration) && !pim.isIterationDone(nextIteration)) {
+            pim.runWhenIterationDone(nextIteration, () -> {
+                try (WorkflowLock lock = lock()) {
+                    // loop end no longer marked if the loop was canceled in the meantime
+                    if (CONFIGURED_MARKEDFOREXEC.equals(tailNode.getInternalState())) {
+                        restartLoop(slc);
+                    }
+                } catch (IllegalLoopException ile) {
+                    LOGGER.error(ile.getMessage(), ile);
+                    tailNode.setNodeMessage(new NodeMessage(NodeMessage.Type.ERROR, ile.getMessage()));
+                }
+            });
+            return;
+        }
         // (3) mark the origin of the loop to be executed again
         //     do this now so that we have an executing node in this WFM
         //     and an intermediate state does not suggest everything is done.
         //     (this used to happen before (9))
         // NOTE: if we ever queue nodes asynchronosly this might cause problems.
-        NativeNodeContainer headNNC = ((NativeNodeContainer)headNode);
-        assert headNNC.isModelCompatibleTo(LoopStartNode.class);
         headNNC.markForReExecution(new ExecutionEnvironment(true, null, false));
         // clean up all newly added objects on FlowVariable Stack
         // (otherwise we will push the same variables many times...
@@ -3961,6 +4005,10 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
             }
             // clean outports of start but do not call reset
             headNNC.cleanOutPorts(true);
+            if (pim != null) {
+                // the body no longer references the results of the previous iteration, its copy can move on
+                pim.releaseIteration(nextIteration - 1);
+            }
             // (5a) configure the nodes from start to rest (it's not
             //     so important if we configure more than the body)
             //     do NOT configure start of loop because otherwise
@@ -3987,6 +4035,13 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
                         ((WorkflowManager)nc).markForExecutionNodesInWFMConnectedToInPorts(nai.getInports(), false);
                     }
                 }
+                // (6a') ... and let them take over the result of the iteration if it was computed concurrently
+                if (pim != null && pim.isHandled(nextIteration) && pim.isIterationExecuted(nextIteration)) {
+                    for (NodeAndInports nai : loopBodyNodes) {
+                        NodeContainer copy = pim.getCopiedNodeContainer(nextIteration, nai.getID());
+                        m_workflow.getNode(nai.getID()).setOneShotJobManager(new ApplyExecutionResultJobManager(copy));
+                    }
+                }
                 //                // and (7a) mark end of loop for re-execution
                 // not needed anymore: end-of-loop state _is_ MARKEDFOREXEC!
                 //                ((SingleNodeContainer)tailNode).markForExecution(true);
@@ -4067,55 +4122,32 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
             for (int i = 0; i < loopBody.size(); i++) {
                 loopNodes[i] = loopBody.get(i).getID();
             }
-            // creating matching sub workflow node holding all chunks
-            Set<Pair<NodeID, Integer>> exposedInports = findNodesWithExternalSources(startID, loopNodes);
             HashMap<Pair<NodeID, Integer>, Integer> extInConnections = new HashMap<Pair<NodeID, Integer>, Integer>();
-            PortType[] exposedInportTypes = new PortType[exposedInports.size() + 1];
-            // the first port is the variable port
-            exposedInportTypes[0] = FlowVariablePortObject.TYPE;
-            // the remaining ports cover the exposed inports of the loop body
-            int index = 1;
-            for (Pair<NodeID, Integer> npi : exposedInports) {
-                NodeContainer nc = getNodeContainer(npi.getFirst());
-                int portIndex = npi.getSecond();
-                exposedInportTypes[index] = nc.getInPort(portIndex).getPortType();
-                extInConnections.put(npi, index);
-                index++;
-            }
+            final int nrChunks = startNode.getNrRemoteChunks();
+            final int nrSlots = startNode.getNrChunkSlots();
+            // dynamic chunk scheduling: fewer loop body copies than chunks, idle copies pick up the next chunk
+            final boolean isDynamic = nrSlots > 0 && nrSlots < nrChunks && endNode.supportsDynamicChunkScheduling();
+            final int nrCopies = isDynamic ? nrSlots : nrChunks;
             WorkflowManager subwfm = null;
-            if (startNode.getNrRemoteChunks() > 0) {
-                subwfm = createAndAddSubWorkflow(exposedInportTypes, new PortType[0], "Parallel Chunks");
-                NodeUIInformation startUIPlain = getNodeContainer(startID).getUIInformation();
-                if (startUIPlain != null) {
-                    NodeUIInformation startUI =
-                        NodeUIInformation.builder(startUIPlain).translate(new int[]{60, -60, 0, 0}).build();
-                    subwfm.setUIInformation(startUI);
-                }
-                // connect outside(!) nodes to new sub metanode
-                for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : extInConnections.entrySet()) {
-                    final Pair<NodeID, Integer> npi = entry.getKey();
-                    int metanodeindex = entry.getValue();
-                    if (metanodeindex >= 0) { // ignore variable port!
-                        // we need to find the source again (since our list
-                        // only holds the destination...)
-                        ConnectionContainer cc = this.getIncomingConnectionFor(npi.getFirst(), npi.getSecond());
-                        this.addConnection(cc.getSource(), cc.getSourcePort(), subwfm.getID(), metanodeindex);
-                    }
-                }
-            }
-            ParallelizedChunkContentMaster pccm =
-                new ParallelizedChunkContentMaster(subwfm, endNode, startNode.getNrRemoteChunks());
+            if (nrChunks > 0) {
+                subwfm = createSubWorkflowForLoopBodyCopies(startID, loopNodes, extInConnections, "Parallel Chunks");
+            }
+            final NativeNodeContainer startNNC = getNodeContainer(startID, NativeNodeContainer.class, true);
+            ParallelizedChunkContentMaster pccm = isDynamic
+                ? new ParallelizedChunkContentMaster(subwfm, endNode, nrChunks, nrSlots,
+                    startNode::getVirtualNodeInput, startNNC.createExecutionContext())
+                : new ParallelizedChunkContentMaster(subwfm, endNode, nrChunks);
             final NativeNodeContainer startNC;
             if (subwfm != null && startNode instanceof AbstractPortObjectRepositoryNodeModel) {
-                startNC = (NativeNodeContainer)getNodeContainer(startID);
+                startNC = startNNC;
             } else {
                 startNC = null;
             }
 
             ExecutionContext exec = startNC != null ? startNC.createExecutionContext() : null;
-            for (int i = 0; i < startNode.getNrRemoteChunks(); i++) {
+            for (int i = 0; i < nrCopies; i++) {
                 ParallelizedChunkContent copiedNodes =
-                    duplicateLoopBodyInSubWFMandAttach(subwfm, extInConnections, startID, endID, loopNodes, i);
+                    duplicateLoopBodyInSubWFMandAttach(subwfm, extInConnections, startID, endID, loopNodes, i, true);
                 if (startNC != null) {
                     NativeNodeContainer virtualInNode =
                         subwfm.getNodeContainer(copiedNodes.getVirtualInputID(), NativeNodeContainer.class, true);
@@ -4123,9 +4155,14 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
                         virtualInNode.getOutgoingFlowObjectStack().peek(FlowVirtualScopeContext.class);
                     virtualScopeCtx.registerHostNode(startNC, exec);
                 }
-                copiedNodes.executeChunk();
+                if (!isDynamic) {
+                    // set chunk of table to be processed in new virtual start node
+                    copiedNodes.setVirtualNodeInput(startNode.getVirtualNodeInput(i));
+                }
                 pccm.addParallelChunk(i, copiedNodes);
             }
+            // the master assigns the chunks to the copies (one chunk per copy unless scheduled dynamically)
+            pccm.executeChunks();
             // make sure head knows his chunk master (for potential cleanup)
             startNode.setChunkMaster(pccm);
 
@@ -4139,6 +4176,131 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
         }
     }
 
+    /* Create a metanode next to the loop start, which will hold copies of the loop body. Incoming connections from
+     * nodes outside the loop body are exposed as inports of the new metanode (port 0 is the variable port), the
+     * argument map is filled with the loop body's node-inport => metanode inport association.
+     */
+    private WorkflowManager createSubWorkflowForLoopBodyCopies(final NodeID startID, final NodeID[] loopNodes,
+        final Map<Pair<NodeID, Integer>, Integer> extInConnections, final String name) {
+        assert m_workflowLock.isHeldByCurrentThread();
+        Set<Pair<NodeID, Integer>> exposedInports = findNodesWithExternalSources(startID, loopNodes);
+        PortType[] exposedInportTypes = new PortType[exposedInports.size() + 1];
+        // the first port is the variable port
+        exposedInportTypes[0] = FlowVariablePortObject.TYPE;
+        // the remaining ports cover the exposed inports of the loop body
+        int index = 1;
+        for (Pair<NodeID, Integer> npi : exposedInports) {
+            NodeContainer nc = getNodeContainer(npi.getFirst());
+            int portIndex = npi.getSecond();
+            exposedInportTypes[index] = nc.getInPort(portIndex).getPortType();
+            extInConnections.put(npi, index);
+            index++;
+        }
+        WorkflowManager subwfm = createAndAddSubWorkflow(exposedInportTypes, new PortType[0], name);
+        NodeUIInformation startUIPlain = getNodeContainer(startID).getUIInformation();
+        if (startUIPlain != null) {
+            NodeUIInformation startUI =
+                NodeUIInformation.builder(startUIPlain).translate(new int[]{60, -60, 0, 0}).build();
+            subwfm.setUIInformation(startUI);
+        }
+        // connect outside(!) nodes to new sub metanode
+        for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : extInConnections.entrySet()) {
+            final Pair<NodeID, Integer> npi = entry.getKey();
+            int metanodeindex = entry.getValue();
+            if (metanodeindex >= 0) { // ignore variable port!
+                // we need to find the source again (since our list
+                // only holds the destination...)
+                ConnectionContainer cc = this.getIncomingConnectionFor(npi.getFirst(), npi.getSecond());
+                this.addConnection(cc.getSource(), cc.getSourcePort(), subwfm.getID(), metanodeindex);
+            }
+        }
+        return subwfm;
+    }
+
+    /* Prepare the concurrent execution of the remaining iterations of a loop whose start node declares independent
+     * iterations. Called after the start node has executed the first iteration. The loop body is copied into a
+     * metanode (a bounded number of times), the copies compute the iterations 1, 2, ... and restartLoop lets the
+     * original loop body take over their results. This is only an optimization - if the loop doesn't qualify or
+     * anything fails the loop is executed sequentially as usual.
+     */
+    private void parallelizeLoopIterations(final NativeNodeContainer startNNC) {
+        assert m_workflowLock.isHeldByCurrentThread();
+        final NodeID startID = startNNC.getID();
+        final LoopStartIndependentIterationsNode startNode =
+            (LoopStartIndependentIterationsNode)startNNC.getNodeModel();
+        try {
+            final int nrIterations = startNode.getNrIterations();
+            final int nrSlots = Math.min(startNode.getMaxParallelIterations(), nrIterations - 1);
+            if (nrSlots < 1 || !startNNC.resetAndConfigureLoopBody()) {
+                return;
+            }
+            final NodeID endID = m_workflow.getMatchingLoopEnd(startID);
+            final NodeContainer endNC = m_workflow.getNode(endID);
+            if (!(endNC instanceof NativeNodeContainer endNNC) || !endNNC.isModelCompatibleTo(LoopEndNode.class)
+                || ((LoopEndNode)endNNC.getNodeModel()).shouldPropagateModifiedVariables()) {
+                return;
+            }
+            final ArrayList<NodeAndInports> loopBody = m_workflow.findAllNodesConnectedToLoopBody(startID, endID);
+            if (loopBody.isEmpty()) {
+                return;
+            }
+            final NodeID[] loopNodes = new NodeID[loopBody.size()];
+            for (int i = 0; i < loopBody.size(); i++) {
+                final NodeContainer nc = m_workflow.getNode(loopBody.get(i).getID());
+                // results are transferred node by node - only plain nodes, no nested scopes
+                if (!(nc instanceof NativeNodeContainer nnc) || nnc.isModelCompatibleTo(ScopeStartNode.class)
+                    || nnc.isModelCompatibleTo(ScopeEndNode.class)) {
+                    LOGGER.debug(() -> String.format("Iterations of loop started by %s are executed sequentially, "
+                        + "loop body contains %s", startNNC.getNameWithID(), nc.getNameWithID()));
+                    return;
+                }
+                loopNodes[i] = nc.getID();
+            }
+            // the copies are not connected to the start node (they would be part of the loop body otherwise),
+            // the variables visible to the start node are injected by the virtual start node instead
+            final List<FlowVariable> upstreamVariables = startNNC.getFlowObjectStack()
+                .getAvailableFlowVariables(VariableTypeRegistry.getInstance().getAllTypes()).values().stream()
+                .filter(f -> f.getScope() == FlowVariable.Scope.Flow).collect(Collectors.toCollection(ArrayList::new));
+            Collections.reverse(upstreamVariables); // the bottom most element should remain at the bottom
+            final HashMap<Pair<NodeID, Integer>, Integer> extInConnections = new HashMap<>();
+            final WorkflowManager subwfm =
+                createSubWorkflowForLoopBodyCopies(startID, loopNodes, extInConnections, "Parallel Iterations");
+            final ParallelizedIterationMaster pim =
+                new ParallelizedIterationMaster(subwfm, loopNodes, nrIterations, nrSlots, iteration -> {
+                    VirtualNodeInput input = startNode.getVirtualNodeInput(iteration);
+                    List<FlowVariable> variables = new ArrayList<>(upstreamVariables);
+                    variables.addAll(input.getFlowVariables());
+                    return new VirtualNodeInput(input.getInputObjects(), variables);
+                });
+            m_parallelIterationMasters.put(startID, pim);
+            for (int i = 0; i < nrSlots; i++) {
+                pim.addSlot(i,
+                    duplicateLoopBodyInSubWFMandAttach(subwfm, extInConnections, startID, endID, loopNodes, i, false));
+            }
+            pim.executeIterations();
+        } catch (Exception e) { // NOSONAR only an optimization, fall back to sequential execution
+            LOGGER.debug(() -> String.format("Iterations of loop started by %s are executed sequentially: %s",
+                startNNC.getNameWithID(), e.getMessage()), e);
+            disposeParallelIterations(startID);
+        }
+    }
+
+    /* Cancel and remove the loop body copies computing iterations of the loop with the given start node (if any). */
+    private void disposeParallelIterations(final NodeID startID) {
+        assert m_workflowLock.isHeldByCurrentThread();
+        final ParallelizedIterationMaster pim = m_parallelIterationMasters.remove(startID);
+        if (pim != null) {
+            for (NodeID id : pim.getOriginalLoopContent()) {
+                final NodeContainer nc = m_workflow.getNode(id);
+                if (nc != null) {
+                    nc.setOneShotJobManager(null);
+                }
+            }
+            pim.cancelExecution();
+            pim.cleanup();
+        }
+    }
+
     /*
      * Identify all nodes that have incoming connections which are not part
      * of a given set of nodes.
@@ -4194,7 +4356,7 @@ public WorkflowCaptureOperation createCaptureOperationFor(final NodeID endNodeID
      */
     private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final WorkflowManager subWFM,
         final HashMap<Pair<NodeID, Integer>, Integer> extInConnections, final NodeID startID, final NodeID endID,
-        final NodeID[] oldIDs, final int chunkIndex) {
+        final NodeID[] oldIDs, final int chunkIndex, final boolean connectStartVariablePort) {
         assert m_workflowLock.isHeldByCurrentThread();
         // compute offset for new nodes (shifted in case of same
         // workflow, otherwise just underneath each other)
@@ -4295,7 +4457,9 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
                 }
             }
         }
-        if (subWFM == this) {
+        if (!connectStartVariablePort) {
+            // virtual start node is the only source of variables
+        } else if (subWFM == this) {
             // connect start node var port with virtual start node
             addConnection(startID, 0, virtualStartID, 0);
         } else {
@@ -4306,12 +4470,6 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
             }
             subWFM.addConnection(subWFM.getID(), 0, virtualStartID, 0);
         }
-        // set chunk of table to be processed in new virtual start node
-        LoopStartParallelizeNode startModel = castNodeModel(startID, LoopStartParallelizeNode.class);
-        VirtualNodeInput data = startModel.getVirtualNodeInput(chunkIndex);
-        VirtualParallelizedChunkPortObjectInNodeModel virtualInModel =
-            subWFM.castNodeModel(virtualStartID, VirtualParallelizedChunkPortObjectInNodeModel.class);
-        virtualInModel.setVirtualNodeInput(data);
         return new ParallelizedChunkContent(subWFM, virtualStartID, virtualEndID, newIDs);
     }
 
@@ -5368,10 +5526,12 @@ boolean canResetSuccessors(final NodeID nodeID) {
     private void invokeResetOnSingleNodeContainer(final SingleNodeContainer snc) {
         assert m_workflowLock.isHeldByCurrentThread();
         snc.rawReset();
+        snc.setOneShotJobManager(null);
         createAndSetFlowObjectStackFor(snc, new FlowObjectStack[]{}); // AP-21890
         snc.getNodeTimer().resetNode();
         if (snc.isModelCompatibleTo(LoopStartNode.class)) {
             ((NativeNodeContainer)snc).getNode().setLoopEndNode(null);
+            disposeParallelIterations(snc.getID());
         }
         if (snc.isModelCompatibleTo(ScopeEndNode.class)) {
             ((NativeNodeContainer)snc).getNode().setScopeStartNode(null);
@@ -9076,6 +9236,11 @@ WorkflowCopyContent loadContent(final NodeContainerPersistor nodePersistor,
             persistorMap.put(id, p);
         }
         persistor.postLoad(this, loadResult);
+        final ReferencedFile projectDirectory =
+            this != ROOT && isProject() ? persistor.getMetaPersistor().getNodeContainerDirectory() : null;
+        if (projectDirectory != null) {
+            m_specCacheOnLoad = WorkflowSpecCache.read(this, projectDirectory.getFile());
+        }
         try {
             postLoad(persistorMap, tblRep, persistor.mustWarnOnDataLoadError(), exec, loadResult, preserveNodeMessage);
         } catch (CanceledExecutionException cee) {
@@ -9083,6 +9248,15 @@ WorkflowCopyContent loadContent(final NodeContainerPersistor nodePersistor,
                 removeNode(insertedNodeID);
             }
             throw cee;
+        } finally {
+            if (m_specCacheOnLoad != null) {
+                LOGGER.debugWithFormat("Output specs of %d node(s) taken from spec cache",
+                    m_specCacheOnLoad.getHitCount());
+                m_specCacheOnLoad = null;
+            }
+        }
+        if (projectDirectory != null) {
+            configureDeferredNodesAsync();
         }
         NodeSettingsRO wizardState = persistor.getWizardExecutionControllerState();
         if (wizardState != null) {
@@ -9250,7 +9424,17 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
                 // it because it does not have all input ports connected (the contained nodes are, though).
                 // However, if the component project is saved with example input data, the corresponding SubNodeContainer
                 // _could_ be considered CONFIGURED and is indeed switched to that state when a contained node is executed.
-                configureSingleNodeContainer((SingleNodeContainer)cont, keepNodeMessage);
+                final WorkflowSpecCache specCache = getProjectWFM().m_specCacheOnLoad;
+                if (specCache != null && cont instanceof NativeNodeContainer nnc) {
+                    nnc.setSpecCacheOnLoad(specCache);
+                }
+                try {
+                    configureSingleNodeContainer((SingleNodeContainer)cont, keepNodeMessage);
+                } finally {
+                    if (specCache != null && cont instanceof NativeNodeContainer nnc) {
+                        nnc.setSpecCacheOnLoad(null);
+                    }
+                }
             }
             if (persistor.mustComplainIfStateDoesNotMatch() && !cont.getInternalState().equals(loadState)
                 && !hasPredecessorFailed) {
@@ -9343,6 +9527,39 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
         }
     }
 
+    /* Configures the models of all nodes whose output specs were taken from the spec cache during load. The output
+     * specs are known already, so these nodes don't depend on each other and are configured concurrently, without
+     * holding the workflow lock. Nodes whose model creates other specs than the cached ones are configured again,
+     * including their successors. */
+    private void configureDeferredNodesAsync() {
+        for (NativeNodeContainer nnc : WorkflowSpecCache.collectNativeNodes(this)) {
+            if (!nnc.getNode().isConfigureDeferred()) {
+                continue;
+            }
+            KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> {
+                boolean specsUnchanged;
+                NodeContext.pushContext(nnc);
+                try {
+                    specsUnchanged = nnc.getNode().configureDeferred();
+                } finally {
+                    NodeContext.removeLastContext();
+                }
+                if (!specsUnchanged) {
+                    final WorkflowManager parent = nnc.getParent();
+                    try (WorkflowLock lock = parent.lock()) {
+                        if (parent.containsNodeContainer(nnc.getID())) {
+                            parent.configureNodeAndSuccessors(nnc.getID(), true);
+                        }
+                    } catch (RuntimeException e) {
+                        // nobody waits for this job, its failures would go unnoticed otherwise
+                        LOGGER.error("Unable to configure " + nnc.getNameWithID() + " after loading the workflow: "
+                            + e.getMessage(), e);
+                    }
+                }
+            });
+        }
+    }
+
     private Map<Integer, NodeID> loadNodesAndConnections(final Map<Integer, ? extends NodeContainerPersistor> loaderMap,
         final Set<ConnectionContainerTemplate> connections, final LoadResult loadResult) {
         // id suffix are made unique by using the entries in this map
@@ -9743,6 +9960,9 @@ public void save(final File directory, final WorkflowSaveHelper saveHelper, fina
                     FileWorkflowPersistor.saveAsTemplate(this, directoryReference, exec, saveHelper);
                 } else {
                     FileWorkflowPersistor.save(this, directoryReference, exec, saveHelper);
+                    if (isProject()) {
+                        WorkflowSpecCache.write(this, workflowDir);
+                    }
                     WorkflowSaveHook.runHooks(this, saveHelper.isSaveData(), workflowDir);
                 }
             } finally {
@@ -51,6 +51,7 @@
 import java.io.File;
 
 import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.KNIMEConstants;
 
 /**
  * Helper object to specify options when workflow gets saved.
@@ -59,9 +60,14 @@
  */
 public final class WorkflowSaveHelper {
 
+    /** See {@link KNIMEConstants#PROPERTY_WORKFLOW_SAVE_THREADS}. */
+    private static final int DEFAULT_NR_SAVE_THREADS =
+        Math.max(1, Integer.getInteger(KNIMEConstants.PROPERTY_WORKFLOW_SAVE_THREADS, 1));
+
     private boolean m_saveData;
     private boolean m_isAutoSave;
     private boolean m_isSaveWizardController;
+    private int m_nrSaveThreads = DEFAULT_NR_SAVE_THREADS;
 
     /**
      * @param saveData ...
@@ -106,6 +112,24 @@ public WorkflowSaveHelper setSaveWizardController(final boolean value) {
         return this;
     }
 
+    /** @return the number of threads used to save the (native) nodes of a workflow level concurrently,
+     * 1 for sequential saving; the default is determined by {@link KNIMEConstants#PROPERTY_WORKFLOW_SAVE_THREADS}
+     * @since 5.12 */
+    public int getNrSaveThreads() {
+        return m_nrSaveThreads;
+    }
+    /** Sets the number of threads used to save the native nodes of a workflow (and each of its metanodes and
+     * components) concurrently, including their output and internal tables. Metanodes and components are
+     * traversed in the calling thread. Only enable if the node implementations involved are known to save their
+     * internals without accessing the workflow (the workflow is locked by the calling thread during save).
+     * @param nrSaveThreads the number of threads, values smaller than 2 mean sequential saving
+     * @return this (for method chaining).
+     * @since 5.12 */
+    public WorkflowSaveHelper setNrSaveThreads(final int nrSaveThreads) {
+        m_nrSaveThreads = Math.max(1, nrSaveThreads);
+        return this;
+    }
+
     public static File getAutoSaveDirectory(final ReferencedFile workflowDir) {
         File f = workflowDir.getFile();
         return new File(f.getParentFile(), "." + f.getName() + ".autoSave");
@@ -0,0 +1,457 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.util.NonClosableInputStream;
+import org.knime.core.data.util.NonClosableOutputStream;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.ModelContent;
+import org.knime.core.node.ModelContentRO;
+import org.knime.core.node.ModelContentWO;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortObjectSpec.PortObjectSpecSerializer;
+import org.knime.core.node.port.PortObjectSpecZipOutputStream;
+import org.knime.core.node.port.PortTypeRegistry;
+import org.knime.core.node.port.PortUtil;
+import org.knime.core.node.port.inactive.InactiveBranchPortObjectSpec;
+
+/**
+ * Cache of output specs of configured (not executed) nodes, persisted in the workflow directory of a project. On load
+ * the cached specs are used instead of calling the node model's configure method if the node's fingerprint (node type,
+ * model settings, available flow variables and input specs) matches; the model is configured later, concurrently for
+ * all such nodes (see {@link Node#configureDeferred()}), which avoids expensive configure logic (e.g. database
+ * metadata lookups) to block the load of large workflows.
+ *
+ * <p>
+ * Only nodes are cached whose configure step has no effect besides creating the output specs: no flow variables
+ * pushed, no message set, default job manager, no scope nodes. Content of encrypted metanodes isn't cached.
+ *
+ * <p>
+ * The cache is neither written nor read unless enabled via {@link KNIMEConstants#PROPERTY_WORKFLOW_SPEC_CACHE}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class WorkflowSpecCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowSpecCache.class);
+
+    /** Name of the file in the workflow directory. */
+    static final String FILE_NAME = ".spec_cache.zip";
+
+    private static final String INDEX_ENTRY = "index.xml";
+
+    private record CachedNode(String fingerprint, String[] specEntries) {
+    }
+
+    /** Relative node path (see {@link #getRelativePath(WorkflowManager, NodeID)}) to cached node. */
+    private final Map<String, CachedNode> m_nodes;
+
+    /** Serialized specs by zip entry name. */
+    private final Map<String, byte[]> m_specs;
+
+    private final WorkflowManager m_project;
+
+    private final AtomicInteger m_hitCount = new AtomicInteger();
+
+    /** @return whether the cache is enabled, see {@link KNIMEConstants#PROPERTY_WORKFLOW_SPEC_CACHE} */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(KNIMEConstants.PROPERTY_WORKFLOW_SPEC_CACHE);
+    }
+
+    private WorkflowSpecCache(final WorkflowManager project, final Map<String, CachedNode> nodes,
+        final Map<String, byte[]> specs) {
+        m_project = project;
+        m_nodes = nodes;
+        m_specs = specs;
+    }
+
+    /**
+     * Reads the cache from the workflow directory.
+     *
+     * @param project the project being loaded
+     * @param workflowDir its directory
+     * @return the cache or <code>null</code> if there is none (or it can't be read or the cache is disabled)
+     */
+    static WorkflowSpecCache read(final WorkflowManager project, final File workflowDir) {
+        final File file = new File(workflowDir, FILE_NAME);
+        if (!isEnabled() || !file.isFile()) {
+            return null;
+        }
+        final Map<String, CachedNode> nodes = new HashMap<>();
+        final Map<String, byte[]> specs = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(file.toPath()))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (INDEX_ENTRY.equals(entry.getName())) {
+                    readIndex(ModelContent.loadFromXML(new NonClosableInputStream.Zip(in)), nodes);
+                } else {
+                    specs.put(entry.getName(), in.readAllBytes());
+                }
+            }
+        } catch (IOException | InvalidSettingsException e) {
+            LOGGER.debug(() -> "Unable to read spec cache \"" + file.getAbsolutePath() + "\", ignoring it", e);
+            return null;
+        }
+        LOGGER.debugWithFormat("Read spec cache with %d entries for \"%s\"", nodes.size(), project.getName());
+        return new WorkflowSpecCache(project, nodes, specs);
+    }
+
+    private static void readIndex(final ModelContentRO index, final Map<String, CachedNode> nodes)
+        throws InvalidSettingsException {
+        for (String key : index.keySet()) {
+            if (!key.startsWith("node_")) {
+                continue;
+            }
+            final ModelContentRO nodeContent = index.getModelContent(key);
+            nodes.put(nodeContent.getString("path"), new CachedNode(nodeContent.getString("fingerprint"),
+                nodeContent.getStringArray("spec_entries")));
+        }
+    }
+
+    /**
+     * Writes the specs of all cacheable nodes of the project into its workflow directory (or deletes an existing cache
+     * if the cache is disabled). Errors are logged, not thrown (the cache is optional).
+     *
+     * @param project the project
+     * @param workflowDir the directory to save to
+     */
+    static void write(final WorkflowManager project, final File workflowDir) {
+        final File file = new File(workflowDir, FILE_NAME);
+        if (!isEnabled()) {
+            // a cache written by an earlier save would be outdated
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                LOGGER.debug(() -> "Unable to delete spec cache \"" + file.getAbsolutePath() + "\"", e);
+            }
+            return;
+        }
+        final ModelContent index = new ModelContent("spec_cache");
+        index.addInt("version", 1);
+        final Map<String, byte[]> specs = new TreeMap<>();
+        var nodeIndex = 0;
+        for (NativeNodeContainer nnc : collectNativeNodes(project)) {
+            final String path = getRelativePath(project, nnc.getID());
+            final PortObjectSpec[] inSpecs = getInputSpecs(nnc);
+            if (path == null || inSpecs == null || !isCacheableAfterConfigure(nnc)) {
+                continue;
+            }
+            NodeContext.pushContext(nnc);
+            try {
+                final String fingerprint = createFingerprint(nnc, inSpecs);
+                final var specEntries = new String[nnc.getNrOutPorts() - 1];
+                for (int p = 1; p < nnc.getNrOutPorts(); p++) {
+                    specEntries[p - 1] = "spec_" + nodeIndex + "_" + p;
+                    specs.put(specEntries[p - 1], serialize(nnc.getOutPort(p).getPortObjectSpec()));
+                }
+                final ModelContentWO nodeContent = index.addModelContent("node_" + nodeIndex);
+                nodeContent.addString("path", path);
+                nodeContent.addString("fingerprint", fingerprint);
+                nodeContent.addStringArray("spec_entries", specEntries);
+                nodeIndex++;
+            } catch (IOException e) {
+                LOGGER.debug(() -> "Unable to cache specs of node " + nnc.getNameWithID() + ": " + e.getMessage(), e);
+            } finally {
+                NodeContext.removeLastContext();
+            }
+        }
+        try {
+            final File tmpFile = new File(workflowDir, FILE_NAME + ".tmp");
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(tmpFile.toPath()))) {
+                out.putNextEntry(new ZipEntry(INDEX_ENTRY));
+                index.saveToXML(new NonClosableOutputStream.Zip(out));
+                for (Map.Entry<String, byte[]> e : specs.entrySet()) {
+                    out.putNextEntry(new ZipEntry(e.getKey()));
+                    out.write(e.getValue());
+                    out.closeEntry();
+                }
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.debug(() -> "Unable to write spec cache \"" + file.getAbsolutePath() + "\": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the cached output specs of the argument node, if the node is cacheable and its fingerprint matches.
+     * Called while the node is configured during load (the model settings incl. flow variables are applied).
+     *
+     * @param nnc the node
+     * @param inSpecs its input specs (excluding the flow variable port)
+     * @return the output specs (excluding the flow variable port) or <code>null</code>
+     */
+    PortObjectSpec[] getOutputSpecs(final NativeNodeContainer nnc, final PortObjectSpec[] inSpecs) {
+        final String path = getRelativePath(m_project, nnc.getID());
+        final CachedNode cached = path != null ? m_nodes.get(path) : null;
+        if (cached == null || cached.specEntries().length != nnc.getNrOutPorts() - 1 || !isCacheable(nnc)) {
+            return null;
+        }
+        final var allInSpecs = new PortObjectSpec[inSpecs.length + 1];
+        System.arraycopy(inSpecs, 0, allInSpecs, 1, inSpecs.length);
+        final var outSpecs = new PortObjectSpec[cached.specEntries().length];
+        try {
+            if (!cached.fingerprint().equals(createFingerprint(nnc, allInSpecs))) {
+                return null;
+            }
+            for (int i = 0; i < outSpecs.length; i++) {
+                final byte[] bytes = m_specs.get(cached.specEntries()[i]);
+                if (bytes == null) {
+                    return null;
+                }
+                outSpecs[i] = PortUtil.readObjectSpecFromStream(new ByteArrayInputStream(bytes));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug(() -> "Unable to read cached specs of node " + nnc.getNameWithID() + ": " + e.getMessage(),
+                e);
+            return null;
+        }
+        m_hitCount.incrementAndGet();
+        return outSpecs;
+    }
+
+    /** @return number of nodes whose specs were taken from the cache */
+    int getHitCount() {
+        return m_hitCount.get();
+    }
+
+    /** @return all native nodes in the argument workflow, including those in metanodes and components */
+    static List<NativeNodeContainer> collectNativeNodes(final WorkflowManager wfm) {
+        final List<NativeNodeContainer> result = new ArrayList<>();
+        collectNativeNodes(wfm, result);
+        return result;
+    }
+
+    private static void collectNativeNodes(final WorkflowManager wfm, final List<NativeNodeContainer> result) {
+        if (wfm.isEncrypted()) {
+            return;
+        }
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            if (nc instanceof NativeNodeContainer nnc) {
+                result.add(nnc);
+            } else if (nc instanceof WorkflowManager metanode) {
+                collectNativeNodes(metanode, result);
+            } else if (nc instanceof SubNodeContainer component) {
+                collectNativeNodes(component.getWorkflowManager(), result);
+            }
+        }
+    }
+
+    /** Path of the node relative to the project, e.g. "3:0:12" - the project's own id changes from load to load. */
+    private static String getRelativePath(final WorkflowManager project, final NodeID id) {
+        final String projectPrefix = project.getID().toString() + ":";
+        final String idString = id.toString();
+        return idString.startsWith(projectPrefix) ? idString.substring(projectPrefix.length()) : null;
+    }
+
+    /** Input specs of a node (including flow variable port), null if the node isn't in a plain workflow. */
+    private static PortObjectSpec[] getInputSpecs(final NativeNodeContainer nnc) {
+        final WorkflowManager parent = nnc.getParent();
+        final var inSpecs = new PortObjectSpec[nnc.getNrInPorts()];
+        for (int i = 0; i < inSpecs.length; i++) {
+            final ConnectionContainer cc = parent.getIncomingConnectionFor(nnc.getID(), i);
+            if (cc == null) {
+                continue;
+            }
+            final NodeOutPort outPort = cc.getSource().equals(parent.getID())
+                ? parent.getWorkflowIncomingPort(cc.getSourcePort()) : parent.getNodeContainer(cc.getSource())
+                    .getOutPort(cc.getSourcePort());
+            inSpecs[i] = outPort.getPortObjectSpec();
+        }
+        return inSpecs;
+    }
+
+    private static boolean isCacheable(final NativeNodeContainer nnc) {
+        return nnc.getJobManager() == null && !nnc.isModelCompatibleTo(ScopeStartNode.class)
+            && !nnc.isModelCompatibleTo(ScopeEndNode.class);
+    }
+
+    private static boolean isCacheableAfterConfigure(final NativeNodeContainer nnc) {
+        if (!isCacheable(nnc) || nnc.getInternalState() != InternalNodeContainerState.CONFIGURED
+            || nnc.getNodeMessage().getMessageType() != NodeMessage.Type.RESET) {
+            return false;
+        }
+        if (!Node.invokeGetOutgoingFlowObjectStack(nnc.getNodeModel()).getAllAvailableFlowVariables().isEmpty()) {
+            return false;
+        }
+        for (int p = 1; p < nnc.getNrOutPorts(); p++) {
+            final PortObjectSpec spec = nnc.getOutPort(p).getPortObjectSpec();
+            if (spec == null || spec instanceof InactiveBranchPortObjectSpec) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fingerprint of node type, settings, flow variables and input specs (including flow variable port).
+     *
+     * @throws IOException if an input spec can't be serialized
+     */
+    private static String createFingerprint(final NativeNodeContainer nnc, final PortObjectSpec[] inSpecs)
+        throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        update(digest, nnc.getNode().getFactory().getFactoryId());
+        final var settings = new NodeSettings("model");
+        nnc.getNode().saveModelSettingsTo(settings);
+        digest.update(toXML(settings::saveToXML));
+        for (FlowVariable v : new TreeMap<>(nnc.getFlowObjectStack().getAllAvailableFlowVariables()).values()) {
+            update(digest, v.getName());
+            update(digest, v.getVariableType().getIdentifier());
+            update(digest, v.getValueAsString());
+        }
+        for (int i = 1; i < inSpecs.length; i++) {
+            final PortObjectSpec spec = inSpecs[i];
+            if (spec == null) {
+                update(digest, "<none>");
+            } else if (spec instanceof DataTableSpec tableSpec) {
+                final var specContent = new ModelContent("spec");
+                tableSpec.save(specContent);
+                digest.update(toXML(specContent::saveToXML));
+            } else {
+                update(digest, spec.getClass().getName());
+                updateWithSerializedSpec(digest, spec);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @FunctionalInterface
+    private interface XMLWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static byte[] toXML(final XMLWriter writer) {
+        final var bytes = new ByteArrayOutputStream();
+        try {
+            writer.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize settings: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Updates the digest with the names and content of the zip entries written by the spec's serializer. The zip
+     * stream itself isn't digested as it contains the entries' modification times.
+     */
+    private static void updateWithSerializedSpec(final MessageDigest digest, final PortObjectSpec spec)
+        throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (PortObjectSpecZipOutputStream specOut = PortUtil.getPortObjectSpecZipOutputStream(bytes)) {
+            getSerializer(spec).savePortObjectSpec(spec, specOut);
+        }
+        try (ZipInputStream specIn =
+            PortUtil.getPortObjectSpecZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (ZipEntry entry = specIn.getNextEntry(); entry != null; entry = specIn.getNextEntry()) {
+                update(digest, entry.getName());
+                digest.update(specIn.readAllBytes());
+                digest.update((byte)0);
+            }
+        }
+    }
+
+    private static PortObjectSpecSerializer<PortObjectSpec> getSerializer(final PortObjectSpec spec)
+        throws IOException {
+        return PortTypeRegistry.getInstance().getSpecSerializer(spec.getClass())
+            .orElseThrow(() -> new IOException("No serializer for " + spec.getClass().getName()));
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    /** Serializes a spec in the format read by {@link PortUtil#readObjectSpecFromStream(InputStream)}. */
+    private static byte[] serialize(final PortObjectSpec spec) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(bytes)) {
+            zipOut.putNextEntry(new ZipEntry("content.xml"));
+            final ModelContent toc = new ModelContent("content");
+            toc.addInt("version", 1);
+            toc.addString("port_spec_class", spec.getClass().getName());
+            toc.saveToXML(new NonClosableOutputStream.Zip(zipOut));
+            zipOut.putNextEntry(new ZipEntry("objectSpec.file"));
+            try (PortObjectSpecZipOutputStream specOut =
+                PortUtil.getPortObjectSpecZipOutputStream(new NonClosableOutputStream.Zip(zipOut))) {
+                getSerializer(spec).savePortObjectSpec(spec, specOut);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -49,8 +49,11 @@
 package org.knime.core.node.workflow.virtual.parchunk;
 
 import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.NodeContainer;
 import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeStateChangeListener;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
 
 /**
  * An object representing the copied content of a chunk that is executed in
@@ -134,6 +137,56 @@ public void removeLoopEndStateChangeListener(
                 .removeNodeStateChangeListener(pccm);
     }
 
+    /**
+     * Adds a listener to the virtual output node of this chunk, which is notified when the chunk is executed,
+     * failed or is reset.
+     *
+     * @param listener the listener to add
+     * @since 5.12
+     */
+    public void addVirtualOutputStateChangeListener(final NodeStateChangeListener listener) {
+        m_manager.getNodeContainer(m_virtualOutputID).addNodeStateChangeListener(listener);
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @since 5.12
+     */
+    public void removeVirtualOutputStateChangeListener(final NodeStateChangeListener listener) {
+        m_manager.getNodeContainer(m_virtualOutputID).removeNodeStateChangeListener(listener);
+    }
+
+    /**
+     * Resets all nodes of this chunk (the virtual input node and all its successors) so that it can be executed
+     * again on new input, see {@link #setVirtualNodeInput(VirtualNodeInput)}.
+     *
+     * @since 5.12
+     */
+    public void resetChunk() {
+        m_manager.resetAndConfigureNode(m_virtualInputID);
+    }
+
+    /**
+     * Sets the data that is injected by the virtual input node of this chunk. The chunk needs to be reset prior
+     * calling this method if it was executed before.
+     *
+     * @param input the new input
+     * @since 5.12
+     */
+    public void setVirtualNodeInput(final VirtualNodeInput input) {
+        m_manager.castNodeModel(m_virtualInputID, VirtualParallelizedChunkPortObjectInNodeModel.class)
+            .setVirtualNodeInput(input);
+    }
+
+    /**
+     * @param index index in {@link #getCopiedLoopContent()}
+     * @return the node container of the copied loop body node at the given index
+     * @since 5.12
+     */
+    public NodeContainer getCopiedNodeContainer(final int index) {
+        return m_manager.getNodeContainer(m_copiedLoopContent[index]);
+    }
+
     /**
      * Remove all nodes (and connections) of this chunk.
      */
@@ -48,24 +48,68 @@
  */
 package org.knime.core.node.workflow.virtual.parchunk;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Objects;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.exec.dataexchange.PortObjectRepository;
+import org.knime.core.node.port.PortObject;
 import org.knime.core.node.workflow.LoopEndParallelizeNode;
+import org.knime.core.node.workflow.LoopStartParallelizeNode;
 import org.knime.core.node.workflow.NodeContainer;
 import org.knime.core.node.workflow.NodeStateChangeListener;
 import org.knime.core.node.workflow.NodeStateEvent;
+import org.knime.core.node.workflow.WorkflowLock;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
 
 /**
  * Represents all parallel chunks ({@link ParallelizedChunkContent}) together and also encapsulating metanode.
  *
+ * <p>
+ * The master operates in one of two modes. By default each chunk is processed by its own copy of the loop body and
+ * all chunks are started at once. With dynamic chunk scheduling (see {@link LoopStartParallelizeNode#getNrChunkSlots()})
+ * only a bounded number of copies ("slots") exist; each slot processes one chunk at a time and picks up the next
+ * pending chunk once it's done, the results of finished chunks are copied so that the slot can be reset and reused.
+ * End nodes retrieve the results in chunk order via {@link #getOutportContent(int)}.
+ *
  * @author M. Berthold, University of Konstanz
  */
 public class ParallelizedChunkContentMaster implements NodeStateChangeListener {
 
-    /** Individual chunks. */
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelizedChunkContentMaster.class);
+
+    /** State of a chunk in dynamic mode. */
+    private enum ChunkState {
+            PENDING, EXECUTING, EXECUTED, FAILED
+    }
+
+    /**
+     * Execution time of a chunk.
+     *
+     * @param chunkIndex the index of the chunk
+     * @param slotIndex the index of the loop body copy that processed the chunk (equal to the chunk index unless
+     *            dynamic chunk scheduling is used)
+     * @param durationMillis the wall-clock execution time of the chunk in milliseconds
+     * @param success whether the chunk executed successfully
+     * @since 5.12
+     */
+    public record ChunkTiming(int chunkIndex, int slotIndex, long durationMillis, boolean success) {
+    }
+
+    /** Individual chunks (or slots in dynamic mode). */
     private ParallelizedChunkContent[] m_chunks;
 
     /** metanode container for all chunks. */
@@ -74,6 +118,32 @@ public class ParallelizedChunkContentMaster implements NodeStateChangeListener {
     /** end node waiting for chunks. */
     private LoopEndParallelizeNode m_endNode;
 
+    /** Number of chunks, equal to the length of {@link #m_chunks} unless in dynamic mode. */
+    private final int m_nrChunks;
+
+    /** Start time (nano seconds) of each chunk, 0 if not started. */
+    private final long[] m_chunkStartNanos;
+
+    /** Timings of finished chunks, in order of completion. */
+    private final List<ChunkTiming> m_chunkTimings = new ArrayList<>();
+
+    /** Provides the input of a chunk - only set in dynamic mode. */
+    private final IntFunction<VirtualNodeInput> m_chunkInputProvider;
+
+    /** Creates the copies of the chunk results in dynamic mode. */
+    private final ExecutionContext m_resultExec;
+
+    /** Chunk processed by the slot at the respective index, -1 if idle (dynamic mode only). */
+    private final int[] m_slotChunks;
+
+    /** State and results of the chunks (dynamic mode only). */
+    private final ChunkState[] m_chunkStates;
+
+    private final PortObject[][] m_chunkResults;
+
+    /** Next chunk not yet assigned to a slot (dynamic mode only). */
+    private int m_nextChunk;
+
     /** Create new chunk object master - also knows Workflowmanager
      * the chunks are located in.
      *
@@ -86,12 +156,60 @@ public ParallelizedChunkContentMaster(final WorkflowManager wfm,
         m_manager = wfm;
         m_endNode = endNode;
         m_chunks = new ParallelizedChunkContent[chunkCount];
+        m_nrChunks = chunkCount;
+        m_chunkStartNanos = new long[chunkCount];
+        m_chunkInputProvider = null;
+        m_resultExec = null;
+        m_slotChunks = null;
+        m_chunkStates = null;
+        m_chunkResults = null;
+        m_endNode.setParallelChunkMaster(this);
+    }
+
+    /**
+     * Create new chunk master using dynamic chunk scheduling: <code>slotCount</code> copies of the loop body process
+     * <code>chunkCount</code> chunks, see {@link LoopStartParallelizeNode#getNrChunkSlots()}.
+     *
+     * @param wfm the workflowmanager holding the slots
+     * @param endNode corresponding end node of the loop, must support dynamic chunk scheduling
+     * @param chunkCount the number of chunks
+     * @param slotCount the number of loop body copies, added via {@link #addParallelChunk(int, ParallelizedChunkContent)}
+     * @param chunkInputProvider provides the input of a chunk (by chunk index)
+     * @param resultExec used to copy the results of a chunk before its slot is reused
+     * @since 5.12
+     */
+    public ParallelizedChunkContentMaster(final WorkflowManager wfm, final LoopEndParallelizeNode endNode,
+        final int chunkCount, final int slotCount, final IntFunction<VirtualNodeInput> chunkInputProvider,
+        final ExecutionContext resultExec) {
+        if (!endNode.supportsDynamicChunkScheduling()) {
+            throw new IllegalArgumentException("End node does not support dynamic chunk scheduling");
+        }
+        m_manager = wfm;
+        m_endNode = endNode;
+        m_chunks = new ParallelizedChunkContent[slotCount];
+        m_nrChunks = chunkCount;
+        m_chunkStartNanos = new long[chunkCount];
+        m_chunkInputProvider = Objects.requireNonNull(chunkInputProvider);
+        m_resultExec = Objects.requireNonNull(resultExec);
+        m_slotChunks = new int[slotCount];
+        Arrays.fill(m_slotChunks, -1);
+        m_chunkStates = new ChunkState[chunkCount];
+        Arrays.fill(m_chunkStates, ChunkState.PENDING);
+        m_chunkResults = new PortObject[chunkCount][];
         m_endNode.setParallelChunkMaster(this);
     }
 
+    /**
+     * @return whether this master uses dynamic chunk scheduling (fewer loop body copies than chunks)
+     * @since 5.12
+     */
+    public boolean isDynamicChunkScheduling() {
+        return m_chunkStates != null;
+    }
+
     /** Add a new chunk to the list.
      *
-     * @param index of chunk
+     * @param index of chunk (of the slot in dynamic mode)
      * @param pcc content of chunk
      */
     public void addParallelChunk(final int index, final ParallelizedChunkContent pcc) {
@@ -106,7 +224,7 @@ public void addParallelChunk(final int index, final ParallelizedChunkContent pcc
      * @return number of chunks
      */
     public int nrChunks() {
-        return m_chunks.length;
+        return m_nrChunks;
     }
 
     /**
@@ -123,23 +241,147 @@ public boolean hasClearedChunks() {
 
     /**
      * @param i index
-     * @return chunk of given index
+     * @return chunk of given index (the slot of the given index in dynamic mode)
      */
     public ParallelizedChunkContent getChunk(final int i) {
         return m_chunks[i];
     }
 
+    /**
+     * The results of the chunk with the given index. Unlike <code>getChunk(i).getOutportContent()</code> this also
+     * works with dynamic chunk scheduling.
+     *
+     * @param i chunk index
+     * @return array with PortObjects at the end node of the chunk, null if the chunk is not (yet) executed in
+     *         dynamic mode
+     * @since 5.12
+     */
+    public PortObject[] getOutportContent(final int i) {
+        if (!isDynamicChunkScheduling()) {
+            return m_chunks[i].getOutportContent();
+        }
+        synchronized (m_chunks) {
+            return m_chunkResults[i];
+        }
+    }
+
     /**
      * Start execution of all chunks.
      */
     public void executeChunks() {
-        for (int i = 0; i < m_chunks.length; i++) {
-            ParallelizedChunkContent pcc = m_chunks[i];
-            if (pcc != null) {
-                pcc.executeChunk();
-            } else {
-                throw new NullPointerException("Chunk " + i + " not set!");
+        if (isDynamicChunkScheduling()) {
+            // lock order: workflow lock before chunk monitor (state change events are fired under the workflow lock)
+            try (WorkflowLock lock = m_manager.lock()) {
+                synchronized (m_chunks) {
+                    for (int i = 0; i < m_chunks.length && m_nextChunk < m_nrChunks; i++) {
+                        assignNextChunk(i);
+                    }
+                }
             }
+            return;
+        }
+        final ParallelizedChunkContent[] chunks;
+        synchronized (m_chunks) {
+            chunks = m_chunks.clone();
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] == null) {
+                    throw new NullPointerException("Chunk " + i + " not set!");
+                }
+                m_chunkStartNanos[i] = System.nanoTime();
+            }
+        }
+        // not under the chunk monitor, execution acquires the workflow lock
+        for (ParallelizedChunkContent pcc : chunks) {
+            pcc.executeChunk();
+        }
+    }
+
+    /** Dynamic mode: reset the argument slot and let it process the next pending chunk (if any). */
+    private void assignNextChunk(final int slot) {
+        assert Thread.holdsLock(m_chunks) && m_manager.isLockedByCurrentThread();
+        ParallelizedChunkContent pcc = m_chunks[slot];
+        if (pcc == null) {
+            throw new NullPointerException("Chunk slot " + slot + " not set!");
+        }
+        // mark slot idle first so that the reset isn't mistaken as the outcome of the previous chunk
+        m_slotChunks[slot] = -1;
+        if (m_nextChunk >= m_nrChunks) {
+            return;
+        }
+        final int chunk = m_nextChunk++;
+        pcc.resetChunk();
+        pcc.setVirtualNodeInput(m_chunkInputProvider.apply(chunk));
+        m_slotChunks[slot] = chunk;
+        m_chunkStates[chunk] = ChunkState.EXECUTING;
+        m_chunkStartNanos[chunk] = System.nanoTime();
+        pcc.executeChunk();
+    }
+
+    /** Dynamic mode: copy the results of a finished chunk (outside the workflow lock), then reuse its slot. */
+    private void harvestChunk(final int slot, final int chunk) {
+        final ParallelizedChunkContent pcc = m_chunks[slot];
+        final boolean success = pcc.isExecuted();
+        KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> {
+            PortObject[] copies = null;
+            if (success) {
+                try {
+                    PortObject[] results = pcc.getOutportContent();
+                    copies = new PortObject[results.length];
+                    for (int i = 0; i < results.length; i++) {
+                        copies[i] = PortObjectRepository.copy(results[i], m_resultExec, new ExecutionMonitor());
+                    }
+                } catch (IOException | CanceledExecutionException e) {
+                    LOGGER.error(String.format("Unable to copy results of chunk %d: %s", chunk, e.getMessage()), e);
+                    copies = null;
+                }
+            }
+            final WorkflowManager manager = m_manager;
+            if (manager == null) {
+                return; // cleaned up in the meantime
+            }
+            try (WorkflowLock lock = manager.lock()) {
+                synchronized (m_chunks) {
+                    if (m_chunks[slot] != pcc) {
+                        return; // cleaned up in the meantime
+                    }
+                    m_chunkResults[chunk] = copies;
+                    m_chunkStates[chunk] = copies != null ? ChunkState.EXECUTED : ChunkState.FAILED;
+                    chunkFinished(chunk, slot, copies != null);
+                    assignNextChunk(slot);
+                }
+            }
+            m_endNode.updateStatus();
+        });
+    }
+
+    private void chunkFinished(final int chunk, final int slot, final boolean success) {
+        long durationMillis = (System.nanoTime() - m_chunkStartNanos[chunk]) / 1_000_000L;
+        synchronized (m_chunkTimings) {
+            m_chunkTimings.add(new ChunkTiming(chunk, slot, durationMillis, success));
+            if (m_chunkTimings.size() == m_nrChunks) {
+                LOGGER.debug(() -> summarizeTimings(m_chunkTimings));
+            }
+        }
+    }
+
+    private static String summarizeTimings(final List<ChunkTiming> timings) {
+        LongSummaryStatistics stats = timings.stream().mapToLong(ChunkTiming::durationMillis).summaryStatistics();
+        double imbalance = stats.getAverage() > 0 ? stats.getMax() / stats.getAverage() : 1.0;
+        return String.format("Parallel chunk timings (%d chunks): min %d ms, avg %.1f ms, max %d ms, "
+            + "imbalance (max/avg) %.2f", stats.getCount(), stats.getMin(), stats.getAverage(), stats.getMax(),
+            imbalance);
+    }
+
+    /**
+     * Execution times of all chunks that finished so far, in order of completion. Useful to detect imbalanced chunks
+     * (a loop always waits for its slowest chunk).
+     *
+     * @return a copy of the timings
+     * @since 5.12
+     */
+    public List<ChunkTiming> getChunkTimings() {
+        synchronized (m_chunkTimings) {
+            return Collections.unmodifiableList(new ArrayList<>(m_chunkTimings));
         }
     }
 
@@ -154,10 +396,19 @@ private int numberOfChunksMatching(final Predicate<ParallelizedChunkContent> con
         return count;
     }
 
+    private int numberOfChunksInState(final ChunkState... states) {
+        synchronized (m_chunks) {
+            return (int)Arrays.stream(m_chunkStates).filter(s -> Arrays.asList(states).contains(s)).count();
+        }
+    }
+
     /**
      * @return number of executed chunks
      */
     public int nrExecutedChunks() {
+        if (isDynamicChunkScheduling()) {
+            return numberOfChunksInState(ChunkState.EXECUTED);
+        }
         return numberOfChunksMatching(ParallelizedChunkContent::isExecuted);
     }
 
@@ -165,6 +416,10 @@ public int nrExecutedChunks() {
      * @return number of executing chunks
      */
     public int nrExecutingChunks() {
+        if (isDynamicChunkScheduling()) {
+            // chunks waiting for a free slot are reported as executing, they will be eventually
+            return numberOfChunksInState(ChunkState.PENDING, ChunkState.EXECUTING);
+        }
         return numberOfChunksMatching(ParallelizedChunkContent::executionInProgress);
     }
 
@@ -172,6 +427,9 @@ public int nrExecutingChunks() {
      * @return number of failed (==IDLE) chunks
      */
     public int nrFailedChunks() {
+        if (isDynamicChunkScheduling()) {
+            return numberOfChunksInState(ChunkState.FAILED);
+        }
         return numberOfChunksMatching(pcc -> !pcc.executionInProgress() && !pcc.isExecuted());
     }
 
@@ -179,7 +437,26 @@ public int nrFailedChunks() {
      * Trigger cancelation of chunk execution
      */
     public void cancelChunkExecution() {
+        final WorkflowManager manager = m_manager;
+        if (manager == null) {
+            cancelChunkExecutionLocked();
+            return;
+        }
+        // lock order: workflow lock before chunk monitor (state change events are fired under the workflow lock)
+        try (WorkflowLock lock = manager.lock()) {
+            cancelChunkExecutionLocked();
+        }
+    }
+
+    private void cancelChunkExecutionLocked() {
         synchronized (m_chunks) {
+            if (isDynamicChunkScheduling()) {
+                // don't start any further chunks
+                for (int i = m_nextChunk; i < m_nrChunks; i++) {
+                    m_chunkStates[i] = ChunkState.FAILED;
+                }
+                m_nextChunk = m_nrChunks;
+            }
             for (int i = 0; i < m_chunks.length; i++) {
                 ParallelizedChunkContent pbc = m_chunks[i];
                 if (pbc != null && pbc.executionInProgress()) {
@@ -201,20 +478,31 @@ public void cleanupChunks() {
                     m_chunks[i] = null;
                 }
             }
-            if ((m_manager != null) && m_manager.getParent().containsNodeContainer(m_manager.getID())) {
-                WorkflowManager parent = m_manager.getParent();
-                NodeContainer nc = parent.getNodeContainer(m_manager.getID());
-                if (m_manager == nc) {
-                    // need to make sure that this is not just another node
-                    // with the same ID (in rare cases this can happen if
-                    // the metanode was cleared but the StartNode did not
-                    // get notified and calls this function again.)
-                    parent.removeNode(m_manager.getID());
-                    // clear reference to allow WorkflowManager instance to be garbage-collected.
-                    m_manager = null;
+            if (m_chunkResults != null) {
+                m_nextChunk = m_nrChunks;
+                for (int i = 0; i < m_chunkResults.length; i++) {
+                    for (PortObject po : Objects.requireNonNullElse(m_chunkResults[i], new PortObject[0])) {
+                        if (po instanceof BufferedDataTable table) {
+                            m_resultExec.clearTable(table);
+                        }
+                    }
+                    m_chunkResults[i] = null;
                 }
             }
         }
+        if ((m_manager != null) && m_manager.getParent().containsNodeContainer(m_manager.getID())) {
+            WorkflowManager parent = m_manager.getParent();
+            NodeContainer nc = parent.getNodeContainer(m_manager.getID());
+            if (m_manager == nc) {
+                // need to make sure that this is not just another node
+                // with the same ID (in rare cases this can happen if
+                // the metanode was cleared but the StartNode did not
+                // get notified and calls this function again.)
+                parent.removeNode(m_manager.getID());
+                // clear reference to allow WorkflowManager instance to be garbage-collected.
+                m_manager = null;
+            }
+        }
     }
 
     /**
@@ -222,6 +510,33 @@ public void cleanupChunks() {
      */
     @Override
     public void stateChanged(final NodeStateEvent state) {
+        if (isDynamicChunkScheduling()) {
+            synchronized (m_chunks) {
+                for (int i = 0; i < m_chunks.length; i++) {
+                    ParallelizedChunkContent pcc = m_chunks[i];
+                    int chunk = m_slotChunks[i];
+                    if (pcc != null && chunk >= 0 && pcc.getVirtualOutputID().equals(state.getSource())
+                        && !pcc.executionInProgress()) {
+                        // mark the slot idle right away so that further events of the slot don't harvest the chunk
+                        // again; the slot gets its next chunk once the results are copied
+                        m_slotChunks[i] = -1;
+                        harvestChunk(i, chunk);
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+        synchronized (m_chunks) {
+            for (int i = 0; i < m_chunks.length; i++) {
+                ParallelizedChunkContent pcc = m_chunks[i];
+                if (pcc != null && m_chunkStartNanos[i] != 0 && pcc.getVirtualOutputID().equals(state.getSource())
+                    && !pcc.executionInProgress()) {
+                    chunkFinished(i, i, pcc.isExecuted());
+                    m_chunkStartNanos[i] = 0;
+                }
+            }
+        }
         // notify end node about new status
         m_endNode.updateStatus();
     }
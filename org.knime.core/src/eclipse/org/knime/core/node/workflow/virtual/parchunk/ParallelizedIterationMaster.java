@@ -0,0 +1,308 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.node.workflow.virtual.parchunk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.knime.core.node.workflow.LoopStartIndependentIterationsNode;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeStateChangeListener;
+import org.knime.core.node.workflow.NodeStateEvent;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+
+/**
+ * Drives the concurrent execution of the iterations of a loop whose start node declares independent iterations
+ * ({@link LoopStartIndependentIterationsNode}). Holds a bounded number of copies ("slots") of the loop body, each one
+ * represented by a {@link ParallelizedChunkContent} in a metanode ("Parallel Iterations") that is added next to the
+ * loop start while the loop executes and removed once it's done. Each slot computes one iteration at a time; once the
+ * original loop has consumed the result of an iteration the slot is reset and assigned the next pending iteration.
+ *
+ * <p>
+ * Iteration 0 is always computed by the original loop, the slots compute iterations 1 to
+ * {@link LoopStartIndependentIterationsNode#getNrIterations()} - 1.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ */
+public final class ParallelizedIterationMaster implements NodeStateChangeListener {
+
+    /** metanode container for all slots. */
+    private WorkflowManager m_manager;
+
+    /** IDs of the nodes in the original loop body, same order as {@link ParallelizedChunkContent#getCopiedLoopContent()}. */
+    private final NodeID[] m_originalLoopContent;
+
+    private final int m_nrIterations;
+
+    private final IntFunction<VirtualNodeInput> m_inputProvider;
+
+    private final ParallelizedChunkContent[] m_slots;
+
+    /** Iteration currently computed by the slot at the respective index, -1 if idle. */
+    private final int[] m_slotIterations;
+
+    /** Next iteration not yet assigned to any slot. */
+    private int m_nextIteration = 1;
+
+    /** Callbacks waiting for an iteration to finish, by iteration index. */
+    private final Map<Integer, Runnable> m_doneCallbacks = new HashMap<>();
+
+    /**
+     * @param wfm the metanode holding all slots
+     * @param originalLoopContent IDs of the nodes in the original loop body, in the order they were copied
+     * @param nrIterations total number of iterations of the loop (including iteration 0)
+     * @param nrSlots number of loop body copies
+     * @param inputProvider provides the input for the virtual start node of an iteration
+     */
+    public ParallelizedIterationMaster(final WorkflowManager wfm, final NodeID[] originalLoopContent,
+        final int nrIterations, final int nrSlots, final IntFunction<VirtualNodeInput> inputProvider) {
+        m_manager = wfm;
+        m_originalLoopContent = originalLoopContent;
+        m_nrIterations = nrIterations;
+        m_inputProvider = inputProvider;
+        m_slots = new ParallelizedChunkContent[nrSlots];
+        m_slotIterations = new int[nrSlots];
+        Arrays.fill(m_slotIterations, -1);
+    }
+
+    /**
+     * Add a new slot (copy of the loop body).
+     *
+     * @param index of the slot
+     * @param pcc content of the slot
+     */
+    public synchronized void addSlot(final int index, final ParallelizedChunkContent pcc) {
+        if (m_slots[index] != null) {
+            throw new IllegalArgumentException("Duplicate slot index: " + index);
+        }
+        m_slots[index] = pcc;
+        pcc.addVirtualOutputStateChangeListener(this);
+    }
+
+    /** @return number of slots (loop body copies) */
+    public int nrSlots() {
+        return m_slots.length;
+    }
+
+    /** @return total number of iterations of the loop */
+    public int nrIterations() {
+        return m_nrIterations;
+    }
+
+    /** Assigns the first iterations to all slots and starts their execution. */
+    public synchronized void executeIterations() {
+        for (int i = 0; i < m_slots.length && m_nextIteration < m_nrIterations; i++) {
+            assign(i, m_nextIteration++);
+        }
+    }
+
+    private void assign(final int slot, final int iteration) {
+        ParallelizedChunkContent pcc = m_slots[slot];
+        if (pcc == null) {
+            throw new NullPointerException("Slot " + slot + " not set!");
+        }
+        // mark slot idle first so that the reset is not mistaken as the outcome of the previous iteration
+        m_slotIterations[slot] = -1;
+        pcc.resetChunk();
+        pcc.setVirtualNodeInput(m_inputProvider.apply(iteration));
+        m_slotIterations[slot] = iteration;
+        pcc.executeChunk();
+    }
+
+    private int slotOf(final int iteration) {
+        for (int i = 0; i < m_slotIterations.length; i++) {
+            if (m_slotIterations[i] == iteration) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param iteration the iteration index
+     * @return true if the iteration is (or will be) computed by one of the slots
+     */
+    public boolean isHandled(final int iteration) {
+        return iteration >= 1 && iteration < m_nrIterations;
+    }
+
+    /**
+     * @param iteration the iteration index
+     * @return true if the iteration is assigned to a slot and its execution has finished (successfully or not)
+     */
+    public synchronized boolean isIterationDone(final int iteration) {
+        int slot = slotOf(iteration);
+        return slot >= 0 && !m_slots[slot].executionInProgress();
+    }
+
+    /**
+     * @param iteration the iteration index
+     * @return true if the iteration is assigned to a slot and was computed successfully
+     */
+    public synchronized boolean isIterationExecuted(final int iteration) {
+        int slot = slotOf(iteration);
+        return slot >= 0 && m_slots[slot].isExecuted();
+    }
+
+    /**
+     * Runs the argument callback once the given iteration is {@link #isIterationDone(int) done}. If it's already done
+     * the callback is run immediately (in the calling thread).
+     *
+     * @param iteration the iteration index
+     * @param callback to be run, replaces a previously registered callback for the same iteration
+     */
+    public void runWhenIterationDone(final int iteration, final Runnable callback) {
+        synchronized (this) {
+            if (!isIterationDone(iteration)) {
+                m_doneCallbacks.put(iteration, callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * The node in the slot that computed the given iteration, which corresponds to the given node of the original
+     * loop body.
+     *
+     * @param iteration the iteration index, must be assigned to a slot
+     * @param originalID id of the node in the original loop body
+     * @return the copied node
+     * @throws IllegalArgumentException if the iteration is not assigned or the node is not part of the loop body
+     */
+    public synchronized NodeContainer getCopiedNodeContainer(final int iteration, final NodeID originalID) {
+        int slot = slotOf(iteration);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Iteration " + iteration + " is not assigned to any slot");
+        }
+        int index = Arrays.asList(m_originalLoopContent).indexOf(originalID);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + originalID + " is not part of the loop body");
+        }
+        return m_slots[slot].getCopiedNodeContainer(index);
+    }
+
+    /**
+     * Called once the result of the given iteration was consumed by the original loop. The slot is reset and
+     * continues with the next pending iteration (if any).
+     *
+     * @param iteration the iteration index
+     */
+    public synchronized void releaseIteration(final int iteration) {
+        int slot = slotOf(iteration);
+        if (slot < 0) {
+            return;
+        }
+        if (m_nextIteration < m_nrIterations) {
+            assign(slot, m_nextIteration++);
+        } else {
+            m_slotIterations[slot] = -1;
+        }
+    }
+
+    @Override
+    public void stateChanged(final NodeStateEvent state) {
+        Runnable callback = null;
+        synchronized (this) {
+            for (int i = 0; i < m_slots.length; i++) {
+                ParallelizedChunkContent pcc = m_slots[i];
+                if (pcc != null && m_slotIterations[i] >= 0 && pcc.getVirtualOutputID().equals(state.getSource())
+                    && !pcc.executionInProgress()) {
+                    callback = m_doneCallbacks.remove(m_slotIterations[i]);
+                    break;
+                }
+            }
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /** Trigger cancelation of all slots that are still executing. */
+    public synchronized void cancelExecution() {
+        m_doneCallbacks.clear();
+        for (ParallelizedChunkContent pcc : m_slots) {
+            if (pcc != null && pcc.executionInProgress()) {
+                pcc.cancelExecution();
+            }
+        }
+    }
+
+    /**
+     * @return the IDs of the nodes in the original loop body
+     */
+    public NodeID[] getOriginalLoopContent() {
+        return m_originalLoopContent.clone();
+    }
+
+    /** Clean up all slots and remove the containing metanode from its parent. */
+    public synchronized void cleanup() {
+        m_doneCallbacks.clear();
+        for (int i = 0; i < m_slots.length; i++) {
+            ParallelizedChunkContent pcc = m_slots[i];
+            if (pcc != null) {
+                pcc.removeVirtualOutputStateChangeListener(this);
+                m_slots[i] = null;
+            }
+            m_slotIterations[i] = -1;
+        }
+        if (m_manager != null && m_manager.getParent().containsNodeContainer(m_manager.getID())) {
+            WorkflowManager parent = m_manager.getParent();
+            if (parent.getNodeContainer(m_manager.getID()) == m_manager) {
+                parent.removeNode(m_manager.getID());
+            }
+        }
+        m_manager = null;
+    }
+
+}
@@ -1040,7 +1040,8 @@ public static void checkFreeSpace(final File file) throws IOException {
      * @param rootDir the directory in which the file should be created
      * @param deleteOnExit if <code>true</code>, the file is deleted when the JVM shuts down
      * @return see {@link File#createTempFile(String, String)}
-     * @throws IOException if the partition for the temp file is too low on available disk space
+     * @throws IOException if the partition for the temp file is too low on available disk space or the temp space
+     *             quota of the workflow or node is exceeded (see {@link TempSpaceTracker})
      * @throws IOException see {@link File#createTempFile(String, String)}
      * @since 2.9
      */
@@ -1050,6 +1051,7 @@ public static File createTempFile(final String prefix, final String suffix, fina
 
         try {
             checkFreeSpace(tempFile);
+            TempSpaceTracker.getInstance().onFileCreated(tempFile);
         } catch (final IOException e) {
             tempFile.delete(); // NOSONAR this should always succeed, since we just created the file
             throw e;
@@ -0,0 +1,335 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.WorkflowManager;
+
+/**
+ * Accounts the temporary disc space used per workflow and per node and enforces the quotas configured by
+ * {@link KNIMEConstants#PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB} and {@link KNIMEConstants#PROPERTY_TEMP_DIR_QUOTA_NODE_MB}.
+ *
+ * <p>
+ * Temp files (and file store directories) are registered when created, attributed to the node and workflow of the
+ * current {@link NodeContext}. Their sizes are determined lazily when new files are registered or the quota is
+ * checked, at most once per refresh interval, which grows with the number of files to keep the overhead low; deleted
+ * files drop out of the accounts then. If a quota is exceeded, creating further files fails with an
+ * {@link IOException} naming the workflow/node, as does writing to a growing file if the writer checks the quota
+ * periodically (see {@link #checkQuota()}, done by tables while rows are written to disc); above
+ * {@link KNIMEConstants#PROPERTY_TEMP_DIR_QUOTA_COMPRESSION_PERCENT} of the quota, tables are written with the
+ * strongest compression (see {@link #isStrongCompressionRequired()}). Files created without node context are
+ * accounted to a common account, which is not subject to the workflow quota.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @noreference This class is not intended to be referenced by clients.
+ * @since 5.12
+ */
+public final class TempSpaceTracker {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TempSpaceTracker.class);
+
+    /** Account for files created without node context. */
+    private static final String NO_WORKFLOW = "<no workflow>";
+
+    private static final long MIN_REFRESH_INTERVAL_MS = 1000;
+
+    private static final long MB = 1024L * 1024L;
+
+    private static final TempSpaceTracker INSTANCE = new TempSpaceTracker( //
+        readLongProperty(KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB, 0) * MB, //
+        readLongProperty(KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_NODE_MB, 0) * MB, //
+        readLongProperty(KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_COMPRESSION_PERCENT, 75), //
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_TEMP_DIR_TRACKING));
+
+    private final long m_workflowQuota;
+
+    private final long m_nodeQuota;
+
+    private final long m_compressionPercent;
+
+    private final boolean m_isEnabled;
+
+    private final Map<String, Account> m_workflowAccounts = new ConcurrentHashMap<>();
+
+    private final Map<String, Account> m_nodeAccounts = new ConcurrentHashMap<>();
+
+    TempSpaceTracker(final long workflowQuota, final long nodeQuota, final long compressionPercent,
+        final boolean isTrackingEnabled) {
+        m_workflowQuota = workflowQuota;
+        m_nodeQuota = nodeQuota;
+        m_compressionPercent = compressionPercent;
+        m_isEnabled = isTrackingEnabled || workflowQuota > 0 || nodeQuota > 0;
+    }
+
+    /** @return the instance configured by the system properties */
+    public static TempSpaceTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /** @return whether temp space is tracked at all (tracking enabled or quota configured) */
+    public boolean isEnabled() {
+        return m_isEnabled;
+    }
+
+    /**
+     * Registers a newly created temp file, attributing it to the node and workflow of the current context.
+     *
+     * @param file the file, may still be empty
+     * @throws IOException if the quota of the workflow or node is exceeded
+     */
+    public void onFileCreated(final File file) throws IOException {
+        if (m_isEnabled) {
+            register(file, false);
+        }
+    }
+
+    /**
+     * Registers a newly created temp directory whose content is not registered file by file (e.g. the directory of a
+     * file store handler); its size is the size of all files in it.
+     *
+     * @param dir the directory
+     * @throws IOException if the quota of the workflow or node is exceeded
+     */
+    public void onDirectoryCreated(final File dir) throws IOException {
+        if (m_isEnabled) {
+            register(dir, true);
+        }
+    }
+
+    /**
+     * Checks the quotas of the workflow and node of the current context without registering a file. Called
+     * periodically by writers of files that grow after they have been registered, e.g. while rows are written to the
+     * file of a table. The sizes are refreshed at most once per refresh interval, so this is cheap.
+     *
+     * @throws IOException if the quota of the workflow or node is exceeded
+     */
+    public void checkQuota() throws IOException {
+        if (!m_isEnabled) {
+            return;
+        }
+        final var context = NodeContext.getContext();
+        final String workflowName = getWorkflowName(context);
+        final Account workflowAccount = m_workflowAccounts.get(workflowName);
+        if (workflowAccount != null && !NO_WORKFLOW.equals(workflowName)) {
+            checkWorkflowQuota(workflowAccount);
+        }
+        final String nodeName = getNodeName(context);
+        final Account nodeAccount = nodeName == null ? null : m_nodeAccounts.get(nodeName);
+        if (nodeAccount != null) {
+            checkQuota(nodeAccount, m_nodeQuota, "node", KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_NODE_MB);
+        }
+    }
+
+    private void register(final File file, final boolean isDirectory) throws IOException {
+        final var context = NodeContext.getContext();
+        final String workflowName = getWorkflowName(context);
+        final Account workflowAccount = add(m_workflowAccounts, workflowName, file, isDirectory);
+        if (!NO_WORKFLOW.equals(workflowName)) { // files without context can't be attributed to any workflow
+            checkWorkflowQuota(workflowAccount);
+        }
+        final String nodeName = getNodeName(context);
+        if (nodeName != null) {
+            final Account nodeAccount = add(m_nodeAccounts, nodeName, file, isDirectory);
+            checkQuota(nodeAccount, m_nodeQuota, "node", KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_NODE_MB);
+        }
+    }
+
+    /** Adds the file to the named account, atomically with respect to {@link #getUsage(Map)} dropping accounts. */
+    private static Account add(final Map<String, Account> accounts, final String name, final File file,
+        final boolean isDirectory) {
+        return accounts.compute(name, (k, account) -> {
+            final Account result = account == null ? new Account(k) : account;
+            result.m_files.put(file, isDirectory);
+            return result;
+        });
+    }
+
+    private void checkWorkflowQuota(final Account account) throws IOException {
+        checkQuota(account, m_workflowQuota, "workflow", KNIMEConstants.PROPERTY_TEMP_DIR_QUOTA_WORKFLOW_MB);
+    }
+
+    private static void checkQuota(final Account account, final long quota, final String type, final String property)
+        throws IOException {
+        if (quota <= 0) {
+            return;
+        }
+        final long used = account.getBytes(true);
+        if (used > quota) {
+            throw new IOException(String.format(
+                "Temporary files of %s \"%s\" use %dMB, which exceeds the quota of %dMB (java property \"%s\").", type,
+                account.m_name, used / MB, quota / MB, property));
+        }
+    }
+
+    /**
+     * Whether new tables created in the current context should be written with the strongest compression as the
+     * workflow or node uses more than {@link KNIMEConstants#PROPERTY_TEMP_DIR_QUOTA_COMPRESSION_PERCENT} of its quota.
+     *
+     * @return that property
+     */
+    public boolean isStrongCompressionRequired() {
+        if (!m_isEnabled || m_compressionPercent >= 100) {
+            return false;
+        }
+        final var context = NodeContext.getContext();
+        final String workflowName = getWorkflowName(context);
+        final String nodeName = getNodeName(context);
+        return (!NO_WORKFLOW.equals(workflowName)
+            && isAboveCompressionThreshold(m_workflowAccounts.get(workflowName), m_workflowQuota))
+            || (nodeName != null && isAboveCompressionThreshold(m_nodeAccounts.get(nodeName), m_nodeQuota));
+    }
+
+    private boolean isAboveCompressionThreshold(final Account account, final long quota) {
+        return account != null && quota > 0 && account.getBytes(false) * 100 > quota * m_compressionPercent;
+    }
+
+    /** @return the bytes used per workflow (as of the last refresh) */
+    public Map<String, Long> getWorkflowUsage() {
+        return getUsage(m_workflowAccounts);
+    }
+
+    /** @return the bytes used per node (as of the last refresh) */
+    public Map<String, Long> getNodeUsage() {
+        return getUsage(m_nodeAccounts);
+    }
+
+    private static Map<String, Long> getUsage(final Map<String, Account> accounts) {
+        accounts.values().forEach(a -> a.getBytes(true)); // refresh, dropping deleted files
+        // drop accounts whose files are all deleted
+        accounts.keySet().forEach(name -> accounts.computeIfPresent(name, (k, a) -> a.m_files.isEmpty() ? null : a));
+        return accounts.values().stream().collect(Collectors.toMap(a -> a.m_name, a -> a.getBytes(false)));
+    }
+
+    private static String getWorkflowName(final NodeContext context) {
+        final WorkflowManager wfm = context == null ? null : context.getWorkflowManager();
+        return wfm == null ? NO_WORKFLOW : wfm.getNameWithID();
+    }
+
+    private static String getNodeName(final NodeContext context) {
+        final NodeContainer nc = context == null ? null : context.getNodeContainer();
+        return nc == null ? null : nc.getNameWithID();
+    }
+
+    private static long readLongProperty(final String property, final long defaultValue) {
+        final var value = System.getProperty(property);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.strip());
+            } catch (final NumberFormatException e) {
+                LOGGER.error("Invalid value for property \"" + property + "\". Using default value of " + defaultValue
+                    + ".", e);
+            }
+        }
+        return defaultValue;
+    }
+
+    /** The files of a workflow or node and their sizes as of the last refresh. */
+    private static final class Account {
+
+        private final String m_name;
+
+        /** Registered files, mapped to whether they are directories. */
+        private final Map<File, Boolean> m_files = new ConcurrentHashMap<>();
+
+        private volatile long m_bytes;
+
+        private long m_nextRefresh;
+
+        Account(final String name) {
+            m_name = name;
+        }
+
+        long getBytes(final boolean refresh) {
+            if (refresh) {
+                refreshIfDue();
+            }
+            return m_bytes;
+        }
+
+        private synchronized void refreshIfDue() {
+            final long start = System.currentTimeMillis();
+            if (start < m_nextRefresh) {
+                return;
+            }
+            long bytes = 0;
+            for (var it = m_files.entrySet().iterator(); it.hasNext();) {
+                final var entry = it.next();
+                final File file = entry.getKey();
+                if (!file.exists()) {
+                    it.remove();
+                } else {
+                    bytes += entry.getValue().booleanValue() ? sizeOfDirectory(file.toPath()) : file.length();
+                }
+            }
+            m_bytes = bytes;
+            // scanning many files is expensive, don't spend more than a tenth of the time doing so
+            final long end = System.currentTimeMillis();
+            m_nextRefresh = end + Math.max(MIN_REFRESH_INTERVAL_MS, 10 * (end - start));
+        }
+
+        private static long sizeOfDirectory(final Path dir) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+            } catch (IOException | UncheckedIOException e) { // NOSONAR -- directory deleted while walking
+                return 0;
+            }
+        }
+    }
+
+}